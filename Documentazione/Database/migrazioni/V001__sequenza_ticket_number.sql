@@ -0,0 +1,25 @@
+--SEQUENZA PER L'ALLOCAZIONE DEI TICKET NUMBER A BLOCCHI (HI/LO)
+
+--Ogni client riserva un blocco di ticket number con una sola chiamata a nextval:
+--il valore restituito è il primo numero del blocco e l'incremento della sequenza
+--è la dimensione del blocco. I numeri del blocco vengono poi distribuiti in memoria,
+--quindi due client non possono mai ricevere lo stesso ticket number.
+--Il client legge l'incremento da pg_sequences, quindi la dimensione del blocco
+--può essere cambiata con ALTER SEQUENCE senza modificare l'applicazione.
+
+CREATE SEQUENCE IF NOT EXISTS ticket_number_seq
+	AS BIGINT
+	INCREMENT BY 50
+	MINVALUE 1
+	MAXVALUE 9999999999999
+	NO CYCLE;
+
+--la sequenza riparte dal primo numero successivo al massimo ticket number già presente,
+--senza mai tornare indietro se lo script viene rieseguito dopo che dei blocchi sono già stati riservati
+
+SELECT setval('ticket_number_seq',
+	      GREATEST(COALESCE((SELECT MAX(ticket_number::BIGINT) FROM Ticket), 0) + 1,
+		       (SELECT CASE WHEN is_called THEN last_value + (SELECT increment_by FROM pg_sequences WHERE sequencename = 'ticket_number_seq') ELSE last_value END FROM ticket_number_seq)),
+	      false);
+
+---------------------------------------------------------------------------------------------------------------
@@ -0,0 +1,38 @@
+--INDICI SECONDARI PER LE RICERCHE DI VOLI E PRENOTAZIONI
+
+--Le ricerche per data filtrano con intervalli semiaperti su departure_time
+--(departure_time >= inizio AND departure_time < fine), quindi possono usare un indice
+--B-tree sul timestamp; le altre colonne indicizzate sono le chiavi esterne usate nei join
+--e nei filtri per cliente, volo e biglietto.
+--Gli indici sono creati CONCURRENTLY per non bloccare le scritture su un database in uso:
+--lo script non va quindi eseguito all'interno di una transazione.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS flight_departure_time_idx
+	ON Flight (departure_time);
+
+--ricerca dei voli in partenza/in arrivo ancora prenotabili, ordinati per orario
+CREATE INDEX CONCURRENTLY IF NOT EXISTS flight_type_status_departure_time_idx
+	ON Flight (flight_type, flight_status, departure_time);
+
+--prenotazioni di un cliente
+CREATE INDEX CONCURRENTLY IF NOT EXISTS booking_buyer_idx
+	ON Booking (buyer);
+
+--prenotazioni di un volo
+CREATE INDEX CONCURRENTLY IF NOT EXISTS booking_id_flight_idx
+	ON Booking (id_flight);
+
+--biglietti di una prenotazione
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ticket_id_booking_idx
+	ON Ticket (id_booking);
+
+--bagagli di un biglietto, eventualmente filtrati per stato
+CREATE INDEX CONCURRENTLY IF NOT EXISTS luggage_id_ticket_status_idx
+	ON Luggage (id_ticket, luggage_status);
+
+ANALYZE Flight;
+ANALYZE Booking;
+ANALYZE Ticket;
+ANALYZE Luggage;
+
+---------------------------------------------------------------------------------------------------------------
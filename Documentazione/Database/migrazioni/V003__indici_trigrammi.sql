@@ -0,0 +1,34 @@
+--INDICI A TRIGRAMMI PER LE RICERCHE TESTUALI SU CITTÀ E PASSEGGERI
+
+--Le ricerche per città (FlightDAOImpl.searchFlight) e per passeggero
+--(BookingDAOImpl.searchBooksCustomerFilteredPassengers) usano ILIKE con pattern del tipo
+--'testo%' o '%testo%': un B-tree non può servirle perché non distingue maiuscole e minuscole
+--e non gestisce il carattere jolly iniziale, mentre un indice GIN con gin_trgm_ops sì.
+--I pattern con meno di tre caratteri significativi producono pochi trigrammi e il planner
+--può comunque preferire una scansione sequenziale.
+--Gli indici sono creati CONCURRENTLY per non bloccare le scritture su un database in uso:
+--lo script non va quindi eseguito all'interno di una transazione.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+--città di destinazione/provenienza dei voli
+CREATE INDEX CONCURRENTLY IF NOT EXISTS flight_destination_or_origin_trgm_idx
+	ON Flight USING GIN (destination_or_origin gin_trgm_ops);
+
+--nome, cognome e SSN dei passeggeri
+CREATE INDEX CONCURRENTLY IF NOT EXISTS passenger_first_name_trgm_idx
+	ON Passenger USING GIN (first_name gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS passenger_last_name_trgm_idx
+	ON Passenger USING GIN (last_name gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS passenger_ssn_trgm_idx
+	ON Passenger USING GIN (SSN gin_trgm_ops);
+
+--ticket number: la colonna è CHAR(13), l'indice è sull'espressione usata dalla query
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ticket_ticket_number_trgm_idx
+	ON Ticket USING GIN ((CAST(ticket_number AS text)) gin_trgm_ops);
+
+ANALYZE Flight;
+ANALYZE Passenger;
+ANALYZE Ticket;
@@ -0,0 +1,29 @@
+--INDICE PER LA PAGINAZIONE A CHIAVE DELLE RICERCHE
+
+--Le ricerche paginate ordinano i voli per (departure_time DESC, id_flight DESC) e riprendono
+--dalla pagina successiva con il confronto di riga (departure_time, id_flight) < (?, ?):
+--un indice B-tree composto su entrambe le colonne, letto all'indietro, restituisce ogni
+--pagina senza ordinare né scartare le righe delle pagine precedenti (niente OFFSET).
+--L'indice composto copre anche le ricerche sul solo departure_time, quindi l'indice
+--flight_departure_time_idx creato da V002 diventa superfluo.
+--Lo script usa CONCURRENTLY e non va quindi eseguito all'interno di una transazione.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS flight_departure_time_id_flight_idx
+	ON Flight (departure_time, id_flight);
+
+DROP INDEX CONCURRENTLY IF EXISTS flight_departure_time_idx;
+
+ANALYZE Flight;
+
+---------------------------------------------------------------------------------------------------------------
+
+--VERIFICA (da eseguire a parte): la seconda pagina deve usare un Index Scan Backward
+--sull'indice composto, senza nodi Sort
+
+--EXPLAIN (ANALYZE, BUFFERS)
+--SELECT id_flight, departure_time
+--FROM Flight
+--WHERE departure_time >= '2025-01-01' AND departure_time < '2026-01-01'
+--	AND (departure_time, id_flight) < ('2025-06-01 10:00', 'AZ1234')
+--ORDER BY departure_time DESC, id_flight DESC
+--LIMIT 51;
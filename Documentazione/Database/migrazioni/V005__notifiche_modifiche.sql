@@ -0,0 +1,95 @@
+--NOTIFICHE DELLE MODIFICHE A VOLI, PRENOTAZIONI, BIGLIETTI E BAGAGLI
+
+--Ogni modifica rilevante invia sul canale 'aeroporto_modifiche' un evento compatto
+--nel formato  entità|operazione|stato|id  (ad esempio  flight|UPDATE|DELAYED|AZ1234).
+--I client restano in ascolto con LISTEN su una connessione dedicata e aggiornano
+--cache e schermate aperte senza dover rieseguire periodicamente le query.
+--Le notifiche sono consegnate solo al commit della transazione, e notifiche identiche
+--della stessa transazione vengono accorpate dal server.
+--L'id è l'ultimo campo perché è l'unico che potrebbe contenere il separatore.
+
+CREATE OR REPLACE FUNCTION fun_notifica_modifica()
+RETURNS TRIGGER
+AS $$
+DECLARE
+
+	riga JSONB;
+
+BEGIN
+
+	--TG_ARGV[0]: nome dell'entità, TG_ARGV[1]: colonna dell'id, TG_ARGV[2]: colonna dello stato
+	IF TG_OP = 'DELETE' THEN
+		riga := to_jsonb(OLD);
+	ELSE
+		riga := to_jsonb(NEW);
+	END IF;
+
+	PERFORM pg_notify('aeroporto_modifiche',
+			  TG_ARGV[0] || '|' || TG_OP || '|' || COALESCE(riga ->> TG_ARGV[2], '') || '|' || (riga ->> TG_ARGV[1]));
+
+	RETURN NULL;
+
+END;
+$$ LANGUAGE plpgsql;
+
+---------------------------------------------------------------------------------------------------------------
+
+--voli: stato, ritardo, gate e orari sono mostrati dal tabellone
+
+CREATE OR REPLACE TRIGGER notifica_modifica_flight_ins_del
+AFTER INSERT OR DELETE ON Flight
+FOR EACH ROW
+EXECUTE FUNCTION fun_notifica_modifica('flight', 'id_flight', 'flight_status');
+
+CREATE OR REPLACE TRIGGER notifica_modifica_flight_upd
+AFTER UPDATE OF flight_status, flight_delay, id_gate, departure_time, arrival_time ON Flight
+FOR EACH ROW
+WHEN (OLD.flight_status IS DISTINCT FROM NEW.flight_status
+      OR OLD.flight_delay IS DISTINCT FROM NEW.flight_delay
+      OR OLD.id_gate IS DISTINCT FROM NEW.id_gate
+      OR OLD.departure_time IS DISTINCT FROM NEW.departure_time
+      OR OLD.arrival_time IS DISTINCT FROM NEW.arrival_time)
+EXECUTE FUNCTION fun_notifica_modifica('flight', 'id_flight', 'flight_status');
+
+---------------------------------------------------------------------------------------------------------------
+
+--prenotazioni: creazione, cancellazione e cambi di stato
+
+CREATE OR REPLACE TRIGGER notifica_modifica_booking_ins_del
+AFTER INSERT OR DELETE ON Booking
+FOR EACH ROW
+EXECUTE FUNCTION fun_notifica_modifica('booking', 'id_booking', 'booking_status');
+
+CREATE OR REPLACE TRIGGER notifica_modifica_booking_upd
+AFTER UPDATE OF booking_status ON Booking
+FOR EACH ROW
+WHEN (OLD.booking_status IS DISTINCT FROM NEW.booking_status)
+EXECUTE FUNCTION fun_notifica_modifica('booking', 'id_booking', 'booking_status');
+
+---------------------------------------------------------------------------------------------------------------
+
+--biglietti: lo stato è il check-in
+
+CREATE OR REPLACE TRIGGER notifica_modifica_ticket_upd
+AFTER UPDATE OF checked_in ON Ticket
+FOR EACH ROW
+WHEN (OLD.checked_in IS DISTINCT FROM NEW.checked_in)
+EXECUTE FUNCTION fun_notifica_modifica('ticket', 'ticket_number', 'checked_in');
+
+---------------------------------------------------------------------------------------------------------------
+
+--bagagli: cambi di stato (caricato, ritirabile, smarrito, ...)
+
+CREATE OR REPLACE TRIGGER notifica_modifica_luggage_upd
+AFTER UPDATE OF luggage_status ON Luggage
+FOR EACH ROW
+WHEN (OLD.luggage_status IS DISTINCT FROM NEW.luggage_status)
+EXECUTE FUNCTION fun_notifica_modifica('luggage', 'id_luggage', 'luggage_status');
+
+---------------------------------------------------------------------------------------------------------------
+
+--VERIFICA (da eseguire a parte, in due sessioni)
+
+--sessione 1:  LISTEN aeroporto_modifiche;
+--sessione 2:  UPDATE Flight SET flight_delay = flight_delay + 5 WHERE id_flight = 'AZ1234';
+--sessione 1 riceve:  flight|UPDATE|...|AZ1234
@@ -0,0 +1,34 @@
+--BLOCCO TEMPORANEO DEI POSTI DURANTE LA PRENOTAZIONE
+
+--Tra la scelta del posto e l'inserimento della prenotazione un'altra postazione può
+--scegliere lo stesso posto: il conflitto emergeva solo al commit, quando falliva il
+--trigger unique_ticket_per_seat_per_flight, e la prenotazione andava ripetuta da capo.
+--Ora ogni postazione blocca il posto nel momento in cui lo sceglie: il blocco dura
+--pochi minuti, viene rinnovato se la stessa postazione sceglie di nuovo il posto e,
+--una volta scaduto, può essere preso da chiunque senza bisogno di pulizie periodiche.
+--Il posto è memorizzato come in Ticket (a partire da 1).
+
+CREATE TABLE IF NOT EXISTS SeatHold (
+
+	id_flight VARCHAR(15) NOT NULL,
+	seat INTEGER NOT NULL,
+	holder UUID NOT NULL,
+	expires_at TIMESTAMPTZ NOT NULL,
+
+	CONSTRAINT seat_hold_PK PRIMARY KEY (id_flight, seat),
+	CONSTRAINT seat_hold_flight_FK FOREIGN KEY(id_flight) REFERENCES Flight(id_flight) ON DELETE CASCADE,
+	CONSTRAINT seat_hold_positive_seat CHECK (seat > 0)
+);
+
+--rilascio di tutti i blocchi di una postazione alla chiusura della prenotazione
+CREATE INDEX IF NOT EXISTS seat_hold_holder_idx ON SeatHold (holder);
+
+---------------------------------------------------------------------------------------------------------------
+
+--VERIFICA (da eseguire a parte, in due sessioni)
+
+--sessione 1 blocca il posto 1 del volo AZ1234 per 5 minuti (1 riga inserita):
+--  INSERT INTO SeatHold VALUES ('AZ1234', 1, '00000000-0000-0000-0000-000000000001', now() + INTERVAL '5 minutes')
+--  ON CONFLICT (id_flight, seat) DO UPDATE SET holder = EXCLUDED.holder, expires_at = EXCLUDED.expires_at
+--  WHERE SeatHold.holder = EXCLUDED.holder OR SeatHold.expires_at < now();
+--sessione 2 esegue la stessa istruzione con un altro holder: 0 righe, il posto è già bloccato
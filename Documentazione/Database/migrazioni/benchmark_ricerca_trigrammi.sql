@@ -0,0 +1,56 @@
+---------------------------------------------------------------------------------------------------------------
+--CONFRONTO DELLE RICERCHE PER PASSEGGERO CON E SENZA INDICE A TRIGRAMMI (richiede pg_trgm, vedi V003)
+
+--Lo script genera un milione di passeggeri in una tabella temporanea con la stessa struttura
+--di Passenger, misura le ricerche per prefisso e per sottostringa con una scansione
+--sequenziale, crea gli stessi indici GIN di V003 e ripete le misure.
+--Tutto avviene in una transazione annullata alla fine: il database non viene modificato.
+
+BEGIN;
+
+CREATE TEMPORARY TABLE passenger_bench (
+	first_name VARCHAR(30),
+	last_name VARCHAR(30),
+	birth_date DATE,
+	SSN VARCHAR(16) PRIMARY KEY
+) ON COMMIT DROP;
+
+INSERT INTO passenger_bench (first_name, last_name, birth_date, SSN)
+SELECT (ARRAY['Mario','Luigi','Giulia','Anna','Marco','Sara','Paolo','Chiara','Luca','Elena'])[1 + i % 10] || (i % 997),
+	   (ARRAY['Rossi','Esposito','Russo','Bianchi','Romano','Ferrari','Colombo','Ricci','Greco','Bruno'])[1 + i % 10] || (i % 1009),
+	   DATE '1950-01-01' + (i % 20000),
+	   'SSN' || lpad(i::text, 13, '0')
+FROM generate_series(1, 1000000) AS i;
+
+ANALYZE passenger_bench;
+
+--senza indice a trigrammi: Seq Scan
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT SSN FROM passenger_bench WHERE last_name ILIKE 'esposito12%';
+
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT SSN FROM passenger_bench WHERE last_name ILIKE '%sito12%';
+
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT SSN FROM passenger_bench WHERE SSN ILIKE '%0004242%';
+
+CREATE INDEX passenger_bench_last_name_trgm_idx ON passenger_bench USING GIN (last_name gin_trgm_ops);
+CREATE INDEX passenger_bench_ssn_trgm_idx ON passenger_bench USING GIN (SSN gin_trgm_ops);
+
+ANALYZE passenger_bench;
+
+--con indice a trigrammi: Bitmap Index Scan sugli indici GIN
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT SSN FROM passenger_bench WHERE last_name ILIKE 'esposito12%';
+
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT SSN FROM passenger_bench WHERE last_name ILIKE '%sito12%';
+
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT SSN FROM passenger_bench WHERE SSN ILIKE '%0004242%';
+
+--pattern di due caratteri: nessun trigramma completo, il planner torna alla scansione sequenziale
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT SSN FROM passenger_bench WHERE last_name ILIKE '%es%';
+
+ROLLBACK;
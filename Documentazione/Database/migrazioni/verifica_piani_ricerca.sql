@@ -0,0 +1,59 @@
+--VERIFICA DEI PIANI DI ESECUZIONE DELLE RICERCHE (da eseguire dopo V002__indici_ricerca.sql)
+
+--Sul database di esempio le tabelle sono così piccole che il planner sceglierebbe comunque
+--una scansione sequenziale: disabilitandola nella sola transazione di verifica si controlla
+--che i predicati siano sargable, cioè che ogni query possa usare l'indice previsto.
+--Ogni piano deve contenere un "Index Scan" o un "Bitmap Index Scan" sull'indice indicato.
+
+BEGIN;
+
+SET LOCAL enable_seqscan = off;
+
+--FlightDAOImpl.searchFlight, filtro per data: flight_departure_time_idx
+EXPLAIN (COSTS OFF)
+SELECT id_flight, company_name, departure_time, arrival_time, flight_status, max_seats, free_seats, destination_or_origin, flight_delay, flight_type
+FROM FLIGHT
+WHERE (departure_time >= TIMESTAMP '2025-07-01 00:00:00' AND departure_time < TIMESTAMP '2025-07-08 00:00:00')
+ORDER BY departure_time DESC;
+
+--FlightDAOImpl.searchFlight, filtro per data e fascia oraria: la fascia oraria resta un filtro
+--applicato alle sole righe selezionate dall'intervallo sull'indice flight_departure_time_idx
+EXPLAIN (COSTS OFF)
+SELECT id_flight
+FROM FLIGHT
+WHERE (departure_time >= TIMESTAMP '2025-07-01 00:00:00' AND departure_time < TIMESTAMP '2025-07-08 00:00:00')
+  AND (departure_time::time BETWEEN TIME '08:00' AND TIME '12:00')
+ORDER BY departure_time DESC;
+
+--voli in partenza programmati in un intervallo: flight_type_status_departure_time_idx
+EXPLAIN (COSTS OFF)
+SELECT id_flight
+FROM FLIGHT
+WHERE flight_type = true AND flight_status = 'PROGRAMMED'
+  AND departure_time >= TIMESTAMP '2025-07-01 00:00:00' AND departure_time < TIMESTAMP '2025-07-08 00:00:00';
+
+--BookingDAOImpl.searchBooksCustomerFilteredFlights: booking_buyer_idx
+EXPLAIN (COSTS OFF)
+SELECT F.id_flight, B.id_booking
+FROM FLIGHT F NATURAL JOIN BOOKING B
+WHERE B.buyer = 1
+  AND (F.departure_time >= TIMESTAMP '2025-07-01 00:00:00' AND F.departure_time < TIMESTAMP '2025-07-08 00:00:00')
+ORDER BY F.departure_time DESC;
+
+--FlightDAOImpl.getFlightManifest: booking_id_flight_idx, ticket_id_booking_idx, luggage_id_ticket_status_idx
+EXPLAIN (COSTS OFF)
+SELECT B.id_booking, T.ticket_number, L.id_luggage
+FROM BOOKING B
+JOIN TICKET T ON T.id_booking = B.id_booking
+LEFT JOIN LUGGAGE L ON L.id_ticket = T.ticket_number
+WHERE B.id_flight = 'AZ1001';
+
+--bagagli di un biglietto in un dato stato: luggage_id_ticket_status_idx
+EXPLAIN (COSTS OFF)
+SELECT L.id_luggage
+FROM LUGGAGE L
+WHERE L.id_ticket = '0000000000001' AND L.luggage_status = 'LOST';
+
+ROLLBACK;
+
+---------------------------------------------------------------------------------------------------------------
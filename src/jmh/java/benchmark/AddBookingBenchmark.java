@@ -0,0 +1,152 @@
+package benchmark;
+
+import dao.BookingDAO;
+import dao.TicketDAO;
+import database.ConnessioneDatabase;
+import implementazioni_postgres_dao.BookingDAOImpl;
+import implementazioni_postgres_dao.TicketDAOImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput and latency of the booking insertion, the main write path of the application.
+ * <p>
+ * Every invocation books {@value #PASSENGERS} new passengers with one checked luggage each
+ * on the next programmed flight of the dataset, in round robin, through
+ * {@link BookingDAOImpl#addBooking}, with the triggers of the database enabled as in
+ * production. Ticket numbers are allocated as the application does.
+ * </p>
+ * <p>
+ * The bookings are pending and without seats; they are deleted after every iteration, so
+ * that the flights do not run out of free seats and every iteration starts from the same
+ * data. An iteration must therefore create fewer bookings than the free seats of the
+ * dataset allow: keep the {@code flights} parameter at 100 or more.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see BenchmarkDataset
+ * @see BookingDAOImpl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AddBookingBenchmark {
+
+    /**
+     * Number of passengers of every booking.
+     */
+    private static final int PASSENGERS = 2;
+
+    /**
+     * Number of flights of the generated dataset.
+     */
+    @Param({"100"})
+    public int flights;
+
+    /**
+     * The generated dataset.
+     */
+    private BenchmarkDataset dataset;
+
+    /**
+     * The booking DAO under test.
+     */
+    private final BookingDAO bookingDAO = new BookingDAOImpl();
+
+    /**
+     * The ticket DAO allocating the ticket numbers.
+     */
+    private final TicketDAO ticketDAO = new TicketDAOImpl();
+
+    /**
+     * Index of the next flight to book, in round robin.
+     */
+    private final AtomicInteger nextFlight = new AtomicInteger();
+
+    /**
+     * Number of the next passenger, used to build unique SSNs.
+     */
+    private final AtomicLong nextPassenger = new AtomicLong();
+
+    /**
+     * Loads the dataset of the trial.
+     *
+     * @throws SQLException if the dataset cannot be loaded
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        dataset = BenchmarkDataset.load(flights);
+    }
+
+    /**
+     * Deletes the bookings created by the iteration, giving their seats back to the flights.
+     *
+     * @throws SQLException if the bookings cannot be deleted
+     */
+    @TearDown(Level.Iteration)
+    public void clearBookings() throws SQLException {
+        BenchmarkDataset.clearPendingBookings();
+    }
+
+    /**
+     * Removes the dataset of the trial and closes the connection pool.
+     *
+     * @throws SQLException if the dataset cannot be removed
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        BenchmarkDataset.clear();
+        ConnessioneDatabase.getInstance().closeConnection();
+    }
+
+    /**
+     * Books new passengers on the next programmed flight.
+     *
+     * @throws SQLException if the booking is rejected
+     */
+    @Benchmark
+    public void addBooking() throws SQLException {
+
+        List<String> flightIds = dataset.programmedFlightIds();
+        String flightId = flightIds.get(Math.floorMod(nextFlight.getAndIncrement(), flightIds.size()));
+
+        List<String> ticketNumbers = new ArrayList<>(PASSENGERS);
+        List<Integer> seats = new ArrayList<>(PASSENGERS);
+        List<String> firstNames = new ArrayList<>(PASSENGERS);
+        List<String> lastNames = new ArrayList<>(PASSENGERS);
+        List<Date> birthDates = new ArrayList<>(PASSENGERS);
+        List<String> passengerSSNs = new ArrayList<>(PASSENGERS);
+        List<String> luggagesTypes = new ArrayList<>(PASSENGERS);
+        List<String> ticketForLuggages = new ArrayList<>(PASSENGERS);
+
+        for (int i = 0; i < PASSENGERS; i++) {
+
+            long passenger = nextPassenger.incrementAndGet();
+            String ticketNumber = ticketDAO.generateTicketNumber();
+
+            ticketNumbers.add(ticketNumber);
+            seats.add(-1);
+            firstNames.add("Nome");
+            lastNames.add("Cognome");
+            birthDates.add(Date.valueOf("1990-01-01"));
+            passengerSSNs.add(BenchmarkDataset.PREFIX + "W" + String.format("%010d", passenger));
+            luggagesTypes.add("CHECKED");
+            ticketForLuggages.add(ticketNumber);
+        }
+
+        bookingDAO.addBooking(dataset.customerId(), flightId, "PENDING", ticketNumbers, seats, firstNames,
+                lastNames, birthDates, passengerSSNs, luggagesTypes, ticketForLuggages);
+    }
+}
@@ -0,0 +1,343 @@
+package benchmark;
+
+import database.ConnessioneDatabase;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Synthetic dataset loaded into the benchmark database before each benchmark trial.
+ * <p>
+ * The dataset is generated entirely by the server with {@code generate_series}, so even
+ * the largest scale is loaded in a few statements. Its size is controlled by the number
+ * of flights; every flight gets {@value #BOOKINGS_PER_FLIGHT} confirmed bookings of
+ * {@value #TICKETS_PER_BOOKING} passengers each, with one checked luggage per ticket:
+ * </p>
+ * <ul>
+ *   <li>nine flights out of ten are departing, programmed in the next days, with booked luggage</li>
+ *   <li>one flight out of ten has landed: its tickets are checked in and about a third of its luggage is lost</li>
+ * </ul>
+ * <p>
+ * Every generated row is recognizable by its identifier (flights {@code BENCH000001},
+ * passengers {@code BENCH00000000001}, customers {@code bench_1}, tickets starting with
+ * {@code 99}), so that {@link #clear()} removes the dataset, and the bookings created by
+ * the benchmarks on its flights, without touching any other data. The rows are inserted
+ * with the triggers of the session disabled ({@code session_replication_role = replica}),
+ * which requires the benchmark user to be a superuser: the business rules enforced by the
+ * triggers are respected by construction.
+ * </p>
+ * <p>
+ * The benchmarks must run against a dedicated database, created with the
+ * {@code creazionePopolamentoFormattata.sql} script and the {@code migrazioni} scripts and
+ * selected with the {@code aeroporto.db.url} system property (the {@code benchmark} Maven
+ * profile points it to {@code AeroportoBenchmark}).
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see DaoBenchmark
+ * @see ControllerBenchmark
+ * @see AddBookingBenchmark
+ */
+final class BenchmarkDataset {
+
+    /**
+     * Number of bookings of every generated flight.
+     */
+    static final int BOOKINGS_PER_FLIGHT = 20;
+
+    /**
+     * Number of tickets of every generated booking.
+     */
+    static final int TICKETS_PER_BOOKING = 3;
+
+    /**
+     * Number of seats of every generated flight.
+     */
+    static final int MAX_SEATS = 180;
+
+    /**
+     * Prefix of the identifiers of the generated flights and passengers.
+     */
+    static final String PREFIX = "BENCH";
+
+    /**
+     * Logger instance for recording the loading of the dataset.
+     */
+    private static final Logger LOGGER = Logger.getLogger(BenchmarkDataset.class.getName());
+
+    /**
+     * Ids of the generated flights, in order.
+     */
+    private final List<String> flightIds;
+
+    /**
+     * Ids of the generated departing flights, which still accept bookings.
+     */
+    private final List<String> programmedFlightIds;
+
+    /**
+     * Ids of the generated bookings, in order.
+     */
+    private final List<Integer> bookingIds;
+
+    /**
+     * Id of the first generated customer.
+     */
+    private final int customerId;
+
+    /**
+     * Private constructor, datasets are created by {@link #load(int)}.
+     *
+     * @param flightIds the ids of the generated flights
+     * @param programmedFlightIds the ids of the generated departing flights
+     * @param bookingIds the ids of the generated bookings
+     * @param customerId the id of the first generated customer
+     */
+    private BenchmarkDataset(List<String> flightIds, List<String> programmedFlightIds, List<Integer> bookingIds, int customerId) {
+        this.flightIds = flightIds;
+        this.programmedFlightIds = programmedFlightIds;
+        this.bookingIds = bookingIds;
+        this.customerId = customerId;
+    }
+
+    /**
+     * Replaces any previous dataset with a new one of the given size.
+     *
+     * @param flights the number of flights to generate
+     * @return the generated dataset
+     * @throws SQLException if the dataset cannot be loaded
+     */
+    static BenchmarkDataset load(int flights) throws SQLException {
+
+        clear();
+
+        long start = System.nanoTime();
+
+        int customers = Math.max(1, flights * BOOKINGS_PER_FLIGHT / 4);
+        int passengers = flights * BOOKINGS_PER_FLIGHT * TICKETS_PER_BOOKING;
+
+        try (Connection connection = ConnessioneDatabase.getInstance().getConnection()) {
+
+            connection.setAutoCommit(false);
+
+            try {
+                execute(connection, "SET LOCAL session_replication_role = replica;");
+
+                execute(connection, "INSERT INTO Customer (username, mail, hashed_password) " +
+                        "SELECT 'bench_' || c, 'bench_' || c || '@bench.example', repeat('0', 64) " +
+                        "FROM generate_series(1, ?) c;", customers);
+
+                //un volo su dieci è atterrato, gli altri partono nei prossimi giorni
+                execute(connection, "INSERT INTO Flight (id_flight, company_name, departure_time, arrival_time, flight_status, " +
+                        "max_seats, free_seats, destination_or_origin, flight_delay, flight_type, id_gate) " +
+                        "SELECT '" + PREFIX + "' || lpad(f::text, 6, '0'), " +
+                        "(ARRAY['Aeroitalia', 'Lufthansa', 'Air France', 'Ryanair', 'Vueling'])[1 + f % 5], " +
+                        "D.departure, D.departure + INTERVAL '2 hours', " +
+                        "(CASE WHEN f % 10 = 0 THEN 'LANDED' ELSE 'PROGRAMMED' END)::FlightStatus, " +
+                        MAX_SEATS + ", " + (MAX_SEATS - BOOKINGS_PER_FLIGHT * TICKETS_PER_BOOKING) + ", " +
+                        "(ARRAY['Roma', 'Milano', 'Londra', 'Parigi', 'Berlino', 'Madrid', 'Torino'])[1 + f % 7], " +
+                        "0, f % 10 <> 0, CASE WHEN f % 10 = 0 THEN 1 + f % 20 END " +
+                        "FROM generate_series(1, ?) f, " +
+                        "LATERAL (SELECT date_trunc('minute', LOCALTIMESTAMP) + " +
+                        "CASE WHEN f % 10 = 0 THEN -f * INTERVAL '1 hour' ELSE f * INTERVAL '15 minutes' END AS departure) D;",
+                        flights);
+
+                execute(connection, "INSERT INTO Passenger (first_name, last_name, birth_date, SSN) " +
+                        "SELECT 'Nome' || p, 'Cognome' || p, DATE '1970-01-01' + (p % 15000), " +
+                        "'" + PREFIX + "' || lpad(p::text, 11, '0') " +
+                        "FROM generate_series(1, ?) p;", passengers);
+
+                execute(connection, "INSERT INTO Booking (booking_status, booking_time, buyer, id_flight) " +
+                        "SELECT 'CONFIRMED', LOCALTIMESTAMP - INTERVAL '1 day', C.id_customer, F.id_flight " +
+                        "FROM Flight F CROSS JOIN generate_series(1, ?) b " +
+                        "JOIN (SELECT id_customer, row_number() OVER (ORDER BY id_customer) - 1 AS n " +
+                        "      FROM Customer WHERE username LIKE 'bench\\_%') C " +
+                        "ON C.n = (substr(F.id_flight, 6)::int * ? + b) % ? " +
+                        "WHERE F.id_flight LIKE '" + PREFIX + "%' " +
+                        "ORDER BY F.id_flight, b;", BOOKINGS_PER_FLIGHT, BOOKINGS_PER_FLIGHT, customers);
+
+                //posti consecutivi per volo, check-in già fatto sui voli atterrati
+                execute(connection, "INSERT INTO Ticket (ticket_number, seat, checked_in, id_booking, id_passenger, id_flight) " +
+                        "SELECT '99' || lpad(N.n::text, 11, '0'), (B.bn - 1) * ? + t, F.flight_status = 'LANDED', " +
+                        "B.id_booking, '" + PREFIX + "' || lpad(N.n::text, 11, '0'), B.id_flight " +
+                        "FROM (SELECT id_booking, id_flight, " +
+                        "      row_number() OVER (PARTITION BY id_flight ORDER BY id_booking) AS bn, " +
+                        "      row_number() OVER (ORDER BY id_booking) AS gn " +
+                        "      FROM Booking WHERE id_flight LIKE '" + PREFIX + "%') B " +
+                        "JOIN Flight F ON F.id_flight = B.id_flight " +
+                        "CROSS JOIN generate_series(1, ?) t, " +
+                        "LATERAL (SELECT (B.gn - 1) * ? + t AS n) N;",
+                        TICKETS_PER_BOOKING, TICKETS_PER_BOOKING, TICKETS_PER_BOOKING);
+
+                execute(connection, "INSERT INTO Luggage (id_luggage_after_check_in, luggage_type, luggage_status, id_ticket) " +
+                        "SELECT CASE WHEN T.checked_in THEN T.ticket_number || '0' END, 'CHECKED', " +
+                        "(CASE WHEN NOT T.checked_in THEN 'BOOKED' " +
+                        "      WHEN right(T.ticket_number, 1) IN ('0', '4', '8') THEN 'LOST' " +
+                        "      ELSE 'WITHDRAWABLE' END)::LuggageStatus, " +
+                        "T.ticket_number " +
+                        "FROM Ticket T WHERE T.id_flight LIKE '" + PREFIX + "%';");
+
+                connection.commit();
+
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+
+            //statistiche aggiornate, altrimenti i piani dipendono da quando è passato l'autovacuum
+            execute(connection, "ANALYZE Customer, Flight, Passenger, Booking, Ticket, Luggage;");
+        }
+
+        BenchmarkDataset dataset = new BenchmarkDataset(
+                readIds("SELECT id_flight FROM Flight WHERE id_flight LIKE '" + PREFIX + "%' ORDER BY id_flight;"),
+                readIds("SELECT id_flight FROM Flight WHERE id_flight LIKE '" + PREFIX + "%' " +
+                        "AND flight_status = 'PROGRAMMED' ORDER BY id_flight;"),
+                readIds("SELECT id_booking FROM Booking WHERE id_flight LIKE '" + PREFIX + "%' ORDER BY id_booking;")
+                        .stream().map(Integer::valueOf).toList(),
+                Integer.parseInt(readIds("SELECT min(id_customer) FROM Customer WHERE username LIKE 'bench\\_%';").getFirst()));
+
+        LOGGER.log(Level.INFO, "Dataset di benchmark caricato: {0} voli, {1} prenotazioni, {2} biglietti in {3} ms",
+                new Object[]{dataset.flightIds.size(), dataset.bookingIds.size(), passengers, (System.nanoTime() - start) / 1_000_000});
+
+        return dataset;
+    }
+
+    /**
+     * Removes the generated dataset with every booking and seat hold made on its flights.
+     *
+     * @throws SQLException if the dataset cannot be removed
+     */
+    static void clear() throws SQLException {
+
+        try (Connection connection = ConnessioneDatabase.getInstance().getConnection()) {
+
+            connection.setAutoCommit(false);
+
+            try {
+                //con i trigger disattivati anche le cascate delle chiavi esterne vanno eseguite a mano
+                execute(connection, "SET LOCAL session_replication_role = replica;");
+
+                execute(connection, "DELETE FROM Luggage WHERE id_ticket IN " +
+                        "(SELECT ticket_number FROM Ticket WHERE id_flight LIKE '" + PREFIX + "%');");
+                execute(connection, "DELETE FROM Ticket WHERE id_flight LIKE '" + PREFIX + "%';");
+                execute(connection, "DELETE FROM Booking WHERE id_flight LIKE '" + PREFIX + "%';");
+                execute(connection, "DELETE FROM Passenger WHERE SSN LIKE '" + PREFIX + "%';");
+                execute(connection, "DELETE FROM SeatHold WHERE id_flight LIKE '" + PREFIX + "%';");
+                execute(connection, "DELETE FROM Flight WHERE id_flight LIKE '" + PREFIX + "%';");
+                execute(connection, "DELETE FROM Customer WHERE username LIKE 'bench\\_%';");
+
+                connection.commit();
+
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Removes the bookings created by a benchmark on the generated flights, restoring their free seats.
+     * <p>
+     * The generated bookings are confirmed, the ones created by {@link AddBookingBenchmark}
+     * are pending; they are deleted with the triggers enabled, so that the free seats of
+     * the flights are given back.
+     * </p>
+     *
+     * @throws SQLException if the bookings cannot be removed
+     */
+    static void clearPendingBookings() throws SQLException {
+
+        try (Connection connection = ConnessioneDatabase.getInstance().getConnection()) {
+
+            execute(connection, "DELETE FROM Booking WHERE id_flight LIKE '" + PREFIX + "%' AND booking_status = 'PENDING';");
+        }
+    }
+
+    /**
+     * Executes a statement with integer parameters.
+     *
+     * @param connection the connection to use
+     * @param sql the statement to execute
+     * @param parameters the values of the placeholders, in order
+     * @throws SQLException if the statement fails
+     */
+    private static void execute(Connection connection, String sql, int... parameters) throws SQLException {
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            for (int i = 0; i < parameters.length; i++) statement.setInt(i + 1, parameters[i]);
+
+            statement.execute();
+        }
+    }
+
+    /**
+     * Reads a single column of identifiers.
+     *
+     * @param sql the query to execute
+     * @return the values of the first column, in order
+     * @throws SQLException if the query fails
+     */
+    private static List<String> readIds(String sql) throws SQLException {
+
+        List<String> ids = new ArrayList<>();
+
+        try (Connection connection = ConnessioneDatabase.getInstance().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+
+            while (rs.next()) ids.add(rs.getString(1));
+        }
+
+        return ids;
+    }
+
+    /**
+     * Returns the ids of the generated flights.
+     *
+     * @return the flight ids, in order
+     */
+    List<String> flightIds() {
+        return flightIds;
+    }
+
+    /**
+     * Returns the ids of the generated departing flights, which still accept bookings.
+     *
+     * @return the programmed flight ids, in order
+     */
+    List<String> programmedFlightIds() {
+        return programmedFlightIds;
+    }
+
+    /**
+     * Returns the ids of the generated bookings.
+     *
+     * @return the booking ids, in order
+     */
+    List<Integer> bookingIds() {
+        return bookingIds;
+    }
+
+    /**
+     * Returns the id of a generated customer, the buyer of the bookings created by the benchmarks.
+     *
+     * @return the id of the first generated customer
+     */
+    int customerId() {
+        return customerId;
+    }
+}
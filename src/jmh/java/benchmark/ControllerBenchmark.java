@@ -0,0 +1,102 @@
+package benchmark;
+
+import controller.Controller;
+import database.ConnessioneDatabase;
+import model.Departing;
+import model.Flight;
+import model.FlightStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency of the controller paths that read a flight and assemble its object graph.
+ * <p>
+ * {@link Controller#getAllForAFlight(Integer)} reads the manifest of a random flight of
+ * the dataset and builds its bookings, tickets, passengers and luggage, as when an
+ * administrator opens a flight. The flight object is recreated at every invocation,
+ * because the controller appends the assembled bookings to it.
+ * </p>
+ * <p>
+ * The benchmark measures the controller with the database included; the assembly alone
+ * is measured by {@link FlightGraphAssemblerBenchmark}.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see BenchmarkDataset
+ * @see Controller
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ControllerBenchmark {
+
+    /**
+     * Number of flights of the generated dataset.
+     */
+    @Param({"100", "1000"})
+    public int flights;
+
+    /**
+     * The generated dataset.
+     */
+    private BenchmarkDataset dataset;
+
+    /**
+     * The controller under test.
+     */
+    private Controller controller;
+
+    /**
+     * Loads the dataset of the trial and creates the controller.
+     *
+     * @throws SQLException if the dataset cannot be loaded
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        dataset = BenchmarkDataset.load(flights);
+        controller = new Controller();
+    }
+
+    /**
+     * Removes the dataset of the trial and closes the connection pool.
+     *
+     * @throws SQLException if the dataset cannot be removed
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        BenchmarkDataset.clear();
+        ConnessioneDatabase.getInstance().closeConnection();
+    }
+
+    /**
+     * Reads and assembles all the data of a random flight.
+     *
+     * @return the assembled flight
+     */
+    @Benchmark
+    public Flight getAllForAFlight() {
+
+        List<String> flightIds = dataset.flightIds();
+        String flightId = flightIds.get(ThreadLocalRandom.current().nextInt(flightIds.size()));
+
+        Flight flight = new Departing(flightId, "Benchmark", new Date(System.currentTimeMillis()),
+                Time.valueOf("10:00:00"), Time.valueOf("12:00:00"), FlightStatus.PROGRAMMED,
+                BenchmarkDataset.MAX_SEATS, "Roma");
+
+        controller.getFlightController().setSearchResult(List.of(flight));
+        controller.getAllForAFlight(0);
+
+        return controller.getFlightController().getFlight();
+    }
+}
@@ -0,0 +1,178 @@
+package benchmark;
+
+import dao.BookingTicketRow;
+import dao.FlightDAO;
+import dao.FlightManifestRow;
+import dao.FlightSearchRow;
+import dao.LuggageDAO;
+import dao.Page;
+import dao.SearchMode;
+import dao.TicketDAO;
+import database.ConnessioneDatabase;
+import implementazioni_postgres_dao.FlightDAOImpl;
+import implementazioni_postgres_dao.LuggageDAOImpl;
+import implementazioni_postgres_dao.TicketDAOImpl;
+import model.SeatMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency of the read paths of the DAOs against a synthetic dataset.
+ * <p>
+ * Every benchmark is measured both in throughput and in sampled latency, so the JSON
+ * results report operations per second together with the p50, p90, p99 and maximum
+ * latency of each method. The size of the dataset is the {@code flights} parameter,
+ * which can be overridden from the command line with {@code -p flights=...}.
+ * </p>
+ * <p>
+ * The flight and booking used by each invocation are chosen at random among the
+ * generated ones, so that the measures are not limited to a single hot row.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see BenchmarkDataset
+ * @see FlightDAOImpl
+ * @see TicketDAOImpl
+ * @see LuggageDAOImpl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DaoBenchmark {
+
+    /**
+     * Number of bookings whose tickets are read by {@link #getAllTicketBookings()}, as on a page of booking search results.
+     */
+    private static final int BOOKINGS_PER_PAGE = 50;
+
+    /**
+     * Number of flights of the generated dataset.
+     */
+    @Param({"100", "1000"})
+    public int flights;
+
+    /**
+     * The generated dataset.
+     */
+    private BenchmarkDataset dataset;
+
+    /**
+     * The flight DAO under test.
+     */
+    private final FlightDAO flightDAO = new FlightDAOImpl();
+
+    /**
+     * The ticket DAO under test.
+     */
+    private final TicketDAO ticketDAO = new TicketDAOImpl();
+
+    /**
+     * The luggage DAO under test.
+     */
+    private final LuggageDAO luggageDAO = new LuggageDAOImpl();
+
+    /**
+     * Loads the dataset of the trial.
+     *
+     * @throws SQLException if the dataset cannot be loaded
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        dataset = BenchmarkDataset.load(flights);
+    }
+
+    /**
+     * Removes the dataset of the trial and closes the connection pool.
+     *
+     * @throws SQLException if the dataset cannot be removed
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        BenchmarkDataset.clear();
+        ConnessioneDatabase.getInstance().closeConnection();
+    }
+
+    /**
+     * First page of the customer flight search by destination prefix.
+     *
+     * @return the page read
+     * @throws SQLException if the query fails
+     */
+    @Benchmark
+    public Page<FlightSearchRow> searchFlightPage() throws SQLException {
+        return flightDAO.searchFlightPage("Napoli", "Ro", null, null, null, null, SearchMode.PREFIX,
+                50, null);
+    }
+
+    /**
+     * Manifest of a random flight, as read when an administrator opens it.
+     *
+     * @return the rows of the manifest
+     * @throws SQLException if the query fails
+     */
+    @Benchmark
+    public List<FlightManifestRow> getFlightManifest() throws SQLException {
+        return flightDAO.getFlightManifest(randomFlight());
+    }
+
+    /**
+     * Seat occupancy of a random flight, as read when a booking page is opened.
+     *
+     * @return the seat map
+     * @throws SQLException if the query fails
+     */
+    @Benchmark
+    public SeatMap getSeatMap() throws SQLException {
+        return flightDAO.getSeatMap(randomFlight(), null);
+    }
+
+    /**
+     * Tickets of a page of consecutive bookings, read with a single query.
+     *
+     * @return the tickets by booking id
+     * @throws SQLException if the query fails
+     */
+    @Benchmark
+    public Map<Integer, List<BookingTicketRow>> getAllTicketBookings() throws SQLException {
+
+        List<Integer> bookingIds = dataset.bookingIds();
+        int from = ThreadLocalRandom.current().nextInt(Math.max(1, bookingIds.size() - BOOKINGS_PER_PAGE));
+
+        return ticketDAO.getAllTicketBookings(bookingIds.subList(from, Math.min(bookingIds.size(), from + BOOKINGS_PER_PAGE)));
+    }
+
+    /**
+     * Full lost luggage report, streamed through the server-side cursor.
+     *
+     * @param blackhole the sink of the rows
+     * @return the number of rows read
+     * @throws SQLException if the query fails
+     */
+    @Benchmark
+    public int streamLostLuggageRows(Blackhole blackhole) throws SQLException {
+        return luggageDAO.streamLostLuggageRows(blackhole::consume);
+    }
+
+    /**
+     * Chooses a random generated flight.
+     *
+     * @return the id of the flight
+     */
+    private String randomFlight() {
+
+        List<String> flightIds = dataset.flightIds();
+
+        return flightIds.get(ThreadLocalRandom.current().nextInt(flightIds.size()));
+    }
+}
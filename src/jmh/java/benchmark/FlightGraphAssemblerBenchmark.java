@@ -0,0 +1,98 @@
+package benchmark;
+
+import controller.FlightGraphAssembler;
+import dao.FlightManifestRow;
+import model.Departing;
+import model.Flight;
+import model.FlightStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of the assembly of a flight object graph with the number of manifest rows, without the database.
+ * <p>
+ * The manifest is generated in memory with the shape of a real one: bookings of three
+ * passengers, buyers with several bookings and one checked luggage every other ticket.
+ * The average time per assembly should grow linearly with the {@code rows} parameter;
+ * a super-linear growth means that a lookup of the assembler has become a linear scan.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see FlightGraphAssembler
+ * @see ControllerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlightGraphAssemblerBenchmark {
+
+    /**
+     * Number of rows of the manifest.
+     */
+    @Param({"100", "1000", "10000"})
+    public int rows;
+
+    /**
+     * The flight the rows belong to.
+     */
+    private Flight flight;
+
+    /**
+     * The generated manifest.
+     */
+    private List<FlightManifestRow> manifest;
+
+    /**
+     * Generates the manifest of the trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        flight = new Departing("BENCH000001", "Benchmark", Date.valueOf("2030-01-01"),
+                Time.valueOf("10:00:00"), Time.valueOf("12:00:00"), FlightStatus.PROGRAMMED,
+                Short.MAX_VALUE, "Roma");
+
+        manifest = new ArrayList<>(rows);
+
+        for (int i = 0; i < rows; i++) {
+
+            int ticket = i;
+            int booking = ticket / BenchmarkDataset.TICKETS_PER_BOOKING;
+            int customer = booking / 4;
+            boolean luggage = i % 2 == 1;
+
+            manifest.add(new FlightManifestRow(0,
+                    customer, "bench_" + customer, "bench_" + customer + "@bench.example", "0".repeat(64),
+                    booking, "CONFIRMED", Date.valueOf("2029-12-01"),
+                    String.format("99%011d", ticket), ticket, false,
+                    "Nome" + ticket, "Cognome" + ticket, String.format("BENCH%011d", ticket), Date.valueOf("1990-01-01"),
+                    luggage ? ticket + 1 : 0, null, luggage ? "CHECKED" : null, luggage ? "BOOKED" : null));
+        }
+    }
+
+    /**
+     * Assembles the whole manifest.
+     *
+     * @return the assembler holding the graph
+     * @throws Exception if an entity of the graph cannot be created
+     */
+    @Benchmark
+    public FlightGraphAssembler assemble() throws Exception {
+
+        FlightGraphAssembler assembler = new FlightGraphAssembler(manifest.size());
+
+        for (FlightManifestRow row : manifest) assembler.add(row, flight);
+
+        return assembler;
+    }
+}
@@ -0,0 +1,232 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe collector of the latencies and outcomes of the operations run by the {@link LoadGenerator}.
+ * <p>
+ * Every sample is kept, so the percentiles of the report are exact: a run of a few minutes
+ * at peak rate produces at most a few million samples, a few tens of megabytes. Failed
+ * operations are counted separately and do not contribute to the latencies.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see LoadGenerator
+ */
+final class LatencyRecorder {
+
+    /**
+     * The statistics of every operation, by operation name.
+     */
+    private final ConcurrentHashMap<String, Operation> operations = new ConcurrentHashMap<>();
+
+    /**
+     * Records a completed operation.
+     *
+     * @param operation the name of the operation
+     * @param nanos the duration of the operation, in nanoseconds
+     */
+    void success(String operation, long nanos) {
+        operations.computeIfAbsent(operation, name -> new Operation()).add(nanos);
+    }
+
+    /**
+     * Records a failed operation.
+     *
+     * @param operation the name of the operation
+     */
+    void failure(String operation) {
+        operations.computeIfAbsent(operation, name -> new Operation()).fail();
+    }
+
+    /**
+     * Prints the report of every operation, in alphabetical order.
+     *
+     * @param out the stream the report is printed to
+     * @param elapsedSeconds the duration of the run, used to compute the throughput
+     */
+    void print(PrintStream out, double elapsedSeconds) {
+
+        out.printf(Locale.ROOT, "%-22s %9s %9s %8s %9s %9s %9s %9s %9s%n",
+                "operazione", "ok", "errori", "err %", "op/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+
+        for (Map.Entry<String, Summary> entry : summaries().entrySet()) {
+
+            Summary s = entry.getValue();
+
+            out.printf(Locale.ROOT, "%-22s %9d %9d %8.2f %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), s.count(), s.errors(), s.errorRate() * 100, s.count() / elapsedSeconds,
+                    s.p50(), s.p95(), s.p99(), s.max());
+        }
+    }
+
+    /**
+     * Writes the report of every operation as CSV.
+     *
+     * @param path the file to write
+     * @param elapsedSeconds the duration of the run, used to compute the throughput
+     * @throws IOException if the file cannot be written
+     */
+    void writeCsv(Path path, double elapsedSeconds) throws IOException {
+
+        try (Writer writer = Files.newBufferedWriter(path)) {
+
+            writer.write("operation,count,errors,error_rate,ops_per_second,p50_ms,p95_ms,p99_ms,max_ms\n");
+
+            for (Map.Entry<String, Summary> entry : summaries().entrySet()) {
+
+                Summary s = entry.getValue();
+
+                writer.write(String.format(Locale.ROOT, "%s,%d,%d,%.4f,%.2f,%.3f,%.3f,%.3f,%.3f%n",
+                        entry.getKey(), s.count(), s.errors(), s.errorRate(), s.count() / elapsedSeconds,
+                        s.p50(), s.p95(), s.p99(), s.max()));
+            }
+        }
+    }
+
+    /**
+     * Computes the summary of every operation.
+     *
+     * @return the summaries by operation name, in alphabetical order
+     */
+    private Map<String, Summary> summaries() {
+
+        TreeMap<String, Summary> summaries = new TreeMap<>();
+
+        operations.forEach((name, operation) -> summaries.put(name, operation.summary()));
+
+        return summaries;
+    }
+
+    /**
+     * The samples of a single operation.
+     */
+    private static final class Operation {
+
+        /**
+         * Lock guarding the samples, never held for more than an array copy.
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * The recorded durations, in nanoseconds; only the first {@link #count} are valid.
+         */
+        private long[] samples = new long[1024];
+
+        /**
+         * Number of successful executions.
+         */
+        private int count;
+
+        /**
+         * Number of failed executions.
+         */
+        private int errors;
+
+        /**
+         * Records a successful execution.
+         *
+         * @param nanos the duration, in nanoseconds
+         */
+        void add(long nanos) {
+
+            lock.lock();
+            try {
+                if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+
+                samples[count++] = nanos;
+
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Records a failed execution.
+         */
+        void fail() {
+
+            lock.lock();
+            try {
+                errors++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Computes the percentiles of the recorded durations.
+         *
+         * @return the summary of the operation
+         */
+        Summary summary() {
+
+            long[] sorted;
+            int failed;
+
+            lock.lock();
+            try {
+                sorted = Arrays.copyOf(samples, count);
+                failed = errors;
+            } finally {
+                lock.unlock();
+            }
+
+            Arrays.sort(sorted);
+
+            return new Summary(sorted.length, failed,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        /**
+         * Returns a percentile of sorted durations with the nearest-rank method.
+         *
+         * @param sorted the durations in ascending order, in nanoseconds
+         * @param fraction the percentile, between 0 and 1
+         * @return the percentile in milliseconds, 0 if there are no samples
+         */
+        private static double percentile(long[] sorted, double fraction) {
+
+            if (sorted.length == 0) return 0;
+
+            int rank = (int) Math.ceil(fraction * sorted.length);
+
+            return sorted[Math.max(0, rank - 1)] / 1e6;
+        }
+    }
+
+    /**
+     * The statistics of an operation over the whole run.
+     *
+     * @param count the number of successful executions
+     * @param errors the number of failed executions
+     * @param p50 the median latency, in milliseconds
+     * @param p95 the 95th percentile of the latency, in milliseconds
+     * @param p99 the 99th percentile of the latency, in milliseconds
+     * @param max the maximum latency, in milliseconds
+     */
+    private record Summary(int count, int errors, double p50, double p95, double p99, double max) {
+
+        /**
+         * Returns the fraction of failed executions.
+         *
+         * @return the error rate, between 0 and 1
+         */
+        double errorRate() {
+            return count + errors == 0 ? 0 : (double) errors / (count + errors);
+        }
+    }
+}
@@ -0,0 +1,572 @@
+package benchmark;
+
+import controller.Controller;
+import controller.FlightController;
+import dao.BookingDAO;
+import dao.FlightDAO;
+import dao.FlightManifestRow;
+import dao.FlightSearchRow;
+import dao.LuggageDAO;
+import dao.Page;
+import dao.SearchMode;
+import dao.SeatHoldDAO;
+import database.ConnessioneDatabase;
+import implementazioni_postgres_dao.BookingDAOImpl;
+import implementazioni_postgres_dao.FlightDAOImpl;
+import implementazioni_postgres_dao.LuggageDAOImpl;
+import implementazioni_postgres_dao.SeatHoldDAOImpl;
+import model.Departing;
+import model.FlightStatus;
+import model.SeatMap;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Headless load generator simulating a peak day of the airport against a local PostgreSQL.
+ * <p>
+ * Two kinds of traffic run concurrently, on virtual threads, for a configurable duration:
+ * </p>
+ * <ul>
+ *   <li>customer journeys, started as a Poisson process at the configured arrival rate:
+ *       flight search, seat map, seat holds, booking, "my bookings" and booking modification</li>
+ *   <li>flight operations, one flight at a time at a fixed interval: check-in opening,
+ *       passenger check-in, gate assignment, departure, landing, lost luggage report</li>
+ * </ul>
+ * <p>
+ * The customer journeys call the same DAO methods the {@link Controller} of a simulated
+ * desk calls for the Swing frames, so that their database failures are recorded: the
+ * controller reports them with a message and a fallback value instead. The flight search
+ * reads pages as the result panels do, the first one and, when the results continue, the
+ * next one, as if the customer scrolled down.
+ * Journeys and flight operations use disjoint sets of flights, so that bookings are not
+ * rejected because their flight has started boarding.
+ * </p>
+ * <p>
+ * At most {@code aeroporto.load.users} journeys run at the same time, each on its own
+ * desk; a journey arriving when every desk is busy is dropped and counted, which is the
+ * sign that the system cannot sustain the arrival rate. At the end, the latency
+ * percentiles and the error rate of every operation are printed and optionally written
+ * as CSV. Configuration, through system properties:
+ * </p>
+ * <ul>
+ *   <li>{@code aeroporto.load.durationSeconds}: duration of the run (60)</li>
+ *   <li>{@code aeroporto.load.rate}: customer journeys started per second (20)</li>
+ *   <li>{@code aeroporto.load.users}: maximum concurrent journeys (100)</li>
+ *   <li>{@code aeroporto.load.flights}: flights of the synthetic dataset (300)</li>
+ *   <li>{@code aeroporto.load.operationsIntervalSeconds}: interval between two flight operations (5)</li>
+ *   <li>{@code aeroporto.load.report}: CSV file of the report (none)</li>
+ *   <li>{@code aeroporto.load.keepData}: keep the dataset at the end of the run (false)</li>
+ * </ul>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see BenchmarkDataset
+ * @see LatencyRecorder
+ */
+public final class LoadGenerator {
+
+    /**
+     * Logger instance for recording the progress of the run and the failed journeys.
+     */
+    private static final Logger LOGGER = Logger.getLogger(LoadGenerator.class.getName());
+
+    /**
+     * Maximum number of passengers of a simulated booking.
+     */
+    private static final int MAX_PASSENGERS = 3;
+
+    /**
+     * Maximum number of seats tried before giving up a seat hold.
+     */
+    private static final int HOLD_ATTEMPTS = 5;
+
+    /**
+     * Duration of a seat hold, in seconds, as the default of the controller.
+     */
+    private static final int SEAT_HOLD_TTL_SECONDS = 300;
+
+    /**
+     * Duration of the run, in seconds.
+     */
+    private final int durationSeconds = Math.max(1, Integer.getInteger("aeroporto.load.durationSeconds", 60));
+
+    /**
+     * Customer journeys started per second.
+     */
+    private final double rate = Math.max(0.1, Double.parseDouble(System.getProperty("aeroporto.load.rate", "20")));
+
+    /**
+     * Maximum number of concurrent journeys, which is also the number of simulated desks.
+     */
+    private final int users = Math.max(1, Integer.getInteger("aeroporto.load.users", 100));
+
+    /**
+     * Number of flights of the synthetic dataset.
+     */
+    private final int flights = Math.max(10, Integer.getInteger("aeroporto.load.flights", 300));
+
+    /**
+     * Interval between the starts of two flight operations, in seconds.
+     */
+    private final int operationsIntervalSeconds = Math.max(1, Integer.getInteger("aeroporto.load.operationsIntervalSeconds", 5));
+
+    /**
+     * The latencies and outcomes of the operations.
+     */
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    /**
+     * The idle desks, taken by a journey for its whole duration.
+     */
+    private final ArrayBlockingQueue<Desk> desks;
+
+    /**
+     * Number of journeys dropped because every desk was busy.
+     */
+    private final AtomicLong droppedJourneys = new AtomicLong();
+
+    /**
+     * Number of the next simulated passenger, used to build unique SSNs.
+     */
+    private final AtomicLong nextPassenger = new AtomicLong();
+
+    /**
+     * Index of the next flight of {@link #operatedFlights} to operate.
+     */
+    private final AtomicInteger nextOperatedFlight = new AtomicInteger();
+
+    /**
+     * The booking DAO used for the steps not exposed by the controller without Swing panels.
+     */
+    private final BookingDAO bookingDAO = new BookingDAOImpl();
+
+    /**
+     * The flight DAO used for the steps not exposed by the controller without Swing panels.
+     */
+    private final FlightDAO flightDAO = new FlightDAOImpl();
+
+    /**
+     * The luggage DAO used for the steps not exposed by the controller without Swing panels.
+     */
+    private final LuggageDAO luggageDAO = new LuggageDAOImpl();
+
+    /**
+     * The seat hold DAO used for the seat choice of the journeys.
+     */
+    private final SeatHoldDAO seatHoldDAO = new SeatHoldDAOImpl();
+
+    /**
+     * The flights customers can book.
+     */
+    private Set<String> bookableFlights;
+
+    /**
+     * The flights taken through check-in, departure and landing, in order.
+     */
+    private List<String> operatedFlights;
+
+    /**
+     * Creates a generator with the configuration read from the system properties.
+     */
+    private LoadGenerator() {
+        desks = new ArrayBlockingQueue<>(users);
+    }
+
+    /**
+     * Runs the load generator.
+     *
+     * @param args ignored, the configuration is read from the system properties
+     * @throws Exception if the dataset cannot be loaded or removed
+     */
+    public static void main(String[] args) throws Exception {
+        new LoadGenerator().run();
+    }
+
+    /**
+     * Loads the dataset, generates the load for the configured duration and prints the report.
+     *
+     * @throws SQLException if the dataset cannot be loaded or removed
+     * @throws InterruptedException if the run is interrupted
+     * @throws IOException if the CSV report cannot be written
+     */
+    private void run() throws SQLException, InterruptedException, IOException {
+
+        BenchmarkDataset dataset = BenchmarkDataset.load(flights);
+
+        //l'ultimo terzo dei voli programmati è riservato alle operazioni di volo
+        List<String> programmed = dataset.programmedFlightIds();
+        int split = programmed.size() * 2 / 3;
+
+        bookableFlights = new HashSet<>(programmed.subList(0, split));
+        operatedFlights = programmed.subList(split, programmed.size());
+
+        int customers = Math.max(1, flights * BenchmarkDataset.BOOKINGS_PER_FLIGHT / 4);
+
+        for (int i = 0; i < users; i++) desks.add(new Desk(new Controller(), dataset.customerId() + i % customers, UUID.randomUUID()));
+
+        LOGGER.log(Level.INFO, "Carico di {0} percorsi/s con {1} utenti per {2} s",
+                new Object[]{rate, users, durationSeconds});
+
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            executor.submit(() -> operateFlights(executor, end));
+
+            long nextArrival = start;
+
+            while (nextArrival < end) {
+
+                LockSupport.parkNanos(nextArrival - System.nanoTime());
+
+                Desk desk = desks.poll();
+
+                if (desk == null) {
+                    droppedJourneys.incrementAndGet();
+                } else {
+                    executor.submit(() -> {
+                        try {
+                            journey(desk);
+                        } finally {
+                            desks.add(desk);
+                        }
+                    });
+                }
+
+                //arrivi di Poisson: intervalli esponenziali con media 1/rate
+                nextArrival += (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) / rate * 1e9);
+            }
+
+            executor.shutdown();
+
+            if (!executor.awaitTermination(2, TimeUnit.MINUTES)) executor.shutdownNow();
+        }
+
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        recorder.print(System.out, elapsedSeconds);
+        System.out.printf("percorsi scartati (utenti tutti occupati): %d%n", droppedJourneys.get());
+
+        String report = System.getProperty("aeroporto.load.report");
+        if (report != null && !report.isBlank()) recorder.writeCsv(Path.of(report), elapsedSeconds);
+
+        if (!Boolean.getBoolean("aeroporto.load.keepData")) BenchmarkDataset.clear();
+
+        ConnessioneDatabase.getInstance().closeConnection();
+    }
+
+    /**
+     * Starts the operations of the next flight at a fixed interval until the end of the run.
+     *
+     * @param executor the executor running the operations
+     * @param end the value of {@link System#nanoTime()} at which the run ends
+     */
+    private void operateFlights(ExecutorService executor, long end) {
+
+        long next = System.nanoTime();
+
+        while (next < end && !executor.isShutdown()) {
+
+            int index = nextOperatedFlight.getAndIncrement();
+
+            if (index >= operatedFlights.size()) return;
+
+            String flightId = operatedFlights.get(index);
+
+            try {
+                executor.submit(() -> operateFlight(flightId));
+            } catch (RejectedExecutionException e) {
+                //la corsa è terminata durante l'attesa
+                return;
+            }
+
+            next += TimeUnit.SECONDS.toNanos(operationsIntervalSeconds);
+
+            LockSupport.parkNanos(next - System.nanoTime());
+        }
+    }
+
+    /**
+     * Simulates a customer: search, seat choice, booking and modification of the booking.
+     *
+     * @param desk the desk the customer uses
+     */
+    private void journey(Desk desk) {
+
+        Controller controller = desk.controller();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        try {
+            LocalDate from = LocalDate.now();
+            LocalDate to = from.plusDays(7);
+
+            Page<FlightSearchRow> firstPage = timed("ricerca_voli", () -> flightDAO.searchFlightPage("Napoli", null, from, to,
+                    null, null, SearchMode.PREFIX, Controller.SEARCH_PAGE_SIZE, null));
+
+            List<FlightSearchRow> found = new ArrayList<>(firstPage.rows());
+
+            if (firstPage.nextToken() != null) {
+                found.addAll(timed("ricerca_voli_pagina", () -> flightDAO.searchFlightPage("Napoli", null, from, to,
+                        null, null, SearchMode.PREFIX, Controller.SEARCH_PAGE_SIZE, firstPage.nextToken())).rows());
+            }
+
+            List<FlightSearchRow> candidates = new ArrayList<>();
+            for (FlightSearchRow row : found) if (bookableFlights.contains(row.flightId())) candidates.add(row);
+
+            if (candidates.isEmpty()) return;
+
+            String flightId = candidates.get(random.nextInt(candidates.size())).flightId();
+
+            SeatMap seats = timed("mappa_posti", () -> flightDAO.getSeatMap(flightId, null));
+
+            int passengers = 1 + random.nextInt(MAX_PASSENGERS);
+            List<Integer> chosenSeats = new ArrayList<>(passengers);
+
+            for (int p = 0; p < passengers; p++) chosenSeats.add(holdSeat(desk, flightId, seats));
+
+            Booking booking = newBooking(controller, passengers, chosenSeats);
+
+            try {
+                timed("prenotazione", () -> {
+                    bookingDAO.addBooking(desk.customerId(), flightId, "CONFIRMED", booking.ticketNumbers, booking.seats,
+                            booking.firstNames, booking.lastNames, booking.birthDates, booking.passengerSSNs,
+                            booking.luggagesTypes, booking.ticketForLuggages);
+                    return null;
+                });
+            } finally {
+                timed("rilascio_posti", () -> seatHoldDAO.releaseAll(desk.seatHolder()));
+            }
+
+            List<Integer> bookingIds = new ArrayList<>();
+
+            timed("mie_prenotazioni", () -> {
+                bookingDAO.searchBooksCustomerForAFlight(flightId, desk.customerId(), new ArrayList<>(), new ArrayList<>(), bookingIds);
+                return null;
+            });
+
+            if (bookingIds.isEmpty()) throw new IllegalStateException("Prenotazione non trovata");
+
+            Integer bookingId = Collections.max(bookingIds);
+
+            //cambio dei dati del primo passeggero, come dalla pagina di modifica
+            booking.firstNames.set(0, "Modificato");
+
+            timed("modifica_prenotazione", () -> {
+                bookingDAO.modifyBooking(flightId, bookingId, booking.ticketNumbers, booking.seats, booking.firstNames,
+                        booking.lastNames, booking.birthDates, booking.passengerSSNs, booking.luggagesTypes,
+                        booking.ticketForLuggages, controller.generateTicketNumber(), "CONFIRMED");
+                return null;
+            });
+
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Percorso interrotto: {0}", e.getMessage());
+        }
+    }
+
+    /**
+     * Chooses a random free seat and holds it, trying a few other seats if it was taken in the meantime.
+     *
+     * @param desk the desk holding the seat
+     * @param flightId the flight of the booking
+     * @param seats the occupancy of the flight, updated with the held seat
+     * @return the held seat, or -1 if no seat could be held
+     * @throws Exception if the hold fails
+     */
+    private int holdSeat(Desk desk, String flightId, SeatMap seats) throws Exception {
+
+        for (int attempt = 0; attempt < HOLD_ATTEMPTS; attempt++) {
+
+            int seat = seats.nextFreeSeat(ThreadLocalRandom.current().nextInt(Math.max(1, seats.capacity())));
+            if (seat == -1) seat = seats.nextFreeSeat(0);
+            if (seat == -1) return -1;
+
+            seats.occupy(seat);
+
+            int candidate = seat;
+
+            if (timed("blocco_posto", () -> seatHoldDAO.holdSeat(flightId, candidate, desk.seatHolder(), null, SEAT_HOLD_TTL_SECONDS))) return seat;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Builds the data of a new booking with one checked luggage per passenger.
+     *
+     * @param controller the controller of the desk, allocating the ticket numbers
+     * @param passengers the number of passengers
+     * @param seats the seats of the passengers, -1 for no seat
+     * @return the booking data
+     */
+    private Booking newBooking(Controller controller, int passengers, List<Integer> seats) {
+
+        Booking booking = new Booking();
+
+        for (int p = 0; p < passengers; p++) {
+
+            String ticketNumber = controller.generateTicketNumber();
+
+            booking.ticketNumbers.add(ticketNumber);
+            booking.seats.add(seats.get(p));
+            booking.firstNames.add("Nome");
+            booking.lastNames.add("Cognome");
+            booking.birthDates.add(Date.valueOf("1985-06-15"));
+            booking.passengerSSNs.add(BenchmarkDataset.PREFIX + "L" + String.format("%010d", nextPassenger.incrementAndGet()));
+            booking.luggagesTypes.add("CHECKED");
+            booking.ticketForLuggages.add(ticketNumber);
+        }
+
+        return booking;
+    }
+
+    /**
+     * Takes a flight through check-in, gate assignment, departure and landing, then reports a lost luggage.
+     *
+     * @param flightId the flight to operate
+     */
+    private void operateFlight(String flightId) {
+
+        Controller controller = new Controller();
+        FlightController flightController = controller.getFlightController();
+
+        flightController.setFlight(new Departing(flightId, "Benchmark", new Date(System.currentTimeMillis()),
+                Time.valueOf("10:00:00"), Time.valueOf("12:00:00"), FlightStatus.PROGRAMMED,
+                BenchmarkDataset.MAX_SEATS, "Roma"));
+
+        try {
+            timed("apertura_checkin", () -> check(flightController.startCheckinAsync().join() > 0));
+
+            List<FlightManifestRow> manifest = timed("manifesto_volo", () -> flightDAO.getFlightManifest(flightId));
+
+            LinkedHashSet<String> tickets = new LinkedHashSet<>();
+            for (FlightManifestRow row : manifest) if (row.ticketNumber() != null && !"CANCELLED".equals(row.bookingStatus())) tickets.add(row.ticketNumber());
+
+            ArrayList<ArrayList<String>> luggageIds = timed("checkin",
+                    () -> check(flightDAO.checkinTickets(new ArrayList<>(tickets), new ArrayList<>())));
+
+            timed("assegnazione_gate", () -> check(flightDAO.searchGate(flightId) > 0));
+            timed("partenza", () -> check(flightController.setFlightStatusAsync("DEPARTED").join() > 0));
+            timed("atterraggio", () -> check(flightController.setFlightStatusAsync("LANDED").join() > 0));
+
+            String lostLuggage = luggageIds.stream().flatMap(List::stream).findFirst().orElse(null);
+
+            if (lostLuggage != null) {
+                timed("bagaglio_smarrito", () -> {
+                    luggageDAO.lostLuggage(lostLuggage, "LOST");
+                    return null;
+                });
+            }
+
+            timed("report_smarriti", () -> luggageDAO.streamLostLuggageRows(row -> { }));
+
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Operazioni del volo {0} interrotte: {1}", new Object[]{flightId, e.getMessage()});
+        }
+    }
+
+    /**
+     * Runs an operation and records its latency, or its failure.
+     *
+     * @param operation the name of the operation in the report
+     * @param action the operation
+     * @param <T> the type of the result of the operation
+     * @return the result of the operation
+     * @throws Exception if the operation fails; the failure has already been recorded
+     */
+    private <T> T timed(String operation, Callable<T> action) throws Exception {
+
+        long start = System.nanoTime();
+
+        try {
+            T result = action.call();
+
+            recorder.success(operation, System.nanoTime() - start);
+
+            return result;
+
+        } catch (Exception e) {
+            recorder.failure(operation);
+            throw e;
+        }
+    }
+
+    /**
+     * Turns an outcome reported by a return value into an exception, so that it is recorded as a failure.
+     *
+     * @param success whether the operation succeeded
+     * @return true
+     * @throws IllegalStateException if the operation failed
+     */
+    private static boolean check(boolean success) {
+
+        if (!success) throw new IllegalStateException("Operazione rifiutata");
+
+        return true;
+    }
+
+    /**
+     * Turns a null result, with which some DAO methods report an error, into an exception.
+     *
+     * @param result the result of the operation
+     * @param <T> the type of the result
+     * @return the result
+     * @throws IllegalStateException if the result is null
+     */
+    private static <T> T check(T result) {
+
+        if (result == null) throw new IllegalStateException("Operazione fallita");
+
+        return result;
+    }
+
+    /**
+     * A simulated desk: a controller with its session state, the customer logged in and the holder of its seat holds.
+     *
+     * @param controller the controller of the desk
+     * @param customerId the id of the customer making the bookings
+     * @param seatHolder the identifier of the desk as holder of seat holds, as the controller's one
+     */
+    private record Desk(Controller controller, int customerId, UUID seatHolder) {
+    }
+
+    /**
+     * The data of a simulated booking, in the parallel lists expected by {@link BookingDAO}.
+     */
+    private static final class Booking {
+
+        private final List<String> ticketNumbers = new ArrayList<>();
+        private final List<Integer> seats = new ArrayList<>();
+        private final List<String> firstNames = new ArrayList<>();
+        private final List<String> lastNames = new ArrayList<>();
+        private final List<Date> birthDates = new ArrayList<>();
+        private final List<String> passengerSSNs = new ArrayList<>();
+        private final List<String> luggagesTypes = new ArrayList<>();
+        private final List<String> ticketForLuggages = new ArrayList<>();
+    }
+}
@@ -0,0 +1,260 @@
+package controller;
+
+import gui.DisposableObject;
+import metrics.DaoMetrics;
+
+import javax.swing.*;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Singleton executor that runs database work off the Swing event dispatch thread.
+ * <p>
+ * Every task runs on its own virtual thread, while a {@link Semaphore} bounds how many
+ * tasks may access the database at the same time (by default as many as the connection
+ * pool can serve, see the {@code aeroporto.async.maxConcurrent} system property). The
+ * {@link CompletableFuture} returned by {@link #submit(DisposableObject, Callable)} is
+ * always completed on the event dispatch thread through {@link SwingUtilities#invokeLater(Runnable)},
+ * so dependent stages attached with the non-async methods ({@code thenAccept},
+ * {@code whenComplete}, ...) can safely update controller state and Swing components.
+ * </p>
+ * <p>
+ * Tasks are registered under the {@link DisposableObject} that requested them. When the
+ * {@link Controller} disposes that object during navigation, {@link #cancel(DisposableObject)}
+ * cancels its pending tasks: tasks not started yet are skipped, while queries already
+ * running are allowed to finish (so that their pooled connection is returned in a clean
+ * state) but their results are discarded.
+ * </p>
+ * <p>
+ * While a task runs, the class of its owner is published to {@link DaoMetrics} as the
+ * screen the database calls of the task are attributed to.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see Controller
+ * @see DisposableObject
+ */
+public class AsyncExecutor {
+
+    /**
+     * Logger instance for recording background task failures.
+     */
+    private static final Logger LOGGER = Logger.getLogger(AsyncExecutor.class.getName());
+
+    /**
+     * The singleton instance of the AsyncExecutor class.
+     */
+    private static AsyncExecutor instance;
+
+    /**
+     * Executor starting one virtual thread per task.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Permits bounding the number of tasks running database work concurrently.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Pending tasks grouped by the object that requested them.
+     */
+    private final Map<DisposableObject, Set<CompletableFuture<?>>> pending = new IdentityHashMap<>();
+
+    /**
+     * Private constructor creating the virtual thread executor and the concurrency bound.
+     */
+    private AsyncExecutor() {
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("aeroporto-dao-", 0).factory());
+        permits = new Semaphore(Math.max(1, Integer.getInteger("aeroporto.async.maxConcurrent",
+                Integer.getInteger("aeroporto.db.pool.maxSize", 10))));
+    }
+
+    /**
+     * Returns the singleton instance of AsyncExecutor.
+     *
+     * @return the shared AsyncExecutor instance
+     */
+    public static synchronized AsyncExecutor getInstance() {
+        if (instance == null) {
+            instance = new AsyncExecutor();
+        }
+        return instance;
+    }
+
+    /**
+     * Runs a task in the background and completes the returned future on the event dispatch thread.
+     *
+     * @param <T> the type of the task result
+     * @param owner the object that requested the task, whose disposal cancels it (may be null)
+     * @param task the database work to execute; it must not touch Swing components
+     * @return a future completed on the event dispatch thread with the task result or failure
+     */
+    public <T> CompletableFuture<T> submit(DisposableObject owner, Callable<T> task) {
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        register(owner, result);
+        result.whenComplete((value, e) -> unregister(owner, result));
+
+        String screen = owner == null ? null : owner.getClass().getSimpleName();
+
+        executor.execute(() -> run(task, result, screen));
+
+        return result;
+    }
+
+    /**
+     * Runs a task in the background and hands its outcome to callbacks on the event dispatch thread.
+     * <p>
+     * Neither callback is invoked if the task is cancelled.
+     * </p>
+     *
+     * @param <T> the type of the task result
+     * @param owner the object that requested the task, whose disposal cancels it (may be null)
+     * @param task the database work to execute; it must not touch Swing components
+     * @param onSuccess the callback receiving the result on the event dispatch thread
+     * @param onFailure the callback receiving the exception thrown by the task on the event dispatch thread
+     * @return a future completed on the event dispatch thread with the task result or failure
+     */
+    public <T> CompletableFuture<T> submit(DisposableObject owner, Callable<T> task, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+
+        CompletableFuture<T> result = submit(owner, task);
+
+        result.whenComplete((value, e) -> {
+            if (e == null) {
+                onSuccess.accept(value);
+            } else if (!(e instanceof CancellationException)) {
+                onFailure.accept(unwrap(e));
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Cancels every pending task requested by an object.
+     *
+     * @param owner the object being disposed
+     */
+    public void cancel(DisposableObject owner) {
+
+        Set<CompletableFuture<?>> tasks;
+
+        synchronized (pending) {
+            tasks = pending.remove(owner);
+        }
+
+        if (tasks == null) return;
+
+        for (CompletableFuture<?> task : tasks.toArray(new CompletableFuture<?>[0])) task.cancel(false);
+    }
+
+    /**
+     * Returns the original exception thrown by a task, removing the wrappers added by {@link CompletableFuture}.
+     *
+     * @param e the exception received by a dependent stage
+     * @return the underlying cause
+     */
+    public static Throwable unwrap(Throwable e) {
+
+        while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) {
+            e = e.getCause();
+        }
+
+        return e;
+    }
+
+    /**
+     * Body of a background task: waits for a permit, runs the task and publishes the outcome on the event dispatch thread.
+     *
+     * @param <T> the type of the task result
+     * @param task the database work to execute
+     * @param result the future to complete
+     * @param screen the name of the screen that requested the task, for the metrics (may be null)
+     */
+    private <T> void run(Callable<T> task, CompletableFuture<T> result, String screen) {
+
+        if (result.isDone()) return;
+
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            SwingUtilities.invokeLater(() -> result.cancel(false));
+            return;
+        }
+
+        DaoMetrics.setScreen(screen);
+
+        try {
+            if (result.isDone()) return;
+
+            T value = task.call();
+
+            SwingUtilities.invokeLater(() -> result.complete(value));
+
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, e.getMessage(), e);
+            SwingUtilities.invokeLater(() -> result.completeExceptionally(e));
+
+        } catch (Throwable e) {
+            LOGGER.log(Level.SEVERE, e.getMessage(), e);
+            SwingUtilities.invokeLater(() -> result.completeExceptionally(e));
+
+        } finally {
+            DaoMetrics.setScreen(null);
+            permits.release();
+        }
+    }
+
+    /**
+     * Records a pending task under its owner.
+     *
+     * @param owner the object that requested the task (may be null)
+     * @param task the pending task
+     */
+    private void register(DisposableObject owner, CompletableFuture<?> task) {
+
+        if (owner == null) return;
+
+        synchronized (pending) {
+            pending.computeIfAbsent(owner, key -> Collections.newSetFromMap(new IdentityHashMap<>())).add(task);
+        }
+    }
+
+    /**
+     * Removes a completed task from its owner's pending set.
+     *
+     * @param owner the object that requested the task (may be null)
+     * @param task the completed task
+     */
+    private void unregister(DisposableObject owner, CompletableFuture<?> task) {
+
+        if (owner == null) return;
+
+        synchronized (pending) {
+            Set<CompletableFuture<?>> tasks = pending.get(owner);
+
+            if (tasks != null) {
+                tasks.remove(task);
+                if (tasks.isEmpty()) pending.remove(owner);
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package controller;
 
+import dao.BookingDAO;
 import implementazioni_postgres_dao.BookingDAOImpl;
+import implementazioni_postgres_dao.DAOFactory;
 import model.*;
 
 import java.sql.Date;
@@ -8,6 +10,7 @@ import java.sql.SQLException;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 
 /**
@@ -258,20 +261,32 @@ public class BookingController {
     }
 
     /**
-     * Deletes the current booking from the database.
+     * Deletes the current booking from the database in the background.
+     * <p>
+     * The deletion is submitted to the {@link AsyncExecutor} without an owner, so leaving the
+     * page does not cancel it; database errors are logged.
+     * </p>
      *
+     * @return a future completed on the event dispatch thread once the deletion has been attempted
      */
-    public void deleteBooking() {
+    public CompletableFuture<Void> deleteBookingAsync() {
 
-        try {
-            BookingDAOImpl bookingDAO = new BookingDAOImpl();
+        Integer bookingId = id;
 
-            bookingDAO.deleteBooking(id);
-        } catch (SQLException e) {
+        return AsyncExecutor.getInstance().submit(null, () -> {
 
-            Controller.getLogger().log(Level.SEVERE, e.getSQLState());
+            try {
+                BookingDAO bookingDAO = DAOFactory.bookingDAO();
 
-        }
+                bookingDAO.deleteBooking(bookingId);
+            } catch (SQLException e) {
+
+                Controller.getLogger().log(Level.SEVERE, e.getSQLState());
+
+            }
+
+            return null;
+        });
     }
 
     /**
@@ -7,6 +7,7 @@ import gui.FloatingMessage;
 import gui.LuggagePanel;
 import gui.PassengerPanel;
 import implementazioni_postgres_dao.*;
+import metrics.MetricsServer;
 import model.*;
 
 import javax.swing.*;
@@ -16,7 +17,16 @@ import java.sql.Time;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 import java.sql.Date;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -39,6 +49,7 @@ import java.util.logging.Logger;
  *   <li>Providing centralized logging and error handling capabilities</li>
  *   <li>Managing user authentication and session state across the application</li>
  *   <li>Coordinating database operations for complex multi-table transactions</li>
+ *   <li>Running slow database operations off the Swing event dispatch thread through the {@link AsyncExecutor}</li>
  * </ul>
  * <p>
  * The class maintains instances of all specialized controllers, providing access to their
@@ -59,6 +70,7 @@ import java.util.logging.Logger;
  * @see PassengerController
  * @see UserController
  * @see TicketController
+ * @see AsyncExecutor
  * @see DisposableObject
  */
 public class Controller {
@@ -140,6 +152,57 @@ public class Controller {
      */
     private static final Logger LOGGER = Logger.getLogger(Controller.class.getName());
 
+    /**
+     * Number of rows read by each page of the flight and booking searches.
+     * <p>
+     * The first page is loaded by the search itself, the following ones as the user scrolls
+     * the results. The size can be changed with the {@code aeroporto.search.pageSize}
+     * system property.
+     * </p>
+     */
+    public static final int SEARCH_PAGE_SIZE = Math.max(1, Integer.getInteger("aeroporto.search.pageSize", 50));
+
+    /**
+     * Number of lost luggage rows handed to the event dispatch thread at a time while they are streamed from the database.
+     */
+    private static final int LOST_LUGGAGE_CHUNK_SIZE = 200;
+
+    /**
+     * Duration of the hold taken on a seat when it is chosen during a booking, in seconds.
+     * <p>
+     * The hold keeps the seat unavailable to the other clients until the booking is saved
+     * or abandoned, and expires on its own if the application is closed without releasing
+     * it. The duration can be changed with the {@code aeroporto.seatHold.ttlSeconds}
+     * system property.
+     * </p>
+     */
+    private static final int SEAT_HOLD_TTL_SECONDS = Math.max(1, Integer.getInteger("aeroporto.seatHold.ttlSeconds", 300));
+
+    /**
+     * Identifier of this client in the seat holds, so that its own holds are renewed and not shown as taken.
+     */
+    private final UUID seatHolder = UUID.randomUUID();
+
+    /**
+     * The query reading the pages of the current booking search, or null if no search was performed.
+     */
+    private BookingPageQuery bookingPageQuery;
+
+    /**
+     * The continuation token of the next page of the current booking search, or null if every page was read.
+     */
+    private String bookingPageToken;
+
+    /**
+     * The flights of the current booking search by flight id, shared by the bookings of all its pages.
+     */
+    private final HashMap<String, Flight> bookingResultFlights = new HashMap<>();
+
+    /**
+     * The SSNs of the passengers already collected by the current booking search.
+     */
+    private final HashSet<String> bookingResultSSNs = new HashSet<>();
+
     /**
      * Constructs a new Controller instance and initializes all specialized controllers.
      *
@@ -156,6 +219,20 @@ public class Controller {
         ticketController = new TicketController();
     }
 
+    /**
+     * Starts the monitoring of the application.
+     * <p>
+     * The local Prometheus endpoint of the metrics is opt-in: it starts only when the
+     * {@code aeroporto.metrics.port} system property is set, see {@link MetricsServer}.
+     * The {@link EdtMonitor} is always installed, since it records the long tasks of the
+     * event dispatch thread only while a JDK Flight Recorder recording is running.
+     * </p>
+     */
+    public static void startMonitoring() {
+        MetricsServer.startIfConfigured();
+        EdtMonitor.install();
+    }
+
     /**
      * Retrieves the booking controller instance for booking-related operations.
      *
@@ -224,6 +301,7 @@ public class Controller {
      * <ul>
      *   <li>Capturing current window state (size, position, maximization)</li>
      *   <li>Disposing all windows from the stack except the login window</li>
+     *   <li>Cancelling the background tasks requested by the disposed windows</li>
      *   <li>Calling disposal handlers for proper cleanup</li>
      *   <li>Restoring window state to the login window</li>
      *   <li>Calling restoration handlers for proper initialization</li>
@@ -234,12 +312,15 @@ public class Controller {
      */
     public void goToLogin(List<DisposableObject> callingObjects){
 
+        NavigationEvent navigation = NavigationEvent.start("goToLogin", callingObjects);
+
         Dimension sourceDimension = callingObjects.getLast().getFrame().getSize();
         Point sourceLocation = callingObjects.getLast().getFrame().getLocation();
         int sourceExtendedState = callingObjects.getLast().getFrame().getExtendedState();
 
         for (int i = callingObjects.size() - 1; i > 0; i--) {
 
+            AsyncExecutor.getInstance().cancel(callingObjects.get(i));
             callingObjects.get(i).doOnDispose(callingObjects, this);
             callingObjects.getLast().getFrame().dispose();
             callingObjects.removeLast();
@@ -254,6 +335,8 @@ public class Controller {
         callingObjects.getLast().doOnRestore(callingObjects, this);
 
         callingObjects.getLast().getFrame().setVisible(true);
+
+        navigation.end(callingObjects);
     }
 
     /**
@@ -274,12 +357,15 @@ public class Controller {
      */
     public void goHome (List<DisposableObject> callingObjects) {
 
+        NavigationEvent navigation = NavigationEvent.start("goHome", callingObjects);
+
         Dimension sourceDimension = callingObjects.getLast().getFrame().getSize();
         Point sourceLocation = callingObjects.getLast().getFrame().getLocation();
         int sourceExtendedState = callingObjects.getLast().getFrame().getExtendedState();
 
         for (int i = callingObjects.size() - 1; i > 1; i--) {
 
+            AsyncExecutor.getInstance().cancel(callingObjects.get(i));
             callingObjects.get(i).doOnDispose(callingObjects, this);
             callingObjects.getLast().getFrame().dispose();
             callingObjects.removeLast();
@@ -295,6 +381,7 @@ public class Controller {
 
         callingObjects.getLast().getFrame().setVisible(true);
 
+        navigation.end(callingObjects);
     }
 
     /**
@@ -310,6 +397,7 @@ public class Controller {
      * </p>
      * <ul>
      *   <li>Capturing current window state (size, position, maximization)</li>
+     *   <li>Cancelling the background tasks requested by the current window</li>
      *   <li>Calling disposal handler for the current window</li>
      *   <li>Disposing the current window and removing it from the stack</li>
      *   <li>Applying captured state to the previous window</li>
@@ -321,10 +409,13 @@ public class Controller {
      */
     public void goBack (List<DisposableObject> callingObjects) {
 
+        NavigationEvent navigation = NavigationEvent.start("goBack", callingObjects);
+
         Dimension sourceDimension = callingObjects.getLast().getFrame().getSize();
         Point sourceLocation = callingObjects.getLast().getFrame().getLocation();
         int sourceExtendedState = callingObjects.getLast().getFrame().getExtendedState();
 
+        AsyncExecutor.getInstance().cancel(callingObjects.getLast());
         callingObjects.getLast().doOnDispose(callingObjects, this);
         callingObjects.getLast().getFrame().dispose();
         callingObjects.removeLast();
@@ -339,6 +430,7 @@ public class Controller {
 
         callingObjects.getLast().getFrame().setVisible(true);
 
+        navigation.end(callingObjects);
     }
 
     /**
@@ -355,6 +447,7 @@ public class Controller {
      * </p>
      * <ul>
      *   <li>Disposing all windows except the login window (index 0)</li>
+     *   <li>Cancelling the background tasks requested by the disposed windows</li>
      *   <li>Calling disposal handlers for proper cleanup</li>
      *   <li>Removing all windows from the navigation stack except login</li>
      *   <li>Calling restoration handler for the login window</li>
@@ -365,7 +458,10 @@ public class Controller {
      */
     public void logOut (List<DisposableObject> callingObjects) {
 
+        NavigationEvent navigation = NavigationEvent.start("logOut", callingObjects);
+
         for (int i = callingObjects.size() - 1; i > 0; i--) {
+            AsyncExecutor.getInstance().cancel(callingObjects.getLast());
             callingObjects.getLast().doOnDispose(callingObjects, this);
             callingObjects.getLast().getFrame().dispose();
             callingObjects.removeLast();
@@ -373,10 +469,12 @@ public class Controller {
 
         callingObjects.getLast().doOnRestore(callingObjects, this);
         callingObjects.getLast().getFrame().setVisible(true);
+
+        navigation.end(callingObjects);
     }
 
     /**
-     * Creates a new booking with passenger information and specified status.
+     * Creates in the background a new booking with passenger information and specified status.
      * <p>
      * This method handles the complete booking creation process by extracting passenger
      * information from GUI panels, preparing the data for database insertion, and
@@ -394,32 +492,41 @@ public class Controller {
      *   <li>Database persistence through the DAO layer</li>
      * </ul>
      *
+     * <p>
+     * The passenger details are read from the panels on the event dispatch thread, while
+     * the ticket numbers are generated and the booking is saved on the {@link AsyncExecutor}.
+     * The save is not bound to any window, so leaving the page does not cancel it.
+     * </p>
+     *
      * @param passengerPanels list of {@link PassengerPanel} objects containing passenger information and preferences
      * @param bookingStatus the initial status for the booking (e.g., "CONFIRMED", "PENDING")
+     * @return a future completed on the event dispatch thread once the booking has been saved, or the error logged
      */
-    public void addBooking(List<PassengerPanel> passengerPanels, String bookingStatus) {
+    public CompletableFuture<Void> addBookingAsync(List<PassengerPanel> passengerPanels, String bookingStatus) {
+
+        PassengersData passengers = new PassengersData(passengerPanels);
+        Integer userId = getUserController().getLoggedUserId();
+        String flightId = flightController.getId();
 
-        try {
+        //senza proprietario: il salvataggio non deve essere annullato dalla navigazione
+        return AsyncExecutor.getInstance().submit(null, () -> {
 
-            BookingDAOImpl bookingDAO = new BookingDAOImpl();
+            try {
 
-            ArrayList<String> ticketsNumbers = new ArrayList<>();
-            ArrayList<Integer> seats = new ArrayList<>();
-            ArrayList<String> firstNames = new ArrayList<>();
-            ArrayList<String> lastNames = new ArrayList<>();
-            ArrayList<Date> birthDates = new ArrayList<>();
-            ArrayList<String> passengerSSNs = new ArrayList<>();
-            ArrayList<String> luggagesTypes = new ArrayList<>();
-            ArrayList<String> ticketsForLuggagesTypes = new ArrayList<>();
+                BookingDAO bookingDAO = DAOFactory.bookingDAO();
 
-            preparePassengers(passengerPanels, ticketsNumbers, seats, firstNames, lastNames, birthDates, passengerSSNs, luggagesTypes, ticketsForLuggagesTypes);
+                passengers.assignTicketNumbers(DAOFactory.ticketDAO());
 
-            bookingDAO.addBooking(getUserController().getLoggedUserId(), flightController.getId(), bookingStatus, ticketsNumbers,
-                    seats, firstNames, lastNames, birthDates, passengerSSNs, luggagesTypes, ticketsForLuggagesTypes);
+                bookingDAO.addBooking(userId, flightId, bookingStatus, passengers.ticketsNumbers, passengers.seats,
+                        passengers.firstNames, passengers.lastNames, passengers.birthDates, passengers.passengerSSNs,
+                        passengers.luggagesTypes, passengers.ticketsForLuggagesTypes);
 
-        } catch (SQLException e) {
-            Controller.getLogger().log(Level.SEVERE, e.getSQLState());
-        }
+            } catch (SQLException e) {
+                Controller.getLogger().log(Level.SEVERE, e.getSQLState());
+            }
+
+            return null;
+        });
     }
 
     /**
@@ -451,7 +558,7 @@ public class Controller {
     }
 
     /**
-     * Modifies an existing booking with updated passenger information and status.
+     * Modifies in the background an existing booking with updated passenger information and status.
      * <p>
      * This method handles the complete booking modification process by extracting
      * updated passenger information from GUI panels, preparing the data for database
@@ -470,110 +577,59 @@ public class Controller {
      *   <li>Database updates through the DAO layer</li>
      * </ul>
      *
-     * @param passengerPanels list of {@link PassengerPanel} objects containing updated passenger information
-     * @param bookingStatus the updated status for the booking (e.g., "CONFIRMED", "PENDING", "CANCELLED")
-     */
-    public void modifyBooking (List<PassengerPanel> passengerPanels, String bookingStatus) {
-
-        try {
-
-            BookingDAOImpl bookingDAO = new BookingDAOImpl();
-
-            ArrayList<String> ticketsNumbers = new ArrayList<>();
-            ArrayList<Integer> seats = new ArrayList<>();
-            ArrayList<String> firstNames = new ArrayList<>();
-            ArrayList<String> lastNames = new ArrayList<>();
-            ArrayList<Date> birthDates = new ArrayList<>();
-            ArrayList<String> passengerSSNs = new ArrayList<>();
-            ArrayList<String> luggagesTypes = new ArrayList<>();
-            ArrayList<String> ticketsForLuggagesTypes = new ArrayList<>();
-
-            preparePassengers(passengerPanels, ticketsNumbers, seats, firstNames, lastNames, birthDates, passengerSSNs, luggagesTypes, ticketsForLuggagesTypes);
-
-            bookingDAO.modifyBooking(flightController.getId(), getBookingController().getId(), ticketsNumbers,
-                    seats, firstNames, lastNames, birthDates, passengerSSNs, luggagesTypes, ticketsForLuggagesTypes, generateTicketNumber(passengerPanels.size() + 1), bookingStatus);
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-
-            Controller.getLogger().log(Level.SEVERE, e.getSQLState());
-        }
-    }
-
-    /**
-     * Extracts and organizes passenger information from GUI panels for database operations.
-     * <p>
-     * This private utility method processes a collection of {@link PassengerPanel} objects
-     * to extract all necessary passenger information and organize it into separate lists
-     * for efficient database operations. It handles ticket number generation, passenger
-     * details extraction, and luggage association processing.
-     * </p>
      * <p>
-     * The method performs several key operations:
+     * As in {@link #addBookingAsync(List, String)}, the panels are read on the event dispatch
+     * thread and the booking is updated on the {@link AsyncExecutor}, without being
+     * cancelled when the page is left.
      * </p>
-     * <ul>
-     *   <li>Ticket number assignment using existing numbers or generating new ones</li>
-     *   <li>Seat assignment extraction from passenger panels</li>
-     *   <li>Personal information extraction (names, birthdates, SSNs)</li>
-     *   <li>Luggage type processing and ticket association</li>
-     *   <li>Data validation and consistency checking</li>
-     * </ul>
      *
-     * @param passengerPanels list of {@link PassengerPanel} objects containing passenger information
-     * @param ticketsNumbers list to be populated with ticket numbers (existing or generated)
-     * @param seats list to be populated with seat assignments
-     * @param firstNames list to be populated with passenger first names
-     * @param lastNames list to be populated with passenger last names
-     * @param birthDates list to be populated with passenger birth dates
-     * @param passengerSSNs list to be populated with passenger Social Security Numbers
-     * @param luggagesTypes list to be populated with selected luggage types
-     * @param ticketsForLuggagesTypes list to be populated with ticket numbers associated with luggage
+     * @param passengerPanels list of {@link PassengerPanel} objects containing updated passenger information
+     * @param bookingStatus the updated status for the booking (e.g., "CONFIRMED", "PENDING", "CANCELLED")
+     * @return a future completed on the event dispatch thread once the booking has been updated, or the error logged
      */
-    private void preparePassengers (List<PassengerPanel> passengerPanels, List<String> ticketsNumbers, List<Integer> seats, List<String> firstNames, List<String> lastNames,
-                                    List<Date> birthDates, List<String> passengerSSNs, List<String> luggagesTypes, List<String> ticketsForLuggagesTypes) {
-
-        int i = 0;
+    public CompletableFuture<Void> modifyBookingAsync (List<PassengerPanel> passengerPanels, String bookingStatus) {
 
-        for (PassengerPanel passengerPanel : passengerPanels) {
+        PassengersData passengers = new PassengersData(passengerPanels);
+        String flightId = flightController.getId();
+        Integer bookingId = getBookingController().getId();
 
-            if(passengerPanel.getTicketNumber() == null) ticketsNumbers.add(generateTicketNumber(i++));
-            else ticketsNumbers.add(passengerPanel.getTicketNumber());
+        //senza proprietario: il salvataggio non deve essere annullato dalla navigazione
+        return AsyncExecutor.getInstance().submit(null, () -> {
 
-            seats.add(passengerPanel.getSeat());
-            firstNames.add(passengerPanel.getPassengerName());
-            lastNames.add(passengerPanel.getPassengerSurname());
-            birthDates.add(passengerPanel.getPassengerDate());
-            passengerSSNs.add(passengerPanel.getPassengerCF());
+            try {
 
-            for (LuggagePanel luggagePanel : passengerPanel.getLuggagesPanels()) {
+                BookingDAO bookingDAO = DAOFactory.bookingDAO();
+                TicketDAO ticketDAO = DAOFactory.ticketDAO();
 
-                if (luggagePanel.getComboBox().getSelectedIndex() != 0 && luggagePanel.getComboBox().getSelectedItem() != null){
-                        luggagesTypes.add(luggagePanel.getComboBox().getSelectedItem().toString());
-                        ticketsForLuggagesTypes.add(ticketsNumbers.getLast());
-                    }
+                passengers.assignTicketNumbers(ticketDAO);
 
+                bookingDAO.modifyBooking(flightId, bookingId, passengers.ticketsNumbers, passengers.seats,
+                        passengers.firstNames, passengers.lastNames, passengers.birthDates, passengers.passengerSSNs,
+                        passengers.luggagesTypes, passengers.ticketsForLuggagesTypes, ticketDAO.generateTicketNumber(), bookingStatus);
 
+            } catch (SQLException e) {
+                Controller.getLogger().log(Level.SEVERE, e.getSQLState());
             }
-        }
+
+            return null;
+        });
     }
 
     /**
-     * Generates a unique ticket number with an offset for numbering consistency.
+     * Generates a unique ticket number.
      * <p>
-     * This method delegates ticket number generation to the {@link TicketDAOImpl}
-     * which implements the actual generation logic based on system requirements
-     * and database constraints. The offset parameter enables consistent numbering
-     * within booking contexts where multiple tickets need sequential identification.
+     * This method delegates ticket number generation to the {@link TicketDAOImpl}, which
+     * hands out numbers from blocks reserved on a database sequence: every call returns a
+     * different number, also across concurrent clients.
      * </p>
      *
-     * @param offset the numerical offset to apply during ticket number generation
-     * @return a unique ticket number string incorporating the specified offset
+     * @return a unique 13-digit ticket number
      */
-    public String generateTicketNumber (int offset) {
+    public String generateTicketNumber () {
 
-        TicketDAOImpl ticketDAO = new TicketDAOImpl();
+        TicketDAO ticketDAO = DAOFactory.ticketDAO();
 
-        return ticketDAO.generateTicketNumber(offset);
+        return ticketDAO.generateTicketNumber();
     }
 
     /**
@@ -604,127 +660,25 @@ public class Controller {
      * {@link PassengerController}) to enable comprehensive data access from different
      * application components.
      * </p>
+     * <p>
+     * Only the first {@link #SEARCH_PAGE_SIZE} bookings, by descending departure time, are
+     * loaded, in the background; the following pages are loaded by {@link #loadNextBookingPageAsync}
+     * as the results are scrolled.
+     * </p>
      *
+     * @param owner the window requesting the search, whose disposal cancels it
      * @param bookingDates list to be populated with booking creation dates
      * @param bookingStatus list to be populated with current booking status values
      * @param flightIds list to be populated with flight identifiers associated with bookings
      * @param searchButton UI button reference for displaying error messages if operations fail
+     * @return a future completed on the event dispatch thread with the number of bookings loaded
      */
-    public void getAllBooksLoogedCustomer(List<Date> bookingDates, List<String> bookingStatus, List<String> flightIds, JButton searchButton) {
-
-
-        ArrayList<String> companyNames = new ArrayList<>();
-        ArrayList<Date> dates = new ArrayList<>();
-        ArrayList<Time> departureTimes = new ArrayList<>();
-        ArrayList<Time> arrivalTimes = new ArrayList<>();
-        ArrayList<String> status = new ArrayList<>();
-        ArrayList<Integer> maxSeats = new ArrayList<>();
-        ArrayList<Integer> freeSeats = new ArrayList<>();
-        ArrayList<String> cities = new ArrayList<>();
-
-        ArrayList<Boolean> types = new ArrayList<>();
-
-        ArrayList<Integer> bookingIds = new ArrayList<>();
-
-        try{
-            BookingDAO bookingDAO = new BookingDAOImpl();
-
-            bookingDAO.getAllBooksCustomer(getCustomerController().getLoggedCustomerId(), flightIds, companyNames, dates, departureTimes, arrivalTimes, status, maxSeats, freeSeats,
-                    cities, types, bookingDates, bookingStatus, bookingIds);
-
-
-        } catch (SQLException e) {
-            new FloatingMessage("Errore nella connessione al Database (Prenotazioni)!", searchButton, FloatingMessage.ERROR_MESSAGE);
-        }
-
-        ArrayList<String> actualFlightIds = new ArrayList<>();
-
-        bookingController.setSearchBookingResult(new ArrayList<>());
-        bookingController.setSearchBookingResultIds(new ArrayList<>());
-        flightController.setSearchBookingResult(new ArrayList<>());
-
-        ticketController.setSearchBookingResult(new ArrayList<>());
-        passengerController.setSearchBookingResult(new ArrayList<>());
-
-        ArrayList<String> actualSSNs = new ArrayList<>();
-
-        for(int i = 0; i < flightIds.size(); i++){
-
-            if(!actualFlightIds.contains(flightIds.get(i))){
-
-                actualFlightIds.add(flightIds.get(i));
-
-                if(Boolean.TRUE.equals(types.get(i))){   //alloco Departing
-
-                    flightController.getSearchBookingResult().add(new Departing( flightIds.get(i), companyNames.get(i), dates.get(i), departureTimes.get(i), arrivalTimes.get(i),
-                            FlightStatus.valueOf(status.get(i).toUpperCase()), maxSeats.get(i), freeSeats.get(i), cities.get(i)));
-
-                }else{              //alloco Arriving
-
-                    flightController.getSearchBookingResult().add(new Arriving( flightIds.get(i), companyNames.get(i), dates.get(i), departureTimes.get(i), arrivalTimes.get(i),
-                            FlightStatus.valueOf(status.get(i).toUpperCase()), maxSeats.get(i), freeSeats.get(i), cities.get(i)));
-
-
-                }
-            }
-
-            ArrayList<String> ticketNumbers = new ArrayList<>();
-            ArrayList<Integer> seats = new ArrayList<>();
-            ArrayList<Boolean> checkedIns = new ArrayList<>();
-            ArrayList<String> passengerSSNs = new ArrayList<>();
-            ArrayList<String> firstNames = new ArrayList<>();
-            ArrayList<String> lastNames = new ArrayList<>();
-            ArrayList<Date> birthDates = new ArrayList<>();
-
-            TicketDAO ticketDao = new TicketDAOImpl();
-
-            try{
-
-                ticketDao.getAllTicketBooking(bookingIds.get(i), ticketNumbers, seats, checkedIns, passengerSSNs, firstNames, lastNames, birthDates);
-
-            } catch (SQLException e) {
-
-                new FloatingMessage("Errore nella connessione al Database (Biglietti)!", searchButton, FloatingMessage.ERROR_MESSAGE);
-            }
-
-            try{
-                if(!ticketNumbers.isEmpty()) {
-
-                    bookingController.getSearchBookingResult().add(new Booking(BookingStatus.valueOf(bookingStatus.get(i)), bookingDates.get(i),
-                            customerController.getLoggedCustomer(), flightController.getSearchBookingResult().getLast(),
-                            ticketNumbers.getFirst(), seats.getFirst(), checkedIns.getFirst(),
-                            firstNames.getFirst(), lastNames.getFirst(), passengerSSNs.getFirst(), birthDates.getFirst()));
-                    bookingController.getSearchBookingResultIds().add(bookingIds.get(i));
-                }else{
-                    throw new InvalidTicket("");
-                }
-
-            }catch (Exception e){
-                new FloatingMessage("Errore nella connessione al Database (Biglietti)!", searchButton, FloatingMessage.ERROR_MESSAGE);
-            }
-
-            for(int j = 1; j < ticketNumbers.size(); j++){
-                try{
-                    bookingController.getSearchBookingResult().getLast().getTickets().add(new Ticket(ticketNumbers.get(j), seats.get(j), checkedIns.get(j),
-                            flightController.getSearchBookingResult().getLast(), bookingController.getSearchBookingResult().getLast(),
-                            firstNames.get(j), lastNames.get(j), passengerSSNs.get(j), birthDates.get(j)));
-
-                }catch (Exception e){
-                    new FloatingMessage("Errore nella connessione al Database!", searchButton, FloatingMessage.ERROR_MESSAGE);
-                }
-            }
-
-            ticketController.getSearchBookingResult().addAll(bookingController.getSearchBookingResult().getLast().getTickets());
-            for(Ticket x: bookingController.getSearchBookingResult().getLast().getTickets()){
-                if(!actualSSNs.contains(x.getPassenger().getPassengerSSN())){
-                    actualSSNs.add(x.getPassenger().getPassengerSSN());
-                    passengerController.getSearchBookingResult().add(x.getPassenger());
-                }
+    public CompletableFuture<Integer> getAllBooksLoogedCustomerAsync(DisposableObject owner, List<Date> bookingDates, List<String> bookingStatus, List<String> flightIds, JButton searchButton) {
 
-            }
-
-        }
+        Integer customerId = getCustomerController().getLoggedCustomerId();
 
+        return startBookingSearch(owner, (pageSize, token) -> DAOFactory.bookingDAO().getAllBooksCustomerPage(customerId, pageSize, token),
+                bookingDates, bookingStatus, flightIds, searchButton);
     }
 
     /**
@@ -746,11 +700,17 @@ public class Controller {
      * </ul>
      * <p>
      * The method follows the same comprehensive data processing pattern as
-     * {@link #getAllBooksLoogedCustomer(List, List, List, JButton)} but applies
-     * additional filtering constraints through the {@link BookingDAO#searchBooksCustomerFilteredFlights}
+     * {@link #getAllBooksLoogedCustomerAsync(DisposableObject, List, List, List, JButton)} but applies
+     * additional filtering constraints through the {@link BookingDAO#searchBooksCustomerFilteredFlightsPage}
      * method to limit results to flights matching the specified criteria.
      * </p>
+     * <p>
+     * Only the first {@link #SEARCH_PAGE_SIZE} bookings, by descending departure time, are
+     * loaded, in the background; the following pages are loaded by {@link #loadNextBookingPageAsync}
+     * as the results are scrolled.
+     * </p>
      *
+     * @param owner the window requesting the search, whose disposal cancels it
      * @param origin the origin city name for filtering (null or empty for no filter)
      * @param destination the destination city name for filtering (null or empty for no filter)
      * @param dateBefore the earliest date for filtering (null for no lower bound)
@@ -761,124 +721,16 @@ public class Controller {
      * @param bookingStatus list to be populated with booking status values from filtered results
      * @param flightIds list to be populated with flight identifiers from filtered results
      * @param searchButton UI button reference for displaying error messages if operations fail
+     * @return a future completed on the event dispatch thread with the number of bookings loaded
      */
-    public void searchBooksLoogedCustomerFilteredFlights(String origin, String destination, LocalDate dateBefore, LocalDate dateAfter, LocalTime timeBefore, LocalTime timeAfter,
-                                                         List<Date> bookingDates, List<String> bookingStatus, List<String> flightIds, JButton searchButton) {
-
-        ArrayList<String> companyNames = new ArrayList<>();
-        ArrayList<Date> dates = new ArrayList<>();
-        ArrayList<Time> departureTimes = new ArrayList<>();
-        ArrayList<Time> arrivalTimes = new ArrayList<>();
-        ArrayList<String> status = new ArrayList<>();
-        ArrayList<Integer> maxSeats = new ArrayList<>();
-        ArrayList<Integer> freeSeats = new ArrayList<>();
-        ArrayList<String> cities = new ArrayList<>();
-
-        ArrayList<Boolean> types = new ArrayList<>();
-
-        ArrayList<Integer> bookingIds = new ArrayList<>();
-
-        try{
-            BookingDAO bookingDAO = new BookingDAOImpl();
-
-            bookingDAO.searchBooksCustomerFilteredFlights(origin, destination, dateBefore, dateAfter, timeBefore, timeAfter,
-                    getCustomerController().getLoggedCustomerId(), flightIds, companyNames, dates, departureTimes, arrivalTimes, status, maxSeats, freeSeats,
-                    cities, types, bookingDates, bookingStatus, bookingIds);
-
-
-        } catch (SQLException e) {
-            new FloatingMessage("Errore nella connessione al Database (Prenotazioni)!", searchButton, FloatingMessage.ERROR_MESSAGE);
-        }
-
-        ArrayList<String> actualFlightIds = new ArrayList<>();
-
-        bookingController.setSearchBookingResult(new ArrayList<>());
-        bookingController.setSearchBookingResultIds(new ArrayList<>());
-        flightController.setSearchBookingResult(new ArrayList<>());
-
-        ticketController.setSearchBookingResult(new ArrayList<>());
-        passengerController.setSearchBookingResult(new ArrayList<>());
-
-        ArrayList<String> actualSSNs = new ArrayList<>();
-
-        for(int i = 0; i < flightIds.size(); i++){
-
-            if(!actualFlightIds.contains(flightIds.get(i))){
-
-                actualFlightIds.add(flightIds.get(i));
-
-                if(Boolean.TRUE.equals(types.get(i))){   //alloco Departing
-
-                    flightController.getSearchBookingResult().add(new Departing( flightIds.get(i), companyNames.get(i), dates.get(i), departureTimes.get(i), arrivalTimes.get(i),
-                            FlightStatus.valueOf(status.get(i).toUpperCase()), maxSeats.get(i), freeSeats.get(i), cities.get(i)));
-
-                }else{              //alloco Arriving
-
-                    flightController.getSearchBookingResult().add(new Arriving( flightIds.get(i), companyNames.get(i), dates.get(i), departureTimes.get(i), arrivalTimes.get(i),
-                            FlightStatus.valueOf(status.get(i).toUpperCase()), maxSeats.get(i), freeSeats.get(i), cities.get(i)));
-
-
-                }
-            }
-
-            ArrayList<String> ticketNumbers = new ArrayList<>();
-            ArrayList<Integer> seats = new ArrayList<>();
-            ArrayList<Boolean> checkedIns = new ArrayList<>();
-            ArrayList<String> passengerSSNs = new ArrayList<>();
-            ArrayList<String> firstNames = new ArrayList<>();
-            ArrayList<String> lastNames = new ArrayList<>();
-            ArrayList<Date> birthDates = new ArrayList<>();
-
-            TicketDAO ticketDao = new TicketDAOImpl();
-
-            try{
-
-                ticketDao.getAllTicketBooking(bookingIds.get(i), ticketNumbers, seats, checkedIns, passengerSSNs, firstNames, lastNames, birthDates);
-
-            } catch (SQLException e) {
-
-                new FloatingMessage("Errore nella connessione al Database (Biglietti)!", searchButton, FloatingMessage.ERROR_MESSAGE);
-            }
-
-            try{
-                if(!ticketNumbers.isEmpty()) {
-
-                    bookingController.getSearchBookingResult().add(new Booking(BookingStatus.valueOf(bookingStatus.get(i)), bookingDates.get(i),
-                            customerController.getLoggedCustomer(), flightController.getSearchBookingResult().getLast(),
-                            ticketNumbers.getFirst(), seats.getFirst(), checkedIns.getFirst(),
-                            firstNames.getFirst(), lastNames.getFirst(), passengerSSNs.getFirst(), birthDates.getFirst()));
-                    bookingController.getSearchBookingResultIds().add(bookingIds.get(i));
-                }else{
-                    throw new InvalidTicket("");
-                }
-
-            }catch (Exception e){
-                new FloatingMessage("Errore nella connessione al Database!", searchButton, FloatingMessage.ERROR_MESSAGE);
-            }
-
-            for(int j = 1; j < ticketNumbers.size(); j++){
-                try{
-                    bookingController.getSearchBookingResult().getLast().getTickets().add(new Ticket(ticketNumbers.get(j), seats.get(j), checkedIns.get(j),
-                            flightController.getSearchBookingResult().getLast(), bookingController.getSearchBookingResult().getLast(),
-                            firstNames.get(j), lastNames.get(j), passengerSSNs.get(j), birthDates.get(j)));
-
-                }catch (Exception e){
-                    new FloatingMessage("Errore nella connessione al Database!", searchButton, FloatingMessage.ERROR_MESSAGE);
-                }
-            }
-
-            ticketController.getSearchBookingResult().addAll(bookingController.getSearchBookingResult().getLast().getTickets());
-            for(Ticket x: bookingController.getSearchBookingResult().getLast().getTickets()){
-                if(!actualSSNs.contains(x.getPassenger().getPassengerSSN())){
-                    actualSSNs.add(x.getPassenger().getPassengerSSN());
-                    passengerController.getSearchBookingResult().add(x.getPassenger());
-                }
-
-            }
-
-        }
+    public CompletableFuture<Integer> searchBooksLoogedCustomerFilteredFlightsAsync(DisposableObject owner, String origin, String destination, LocalDate dateBefore, LocalDate dateAfter,
+                                                                                     LocalTime timeBefore, LocalTime timeAfter, List<Date> bookingDates, List<String> bookingStatus, List<String> flightIds, JButton searchButton) {
 
+        Integer customerId = getCustomerController().getLoggedCustomerId();
 
+        return startBookingSearch(owner, (pageSize, token) -> DAOFactory.bookingDAO().searchBooksCustomerFilteredFlightsPage(origin, destination, dateBefore, dateAfter,
+                        timeBefore, timeAfter, SearchMode.PREFIX, customerId, pageSize, token),
+                bookingDates, bookingStatus, flightIds, searchButton);
     }
 /**
      * Searches customer bookings with passenger-based filtering criteria and comprehensive data retrieval.
@@ -901,7 +753,7 @@ public class Controller {
      * <p>
      * The method follows the same comprehensive data processing pattern as other booking
      * search methods but applies passenger-specific filtering constraints through the
-     * {@link BookingDAO#searchBooksCustomerFilteredPassengers} method to limit results
+     * {@link BookingDAO#searchBooksCustomerFilteredPassengersPage} method to limit results
      * to bookings containing passengers matching the specified criteria.
      * </p>
      * <p>
@@ -910,7 +762,13 @@ public class Controller {
      * enable comprehensive data access from different application components, maintaining
      * the same data structure and relationships as other search operations.
      * </p>
+     * <p>
+     * Only the first {@link #SEARCH_PAGE_SIZE} bookings, by descending departure time, are
+     * loaded, in the background; the following pages are loaded by {@link #loadNextBookingPageAsync}
+     * as the results are scrolled.
+     * </p>
      *
+     * @param owner the window requesting the search, whose disposal cancels it
      * @param firstName the first name for filtering (null or empty for no filter)
      * @param lastName the last name for filtering (null or empty for no filter)
      * @param passengerSSN the passenger SSN for filtering (null or empty for no filter)
@@ -919,36 +777,39 @@ public class Controller {
      * @param bookingStatus list to be populated with booking status values from filtered results
      * @param flightIds list to be populated with flight identifiers from filtered results
      * @param searchButton UI button reference for displaying error messages if operations fail
+     * @return a future completed on the event dispatch thread with the number of bookings loaded
      */
-    public void searchBooksLoogedCustomerFilteredPassengers(String firstName, String lastName, String passengerSSN, String ticketNumber,
-                                                            List<Date> bookingDates, List<String> bookingStatus, List<String> flightIds, JButton searchButton) {
-
-        ArrayList<String> companyNames = new ArrayList<>();
-        ArrayList<Date> dates = new ArrayList<>();
-        ArrayList<Time> departureTimes = new ArrayList<>();
-        ArrayList<Time> arrivalTimes = new ArrayList<>();
-        ArrayList<String> status = new ArrayList<>();
-        ArrayList<Integer> maxSeats = new ArrayList<>();
-        ArrayList<Integer> freeSeats = new ArrayList<>();
-        ArrayList<String> cities = new ArrayList<>();
-
-        ArrayList<Boolean> types = new ArrayList<>();
-
-        ArrayList<Integer> bookingIds = new ArrayList<>();
+    public CompletableFuture<Integer> searchBooksLoogedCustomerFilteredPassengersAsync(DisposableObject owner, String firstName, String lastName, String passengerSSN, String ticketNumber,
+                                                                                        List<Date> bookingDates, List<String> bookingStatus, List<String> flightIds, JButton searchButton) {
 
-        try{
-            BookingDAO bookingDAO = new BookingDAOImpl();
-
-            bookingDAO.searchBooksCustomerFilteredPassengers(firstName, lastName, passengerSSN, ticketNumber,
-                    getCustomerController().getLoggedCustomerId(), flightIds, companyNames, dates, departureTimes, arrivalTimes, status, maxSeats, freeSeats,
-                    cities, types, bookingDates, bookingStatus, bookingIds);
+        Integer customerId = getCustomerController().getLoggedCustomerId();
 
+        return startBookingSearch(owner, (pageSize, token) -> DAOFactory.bookingDAO().searchBooksCustomerFilteredPassengersPage(firstName, lastName, passengerSSN, ticketNumber,
+                        SearchMode.PREFIX, customerId, pageSize, token),
+                bookingDates, bookingStatus, flightIds, searchButton);
+    }
 
-        } catch (SQLException e) {
-            new FloatingMessage("Errore nella connessione al Database (Prenotazioni)!", searchButton, FloatingMessage.ERROR_MESSAGE);
-        }
-
-        ArrayList<String> actualFlightIds = new ArrayList<>();
+    /**
+     * Starts a new booking search of the logged customer, loading its first page in the background.
+     * <p>
+     * The search results held by the specialized controllers are reset at once, then the
+     * first page and, with a single query, the tickets of its bookings are read on the
+     * {@link AsyncExecutor} and assembled on the event dispatch thread by
+     * {@link #appendBookingPage}. The query is kept so that the following pages can be loaded
+     * by {@link #loadNextBookingPageAsync}; if another search is started in the meantime the
+     * page is discarded.
+     * </p>
+     *
+     * @param owner the window requesting the search, whose disposal cancels it
+     * @param query the query reading the pages of the search
+     * @param bookingDates list to be populated with booking creation dates
+     * @param bookingStatus list to be populated with booking status values
+     * @param flightIds list to be populated with the flight identifier of each booking
+     * @param searchButton UI button reference for displaying error messages if operations fail
+     * @return a future completed on the event dispatch thread with the number of bookings loaded
+     */
+    private CompletableFuture<Integer> startBookingSearch(DisposableObject owner, BookingPageQuery query, List<Date> bookingDates, List<String> bookingStatus,
+                                                         List<String> flightIds, JButton searchButton) {
 
         bookingController.setSearchBookingResult(new ArrayList<>());
         bookingController.setSearchBookingResultIds(new ArrayList<>());
@@ -957,85 +818,207 @@ public class Controller {
         ticketController.setSearchBookingResult(new ArrayList<>());
         passengerController.setSearchBookingResult(new ArrayList<>());
 
-        ArrayList<String> actualSSNs = new ArrayList<>();
-
-        for(int i = 0; i < flightIds.size(); i++){
-
-            if(!actualFlightIds.contains(flightIds.get(i))){
+        bookingResultFlights.clear();
+        bookingResultSSNs.clear();
 
-                actualFlightIds.add(flightIds.get(i));
+        bookingPageQuery = query;
+        bookingPageToken = null;
 
-                if(Boolean.TRUE.equals(types.get(i))){   //alloco Departing
+        return AsyncExecutor.getInstance().submit(owner, () -> {
 
-                    flightController.getSearchBookingResult().add(new Departing( flightIds.get(i), companyNames.get(i), dates.get(i), departureTimes.get(i), arrivalTimes.get(i),
-                            FlightStatus.valueOf(status.get(i).toUpperCase()), maxSeats.get(i), freeSeats.get(i), cities.get(i)));
+            Page<CustomerBookingRow> page = query.fetch(SEARCH_PAGE_SIZE, null);
 
-                }else{              //alloco Arriving
+            TicketDAO ticketDao = DAOFactory.ticketDAO();
 
-                    flightController.getSearchBookingResult().add(new Arriving( flightIds.get(i), companyNames.get(i), dates.get(i), departureTimes.get(i), arrivalTimes.get(i),
-                            FlightStatus.valueOf(status.get(i).toUpperCase()), maxSeats.get(i), freeSeats.get(i), cities.get(i)));
-
-
-                }
-            }
+            return new BookingPage(page, ticketDao.getAllTicketBookings(bookingIdsOf(page.rows())));
 
-            ArrayList<String> ticketNumbers = new ArrayList<>();
-            ArrayList<Integer> seats = new ArrayList<>();
-            ArrayList<Boolean> checkedIns = new ArrayList<>();
-            ArrayList<String> passengerSSNs = new ArrayList<>();
-            ArrayList<String> firstNames = new ArrayList<>();
-            ArrayList<String> lastNames = new ArrayList<>();
-            ArrayList<Date> birthDates = new ArrayList<>();
+        }).thenApply(loaded -> {
 
-            TicketDAO ticketDao = new TicketDAOImpl();
+            //la ricerca è stata sostituita nel frattempo
+            if (query != bookingPageQuery) return 0;
 
-            try{
+            bookingPageToken = loaded.page().nextToken();
 
-                ticketDao.getAllTicketBooking(bookingIds.get(i), ticketNumbers, seats, checkedIns, passengerSSNs, firstNames, lastNames, birthDates);
+            return appendBookingPage(loaded.page().rows(), loaded.tickets(), bookingDates, bookingStatus, flightIds, searchButton);
 
-            } catch (SQLException e) {
+        }).whenComplete((added, e) -> {
 
-                new FloatingMessage("Errore nella connessione al Database (Biglietti)!", searchButton, FloatingMessage.ERROR_MESSAGE);
+            if (e != null && !(AsyncExecutor.unwrap(e) instanceof CancellationException)) {
+                LOGGER.log(Level.SEVERE, AsyncExecutor.unwrap(e).getMessage());
+                new FloatingMessage("Errore nella connessione al Database (Prenotazioni)!", searchButton, FloatingMessage.ERROR_MESSAGE);
             }
+        });
+    }
 
-            try{
-                if(!ticketNumbers.isEmpty()) {
-
-                    bookingController.getSearchBookingResult().add(new Booking(BookingStatus.valueOf(bookingStatus.get(i)), bookingDates.get(i),
-                            customerController.getLoggedCustomer(), flightController.getSearchBookingResult().getLast(),
-                            ticketNumbers.getFirst(), seats.getFirst(), checkedIns.getFirst(),
-                            firstNames.getFirst(), lastNames.getFirst(), passengerSSNs.getFirst(), birthDates.getFirst()));
-                    bookingController.getSearchBookingResultIds().add(bookingIds.get(i));
-                }else{
-                    throw new InvalidTicket("");
+    /**
+     * Returns whether the current booking search has more pages to load.
+     *
+     * @return true if {@link #loadNextBookingPageAsync} can load more bookings
+     */
+    public boolean hasNextBookingPage() {
+        return bookingPageQuery != null && bookingPageToken != null;
+    }
+
+    /**
+     * Loads the next page of the current booking search in the background.
+     * <p>
+     * The page and the tickets of its bookings are read on the {@link AsyncExecutor}, then
+     * assembled on the event dispatch thread and appended both to the search results of the
+     * specialized controllers and to the given lists, which must be the ones filled by the
+     * search. If a new search is started in the meantime the page is discarded. If a query
+     * fails, an error message is shown next to the search button and the continuation token
+     * is kept, so that the page can be requested again.
+     * </p>
+     *
+     * @param owner the window requesting the page, whose disposal cancels it
+     * @param bookingDates list the booking creation dates are appended to
+     * @param bookingStatus list the booking status values are appended to
+     * @param flightIds list the flight identifier of each booking is appended to
+     * @param searchButton UI button reference for displaying error messages if operations fail
+     * @return a future completed on the event dispatch thread with the number of bookings appended
+     */
+    public CompletableFuture<Integer> loadNextBookingPageAsync(DisposableObject owner, List<Date> bookingDates, List<String> bookingStatus,
+                                                               List<String> flightIds, JButton searchButton) {
+
+        BookingPageQuery query = bookingPageQuery;
+        String token = bookingPageToken;
+
+        if (query == null || token == null) return CompletableFuture.completedFuture(0);
+
+        return AsyncExecutor.getInstance().submit(owner, () -> {
+
+            Page<CustomerBookingRow> page = query.fetch(SEARCH_PAGE_SIZE, token);
+
+            TicketDAO ticketDao = DAOFactory.ticketDAO();
+
+            return new BookingPage(page, ticketDao.getAllTicketBookings(bookingIdsOf(page.rows())));
+
+        }).thenApply(loaded -> {
+
+            //la pagina appartiene a una ricerca sostituita nel frattempo
+            if (query != bookingPageQuery || !token.equals(bookingPageToken)) return 0;
+
+            bookingPageToken = loaded.page().nextToken();
+
+            return appendBookingPage(loaded.page().rows(), loaded.tickets(), bookingDates, bookingStatus, flightIds, searchButton);
+
+        }).whenComplete((added, e) -> {
+
+            if (e != null && !(AsyncExecutor.unwrap(e) instanceof CancellationException)) {
+                LOGGER.log(Level.SEVERE, AsyncExecutor.unwrap(e).getMessage());
+                new FloatingMessage("Errore nella connessione al Database (Prenotazioni)!", searchButton, FloatingMessage.ERROR_MESSAGE);
+            }
+        });
+    }
+
+    /**
+     * Assembles the bookings of a page and appends them to the search results.
+     * <p>
+     * Flights are created the first time their id is seen in the search and shared by the
+     * later bookings, and passengers are collected once per SSN. Bookings whose tickets
+     * could not be loaded are skipped, so that the given lists stay parallel to the bookings
+     * of the {@link BookingController}.
+     * </p>
+     *
+     * @param rows the bookings of the page
+     * @param ticketsByBooking the tickets of the bookings, keyed by booking id
+     * @param bookingDates list the booking creation dates are appended to
+     * @param bookingStatus list the booking status values are appended to
+     * @param flightIds list the flight identifier of each booking is appended to
+     * @param searchButton UI button reference for displaying error messages if operations fail
+     * @return the number of bookings appended
+     */
+    private int appendBookingPage(List<CustomerBookingRow> rows, Map<Integer, List<BookingTicketRow>> ticketsByBooking,
+                                  List<Date> bookingDates, List<String> bookingStatus, List<String> flightIds, JButton searchButton) {
+
+        int added = 0;
+
+        for (CustomerBookingRow row : rows) {
+
+            Flight flight = bookingResultFlights.get(row.flightId());
+
+            if (flight == null) {
+
+                Date flightDate = new Date(row.departureTime().getTime());
+                Time departureTime = new Time(row.departureTime().getTime());
+                Time arrivalTime = new Time(row.arrivalTime().getTime());
+
+                if (row.departing()) {   //alloco Departing
+                    flight = new Departing(row.flightId(), row.companyName(), flightDate, departureTime, arrivalTime,
+                            FlightStatus.valueOf(row.flightStatus().toUpperCase()), row.maxSeats(), row.freeSeats(), row.city());
+                } else {                 //alloco Arriving
+                    flight = new Arriving(row.flightId(), row.companyName(), flightDate, departureTime, arrivalTime,
+                            FlightStatus.valueOf(row.flightStatus().toUpperCase()), row.maxSeats(), row.freeSeats(), row.city());
                 }
 
+                bookingResultFlights.put(row.flightId(), flight);
+                flightController.getSearchBookingResult().add(flight);
+            }
+
+            List<BookingTicketRow> tickets = ticketsByBooking.getOrDefault(row.bookingId(), List.of());
+
+            Booking booking;
+
+            try{
+                if (tickets.isEmpty()) throw new InvalidTicket("");
+
+                BookingTicketRow first = tickets.getFirst();
+
+                booking = new Booking(BookingStatus.valueOf(row.bookingStatus()), row.bookingDate(),
+                        customerController.getLoggedCustomer(), flight,
+                        first.ticketNumber(), first.seat(), first.checkedIn(),
+                        first.firstName(), first.lastName(), first.passengerSSN(), first.birthDate());
+
             }catch (Exception e){
                 new FloatingMessage("Errore nella connessione al Database (Biglietti)!", searchButton, FloatingMessage.ERROR_MESSAGE);
+                continue;
             }
 
-            for(int j = 1; j < ticketNumbers.size(); j++){
+            for (int j = 1; j < tickets.size(); j++) {
+                BookingTicketRow ticket = tickets.get(j);
                 try{
-                    bookingController.getSearchBookingResult().getLast().getTickets().add(new Ticket(ticketNumbers.get(j), seats.get(j), checkedIns.get(j),
-                            flightController.getSearchBookingResult().getLast(), bookingController.getSearchBookingResult().getLast(),
-                            firstNames.get(j), lastNames.get(j), passengerSSNs.get(j), birthDates.get(j)));
+                    booking.getTickets().add(new Ticket(ticket.ticketNumber(), ticket.seat(), ticket.checkedIn(), flight, booking,
+                            ticket.firstName(), ticket.lastName(), ticket.passengerSSN(), ticket.birthDate()));
 
                 }catch (Exception e){
                     new FloatingMessage("Errore nella connessione al Database!", searchButton, FloatingMessage.ERROR_MESSAGE);
                 }
             }
 
-            ticketController.getSearchBookingResult().addAll(bookingController.getSearchBookingResult().getLast().getTickets());
-            for(Ticket x: bookingController.getSearchBookingResult().getLast().getTickets()){
-                if(!actualSSNs.contains(x.getPassenger().getPassengerSSN())){
-                    actualSSNs.add(x.getPassenger().getPassengerSSN());
+            bookingController.getSearchBookingResult().add(booking);
+            bookingController.getSearchBookingResultIds().add(row.bookingId());
+
+            bookingDates.add(row.bookingDate());
+            bookingStatus.add(row.bookingStatus());
+            flightIds.add(row.flightId());
+
+            ticketController.getSearchBookingResult().addAll(booking.getTickets());
+
+            for (Ticket x : booking.getTickets()) {
+                if (bookingResultSSNs.add(x.getPassenger().getPassengerSSN())) {
                     passengerController.getSearchBookingResult().add(x.getPassenger());
                 }
-
             }
 
+            added++;
         }
 
+        return added;
+    }
+
+    /**
+     * Returns the booking ids of a page of bookings.
+     *
+     * @param rows the bookings of the page
+     * @return the booking ids, in page order
+     */
+    private static List<Integer> bookingIdsOf(List<CustomerBookingRow> rows) {
+
+        ArrayList<Integer> bookingIds = new ArrayList<>(rows.size());
+
+        for (CustomerBookingRow row : rows) bookingIds.add(row.bookingId());
+
+        return bookingIds;
     }
 
     /**
@@ -1066,23 +1049,60 @@ public class Controller {
      */
     public boolean loadAndCheckIfOpenMyBookingsOrNewBooking() {
 
+        CustomerBookingsData data = new CustomerBookingsData();
+
+        data.load(flightController.getId(), getCustomerController().getLoggedCustomerId());
+
+        return assembleCustomerBookingsForAFlight(data);
+    }
+
+    /**
+     * Loads the logged customer's bookings for the current flight in the background.
+     * <p>
+     * The database queries run on the {@link AsyncExecutor}, without blocking the Swing event
+     * dispatch thread; the booking, ticket and passenger search results are then populated on
+     * the event dispatch thread, exactly as {@link #loadAndCheckIfOpenMyBookingsOrNewBooking()} does.
+     * </p>
+     *
+     * @param owner the window requesting the bookings, whose disposal cancels the operation
+     * @return a future completed on the event dispatch thread with true if the customer has existing bookings for the current flight
+     */
+    public CompletableFuture<Boolean> loadAndCheckIfOpenMyBookingsOrNewBookingAsync(DisposableObject owner) {
+
         String flightId = flightController.getId();
+        Integer customerId = getCustomerController().getLoggedCustomerId();
 
-        ArrayList<Integer> bookingIds = new ArrayList<>();
-        ArrayList<Date> bookingDates = new ArrayList<>();
-        ArrayList<String> bookingStatus = new ArrayList<>();
+        CustomerBookingsData data = new CustomerBookingsData();
 
-        try{
-            BookingDAO bookingDAO = new BookingDAOImpl();
+        return AsyncExecutor.getInstance().submit(owner, () -> {
 
-            bookingDAO.searchBooksCustomerForAFlight(flightId, getCustomerController().getLoggedCustomerId(),
-                                                        bookingDates, bookingStatus, bookingIds);
+            data.load(flightId, customerId);
 
+            return data;
 
-        } catch (SQLException e) {
+        }).thenApply(this::assembleCustomerBookingsForAFlight);
+    }
+
+    /**
+     * Builds the logged customer's bookings for the current flight from the rows loaded from the database.
+     *
+     * @param data the bookings and tickets loaded by {@link CustomerBookingsData#load(String, Integer)}
+     * @return true if the customer has existing bookings for the current flight, false if no bookings exist
+     */
+    private boolean assembleCustomerBookingsForAFlight(CustomerBookingsData data) {
+
+        ArrayList<Integer> bookingIds = data.bookingIds;
+        ArrayList<Date> bookingDates = data.bookingDates;
+        ArrayList<String> bookingStatus = data.bookingStatus;
+
+        if (data.failed) {
             new FloatingMessage("Errore nella connessione al Database (Prenotazioni)!", errorButton, FloatingMessage.ERROR_MESSAGE);
         }
 
+        if (data.ticketsFailed) {
+            new FloatingMessage("Errore nella connessione al Database (Biglietti)!", errorButton, FloatingMessage.ERROR_MESSAGE);
+        }
+
         flightController.setSearchBookingResult(new ArrayList<>());
         flightController.getSearchBookingResult().add(flightController.getFlight());
 
@@ -1096,32 +1116,17 @@ public class Controller {
 
         for(int i = 0; i < bookingIds.size(); i++){
 
-            ArrayList<String> ticketNumbers = new ArrayList<>();
-            ArrayList<Integer> seats = new ArrayList<>();
-            ArrayList<Boolean> checkedIns = new ArrayList<>();
-            ArrayList<String> passengerSSNs = new ArrayList<>();
-            ArrayList<String> firstNames = new ArrayList<>();
-            ArrayList<String> lastNames = new ArrayList<>();
-            ArrayList<Date> birthDates = new ArrayList<>();
-
-            TicketDAO ticketDao = new TicketDAOImpl();
+            List<BookingTicketRow> tickets = data.tickets.getOrDefault(bookingIds.get(i), List.of());
 
             try{
+                if(!tickets.isEmpty()) {
 
-                ticketDao.getAllTicketBooking(bookingIds.get(i), ticketNumbers, seats, checkedIns, passengerSSNs, firstNames, lastNames, birthDates);
-
-            } catch (SQLException e) {
-
-                new FloatingMessage("Errore nella connessione al Database (Biglietti)!", errorButton, FloatingMessage.ERROR_MESSAGE);
-            }
-
-            try{
-                if(!ticketNumbers.isEmpty()) {
+                    BookingTicketRow first = tickets.getFirst();
 
                     bookingController.getSearchBookingResult().add(new Booking(BookingStatus.valueOf(bookingStatus.get(i)), bookingDates.get(i),
                             customerController.getLoggedCustomer(), flightController.getFlight(),
-                            ticketNumbers.getFirst(), seats.getFirst(), checkedIns.getFirst(),
-                            firstNames.getFirst(), lastNames.getFirst(), passengerSSNs.getFirst(), birthDates.getFirst()));
+                            first.ticketNumber(), first.seat(), first.checkedIn(),
+                            first.firstName(), first.lastName(), first.passengerSSN(), first.birthDate()));
                     bookingController.getSearchBookingResultIds().add(bookingIds.get(i));
                 }else{
                     throw new InvalidTicket("");
@@ -1131,11 +1136,12 @@ public class Controller {
                 new FloatingMessage("Errore nella connessione al Database (Biglietti)!", errorButton, FloatingMessage.ERROR_MESSAGE);
             }
 
-            for(int j = 1; j < ticketNumbers.size(); j++){
+            for(int j = 1; j < tickets.size(); j++){
+                BookingTicketRow ticket = tickets.get(j);
                 try{
-                    bookingController.getSearchBookingResult().getLast().getTickets().add(new Ticket(ticketNumbers.get(j), seats.get(j), checkedIns.get(j),
+                    bookingController.getSearchBookingResult().getLast().getTickets().add(new Ticket(ticket.ticketNumber(), ticket.seat(), ticket.checkedIn(),
                             flightController.getFlight(), bookingController.getSearchBookingResult().getLast(),
-                            firstNames.get(j), lastNames.get(j), passengerSSNs.get(j), birthDates.get(j)));
+                            ticket.firstName(), ticket.lastName(), ticket.passengerSSN(), ticket.birthDate()));
 
                 }catch (Exception e){
                     new FloatingMessage("Errore nella connessione al Database!", errorButton, FloatingMessage.ERROR_MESSAGE);
@@ -1174,6 +1180,11 @@ public class Controller {
         bookingController.setSearchBookingResultIds(null);
         flightController.setSearchBookingResult(null);
 
+        bookingPageQuery = null;
+        bookingPageToken = null;
+        bookingResultFlights.clear();
+        bookingResultSSNs.clear();
+
     }
 
     /**
@@ -1183,11 +1194,12 @@ public class Controller {
     public void clearSearchFlightsResultCache() {
 
         flightController.setSearchResult(null);
+        flightController.clearSearchPages();
 
     }
 
     /**
-     * Verifies user credentials and establishes authenticated session for administrators or customers.
+     * Verifies user credentials in the background and establishes authenticated session for administrators or customers.
      * <p>
      * This method performs comprehensive user authentication by validating credentials
      * against both administrator and customer databases, establishing appropriate user
@@ -1216,292 +1228,388 @@ public class Controller {
      *   <li><strong>Authentication Errors:</strong> Incorrect credentials</li>
      *   <li><strong>Database Errors:</strong> Connection or query execution problems</li>
      * </ul>
+     * <p>
+     * The database queries run on the {@link AsyncExecutor}, without blocking the Swing event
+     * dispatch thread; the user session is then established and the error messages shown
+     * on the event dispatch thread.
+     * </p>
      *
+     * @param owner the window requesting the login, whose disposal cancels the operation
      * @param loggingInfo the login identifier (email address or username)
      * @param hashedPassword the pre-hashed password for authentication
      * @param loginButton UI button reference for displaying authentication feedback messages
-     * @return true if authentication was successful and user session was established, false otherwise
+     * @return a future completed on the event dispatch thread with true if authentication was successful
+     *         and user session was established, false otherwise
      */
-    public boolean verifyUser(String loggingInfo, String hashedPassword, JButton loginButton){
+    public CompletableFuture<Boolean> verifyUserAsync(DisposableObject owner, String loggingInfo, String hashedPassword, JButton loginButton){
 
         //Avoid opening DB if it is obvious that it won't contain the user
         if(loggingInfo.contains("@")){
             if (userController.isInvalidMail(loggingInfo)){
                 new FloatingMessage("<html>User o mail non valida</html>", loginButton, FloatingMessage.WARNING_MESSAGE);
-                return false;
+                return CompletableFuture.completedFuture(false);
             }
         } else if(userController.isInvalidUsername(loggingInfo)){
             new FloatingMessage("<html>User o mail non valida</html>", loginButton, FloatingMessage.WARNING_MESSAGE);
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
 
-        ArrayList<Integer> userID = new ArrayList<>();
-        ArrayList<String> mail = new ArrayList<>();
-        ArrayList<String> username = new ArrayList<>();
+        LoginData data = new LoginData();
 
-        try{
-            AdminDAOImpl adminDAO = new AdminDAOImpl();
-            if(loggingInfo.contains("@")){
-                adminDAO.searchUserByMail(userID, username, loggingInfo, hashedPassword);
-                adminController.setLoggedAdmin(new Admin(username.getFirst(), loggingInfo, hashedPassword), userID.getFirst());
-                userController.setLoggedUser(new Admin(username.getFirst(), loggingInfo, hashedPassword), userID.getFirst());
+        return AsyncExecutor.getInstance().submit(owner, () -> {
 
-            }else{
-                adminDAO.searchUserByUsername(userID, loggingInfo, mail, hashedPassword);
-                adminController.setLoggedAdmin(new Admin(loggingInfo, mail.getFirst(), hashedPassword), userID.getFirst());
-                userController.setLoggedUser(new Admin(loggingInfo, mail.getFirst(), hashedPassword), userID.getFirst());
-            }
-        } catch (UserNotFoundException e){
-            try{
-                CustomerDAOImpl customerDAO = new CustomerDAOImpl();
-                if(loggingInfo.contains("@")){
-                    customerDAO.searchUserByMail(userID, username, loggingInfo, hashedPassword);
-                    customerController.setLoggedCustomer(new Customer(username.getFirst(), loggingInfo, hashedPassword), userID.getFirst());
-                    userController.setLoggedUser(new Customer (username.getFirst(), loggingInfo, hashedPassword), userID.getFirst());
+            data.load(loggingInfo, hashedPassword);
 
-                }else{
-                    customerDAO.searchUserByUsername(userID, loggingInfo, mail, hashedPassword);
-                    customerController.setLoggedCustomer(new Customer(loggingInfo, mail.getFirst(), hashedPassword), userID.getFirst());
-                    userController.setLoggedUser(new Customer (loggingInfo, mail.getFirst(), hashedPassword), userID.getFirst());
-                }
-            } catch (UserNotFoundException ex){
-                new FloatingMessage("<html>User o password errati</html>", loginButton, FloatingMessage.WARNING_MESSAGE);
-                return false;
-            } catch (SQLException ex){
-                new FloatingMessage("<html>Errore nel collegamento al DB(Customer)" + ex.getMessage() + "</html>", loginButton, FloatingMessage.ERROR_MESSAGE);
-                return false;
-            }
-        } catch (SQLException e){
-            new FloatingMessage("<html>Errore nel collegamento al DB(Admin)" + e.getMessage() + "</html>", loginButton, FloatingMessage.ERROR_MESSAGE);
+            return data;
+
+        }).thenApply(loaded -> logIn(loaded, hashedPassword, loginButton));
+    }
+
+    /**
+     * Establishes the session of the user found by {@link LoginData#load(String, String)}.
+     *
+     * @param data the user loaded from the database
+     * @param hashedPassword the pre-hashed password used for authentication
+     * @param loginButton UI button reference for displaying authentication feedback messages
+     * @return true if the user session was established, false otherwise
+     */
+    private boolean logIn(LoginData data, String hashedPassword, JButton loginButton) {
+
+        if (data.errorMessage != null) {
+            new FloatingMessage(data.errorMessage, loginButton, data.messageType);
             return false;
         }
+
+        if (data.admin) {
+            adminController.setLoggedAdmin(new Admin(data.username, data.mail, hashedPassword), data.userId);
+            userController.setLoggedUser(new Admin(data.username, data.mail, hashedPassword), data.userId);
+        } else {
+            customerController.setLoggedCustomer(new Customer(data.username, data.mail, hashedPassword), data.userId);
+            userController.setLoggedUser(new Customer(data.username, data.mail, hashedPassword), data.userId);
+        }
+
         return true;
     }
 
     /**
-     * Retrieves and populates booked seat information for the current flight and booking context.
+     * Retrieves in the background the seat occupancy of the current flight, excluding the seats of the current booking.
+     * <p>
+     * The seats of the current booking (if any) are considered free, so that they can be
+     * reassigned while the booking is being modified.
+     * </p>
      *
-     * @param bookedSeats list to be populated with seat numbers that are currently booked for the flight
+     * @param owner the window requesting the seats, whose disposal cancels the operation (may be null)
+     * @return a future completed on the event dispatch thread with the seat map of the current flight,
+     *         with all seats free if a database error occurs
      */
-    public void setBookedSeats (List<Integer> bookedSeats) {
-        FlightDAOImpl flightDAO = new FlightDAOImpl();
+    public CompletableFuture<SeatMap> getBookedSeatsAsync (DisposableObject owner) {
+
+        String flightId = flightController.getId();
+        Integer bookingId = bookingController.getId();
+        int capacity = flightController.getMaxSeats();
+
+        return AsyncExecutor.getInstance().submit(owner, () -> {
 
-        flightDAO.getBookedSeats(flightController.getId(), bookingController.getId(), bookedSeats);
+            try {
+                FlightDAO flightDAO = DAOFactory.flightDAO();
+
+                return flightDAO.getSeatMap(flightId, bookingId);
+
+            } catch (SQLException e) {
+                LOGGER.log(Level.SEVERE, e.getSQLState());
+                return new SeatMap(capacity);
+            }
+        });
     }
 
     /**
-     * Determines whether the currently logged-in user is an administrator.
+     * Retrieves in the background the seats of the current flight held by the other clients while they fill in a booking.
      *
-     * @return true if the currently logged-in user is an administrator, false if the user is a customer or no user is logged in
+     * @return a future completed on the event dispatch thread with the map of the seats held by other clients,
+     *         with all seats free if a database error occurs
      */
-    public boolean isLoggedAdmin() {
+    public CompletableFuture<SeatMap> getSeatsHeldByOthersAsync () {
 
-        return userController.getLoggedUser() instanceof Admin;
+        String flightId = flightController.getId();
+        int capacity = flightController.getMaxSeats();
+
+        return AsyncExecutor.getInstance().submit(null, () -> {
 
+            try {
+                SeatHoldDAO seatHoldDAO = DAOFactory.seatHoldDAO();
+
+                return seatHoldDAO.getSeatsHeldByOthers(flightId, seatHolder, capacity);
+
+            } catch (SQLException e) {
+                LOGGER.log(Level.SEVERE, e.getSQLState());
+                return new SeatMap(capacity);
+            }
+        });
     }
+
     /**
-     * Retrieves comprehensive information about all lost luggage items in the system for recovery operations.
-     * <p>
-     * This method performs a complex database operation to fetch complete information about all luggage
-     * items that have been reported as lost throughout the airport management system. It provides a
-     * comprehensive view of lost luggage including associated flight details, passenger information,
-     * booking data, and luggage specifications for recovery and customer service operations.
-     * </p>
+     * Holds in the background a seat of the current flight for this client, or renews the hold it already has.
      * <p>
-     * The operation involves multiple complex processes:
+     * The seats of the current booking (if any) are considered free, as in {@link #getBookedSeatsAsync(DisposableObject)}.
+     * If the hold cannot be checked because of a database error the seat is reported as
+     * held: the booking is then validated by the database when it is saved, as before.
      * </p>
-     * <ul>
-     *   <li>Database query through {@link LuggageDAOImpl} to retrieve all lost luggage items</li>
-     *   <li>Flight object creation based on flight type (Departing/Arriving) for lost luggage context</li>
-     *   <li>Customer information retrieval for lost luggage owners</li>
-     *   <li>Complete booking and ticket object construction with all associations</li>
-     *   <li>Luggage object creation with proper status and type information</li>
-     *   <li>Search result population across multiple controllers for comprehensive data access</li>
-     * </ul>
      * <p>
-     * The method populates search results across multiple specialized controllers
-     * ({@link FlightController}, {@link CustomerController}, {@link BookingController},
-     * {@link TicketController}, {@link PassengerController}, {@link LuggageController})
-     * to enable comprehensive data access from different application components for
-     * lost luggage recovery operations.
+     * When the seat is held, the hold on {@code releasedSeat} is released by the same
+     * background task, so that a seat given up and chosen again right after is never
+     * released after being held anew.
      * </p>
      *
-     * @param flightIds list to be populated with flight identifiers associated with lost luggage
-     * @param bookingDates list to be populated with booking creation dates for lost luggage context
-     * @param firstNames list to be populated with passenger first names for customer contact
-     * @param lastNames list to be populated with passenger last names for customer contact
-     * @param passengerSSNs list to be populated with passenger SSNs for identity verification
-     * @param luggageIdsAfterCheckin list to be populated with physical luggage identifiers for tracking
+     * @param seat the 0-based seat index
+     * @param releasedSeat the 0-based index of the seat given up for this one, ignored if negative
+     * @return a future completed on the event dispatch thread with false if the seat has been booked
+     *         or is held by another client in the meantime
      */
-    public void getLostLuggages(List<String> flightIds, List<Date> bookingDates, List<String> firstNames, List<String> lastNames, List<String> passengerSSNs, List<String> luggageIdsAfterCheckin) {
+    public CompletableFuture<Boolean> holdSeatAsync (int seat, int releasedSeat) {
 
-        ArrayList<String> companyNames = new ArrayList<>();
-        ArrayList<Date> flightDates = new ArrayList<>();
-        ArrayList<Time> departureTimes = new ArrayList<>();
-        ArrayList<Time> arrivalTimes = new ArrayList<>();
-        ArrayList<String> flightStatus = new ArrayList<>();
-        ArrayList<Integer> maxSeats = new ArrayList<>();
-        ArrayList<Integer> freeSeats = new ArrayList<>();
-        ArrayList<String> cities = new ArrayList<>();
+        String flightId = flightController.getId();
+        Integer bookingId = bookingController.getId();
 
-        ArrayList<Boolean> flightTypes = new ArrayList<>();
+        return AsyncExecutor.getInstance().submit(null, () -> {
 
-        ArrayList<Integer> buyerIds = new ArrayList<>();
-        ArrayList<String> usernames = new ArrayList<>();
-        ArrayList<String> mails = new ArrayList<>();
-        ArrayList<String> hashedPasswords = new ArrayList<>();
+            try {
+                SeatHoldDAO seatHoldDAO = DAOFactory.seatHoldDAO();
 
-        ArrayList<Integer> bookingIds = new ArrayList<>();
-        ArrayList<String> bookingStatus = new ArrayList<>();
+                if (!seatHoldDAO.holdSeat(flightId, seat, seatHolder, bookingId, SEAT_HOLD_TTL_SECONDS)) return false;
 
-        ArrayList<String> ticketNumbers = new ArrayList<>();
-        ArrayList<Integer> seats = new ArrayList<>();
-        ArrayList<Boolean> checkedIns = new ArrayList<>();
+                if (releasedSeat >= 0 && releasedSeat != seat) seatHoldDAO.releaseSeat(flightId, releasedSeat, seatHolder);
 
-        ArrayList<Date> birthDates = new ArrayList<>();
+            } catch (SQLException e) {
+                LOGGER.log(Level.SEVERE, e.getSQLState());
+            }
 
-        ArrayList<Integer> luggageIds = new ArrayList<>();
-        ArrayList<String> luggageTypes = new ArrayList<>();
-        ArrayList<String> luggageStatus = new ArrayList<>();
+            return true;
+        });
+    }
 
-        try{
-            LuggageDAO luggageDAO = new LuggageDAOImpl();
+    /**
+     * Releases in the background the hold of this client on a seat of the current flight.
+     * <p>
+     * The caller does not need to wait for the returned future: a hold that cannot be
+     * released because of a database error expires on its own.
+     * </p>
+     *
+     * @param seat the 0-based seat index, ignored if negative
+     * @return a future completed on the event dispatch thread once the hold has been released
+     */
+    public CompletableFuture<Void> releaseSeat (int seat) {
 
-            luggageDAO.getAllLostLuggages(flightIds, companyNames, flightDates, departureTimes, arrivalTimes,
-                                          flightStatus, maxSeats, freeSeats, cities, flightTypes,
-                                          buyerIds, usernames, mails, hashedPasswords,
-                                          bookingDates, bookingStatus, bookingIds,
-                                          ticketNumbers, seats, checkedIns,
-                                          firstNames, lastNames, passengerSSNs, birthDates,
-                                          luggageIds, luggageTypes, luggageStatus, luggageIdsAfterCheckin);
+        if (seat < 0) return CompletableFuture.completedFuture(null);
 
+        String flightId = flightController.getId();
 
+        return AsyncExecutor.getInstance().submit(null, () -> {
 
-        } catch (SQLException e) {
-            new FloatingMessage("Errore nella connessione al Database (Bagagli)!", errorButton, FloatingMessage.ERROR_MESSAGE);
-        }
+            try {
+                SeatHoldDAO seatHoldDAO = DAOFactory.seatHoldDAO();
 
+                seatHoldDAO.releaseSeat(flightId, seat, seatHolder);
 
-        flightController.setSearchBookingResult(new ArrayList<>());
+            } catch (SQLException e) {
+                LOGGER.log(Level.SEVERE, e.getSQLState());
+            }
 
-        customerController.setSearchBookingResultCustomers(new ArrayList<>());
-        customerController.setSearchBookingResultCustomersIds(new ArrayList<>());
+            return null;
+        });
+    }
 
-        bookingController.setSearchBookingResult(new ArrayList<>());
-        bookingController.setSearchBookingResultIds(new ArrayList<>());
+    /**
+     * Releases in the background all the seat holds of this client, when a booking is saved or abandoned.
+     * <p>
+     * The caller does not need to wait for the returned future: holds that cannot be
+     * released because of a database error expire on their own.
+     * </p>
+     *
+     * @return a future completed on the event dispatch thread once the holds have been released
+     */
+    public CompletableFuture<Void> releaseSeatHolds () {
 
+        return AsyncExecutor.getInstance().submit(null, () -> {
 
-        ticketController.setSearchBookingResult(new ArrayList<>());
-        passengerController.setSearchBookingResult(new ArrayList<>());
+            try {
+                SeatHoldDAO seatHoldDAO = DAOFactory.seatHoldDAO();
 
-        luggageController.setSearchBookingResult(new ArrayList<>());
-        luggageController.setSearchBookingResultIds(new ArrayList<>());
+                seatHoldDAO.releaseAll(seatHolder);
 
+            } catch (SQLException e) {
+                LOGGER.log(Level.SEVERE, e.getSQLState());
+            }
 
-        ArrayList<String> actualFlightIds = new ArrayList<>();
-        ArrayList<Integer> actualBuyersIds = new ArrayList<>();
-        ArrayList<Integer> actualBookingIds = new ArrayList<>();
-        ArrayList<String> actualTicketNumbers = new ArrayList<>();
-        ArrayList<String> actualSSNs = new ArrayList<>();
+            return null;
+        });
+    }
 
-        try{
+    /**
+     * Determines whether the currently logged-in user is an administrator.
+     *
+     * @return true if the currently logged-in user is an administrator, false if the user is a customer or no user is logged in
+     */
+    public boolean isLoggedAdmin() {
 
-            for(int i = 0; i < luggageIds.size(); i++){
+        return userController.getLoggedUser() instanceof Admin;
 
-                if(!actualFlightIds.contains(flightIds.get(i))){
+    }
+    /**
+     * Streams all lost luggage items into the given lists without loading them in memory at once.
+     * <p>
+     * This method neither materializes the whole result set nor builds the object graph
+     * of every lost luggage item. The rows are read in the
+     * background through {@link LuggageDAO#streamLostLuggageRows}, which uses a server-side
+     * cursor, and are appended to the lists on the event dispatch thread in chunks of
+     * {@link #LOST_LUGGAGE_CHUNK_SIZE}; after each chunk {@code onRowsAdded} receives the
+     * number of rows added, so that a table can show them while the rest is still being read.
+     * Only the displayed columns and the booking id of each row are kept: the graph of a
+     * single booking is loaded when it is selected, see {@link #selectLostLuggageBookingAsync(DisposableObject, Integer)}.
+     * </p>
+     * <p>
+     * Cancelling the returned future, or disposing its owner, stops reading at the next row.
+     * </p>
+     *
+     * @param owner the object that requested the rows, whose disposal stops the stream (may be null)
+     * @param flightIds list to be populated with flight identifiers associated with lost luggage
+     * @param bookingDates list to be populated with booking creation dates for lost luggage context
+     * @param firstNames list to be populated with passenger first names for customer contact
+     * @param lastNames list to be populated with passenger last names for customer contact
+     * @param passengerSSNs list to be populated with passenger SSNs for identity verification
+     * @param luggageIdsAfterCheckin list to be populated with physical luggage identifiers for tracking
+     * @param bookingIds list to be populated with the identifiers of the bookings the luggage belongs to
+     * @param onRowsAdded callback invoked on the event dispatch thread with the number of rows appended by each chunk
+     * @return a future completed on the event dispatch thread, after the last chunk, with the total number of rows
+     */
+    public CompletableFuture<Integer> streamLostLuggagesAsync(DisposableObject owner, List<String> flightIds, List<Date> bookingDates,
+                                                              List<String> firstNames, List<String> lastNames, List<String> passengerSSNs,
+                                                              List<String> luggageIdsAfterCheckin, List<Integer> bookingIds, IntConsumer onRowsAdded) {
 
-                    actualFlightIds.add(flightIds.get(i));
+        AtomicBoolean stopped = new AtomicBoolean(false);
 
-                    if(Boolean.TRUE.equals(flightTypes.get(i))){   //alloco Departing
+        Consumer<List<LostLuggageRow>> publish = chunk -> SwingUtilities.invokeLater(() -> {
 
-                        flightController.getSearchBookingResult().add(new Departing( flightIds.get(i), companyNames.get(i), flightDates.get(i), departureTimes.get(i), arrivalTimes.get(i),
-                                FlightStatus.valueOf(flightStatus.get(i).toUpperCase()), maxSeats.get(i), freeSeats.get(i), cities.get(i)));
+            if (stopped.get()) return;
 
-                    }else{              //alloco Arriving
+            for (LostLuggageRow row : chunk) {
 
-                        flightController.getSearchBookingResult().add(new Arriving( flightIds.get(i), companyNames.get(i), flightDates.get(i), departureTimes.get(i), arrivalTimes.get(i),
-                                FlightStatus.valueOf(flightStatus.get(i).toUpperCase()), maxSeats.get(i), freeSeats.get(i), cities.get(i)));
+                FlightManifestRow details = row.details();
 
+                flightIds.add(row.flightId());
+                bookingDates.add(details.bookingDate());
+                firstNames.add(details.firstName());
+                lastNames.add(details.lastName());
+                passengerSSNs.add(details.passengerSSN());
+                luggageIdsAfterCheckin.add(details.luggageIdAfterCheckin());
+                bookingIds.add(details.bookingId());
+            }
 
-                    }
-                }
+            onRowsAdded.accept(chunk.size());
+        });
 
-                if(!actualBuyersIds.contains(buyerIds.get(i))){
+        CompletableFuture<Integer> result = AsyncExecutor.getInstance().submit(owner, () -> {
 
-                    actualBuyersIds.add(buyerIds.get(i));
+            LuggageDAO luggageDAO = DAOFactory.luggageDAO();
 
-                    customerController.getSearchBookingResultCustomers().add(new Customer(usernames.get(i), mails.get(i), hashedPasswords.get(i)));
-                    customerController.getSearchBookingResultCustomersIds().add(buyerIds.get(i));
-                }
+            ArrayList<LostLuggageRow> chunk = new ArrayList<>(LOST_LUGGAGE_CHUNK_SIZE);
 
+            int count = luggageDAO.streamLostLuggageRows(row -> {
 
-                if(!actualBookingIds.contains(bookingIds.get(i))){
+                //interrompe la lettura chiudendo il cursore lato server
+                if (stopped.get()) throw new CancellationException();
 
-                    actualBookingIds.add(bookingIds.get(i));
+                chunk.add(row);
 
-                    bookingController.getSearchBookingResult().add(new Booking(BookingStatus.valueOf(bookingStatus.get(i)), bookingDates.get(i),
-                            customerController.getSearchBookingResultCustomerById(buyerIds.get(i)), flightController.getSearchBookingResultFlightById(flightIds.get(i)),
-                            ticketNumbers.get(i), seats.get(i), checkedIns.get(i),
-                            firstNames.get(i), lastNames.get(i), passengerSSNs.get(i), birthDates.get(i)));
+                if (chunk.size() == LOST_LUGGAGE_CHUNK_SIZE) {
+                    publish.accept(List.copyOf(chunk));
+                    chunk.clear();
+                }
+            });
 
-                    bookingController.getSearchBookingResultIds().add(bookingIds.get(i));
+            if (!chunk.isEmpty()) publish.accept(List.copyOf(chunk));
 
-                    actualTicketNumbers.add(ticketNumbers.get(i));
-                    ticketController.getSearchBookingResult().add(bookingController.getSearchBookingResult().getLast().getTickets().getLast());
-                    Passenger tmp = ticketController.getSearchBookingResult().getLast().getPassenger();
-                    if(!actualSSNs.contains(tmp.getPassengerSSN())){
-                        actualSSNs.add(tmp.getPassengerSSN());
-                        passengerController.getSearchBookingResult().add(tmp);
-                    }
-                }else{
-                    if(!actualTicketNumbers.contains(ticketNumbers.get(i))) {
-                        actualTicketNumbers.add(ticketNumbers.get(i));
-                        ticketController.getSearchBookingResult().add(new Ticket(ticketNumbers.get(i), seats.get(i), checkedIns.get(i), flightController.getSearchBookingResultFlightById(flightIds.get(i)),
-                                bookingController.getSearchBookingResultBooksById(bookingIds.get(i)),
-                                firstNames.get(i), lastNames.get(i), passengerSSNs.get(i), birthDates.get(i)));
-                        Passenger tmp = ticketController.getSearchBookingResult().getLast().getPassenger();
-                        if (!actualSSNs.contains(tmp.getPassengerSSN())) {
-                            actualSSNs.add(tmp.getPassengerSSN());
-                            passengerController.getSearchBookingResult().add(tmp);
-                        }
-                    }
-                }
+            return count;
+        });
 
-                if(luggageTypes.get(i) != null){
-                    luggageController.getSearchBookingResult().add(new Luggage(luggageIdsAfterCheckin.get(i), LuggageType.valueOf(luggageTypes.get(i)), LuggageStatus.valueOf(luggageStatus.get(i)),
-                            ticketController.getSearchBookingResultTicketByTicketNumber(ticketNumbers.get(i))));
-                }else{
-                    luggageController.getSearchBookingResult().add(new Luggage(luggageIdsAfterCheckin.get(i), LuggageStatus.valueOf(luggageStatus.get(i)),
-                            ticketController.getSearchBookingResultTicketByTicketNumber(ticketNumbers.get(i))));
-                }
+        result.whenComplete((count, e) -> {
 
-                ticketController.getSearchBookingResultTicketByTicketNumber(ticketNumbers.get(i)).getLuggages().add(luggageController.getSearchBookingResult().getLast());
+            if (e == null) return;
 
+            stopped.set(true);
 
+            if (!(AsyncExecutor.unwrap(e) instanceof CancellationException)) {
+                LOGGER.log(Level.SEVERE, AsyncExecutor.unwrap(e).getMessage());
+                new FloatingMessage("Errore nella connessione al Database (Bagagli smmarriti)!", errorButton, FloatingMessage.ERROR_MESSAGE);
             }
+        });
 
-            luggageController.getSearchBookingResultIds().addAll(luggageIds);
+        return result;
+    }
 
-        }catch (Exception e){
-            Controller.getLogger().log(Level.SEVERE, e.getMessage());
-            new FloatingMessage("Errore nella connessione al Database (Bagagli smmarriti)!", errorButton, FloatingMessage.ERROR_MESSAGE);
+    /**
+     * Loads the lost luggage of a booking in the background and makes its flight the current one for lost luggage recovery operations.
+     * <p>
+     * The results loaded with {@link #streamLostLuggagesAsync} keep only the displayed
+     * columns: the lost luggage rows of the selected booking are read on the
+     * {@link AsyncExecutor}, then its object graph is built on the event dispatch thread and
+     * published to the specialized controllers as the search results.
+     * </p>
+     *
+     * @param owner the window selecting the booking, whose disposal cancels the operation
+     * @param bookingId the identifier of the booking the selected lost luggage belongs to
+     * @return a future completed on the event dispatch thread with true if the booking was loaded,
+     *         false if it has no lost luggage anymore, an error occurred or the operation was cancelled
+     */
+    public CompletableFuture<Boolean> selectLostLuggageBookingAsync(DisposableObject owner, Integer bookingId) {
 
-        }
+        return AsyncExecutor.getInstance().submit(owner, () -> DAOFactory.luggageDAO().getLostLuggageRowsOfBooking(bookingId))
+                .handle((rows, e) -> {
+
+                    if (e == null) return publishLostLuggageBooking(rows);
 
+                    if (!(AsyncExecutor.unwrap(e) instanceof CancellationException)) {
+                        LOGGER.log(Level.SEVERE, AsyncExecutor.unwrap(e).getMessage());
+                        new FloatingMessage("Errore nella connessione al Database (Bagagli)!", errorButton, FloatingMessage.ERROR_MESSAGE);
+                    }
 
+                    return false;
+                });
     }
 
     /**
-     * Sets the booking result selected flight context for lost luggage recovery operations.
+     * Builds the object graph of a booking from its lost luggage rows and makes its flight the current one.
      *
-     * @param luggageIndex the zero-based index of the lost luggage item in the search results
+     * @param rows the lost luggage rows of the booking
+     * @return true if the booking was loaded, false if it has no lost luggage anymore or an error occurred
      */
-    public void setBookingResultSelectedFlightForLostLuaggages(Integer luggageIndex) {
+    private boolean publishLostLuggageBooking(List<LostLuggageRow> rows) {
+
+        if (rows.isEmpty()) {
+            new FloatingMessage("Il bagaglio non risulta più smarrito.", errorButton, FloatingMessage.WARNING_MESSAGE);
+            return false;
+        }
 
-        flightController.setFlight(luggageController.getSearchBookingResult().get(luggageIndex).getTicket().getFlight());
+        FlightGraphAssembler assembler = new FlightGraphAssembler(rows.size());
 
-        flightController.getFlight().getBookings().add(luggageController.getSearchBookingResult().get(luggageIndex).getTicket().getBooking());
+        publishSearchBookingResult(assembler, true);
 
+        try{
+
+            for(LostLuggageRow row : rows){
+                assembler.add(row);
+            }
+
+        }catch (Exception e){
+            Controller.getLogger().log(Level.SEVERE, e.getMessage());
+            new FloatingMessage("Errore nella connessione al Database (Bagagli smmarriti)!", errorButton, FloatingMessage.ERROR_MESSAGE);
+            return false;
+        }
+
+        flightController.setFlight(assembler.getFlights().getFirst());
+
+        flightController.getFlight().getBookings().add(assembler.getBookings().getFirst());
+
+        return true;
     }
 
     /**
@@ -1534,149 +1642,119 @@ public class Controller {
      */
     public void getAllForAFlight(Integer index) {
 
-        String flightId = flightController.getSearchResult().get(index).getId();
-
         flightController.setFlight(flightController.getSearchResult().get(index));
 
-        ArrayList<Integer> flightGates = new ArrayList<>();
-
-        ArrayList<Integer> buyerIds = new ArrayList<>();
-        ArrayList<String> usernames = new ArrayList<>();
-        ArrayList<String> mails = new ArrayList<>();
-        ArrayList<String> hashedPasswords = new ArrayList<>();
-
-        ArrayList<Integer> bookingIds = new ArrayList<>();
-        ArrayList<String> bookingStatus = new ArrayList<>();
-        ArrayList<Date> bookingDates = new ArrayList<>();
-
-        ArrayList<String> ticketNumbers = new ArrayList<>();
-        ArrayList<Integer> seats = new ArrayList<>();
-        ArrayList<Boolean> checkedIns = new ArrayList<>();
-
-        ArrayList<String> firstNames = new ArrayList<>();
-        ArrayList<String> lastNames = new ArrayList<>();
-        ArrayList<String> passengerSSNs = new ArrayList<>();
-        ArrayList<Date> birthDates = new ArrayList<>();
-
-        ArrayList<Integer> luggageIds = new ArrayList<>();
-        ArrayList<String> luggageIdsAfterCheckin = new ArrayList<>();
-        ArrayList<String> luggageTypes = new ArrayList<>();
-        ArrayList<String> luggageStatus = new ArrayList<>();
+        List<FlightManifestRow> rows = List.of();
 
         try{
-            FlightDAO flightDAO = new FlightDAOImpl();
-
-
-            flightDAO.getAllDataForAFlight(flightId, flightGates, buyerIds, usernames, mails, hashedPasswords,
-                                           bookingDates, bookingStatus, bookingIds,
-                                           ticketNumbers, seats, checkedIns,
-                                           firstNames, lastNames, passengerSSNs, birthDates,
-                                           luggageIds, luggageTypes, luggageStatus, luggageIdsAfterCheckin);
-
+            FlightDAO flightDAO = DAOFactory.flightDAO();
 
+            rows = flightDAO.getFlightManifest(flightController.getFlight().getId());
 
         } catch (SQLException e) {
             new FloatingMessage("Errore nella connessione al Database (Voli)!", errorButton, FloatingMessage.ERROR_MESSAGE);
         }
 
-        customerController.setSearchBookingResultCustomers(new ArrayList<>());
-        customerController.setSearchBookingResultCustomersIds(new ArrayList<>());
-
-        bookingController.setSearchBookingResult(new ArrayList<>());
-        bookingController.setSearchBookingResultIds(new ArrayList<>());
-
+        assembleAllForAFlight(rows);
+    }
 
-        ticketController.setSearchBookingResult(new ArrayList<>());
-        passengerController.setSearchBookingResult(new ArrayList<>());
+    /**
+     * Retrieves all the data of a flight in the background, without blocking the Swing event dispatch thread.
+     * <p>
+     * The flight is selected immediately; the database query then runs on the {@link AsyncExecutor}
+     * and the bookings, tickets, passengers and luggage are assembled on the event dispatch
+     * thread, exactly as {@link #getAllForAFlight(Integer)} does. A database error is reported
+     * with a floating message and leaves the search results empty.
+     * </p>
+     *
+     * @param owner the window requesting the data, whose disposal cancels the operation
+     * @param index the zero-based index of the flight in the search results to retrieve comprehensive data for
+     * @return a future completed on the event dispatch thread once the flight data has been assembled
+     */
+    public CompletableFuture<List<FlightManifestRow>> getAllForAFlightAsync(DisposableObject owner, Integer index) {
 
-        luggageController.setSearchBookingResult(new ArrayList<>());
-        luggageController.setSearchBookingResultIds(new ArrayList<>());
+        flightController.setFlight(flightController.getSearchResult().get(index));
 
+        String flightId = flightController.getFlight().getId();
 
-        ArrayList<Integer> actualBuyersIds = new ArrayList<>();
-        ArrayList<Integer> actualBookingIds = new ArrayList<>();
-        ArrayList<String> actualTicketNumbers = new ArrayList<>();
-        ArrayList<String> actualSSNs = new ArrayList<>();
+        return AsyncExecutor.getInstance().submit(owner, () -> {
 
-        try{
-            if(!flightGates.isEmpty()){
-                if(flightGates.getFirst() != null){
-                    flightController.getFlight().setGate(new Gate(flightGates.getFirst().byteValue()));
-                }
-            }
+            FlightDAO flightDAO = DAOFactory.flightDAO();
 
+            return flightDAO.getFlightManifest(flightId);
 
-            for(int i = 0; i < luggageIds.size(); i++){
+        }).whenComplete((rows, e) -> {
 
+            if (e instanceof CancellationException) return;
 
-                if(!actualBuyersIds.contains(buyerIds.get(i))){
+            if (e != null) {
+                LOGGER.log(Level.SEVERE, AsyncExecutor.unwrap(e).getMessage());
+                new FloatingMessage("Errore nella connessione al Database (Voli)!", errorButton, FloatingMessage.ERROR_MESSAGE);
+            }
 
-                    actualBuyersIds.add(buyerIds.get(i));
+            assembleAllForAFlight(e == null ? rows : List.of());
+        });
+    }
 
-                    customerController.getSearchBookingResultCustomers().add(new Customer(usernames.get(i), mails.get(i), hashedPasswords.get(i)));
-                    customerController.getSearchBookingResultCustomersIds().add(buyerIds.get(i));
-                }
+    /**
+     * Builds the bookings, tickets, passengers and luggage of the selected flight from its manifest rows.
+     *
+     * @param rows the rows returned by {@link FlightDAO#getFlightManifest(String)}
+     */
+    private void assembleAllForAFlight(List<FlightManifestRow> rows) {
 
+        FlightGraphAssembler assembler = new FlightGraphAssembler(rows.size());
 
-                if(!actualBookingIds.contains(bookingIds.get(i))){
+        publishSearchBookingResult(assembler, false);
 
-                    actualBookingIds.add(bookingIds.get(i));
+        try{
+            if(!rows.isEmpty() && rows.getFirst().gate() > 0){
+                flightController.getFlight().setGate(new Gate((byte) rows.getFirst().gate()));
+            }
 
-                    bookingController.getSearchBookingResult().add(new Booking(BookingStatus.valueOf(bookingStatus.get(i)), bookingDates.get(i),
-                            customerController.getSearchBookingResultCustomerById(buyerIds.get(i)), flightController.getFlight(),
-                            ticketNumbers.get(i), seats.get(i), checkedIns.get(i),
-                            firstNames.get(i), lastNames.get(i), passengerSSNs.get(i), birthDates.get(i)));
+            for(FlightManifestRow row : rows){
+                assembler.add(row, flightController.getFlight());
+            }
 
-                    bookingController.getSearchBookingResultIds().add(bookingIds.get(i));
+            flightController.getFlight().getBookings().addAll(assembler.getBookings());
+            flightController.getFlight().getTickets().addAll(assembler.getTickets());
 
-                    actualTicketNumbers.add(ticketNumbers.get(i));
-                    ticketController.getSearchBookingResult().add(bookingController.getSearchBookingResult().getLast().getTickets().getLast());
-                    Passenger tmp = ticketController.getSearchBookingResult().getLast().getPassenger();
-                    if(!actualSSNs.contains(tmp.getPassengerSSN())){
-                        actualSSNs.add(tmp.getPassengerSSN());
-                        passengerController.getSearchBookingResult().add(tmp);
-                    }
-                }else{
-                    if(!actualTicketNumbers.contains(ticketNumbers.get(i))) {
-                        actualTicketNumbers.add(ticketNumbers.get(i));
-                        ticketController.getSearchBookingResult().add(new Ticket(ticketNumbers.get(i), seats.get(i), checkedIns.get(i), flightController.getFlight(),
-                                bookingController.getSearchBookingResultBooksById(bookingIds.get(i)),
-                                firstNames.get(i), lastNames.get(i), passengerSSNs.get(i), birthDates.get(i)));
-                        Passenger tmp = ticketController.getSearchBookingResult().getLast().getPassenger();
-                        if (!actualSSNs.contains(tmp.getPassengerSSN())) {
-                            actualSSNs.add(tmp.getPassengerSSN());
-                            passengerController.getSearchBookingResult().add(tmp);
-                        }
-                        bookingController.getSearchBookingResultBooksById(bookingIds.get(i)).getTickets().add(ticketController.getSearchBookingResult().getLast());
-                    }
-                }
+        }catch (Exception e){
+            Controller.getLogger().log(Level.SEVERE, e.getMessage());
+            new FloatingMessage("Errore nella connessione al Database!", errorButton, FloatingMessage.ERROR_MESSAGE);
 
-                if(luggageIds.get(i) != null){
-                    if(luggageTypes.get(i) != null){
-                        luggageController.getSearchBookingResult().add(new Luggage(luggageIdsAfterCheckin.get(i), LuggageType.valueOf(luggageTypes.get(i)), LuggageStatus.valueOf(luggageStatus.get(i)),
-                                ticketController.getSearchBookingResultTicketByTicketNumber(ticketNumbers.get(i))));
-                    }else{
-                        luggageController.getSearchBookingResult().add(new Luggage(luggageIdsAfterCheckin.get(i), LuggageStatus.valueOf(luggageStatus.get(i)),
-                                ticketController.getSearchBookingResultTicketByTicketNumber(ticketNumbers.get(i))));
-                    }
+        }
 
-                    ticketController.getSearchBookingResultTicketByTicketNumber(ticketNumbers.get(i)).getLuggages().add(luggageController.getSearchBookingResult().getLast());
-                }
 
-            }
+    }
 
-            flightController.getFlight().getBookings().addAll(bookingController.getSearchBookingResult());
-            flightController.getFlight().getTickets().addAll(ticketController.getSearchBookingResult());
+    /**
+     * Makes the lists of an assembler the search results of the specialized controllers.
+     * <p>
+     * The lists are shared, not copied, so entities added to the assembler afterwards are
+     * visible to the controllers as well.
+     * </p>
+     *
+     * @param assembler the assembler whose lists are published
+     * @param withFlights true to publish the assembled flights to the {@link FlightController} too
+     */
+    private void publishSearchBookingResult(FlightGraphAssembler assembler, boolean withFlights) {
 
-            luggageController.getSearchBookingResultIds().addAll(luggageIds);
+        if(withFlights){
+            flightController.setSearchBookingResult(assembler.getFlights());
+        }
 
-        }catch (Exception e){
-            Controller.getLogger().log(Level.SEVERE, e.getMessage());
-            new FloatingMessage("Errore nella connessione al Database!", errorButton, FloatingMessage.ERROR_MESSAGE);
+        customerController.setSearchBookingResultCustomers(assembler.getCustomers());
+        customerController.setSearchBookingResultCustomersIds(assembler.getCustomerIds());
 
-        }
+        bookingController.setSearchBookingResult(assembler.getBookings());
+        bookingController.setSearchBookingResultIds(assembler.getBookingIds());
 
+        ticketController.setSearchBookingResult(assembler.getTickets());
+        passengerController.setSearchBookingResult(assembler.getPassengers());
 
+        luggageController.setSearchBookingResult(assembler.getLuggages());
+        luggageController.setSearchBookingResultIds(assembler.getLuggageIds());
     }
 
     /**
@@ -1705,30 +1783,49 @@ public class Controller {
      * targeting in administrative workflows.
      * </p>
      *
+     * <p>
+     * The booking is selected at once; the luggage is read on the {@link AsyncExecutor} and
+     * the objects are created on the event dispatch thread. A database error is reported with
+     * a floating message and leaves the booking without luggage.
+     * </p>
+     *
+     * @param owner the window selecting the booking, whose disposal cancels the operation
      * @param index the zero-based index of the booking in the search results to retrieve luggage information for
+     * @return a future completed on the event dispatch thread once the luggage of the booking is available
      */
-    public void getAllLuggagesForABooking(Integer index) {
-
+    public CompletableFuture<Void> getAllLuggagesForABookingAsync(DisposableObject owner, Integer index) {
 
         flightController.setBookingResultSelectedFlight(bookingController.getSearchBookingResult().get(index).getBookedFlight().getId());
 
         bookingController.setBookingResultSelectedBooking(index);
 
-        ArrayList<String> ticketNumbers = new ArrayList<>();
-        ArrayList<Integer> luggageIds = new ArrayList<>();
-        ArrayList<String> luggageIdsAfterCheckin = new ArrayList<>();
-        ArrayList<String> luggageTypes = new ArrayList<>();
-        ArrayList<String> luggageStatus = new ArrayList<>();
+        Integer bookingId = bookingController.getId();
 
-        try{
-            LuggageDAO luggageDAO = new LuggageDAOImpl();
+        BookingLuggagesData data = new BookingLuggagesData();
 
+        return AsyncExecutor.getInstance().submit(owner, () -> {
 
-            luggageDAO.getAllLuggagesOfBooking(bookingController.getId(), ticketNumbers, luggageIds, luggageTypes, luggageStatus, luggageIdsAfterCheckin);
+            data.load(bookingId);
 
+            return data;
 
-        } catch (SQLException e) {
-            Controller.getLogger().log(Level.SEVERE, e.getSQLState());
+        }).thenAccept(this::assembleLuggagesOfBooking);
+    }
+
+    /**
+     * Builds the luggage of the selected booking from the rows loaded from the database.
+     *
+     * @param data the luggage loaded by {@link BookingLuggagesData#load(Integer)}
+     */
+    private void assembleLuggagesOfBooking(BookingLuggagesData data) {
+
+        ArrayList<String> ticketNumbers = data.ticketNumbers;
+        ArrayList<Integer> luggageIds = data.luggageIds;
+        ArrayList<String> luggageIdsAfterCheckin = data.luggageIdsAfterCheckin;
+        ArrayList<String> luggageTypes = data.luggageTypes;
+        ArrayList<String> luggageStatus = data.luggageStatus;
+
+        if (data.failed) {
             new FloatingMessage("Errore nella connessione al Database (Bagagli)!", errorButton, FloatingMessage.ERROR_MESSAGE);
         }
 
@@ -1790,43 +1887,326 @@ public class Controller {
      *   <li>User feedback through floating message components</li>
      * </ul>
      *
+     * <p>
+     * The validation runs on the calling thread and the update on the {@link AsyncExecutor};
+     * the session is updated and the feedback shown on the event dispatch thread.
+     * </p>
+     *
      * @param mail the updated email address for the user (used only for customer accounts)
      * @param username the updated username for the user
      * @param hashedPassword the updated pre-hashed password for the user
      * @param button UI button reference for displaying feedback messages
-     * @return true if the profile update was successful, false if validation failed or database errors occurred
+     * @return a future completed on the event dispatch thread with true if the profile update was successful,
+     *         false if validation failed or database errors occurred
      */
-    public boolean updateUser(String mail, String username, String hashedPassword, JButton button){
+    public CompletableFuture<Boolean> updateUserAsync(String mail, String username, String hashedPassword, JButton button){
         if (userController.isInvalidMail(mail)) {
             new FloatingMessage("<html>Mail non valida</html>", button, FloatingMessage.WARNING_MESSAGE);
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
         if (userController.isInvalidUsername(username)) {
             new FloatingMessage("<html>Username non valido.<br>Il nome utente deve iniziare con una lettera, " +
                     "finire con una lettera o un numero e può contenere solo lettere, numeri, trattini (-), underscore(_) e punti(.)</html>",
                     button, FloatingMessage.WARNING_MESSAGE);
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
 
-        try {
-            if (userController.getLoggedUser() instanceof Admin) {
-                AdminDAOImpl adminDAO = new AdminDAOImpl();
-                adminDAO.updateAdmin(userController.getLoggedUserId(), username, hashedPassword);
-                adminController.setLoggedAdmin(new Admin(username, userController.getLoggedUser().getEmail(), hashedPassword), userController.getLoggedUserId());
-                userController.setLoggedUser(new Admin(username, userController.getLoggedUser().getEmail(), hashedPassword), userController.getLoggedUserId());
+        boolean admin = userController.getLoggedUser() instanceof Admin;
+        Integer userId = userController.getLoggedUserId();
+        String email = userController.getLoggedUser().getEmail();
+
+        //senza proprietario: il salvataggio non deve essere annullato dalla navigazione
+        return AsyncExecutor.getInstance().submit(null, () -> {
+            if (admin) {
+                AdminDAO adminDAO = DAOFactory.adminDAO();
+                adminDAO.updateAdmin(userId, username, hashedPassword);
             } else {
-                CustomerDAOImpl customerDAO = new CustomerDAOImpl();
-                customerDAO.updateCustomer(userController.getLoggedUserId(), mail, username, hashedPassword);
-                customerController.setLoggedCustomer(new Customer(username, userController.getLoggedUser().getEmail(), hashedPassword), userController.getLoggedUserId());
-                userController.setLoggedUser(new Customer(username, userController.getLoggedUser().getEmail(), hashedPassword), userController.getLoggedUserId());
+                CustomerDAO customerDAO = DAOFactory.customerDAO();
+                customerDAO.updateCustomer(userId, mail, username, hashedPassword);
+            }
+            return true;
+
+        }).handle((updated, e) -> {
+
+            if (e != null) {
+                new FloatingMessage("<html>Errore nel collegamento al DB(Customer) o DB(Admin)<br>" + AsyncExecutor.unwrap(e).getMessage() + "</html>",
+                        button, FloatingMessage.ERROR_MESSAGE);
+                return false;
+            }
+
+            if (admin) {
+                adminController.setLoggedAdmin(new Admin(username, email, hashedPassword), userId);
+                userController.setLoggedUser(new Admin(username, email, hashedPassword), userId);
+            } else {
+                customerController.setLoggedCustomer(new Customer(username, email, hashedPassword), userId);
+                userController.setLoggedUser(new Customer(username, email, hashedPassword), userId);
             }
 
             new FloatingMessage("<html>Informazioni aggiornate con successo</html>", button, FloatingMessage.SUCCESS_MESSAGE);
             return true;
-        } catch (SQLException e) {
-            new FloatingMessage("<html>Errore nel collegamento al DB(Customer) o DB(Admin)<br>" + e.getMessage() + "</html>", button, FloatingMessage.ERROR_MESSAGE);
-            return false;
+        });
+
+    }
+
+    /**
+     * Reads one page of a booking search of the logged customer.
+     */
+    @FunctionalInterface
+    private interface BookingPageQuery {
+
+        /**
+         * Reads a page of bookings.
+         *
+         * @param pageSize the maximum number of bookings to return
+         * @param continuationToken the token of the previous page, or null for the first page
+         * @return the requested page
+         * @throws SQLException if a database access error occurs
+         */
+        Page<CustomerBookingRow> fetch(int pageSize, String continuationToken) throws SQLException;
+    }
+
+    /**
+     * A page of a booking search with the tickets of its bookings, loaded off the event dispatch thread.
+     *
+     * @param page the page of bookings
+     * @param tickets the tickets of the bookings of the page, keyed by booking id
+     */
+    private record BookingPage(Page<CustomerBookingRow> page, Map<Integer, List<BookingTicketRow>> tickets) {
+    }
+
+    /**
+     * Bookings of the logged customer for a flight, with the tickets of each booking,
+     * loaded off the event dispatch thread and assembled on it.
+     */
+    private static final class CustomerBookingsData {
+
+        final ArrayList<Integer> bookingIds = new ArrayList<>();
+        final ArrayList<Date> bookingDates = new ArrayList<>();
+        final ArrayList<String> bookingStatus = new ArrayList<>();
+
+        /**
+         * Tickets of each booking, keyed by booking id.
+         */
+        Map<Integer, List<BookingTicketRow>> tickets = Map.of();
+
+        /**
+         * Whether the booking search failed.
+         */
+        boolean failed;
+
+        /**
+         * Whether the ticket query failed.
+         */
+        boolean ticketsFailed;
+
+        /**
+         * Loads the bookings and, with a single query, the tickets of all of them; database errors
+         * are recorded instead of thrown so that they can be reported on the event dispatch thread.
+         *
+         * @param flightId the unique identifier of the flight
+         * @param customerId the identifier of the logged customer
+         */
+        void load(String flightId, Integer customerId) {
+
+            try{
+                BookingDAO bookingDAO = DAOFactory.bookingDAO();
+
+                bookingDAO.searchBooksCustomerForAFlight(flightId, customerId, bookingDates, bookingStatus, bookingIds);
+
+            } catch (SQLException e) {
+                failed = true;
+            }
+
+            try{
+                TicketDAO ticketDao = DAOFactory.ticketDAO();
+
+                tickets = ticketDao.getAllTicketBookings(bookingIds);
+
+            } catch (SQLException e) {
+                ticketsFailed = true;
+            }
+        }
+    }
+
+    /**
+     * Luggage of a booking, with the ticket each piece belongs to, loaded off the event
+     * dispatch thread and assembled on it.
+     */
+    private static final class BookingLuggagesData {
+
+        final ArrayList<String> ticketNumbers = new ArrayList<>();
+        final ArrayList<Integer> luggageIds = new ArrayList<>();
+        final ArrayList<String> luggageIdsAfterCheckin = new ArrayList<>();
+        final ArrayList<String> luggageTypes = new ArrayList<>();
+        final ArrayList<String> luggageStatus = new ArrayList<>();
+
+        /**
+         * Whether the luggage query failed.
+         */
+        boolean failed;
+
+        /**
+         * Loads the luggage of the booking; a database error is recorded instead of thrown so
+         * that it can be reported on the event dispatch thread.
+         *
+         * @param bookingId the identifier of the booking
+         */
+        void load(Integer bookingId) {
+
+            try{
+                LuggageDAO luggageDAO = DAOFactory.luggageDAO();
+
+                luggageDAO.getAllLuggagesOfBooking(bookingId, ticketNumbers, luggageIds, luggageTypes, luggageStatus, luggageIdsAfterCheckin);
+
+            } catch (SQLException e) {
+                LOGGER.log(Level.SEVERE, e.getSQLState());
+                failed = true;
+            }
+        }
+    }
+
+    /**
+     * Account of a user logging in, searched among the administrators and then among the
+     * customers off the event dispatch thread.
+     */
+    private static final class LoginData {
+
+        boolean admin;
+        Integer userId;
+        String username;
+        String mail;
+
+        /**
+         * The message to show instead of logging in, or null if the user was found.
+         */
+        String errorMessage;
+
+        /**
+         * The type of {@link #errorMessage}, one of the message types of {@link FloatingMessage}.
+         */
+        int messageType;
+
+        /**
+         * Searches the user by mail or username; database errors and wrong credentials are
+         * recorded instead of thrown so that they can be reported on the event dispatch thread.
+         *
+         * @param loggingInfo the login identifier (email address or username)
+         * @param hashedPassword the pre-hashed password for authentication
+         */
+        void load(String loggingInfo, String hashedPassword) {
+
+            ArrayList<Integer> userID = new ArrayList<>();
+            ArrayList<String> mails = new ArrayList<>();
+            ArrayList<String> usernames = new ArrayList<>();
+
+            try{
+                AdminDAO adminDAO = DAOFactory.adminDAO();
+                if(loggingInfo.contains("@")){
+                    adminDAO.searchUserByMail(userID, usernames, loggingInfo, hashedPassword);
+                }else{
+                    adminDAO.searchUserByUsername(userID, loggingInfo, mails, hashedPassword);
+                }
+                admin = true;
+            } catch (UserNotFoundException e){
+                try{
+                    CustomerDAO customerDAO = DAOFactory.customerDAO();
+                    if(loggingInfo.contains("@")){
+                        customerDAO.searchUserByMail(userID, usernames, loggingInfo, hashedPassword);
+                    }else{
+                        customerDAO.searchUserByUsername(userID, loggingInfo, mails, hashedPassword);
+                    }
+                } catch (UserNotFoundException ex){
+                    errorMessage = "<html>User o password errati</html>";
+                    messageType = FloatingMessage.WARNING_MESSAGE;
+                    return;
+                } catch (SQLException ex){
+                    errorMessage = "<html>Errore nel collegamento al DB(Customer)" + ex.getMessage() + "</html>";
+                    messageType = FloatingMessage.ERROR_MESSAGE;
+                    return;
+                }
+            } catch (SQLException e){
+                errorMessage = "<html>Errore nel collegamento al DB(Admin)" + e.getMessage() + "</html>";
+                messageType = FloatingMessage.ERROR_MESSAGE;
+                return;
+            }
+
+            userId = userID.getFirst();
+
+            if(loggingInfo.contains("@")){
+                username = usernames.getFirst();
+                mail = loggingInfo;
+            }else{
+                username = loggingInfo;
+                mail = mails.getFirst();
+            }
+        }
+    }
+
+    /**
+     * Passenger information of a booking being saved, extracted from the GUI panels on the
+     * event dispatch thread and completed with the new ticket numbers off it.
+     * <p>
+     * The lists are organized as expected by {@link BookingDAO#addBooking} and
+     * {@link BookingDAO#modifyBooking}: one element per passenger, in the order of the
+     * panels, and one element per selected luggage type with the ticket number of its owner.
+     * </p>
+     */
+    private static final class PassengersData {
+
+        final ArrayList<String> ticketsNumbers = new ArrayList<>();
+        final ArrayList<Integer> seats = new ArrayList<>();
+        final ArrayList<String> firstNames = new ArrayList<>();
+        final ArrayList<String> lastNames = new ArrayList<>();
+        final ArrayList<Date> birthDates = new ArrayList<>();
+        final ArrayList<String> passengerSSNs = new ArrayList<>();
+        final ArrayList<String> luggagesTypes = new ArrayList<>();
+        final ArrayList<String> ticketsForLuggagesTypes = new ArrayList<>();
+
+        /**
+         * Index of the passenger owning each selected luggage type.
+         */
+        private final ArrayList<Integer> luggageOwners = new ArrayList<>();
+
+        /**
+         * Extracts the passenger details, seats and luggage types from the panels; the ticket
+         * numbers of the passengers without one are left null until {@link #assignTicketNumbers(TicketDAO)}.
+         *
+         * @param passengerPanels list of {@link PassengerPanel} objects containing passenger information
+         */
+        PassengersData(List<PassengerPanel> passengerPanels) {
+
+            for (PassengerPanel passengerPanel : passengerPanels) {
+
+                ticketsNumbers.add(passengerPanel.getTicketNumber());
+
+                seats.add(passengerPanel.getSeat());
+                firstNames.add(passengerPanel.getPassengerName());
+                lastNames.add(passengerPanel.getPassengerSurname());
+                birthDates.add(passengerPanel.getPassengerDate());
+                passengerSSNs.add(passengerPanel.getPassengerCF());
+
+                for (LuggagePanel luggagePanel : passengerPanel.getLuggagesPanels()) {
+
+                    if (luggagePanel.getComboBox().getSelectedIndex() != 0 && luggagePanel.getComboBox().getSelectedItem() != null){
+                        luggagesTypes.add(luggagePanel.getComboBox().getSelectedItem().toString());
+                        luggageOwners.add(ticketsNumbers.size() - 1);
+                    }
+                }
+            }
         }
 
+        /**
+         * Generates the ticket numbers of the new passengers and associates each luggage type with the ticket of its owner.
+         *
+         * @param ticketDAO the DAO handing out the ticket numbers
+         */
+        void assignTicketNumbers(TicketDAO ticketDAO) {
+
+            for (int i = 0; i < ticketsNumbers.size(); i++) {
+                if (ticketsNumbers.get(i) == null) ticketsNumbers.set(i, ticketDAO.generateTicketNumber());
+            }
+
+            for (Integer owner : luggageOwners) ticketsForLuggagesTypes.add(ticketsNumbers.get(owner));
+        }
     }
 }
@@ -0,0 +1,103 @@
+package controller;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.event.InvocationEvent;
+
+/**
+ * Event queue measuring how long the Swing event dispatch thread takes to dispatch each event.
+ * <p>
+ * Once installed with {@link #install()}, the queue replaces the system one and emits an
+ * {@link EdtTaskEvent} for every event whose dispatch exceeds the threshold of the running
+ * JDK Flight Recorder recording. When no recording is running the dispatch only pays for
+ * the check of {@link EdtTaskEvent#isEnabled()}.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see EdtTaskEvent
+ */
+final class EdtMonitor extends EventQueue {
+
+    /**
+     * Whether the monitor has already been installed.
+     */
+    private static boolean installed;
+
+    /**
+     * Private constructor: the monitor is created by {@link #install()}.
+     */
+    private EdtMonitor() {
+    }
+
+    /**
+     * Pushes the monitor on top of the system event queue; later calls do nothing.
+     */
+    static synchronized void install() {
+
+        if (installed) return;
+
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new EdtMonitor());
+        installed = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The dispatch is timed by an {@link EdtTaskEvent}, committed only if it exceeds the
+     * threshold of the recording.
+     * </p>
+     */
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+
+        EdtTaskEvent task = new EdtTaskEvent();
+
+        if (!task.isEnabled()) {
+            super.dispatchEvent(event);
+            return;
+        }
+
+        task.begin();
+
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            task.end();
+
+            if (task.shouldCommit()) {
+                task.eventType = event.getClass().getSimpleName();
+                task.source = sourceOf(event);
+                task.commit();
+            }
+        }
+    }
+
+    /**
+     * Describes what an event was dispatched to.
+     * <p>
+     * The source of the tasks posted with {@code invokeLater} is the toolkit, so for them
+     * the class of the posted runnable is returned instead, as printed by the event.
+     * </p>
+     *
+     * @param event the dispatched event
+     * @return the class of the runnable or of the source of the event, or null if unknown
+     */
+    private static String sourceOf(AWTEvent event) {
+
+        if (event instanceof InvocationEvent) {
+
+            String parameters = event.paramString();
+            int start = parameters.indexOf("runnable=");
+
+            if (start >= 0) {
+                int end = parameters.indexOf(',', start);
+                return parameters.substring(start + "runnable=".length(), end < 0 ? parameters.length() : end);
+            }
+        }
+
+        return event.getSource() == null ? null : event.getSource().getClass().getName();
+    }
+}
@@ -0,0 +1,43 @@
+package controller;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JDK Flight Recorder event emitted for the long tasks of the Swing event dispatch thread.
+ * <p>
+ * While the event dispatch thread runs a task the user interface can neither repaint
+ * nor react to input, so every task longer than the threshold (50 ms by default, the
+ * limit above which a delay becomes noticeable) is a freeze seen by the desk agent. The
+ * event is emitted by {@link EdtMonitor}; its stack trace is taken at the end of the task,
+ * so the database queries it ran must be looked up among the events it overlaps.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see EdtMonitor
+ */
+@Name("aeroporto.EdtTask")
+@Label("Event Dispatch Thread Task")
+@Category({"Aeroporto", "Interfaccia grafica"})
+@Description("Evento Swing la cui gestione ha bloccato il thread dell'interfaccia grafica")
+@Threshold("50 ms")
+final class EdtTaskEvent extends Event {
+
+    /**
+     * The class of the AWT event dispatched.
+     */
+    @Label("Event Type")
+    String eventType;
+
+    /**
+     * The class of the component or object the event was dispatched to.
+     */
+    @Label("Source")
+    String source;
+}
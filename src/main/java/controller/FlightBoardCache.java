@@ -0,0 +1,249 @@
+package controller;
+
+import database.ChangeEvent;
+import database.ChangeFeed;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the imminent arrivals and departures board shown by the home pages.
+ * <p>
+ * Every home page built or restored asks for the same two tables, so the last board
+ * computed is shared by all the controllers of the application and reused until it is
+ * older than the time to live, configurable in seconds with the
+ * {@code aeroporto.board.ttlSeconds} system property (30 by default, 0 disables the cache).
+ * </p>
+ * <p>
+ * Refreshes are single-flight: when the board has expired, the first caller loads it
+ * while the concurrent callers wait for that same load instead of running their own
+ * queries. A board that could not be loaded because of a database error is returned to
+ * the waiting callers but is not cached.
+ * </p>
+ * <p>
+ * {@link #invalidate()} must be called whenever a flight status, delay or gate changes:
+ * the cached board is dropped immediately, and a load already in progress is not cached
+ * because it may have read the flight before the change. The flight changes made by the
+ * other clients reach the cache through a single subscription to the {@link ChangeFeed},
+ * registered by the first request for the board.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see FlightController#refreshImminentFlightsAsync
+ */
+final class FlightBoardCache {
+
+    /**
+     * The singleton instance shared by all the controllers.
+     */
+    private static final FlightBoardCache INSTANCE = new FlightBoardCache(
+            TimeUnit.SECONDS.toNanos(Math.max(0, Long.getLong("aeroporto.board.ttlSeconds", 30))));
+
+    /**
+     * Time to live of a cached board, in nanoseconds.
+     */
+    private final long ttlNanos;
+
+    /**
+     * Lock guarding the cached board and the refresh in progress.
+     * <p>
+     * A {@link ReentrantLock} is used instead of {@code synchronized} because callers may
+     * run on virtual threads; the lock is never held while the database is queried.
+     * </p>
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * The cached board, or null if it was never loaded or has been invalidated.
+     */
+    private Board board;
+
+    /**
+     * The value of {@link System#nanoTime()} when the cached board was loaded.
+     */
+    private long loadedAt;
+
+    /**
+     * The load in progress, awaited by concurrent callers, or null if none is running.
+     */
+    private CompletableFuture<Board> refreshing;
+
+    /**
+     * Number of invalidations so far, used to discard loads started before the last one.
+     */
+    private long generation;
+
+    /**
+     * Whether the cache has subscribed to the flight changes of the {@link ChangeFeed}.
+     */
+    private boolean subscribed;
+
+    /**
+     * Creates a cache with the given time to live.
+     *
+     * @param ttlNanos the time to live of a cached board, in nanoseconds
+     */
+    private FlightBoardCache(long ttlNanos) {
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * Returns the singleton instance of the cache.
+     *
+     * @return the shared cache
+     */
+    static FlightBoardCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the current board, loading it if the cached one is missing or expired.
+     *
+     * @param loader the function querying the database for a new board
+     * @return the current board
+     */
+    Board get(Supplier<Board> loader) {
+
+        CompletableFuture<Board> refresh;
+        long startGeneration;
+        boolean leader = false;
+        boolean subscribe;
+
+        lock.lock();
+        try {
+            subscribe = !subscribed;
+            subscribed = true;
+
+            if (board != null && System.nanoTime() - loadedAt < ttlNanos) return board;
+
+            if (refreshing == null) {
+                refreshing = new CompletableFuture<>();
+                leader = true;
+            }
+
+            refresh = refreshing;
+            startGeneration = generation;
+
+        } finally {
+            lock.unlock();
+        }
+
+        //i voli modificati da qualunque client invalidano subito il tabellone condiviso
+        if (subscribe) ChangeFeed.getInstance().subscribe(ChangeEvent.FLIGHT, event -> invalidate());
+
+        if (!leader) {
+            try {
+                return refresh.join();
+            } catch (CompletionException | CancellationException e) {
+                return Board.EMPTY;
+            }
+        }
+
+        Board loaded = Board.EMPTY;
+
+        try {
+            loaded = loader.get();
+            return loaded;
+
+        } finally {
+
+            lock.lock();
+            try {
+                if (refreshing == refresh) refreshing = null;
+
+                if (loaded.isComplete() && generation == startGeneration) {
+                    board = loaded;
+                    loadedAt = System.nanoTime();
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            refresh.complete(loaded);
+        }
+    }
+
+    /**
+     * Drops the cached board, so that the next request reads the flights from the database.
+     */
+    void invalidate() {
+
+        lock.lock();
+        try {
+            generation++;
+            board = null;
+
+            //le richieste successive non devono attendere un caricamento avviato prima della modifica
+            refreshing = null;
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A snapshot of the imminent flights board.
+     * <p>
+     * The tables are shared by every caller of the cache, so they are exposed only
+     * through copies.
+     * </p>
+     *
+     * @param arrivals the imminent arrivals table, empty if it could not be loaded
+     * @param departures the imminent departures table, empty if it could not be loaded
+     */
+    record Board(Object[][] arrivals, Object[][] departures) {
+
+        /**
+         * The board returned when the flights could not be loaded.
+         */
+        static final Board EMPTY = new Board(new Object[0][0], new Object[0][0]);
+
+        /**
+         * Tells whether both tables were loaded successfully and the board can be cached.
+         *
+         * @return true if neither table is empty
+         */
+        boolean isComplete() {
+            return arrivals.length > 0 && departures.length > 0;
+        }
+
+        /**
+         * Returns a copy of the imminent arrivals table that the caller may modify.
+         *
+         * @return the imminent arrivals
+         */
+        Object[][] copyOfArrivals() {
+            return copyOf(arrivals);
+        }
+
+        /**
+         * Returns a copy of the imminent departures table that the caller may modify.
+         *
+         * @return the imminent departures
+         */
+        Object[][] copyOfDepartures() {
+            return copyOf(departures);
+        }
+
+        /**
+         * Copies the rows of a table.
+         *
+         * @param table the table to copy
+         * @return a table with the same cells and independent rows
+         */
+        private static Object[][] copyOf(Object[][] table) {
+
+            Object[][] copy = new Object[table.length][];
+
+            for (int i = 0; i < table.length; i++) copy[i] = table[i].clone();
+
+            return copy;
+        }
+    }
+}
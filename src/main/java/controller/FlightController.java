@@ -1,8 +1,15 @@
 package controller;
 
 import dao.FlightDAO;
+import dao.FlightSearchRow;
+import dao.Page;
+import dao.SearchMode;
+import database.ChangeEvent;
+import database.ChangeFeed;
+import gui.DisposableObject;
 import gui.FloatingMessage;
 import gui.PassengerPanel;
+import implementazioni_postgres_dao.DAOFactory;
 import implementazioni_postgres_dao.FlightDAOImpl;
 import model.*;
 
@@ -15,6 +22,9 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 import java.util.logging.Level;
 import java.time.Duration;
 
@@ -69,23 +79,28 @@ public class FlightController {
     private ArrayList<Flight> searchBookingResult;
 
     /**
-     * Performs comprehensive flight search operations for customer flight selection.
-     * <p>
-     * This method executes a flight search operation using multiple filtering
-     * criteria to find flights matching customer requirements. It interfaces with the
-     * database through {@link FlightDAOImpl} to retrieve flight information and processes
-     * the results to create appropriate flight objects for customer selection.
-     * </p>
+     * The criteria of the current customer flight search, or null if no search completed.
+     */
+    private FlightSearchCriteria searchCriteria;
+
+    /**
+     * The continuation token of the next page of the current customer flight search, or null if every page was read.
+     */
+    private String searchPageToken;
+
+    /**
+     * Performs a customer flight search in the background, without blocking the Swing event dispatch thread.
      * <p>
-     * The search supports flexible filtering criteria, including:
+     * The database query runs on the {@link AsyncExecutor} and reads only the first
+     * {@link Controller#SEARCH_PAGE_SIZE} flights, by descending departure time; the result
+     * lists are filled and the search results are built on the event dispatch thread, so the
+     * caller must not read them until the returned future completes. The following pages are
+     * loaded by {@link #loadNextSearchPageAsync} as the results are scrolled. If the query
+     * fails, an error message is shown next to the search button and the future completes
+     * exceptionally.
      * </p>
-     * <ul>
-     *   <li>Departure city - flights leaving from a specific location</li>
-     *   <li>Arrival city - flights going to a specific destination</li>
-     *   <li>Date range - flights within specified date boundaries</li>
-     *   <li>Time range - flights departing within specific time windows</li>
-     * </ul>
      *
+     * @param owner the window requesting the search, whose disposal cancels it
      * @param departingCity the departure city name for filtering (null for no filter)
      * @param arrivingCity the arrival city name for filtering (null for no filter)
      * @param initialDate the start date for date range filtering (null for no filter)
@@ -103,27 +118,190 @@ public class FlightController {
      * @param freeSeats list to be populated with available seat counts
      * @param cities list to be populated with destination or origin city names
      * @param searchButton the button component to use as reference for error message display
+     * @return a future completed on the event dispatch thread once the search results are available
      */
-    public void searchFlightCustomer(String departingCity, String arrivingCity, LocalDate initialDate, LocalDate finalDate, LocalTime initialTime, LocalTime finalTime,
-                                                  List<String> ids, List<String> companyNames, List<Date> dates, List<Time> departureTimes, List<Time> arrivalTimes,
-                                                  List<Integer> delays, List<String> status, List<Integer> maxSeats, List<Integer> freeSeats, List<String> cities,
-                                                  JButton searchButton){
+    public CompletableFuture<Void> searchFlightCustomerAsync(DisposableObject owner, String departingCity, String arrivingCity, LocalDate initialDate, LocalDate finalDate,
+                                                             LocalTime initialTime, LocalTime finalTime,
+                                                             List<String> ids, List<String> companyNames, List<Date> dates, List<Time> departureTimes, List<Time> arrivalTimes,
+                                                             List<Integer> delays, List<String> status, List<Integer> maxSeats, List<Integer> freeSeats, List<String> cities,
+                                                             JButton searchButton){
 
-        ArrayList<Boolean> types = new ArrayList<>();
+        FlightSearchCriteria criteria = new FlightSearchCriteria(departingCity, arrivingCity, initialDate, finalDate, initialTime, finalTime);
 
-        try{
-            FlightDAO flightDAO = new FlightDAOImpl();
+        searchCriteria = null;
+        searchPageToken = null;
+
+        return AsyncExecutor.getInstance().submit(owner, () -> criteria.fetch(null))
+                .thenAccept(page -> {
+
+                    searchCriteria = criteria;
+                    searchPageToken = page.nextToken();
+
+                    searchResult = new ArrayList<>(page.rows().size());
+                    appendSearchPage(page.rows(), ids, companyNames, dates, departureTimes, arrivalTimes, delays, status, maxSeats, freeSeats, cities);
+
+                }).whenComplete((ignored, e) -> {
+
+                    if (e != null && !(AsyncExecutor.unwrap(e) instanceof CancellationException)) {
+                        Controller.getLogger().log(Level.SEVERE, AsyncExecutor.unwrap(e).getMessage());
+                        new FloatingMessage("Errore nella connessione al Database!", searchButton, FloatingMessage.ERROR_MESSAGE);
+                    }
+                });
+    }
+
+    /**
+     * Returns whether the current customer flight search has more pages to load.
+     *
+     * @return true if {@link #loadNextSearchPageAsync} can load more flights
+     */
+    public boolean hasNextSearchPage() {
+        return searchCriteria != null && searchPageToken != null;
+    }
+
+    /**
+     * Loads the next page of the current customer flight search in the background.
+     * <p>
+     * The page is read on the {@link AsyncExecutor} and appended on the event dispatch thread
+     * both to the search results and to the given lists, which must be the ones filled by
+     * {@link #searchFlightCustomerAsync}. If a new search is started in the meantime the page
+     * is discarded. If the query fails, an error message is shown next to the search button
+     * and the continuation token is kept, so that the page can be requested again.
+     * </p>
+     *
+     * @param owner the window requesting the page, whose disposal cancels it
+     * @param ids list the flight identifiers are appended to
+     * @param companyNames list the airline company names are appended to
+     * @param dates list the flight dates are appended to
+     * @param departureTimes list the departure times are appended to
+     * @param arrivalTimes list the arrival times are appended to
+     * @param delays list the flight delays are appended to
+     * @param status list the flight status values are appended to
+     * @param maxSeats list the maximum seat capacities are appended to
+     * @param freeSeats list the available seat counts are appended to
+     * @param cities list the destination or origin city names are appended to
+     * @param searchButton the button component to use as reference for error message display
+     * @return a future completed on the event dispatch thread with the number of flights appended
+     */
+    public CompletableFuture<Integer> loadNextSearchPageAsync(DisposableObject owner,
+                                                              List<String> ids, List<String> companyNames, List<Date> dates, List<Time> departureTimes, List<Time> arrivalTimes,
+                                                              List<Integer> delays, List<String> status, List<Integer> maxSeats, List<Integer> freeSeats, List<String> cities,
+                                                              JButton searchButton) {
+
+        FlightSearchCriteria criteria = searchCriteria;
+        String token = searchPageToken;
+
+        if (criteria == null || token == null) return CompletableFuture.completedFuture(0);
+
+        return AsyncExecutor.getInstance().submit(owner, () -> criteria.fetch(token))
+                .thenApply(page -> {
+
+                    //la pagina appartiene a una ricerca sostituita nel frattempo
+                    if (criteria != searchCriteria || !token.equals(searchPageToken)) return 0;
+
+                    searchPageToken = page.nextToken();
 
-            flightDAO.searchFlight(departingCity, arrivingCity, initialDate, finalDate, initialTime, finalTime, ids, companyNames,
-                                    dates, departureTimes, arrivalTimes, delays, status, maxSeats, freeSeats, cities, types);
+                    appendSearchPage(page.rows(), ids, companyNames, dates, departureTimes, arrivalTimes, delays, status, maxSeats, freeSeats, cities);
 
-            searchResult = new ArrayList<>(0);
+                    return page.rows().size();
+
+                }).whenComplete((added, e) -> {
+
+                    if (e != null && !(AsyncExecutor.unwrap(e) instanceof CancellationException)) {
+                        Controller.getLogger().log(Level.SEVERE, AsyncExecutor.unwrap(e).getMessage());
+                        new FloatingMessage("Errore nella connessione al Database!", searchButton, FloatingMessage.ERROR_MESSAGE);
+                    }
+                });
+    }
+
+    /**
+     * Forgets the current customer flight search, so that no further page is loaded.
+     */
+    public void clearSearchPages() {
+        searchCriteria = null;
+        searchPageToken = null;
+    }
 
-        } catch (SQLException e) {
-            new FloatingMessage("Errore nella connessione al Database!", searchButton, FloatingMessage.ERROR_MESSAGE);
+    /**
+     * Appends a page of flights to the search results and to the parallel lists displayed by the result panels.
+     *
+     * @param rows the flights of the page
+     * @param ids list the flight identifiers are appended to
+     * @param companyNames list the airline company names are appended to
+     * @param dates list the flight dates are appended to
+     * @param departureTimes list the departure times are appended to
+     * @param arrivalTimes list the arrival times are appended to
+     * @param delays list the flight delays are appended to
+     * @param status list the flight status values are appended to
+     * @param maxSeats list the maximum seat capacities are appended to
+     * @param freeSeats list the available seat counts are appended to
+     * @param cities list the destination or origin city names are appended to
+     */
+    private void appendSearchPage(List<FlightSearchRow> rows,
+                                  List<String> ids, List<String> companyNames, List<Date> dates, List<Time> departureTimes, List<Time> arrivalTimes,
+                                  List<Integer> delays, List<String> status, List<Integer> maxSeats, List<Integer> freeSeats, List<String> cities) {
+
+        int size = rows.size();
+
+        ArrayList<String> pageIds = new ArrayList<>(size);
+        ArrayList<String> pageCompanyNames = new ArrayList<>(size);
+        ArrayList<Date> pageDates = new ArrayList<>(size);
+        ArrayList<Time> pageDepartureTimes = new ArrayList<>(size);
+        ArrayList<Time> pageArrivalTimes = new ArrayList<>(size);
+        ArrayList<Integer> pageDelays = new ArrayList<>(size);
+        ArrayList<String> pageStatus = new ArrayList<>(size);
+        ArrayList<Integer> pageMaxSeats = new ArrayList<>(size);
+        ArrayList<Integer> pageFreeSeats = new ArrayList<>(size);
+        ArrayList<String> pageCities = new ArrayList<>(size);
+        ArrayList<Boolean> pageTypes = new ArrayList<>(size);
+
+        for (FlightSearchRow row : rows) {
+
+            pageIds.add(row.flightId());
+            pageCompanyNames.add(row.companyName());
+            pageDates.add(new Date(row.departureTime().getTime()));
+            pageDepartureTimes.add(new Time(row.departureTime().getTime()));
+            pageArrivalTimes.add(new Time(row.arrivalTime().getTime()));
+            pageDelays.add(row.delay());
+            pageStatus.add(row.flightStatus());
+            pageMaxSeats.add(row.maxSeats());
+            pageFreeSeats.add(row.freeSeats());
+            pageCities.add(row.city());
+            pageTypes.add(row.departing());
         }
 
+        buildSearchResult(pageIds, pageCompanyNames, pageDates, pageDepartureTimes, pageArrivalTimes, pageDelays, pageStatus,
+                pageMaxSeats, pageFreeSeats, pageCities, pageTypes);
+
+        ids.addAll(pageIds);
+        companyNames.addAll(pageCompanyNames);
+        dates.addAll(pageDates);
+        departureTimes.addAll(pageDepartureTimes);
+        arrivalTimes.addAll(pageArrivalTimes);
+        delays.addAll(pageDelays);
+        status.addAll(pageStatus);
+        maxSeats.addAll(pageMaxSeats);
+        freeSeats.addAll(pageFreeSeats);
+        cities.addAll(pageCities);
+    }
 
+    /**
+     * Converts the rows returned by a flight search into {@link Departing} and {@link Arriving} objects.
+     *
+     * @param ids flight identifiers
+     * @param companyNames airline company names
+     * @param dates flight dates
+     * @param departureTimes departure times
+     * @param arrivalTimes arrival times
+     * @param delays flight delays
+     * @param status flight status values
+     * @param maxSeats maximum seat capacities
+     * @param freeSeats available seat counts
+     * @param cities destination or origin city names
+     * @param types flight types (true for departing flights)
+     */
+    private void buildSearchResult(List<String> ids, List<String> companyNames, List<Date> dates, List<Time> departureTimes, List<Time> arrivalTimes,
+                                   List<Integer> delays, List<String> status, List<Integer> maxSeats, List<Integer> freeSeats, List<String> cities,
+                                   List<Boolean> types){
 
         for(int i = 0; i < ids.size(); i++){
 
@@ -145,6 +323,7 @@ public class FlightController {
         }
 
     }
+
  /**
      * Sets the current flight session using an existing {@link Flight} object.
      *
@@ -643,21 +822,32 @@ public class FlightController {
      * This method attempts to start the check-in procedure for the current flight
      * by interfacing with the database through {@link FlightDAOImpl}. The check-in
      * process typically involves status validation, timing verification, and
-     * system preparation for passenger check-in operations.
+     * system preparation for passenger check-in operations. The update runs on the
+     * {@link AsyncExecutor}, without blocking the Swing event dispatch thread.
      * </p>
      *
-     * @return status code indicating check-in initiation success (positive values) or failure (negative values)
+     * @return a future completed on the event dispatch thread with the status code indicating
+     *         check-in initiation success (positive values) or failure (negative values)
      */
-    public int startCheckin () {
+    public CompletableFuture<Integer> startCheckinAsync () {
 
-        try {
-            FlightDAOImpl flightDAO = new FlightDAOImpl();
+        String flightId = flight.getId();
 
-            return flightDAO.startCheckin(flight.getId());
+        return AsyncExecutor.getInstance().submit(null, () -> {
 
-        } catch (SQLException e) {
-            return -1;
-        }
+            try {
+                FlightDAO flightDAO = DAOFactory.flightDAO();
+
+                int result = flightDAO.startCheckin(flightId);
+
+                FlightBoardCache.getInstance().invalidate();
+
+                return result;
+
+            } catch (SQLException e) {
+                return -1;
+            }
+        });
     }
 
     /**
@@ -666,16 +856,20 @@ public class FlightController {
      * This method handles bulk check-in status updates for passengers, processing
      * two collections of passenger panels representing those who should be checked
      * in and those who should not be checked in. It coordinates with the database
-     * to update check-in statuses and retrieves associated luggage check-in information.
+     * to update check-in statuses and retrieves associated luggage check-in information
+     * in a single transaction, with a constant number of round trips.
+     * </p>
+     * <p>
+     * The ticket numbers are read from the panels on the event dispatch thread, while the
+     * transaction runs on the {@link AsyncExecutor}.
      * </p>
      *
      * @param truePassengers collection of {@link PassengerPanel} objects representing passengers to be checked in
      * @param falsePassengers collection of {@link PassengerPanel} objects representing passengers not to be checked in
-     * @return nested list structure containing luggage check-in information for processed passengers
+     * @return a future completed on the event dispatch thread with the nested list structure containing
+     *         luggage check-in information for processed passengers
      */
-    public ArrayList<ArrayList<String>> setCheckins (ArrayList<PassengerPanel> truePassengers, ArrayList<PassengerPanel> falsePassengers) {
-
-        FlightDAOImpl flightDAO = new FlightDAOImpl();
+    public CompletableFuture<ArrayList<ArrayList<String>>> setCheckinsAsync (ArrayList<PassengerPanel> truePassengers, ArrayList<PassengerPanel> falsePassengers) {
 
         ArrayList<String> trueTickets = new ArrayList<String>();
         ArrayList<String> falseTickets = new ArrayList<String>();
@@ -683,10 +877,12 @@ public class FlightController {
         for (PassengerPanel passengerPanel : truePassengers) trueTickets.add(passengerPanel.getTicketNumber());
         for (PassengerPanel passengerPanel : falsePassengers) falseTickets.add(passengerPanel.getTicketNumber());
 
+        return AsyncExecutor.getInstance().submit(null, () -> {
 
-        flightDAO.setCheckins(trueTickets, falseTickets);
+            FlightDAO flightDAO = DAOFactory.flightDAO();
 
-        return flightDAO.getLuggagesCheckins(trueTickets);
+            return flightDAO.checkinTickets(trueTickets, falseTickets);
+        });
     }
 
     /**
@@ -797,6 +993,10 @@ public class FlightController {
      * database through {@link FlightDAOImpl} to persist the flight data. It supports
      * both arriving and departing flight types based on the flightType parameter.
      * </p>
+     * <p>
+     * The insertion runs on the {@link AsyncExecutor} without an owner, so closing the
+     * dialog does not cancel it; a database error is reported on the event dispatch thread.
+     * </p>
      *
      * @param flightId unique identifier for the new flight
      * @param companyName airline company name operating the flight
@@ -807,9 +1007,11 @@ public class FlightController {
      * @param otherCity destination city for departing flights, origin city for arriving flights
      * @param flightType true for departing flights, false for arriving flights
      * @param confirmButton UI button reference for error message display
-     * @return true if flight creation was successful, false if database errors occurred
+     * @return a future completed on the event dispatch thread with true if flight creation was successful,
+     *         false if database errors occurred
      */
-    public boolean addFlight(String flightId, String companyName, LocalDate flightDate, LocalTime departureTime, LocalTime arrivalTime, int maxSeats, String otherCity, boolean flightType, JButton confirmButton) {
+    public CompletableFuture<Boolean> addFlightAsync(String flightId, String companyName, LocalDate flightDate, LocalTime departureTime, LocalTime arrivalTime,
+                                                     int maxSeats, String otherCity, boolean flightType, JButton confirmButton) {
 
 
         Timestamp departureTimestamp;
@@ -831,37 +1033,46 @@ public class FlightController {
         arrivalTimestamp = Timestamp.valueOf(arrivalDate.atTime(arrivalTime));
 
 
-        try{
+        return AsyncExecutor.getInstance().submit(null, () -> {
 
-            FlightDAO flightDAO = new FlightDAOImpl();
+            FlightDAO flightDAO = DAOFactory.flightDAO();
 
             flightDAO.InsertAFlight(flightId, companyName, departureTimestamp, arrivalTimestamp, maxSeats, otherCity, flightType);
 
+            FlightBoardCache.getInstance().invalidate();
 
+            return true;
 
-        } catch (SQLException e) {
+        }).handle((added, e) -> {
 
-            Controller.getLogger().log(Level.SEVERE, e.getSQLState());
+            if (e == null) return true;
+
+            Controller.getLogger().log(Level.SEVERE, AsyncExecutor.unwrap(e).getMessage());
             new FloatingMessage("Errore nella connessione al Database!", confirmButton, FloatingMessage.ERROR_MESSAGE);
             return false;
-
-        }
-
-        return true;
+        });
     }
 
     /**
-     * Updates the operational status of the currently active flight in the database.
+     * Updates in the background the operational status of the currently active flight in the database.
      *
      * @param flightStatus the new flight status as an Object (typically String) to be set
-     * @return integer status code indicating operation success or failure
+     * @return a future completed on the event dispatch thread with the integer status code indicating operation success or failure
      */
-    public int setFlightStatus (Object flightStatus) {
+    public CompletableFuture<Integer> setFlightStatusAsync (Object flightStatus) {
+
+        String flightId = flight.getId();
+
+        return AsyncExecutor.getInstance().submit(null, () -> {
 
-        FlightDAOImpl flightDAO = new FlightDAOImpl();
+            FlightDAO flightDAO = DAOFactory.flightDAO();
 
-        return flightDAO.setStatus((String) flightStatus, flight.getId());
+            int result = flightDAO.setStatus((String) flightStatus, flightId);
 
+            FlightBoardCache.getInstance().invalidate();
+
+            return result;
+        });
     }
 
     /**
@@ -870,45 +1081,87 @@ public class FlightController {
      * This method updates the delay information for the current flight by
      * interfacing with the database through {@link FlightDAOImpl}. It includes
      * validation to ensure that delay values are non-negative, throwing a
-     * NumberFormatException for invalid input values.
+     * NumberFormatException for invalid input values before the update is started on the
+     * {@link AsyncExecutor}.
      * </p>
      *
      * @param delay the delay amount in minutes to add to the flight (must be non-negative)
-     * @return integer status code indicating operation success or failure
+     * @return a future completed on the event dispatch thread with the integer status code indicating operation success or failure
      * @throws NumberFormatException if the delay value is negative
      */
-    public int addDelay (int delay) throws NumberFormatException {
+    public CompletableFuture<Integer> addDelayAsync (int delay) throws NumberFormatException {
 
         if (delay < 0) throw new NumberFormatException();
 
-        FlightDAOImpl flightDAO = new FlightDAOImpl();
+        String flightId = flight.getId();
+
+        return AsyncExecutor.getInstance().submit(null, () -> {
+
+            FlightDAO flightDAO = DAOFactory.flightDAO();
+
+            int result = flightDAO.addDelay(delay, flightId);
 
-        return flightDAO.addDelay(delay, flight.getId());
+            FlightBoardCache.getInstance().invalidate();
+
+            return result;
+        });
     }
 
     /**
-     * Retrieves imminent arriving flight information for display purposes.
+     * Reads the imminent flights board in the background, for displays that refresh periodically.
      * <p>
-     * This method queries the database for flights that are scheduled to arrive
-     * in the near future and formats the information into a two-dimensional array
-     * suitable for table display in user interfaces. It specifically handles
-     * arriving flights with comprehensive information including delays and gate assignments.
+     * The board is obtained from the shared {@link FlightBoardCache} on a background
+     * thread, so an expired board is reloaded without blocking the event dispatch thread.
+     * Both tables are then handed to {@code onLoaded} on the event dispatch thread; they
+     * are empty if database errors occur.
      * </p>
+     *
+     * @param owner the object that requested the board, whose disposal cancels the request
+     * @param onLoaded the callback receiving the arriving and departing flights tables on the event dispatch thread
+     * @return a future completed on the event dispatch thread once the callback has run
+     */
+    public CompletableFuture<Void> refreshImminentFlightsAsync(DisposableObject owner, BiConsumer<Object[][], Object[][]> onLoaded) {
+
+        return AsyncExecutor.getInstance().submit(owner, () -> FlightBoardCache.getInstance().get(this::loadImminentFlights))
+                .thenAccept(board -> onLoaded.accept(board.copyOfArrivals(), board.copyOfDepartures()));
+    }
+
+    /**
+     * Registers a callback invoked whenever a flight is changed by any client of the database.
      * <p>
-     * The method performs several operations:
+     * The changes are pushed by the database through the {@link ChangeFeed}; by the time
+     * the callback runs the shared board has already been invalidated, so a following call
+     * to {@link #refreshImminentFlightsAsync} reads the new data. The callback runs on the
+     * listener thread and must move any Swing work to the event dispatch thread.
      * </p>
-     * <ul>
-     *   <li>Database query through {@link FlightDAOImpl} for imminent arrivals</li>
-     *   <li>Flight object creation with complete operational information</li>
-     *   <li>Data formatting for GUI table display with localized status translation</li>
-     *   <li>Delay calculation and time adjustment for accurate arrival predictions</li>
-     *   <li>Gate information formatting with "N/A" fallback for unassigned gates</li>
-     * </ul>
+     *
+     * @param onChange the callback invoked after each flight change
+     * @return the action that cancels the registration
+     */
+    public Runnable subscribeFlightChanges(Runnable onChange) {
+
+        ChangeFeed.Subscription subscription = ChangeFeed.getInstance().subscribe(ChangeEvent.FLIGHT, event -> onChange.run());
+
+        return subscription::close;
+    }
+
+    /**
+     * Queries the database for both tables of the imminent flights board.
+     *
+     * @return the board, whose tables are empty if database errors occur
+     */
+    private FlightBoardCache.Board loadImminentFlights() {
+
+        return new FlightBoardCache.Board(loadImminentArrivingFlights(), loadImminentDepartingFlights());
+    }
+
+    /**
+     * Queries the database for the imminent arriving flights and formats them for table display.
      *
      * @return two-dimensional Object array containing formatted arriving flight information,
      *         or empty array if database errors occur
      */
-    public Object[][] getImminentArrivingFlights(){
+    private Object[][] loadImminentArrivingFlights(){
 
         ArrayList<Arriving> arrivingFlights = new ArrayList<>();
         Object[][] result = new Object[6][7];
@@ -926,7 +1179,7 @@ public class FlightController {
         ArrayList<Integer> gate = new ArrayList<>();
 
         try{
-            FlightDAOImpl arrivingDao = new FlightDAOImpl();
+            FlightDAO arrivingDao = DAOFactory.flightDAO();
             arrivingDao.getImminentArrivingFlights(flightId, companyName, flightDate, departureTime, arrivalTime, status,
                     maxSeats, freeSeats, origin, arrivalDelay, gate);
         } catch (SQLException e){
@@ -955,7 +1208,7 @@ public class FlightController {
     }
 
     /**
-     * Retrieves imminent departing flight information for display purposes.
+     * Queries the database for the imminent departing flights and formats them for table display.
      * <p>
      * This method queries the database for flights that are scheduled to depart
      * in the near future and formats the information into a two-dimensional array
@@ -977,7 +1230,7 @@ public class FlightController {
      * @return two-dimensional Object array containing formatted departing flight information,
      *         or empty array if database errors occur
      */
-    public Object[][] getImminentDepartingFlights(){
+    private Object[][] loadImminentDepartingFlights(){
 
         ArrayList<Arriving> departingFlights = new ArrayList<>();
         Object[][] result = new Object[6][7];
@@ -995,7 +1248,7 @@ public class FlightController {
         ArrayList<Integer> gate = new ArrayList<>();
 
         try{
-            FlightDAOImpl departingDao = new FlightDAOImpl();
+            FlightDAO departingDao = DAOFactory.flightDAO();
             departingDao.getImminentDepartingFlights(flightId, companyName, flightDate, departureTime, arrivalTime, status,
                     maxSeats, freeSeats, origin, departingDelay, gate);
         } catch (SQLException e){
@@ -1070,4 +1323,33 @@ public class FlightController {
         }
         return true;
     }
+
+    /**
+     * The criteria of a customer flight search, kept to read its following pages.
+     *
+     * @param departingCity the departure city name for filtering (null for no filter)
+     * @param arrivingCity the arrival city name for filtering (null for no filter)
+     * @param initialDate the start date for date range filtering (null for no filter)
+     * @param finalDate the end date for date range filtering (null for no filter)
+     * @param initialTime the start time for time range filtering (null for no filter)
+     * @param finalTime the end time for time range filtering (null for no filter)
+     */
+    private record FlightSearchCriteria(String departingCity, String arrivingCity, LocalDate initialDate, LocalDate finalDate,
+                                        LocalTime initialTime, LocalTime finalTime) {
+
+        /**
+         * Reads a page of the flights matching the criteria, matching cities by prefix.
+         *
+         * @param continuationToken the token of the previous page, or null for the first page
+         * @return the requested page
+         * @throws SQLException if a database access error occurs
+         */
+        Page<FlightSearchRow> fetch(String continuationToken) throws SQLException {
+
+            FlightDAO flightDAO = DAOFactory.flightDAO();
+
+            return flightDAO.searchFlightPage(departingCity, arrivingCity, initialDate, finalDate, initialTime, finalTime,
+                    SearchMode.PREFIX, Controller.SEARCH_PAGE_SIZE, continuationToken);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,342 @@
+package controller;
+
+import dao.FlightManifestRow;
+import dao.LostLuggageRow;
+import model.*;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Builds the {@code Flight -> Booking -> Ticket -> Passenger/Luggage} object graph from the joined rows of the DAO layer.
+ * <p>
+ * The rows returned by {@link dao.FlightDAO#getFlightManifest(String)} and
+ * {@link dao.LuggageDAO#getLostLuggageRowsOfBooking(int)} repeat the flight, customer, booking and
+ * ticket columns once per luggage. The assembler creates each entity the first time its
+ * identifier is seen and looks it up afterwards through identity maps keyed by id, so the
+ * whole graph is built in a single pass whose cost grows linearly with the number of rows.
+ * The maps are pre-sized from the expected row count to avoid rehashing.
+ * </p>
+ * <p>
+ * Entities are also collected in lists, in the order of their first appearance, matching
+ * the search results expected by the specialized controllers:
+ * </p>
+ * <ul>
+ *   <li>{@link #getFlights()} for {@link FlightController#setSearchBookingResult(List)}</li>
+ *   <li>{@link #getCustomers()} and {@link #getCustomerIds()} for {@link CustomerController}</li>
+ *   <li>{@link #getBookings()} and {@link #getBookingIds()} for {@link BookingController}</li>
+ *   <li>{@link #getTickets()} for {@link TicketController}</li>
+ *   <li>{@link #getPassengers()} for {@link PassengerController}</li>
+ *   <li>{@link #getLuggages()} and {@link #getLuggageIds()} for {@link LuggageController}</li>
+ * </ul>
+ * <p>
+ * Instances are not thread-safe and are meant to be used once, on the thread that
+ * publishes the results.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see Controller
+ * @see FlightManifestRow
+ * @see LostLuggageRow
+ */
+public class FlightGraphAssembler {
+
+    /**
+     * Flights already created, by flight id.
+     */
+    private final HashMap<String, Flight> flightsById;
+
+    /**
+     * Customers already created, by customer id.
+     */
+    private final HashMap<Integer, Customer> customersById;
+
+    /**
+     * Bookings already created, by booking id.
+     */
+    private final HashMap<Integer, Booking> bookingsById;
+
+    /**
+     * Tickets already created, by ticket number.
+     */
+    private final HashMap<String, Ticket> ticketsByNumber;
+
+    /**
+     * Passengers already collected, by SSN.
+     */
+    private final HashMap<String, Passenger> passengersBySSN;
+
+    /**
+     * Flights in order of first appearance.
+     */
+    private final ArrayList<Flight> flights = new ArrayList<>();
+
+    /**
+     * Customers in order of first appearance.
+     */
+    private final ArrayList<Customer> customers = new ArrayList<>();
+
+    /**
+     * Ids of the customers, parallel to {@link #customers}.
+     */
+    private final ArrayList<Integer> customerIds = new ArrayList<>();
+
+    /**
+     * Bookings in order of first appearance.
+     */
+    private final ArrayList<Booking> bookings = new ArrayList<>();
+
+    /**
+     * Ids of the bookings, parallel to {@link #bookings}.
+     */
+    private final ArrayList<Integer> bookingIds = new ArrayList<>();
+
+    /**
+     * Tickets in order of first appearance.
+     */
+    private final ArrayList<Ticket> tickets;
+
+    /**
+     * Passengers in order of first appearance.
+     */
+    private final ArrayList<Passenger> passengers;
+
+    /**
+     * Luggage in order of appearance.
+     */
+    private final ArrayList<Luggage> luggages;
+
+    /**
+     * Luggage ids, one per row (null for rows without luggage).
+     */
+    private final ArrayList<Integer> luggageIds;
+
+    /**
+     * Creates an assembler sized for the given number of rows.
+     *
+     * @param expectedRows the number of rows that will be added
+     */
+    public FlightGraphAssembler(int expectedRows) {
+
+        int rows = Math.max(0, expectedRows);
+
+        flightsById = HashMap.newHashMap(Math.min(rows, 16));
+        customersById = HashMap.newHashMap(rows);
+        bookingsById = HashMap.newHashMap(rows);
+        ticketsByNumber = HashMap.newHashMap(rows);
+        passengersBySSN = HashMap.newHashMap(rows);
+
+        tickets = new ArrayList<>(rows);
+        passengers = new ArrayList<>(rows);
+        luggages = new ArrayList<>(rows);
+        luggageIds = new ArrayList<>(rows);
+    }
+
+    /**
+     * Adds a row of the manifest of an already loaded flight.
+     * <p>
+     * Rows without luggage only contribute their customer, booking, ticket and passenger;
+     * a null luggage id is recorded for them.
+     * </p>
+     *
+     * @param row the row to add
+     * @param flight the flight the row belongs to
+     * @throws InvalidTicket if a ticket or luggage cannot be created
+     * @throws InvalidFlight if the flight is null
+     * @throws InvalidBooking if a booking cannot be created
+     * @throws InvalidPassengerNumber if a passenger cannot be created
+     */
+    public void add(FlightManifestRow row, Flight flight) throws InvalidTicket, InvalidFlight, InvalidBooking, InvalidPassengerNumber {
+
+        if (flightsById.putIfAbsent(flight.getId(), flight) == null) flights.add(flight);
+
+        Customer customer = customersById.get(row.customerId());
+
+        if (customer == null) {
+            customer = new Customer(row.username(), row.mail(), row.hashedPassword());
+            customersById.put(row.customerId(), customer);
+            customers.add(customer);
+            customerIds.add(row.customerId());
+        }
+
+        Booking booking = bookingsById.get(row.bookingId());
+        Ticket ticket;
+
+        if (booking == null) {
+
+            booking = new Booking(BookingStatus.valueOf(row.bookingStatus()), row.bookingDate(), customer, flight,
+                    row.ticketNumber(), row.seat(), row.checkedIn(),
+                    row.firstName(), row.lastName(), row.passengerSSN(), row.birthDate());
+
+            bookingsById.put(row.bookingId(), booking);
+            bookings.add(booking);
+            bookingIds.add(row.bookingId());
+
+            ticket = booking.getTickets().getLast();
+            addTicket(ticket);
+
+        } else {
+
+            ticket = ticketsByNumber.get(row.ticketNumber());
+
+            if (ticket == null) {
+                ticket = new Ticket(row.ticketNumber(), row.seat(), row.checkedIn(), flight, booking,
+                        row.firstName(), row.lastName(), row.passengerSSN(), row.birthDate());
+
+                addTicket(ticket);
+                booking.getTickets().add(ticket);
+            }
+        }
+
+        if (row.hasLuggage()) {
+
+            Luggage luggage;
+
+            if (row.luggageType() != null) {
+                luggage = new Luggage(row.luggageIdAfterCheckin(), LuggageType.valueOf(row.luggageType()), LuggageStatus.valueOf(row.luggageStatus()), ticket);
+            } else {
+                luggage = new Luggage(row.luggageIdAfterCheckin(), LuggageStatus.valueOf(row.luggageStatus()), ticket);
+            }
+
+            luggages.add(luggage);
+            ticket.getLuggages().add(luggage);
+            luggageIds.add(row.luggageId());
+
+        } else {
+            luggageIds.add(null);
+        }
+    }
+
+    /**
+     * Adds a lost luggage row, creating its flight the first time the flight id is seen.
+     *
+     * @param row the row to add
+     * @throws InvalidTicket if a ticket or luggage cannot be created
+     * @throws InvalidFlight if the flight cannot be created
+     * @throws InvalidBooking if a booking cannot be created
+     * @throws InvalidPassengerNumber if a passenger cannot be created
+     */
+    public void add(LostLuggageRow row) throws InvalidTicket, InvalidFlight, InvalidBooking, InvalidPassengerNumber {
+
+        Flight flight = flightsById.get(row.flightId());
+
+        if (flight == null) {
+
+            Date flightDate = new Date(row.departureTime().getTime());
+            Time departureTime = new Time(row.departureTime().getTime());
+            Time arrivalTime = new Time(row.arrivalTime().getTime());
+            FlightStatus status = FlightStatus.valueOf(row.flightStatus().toUpperCase());
+
+            if (row.departing()) {
+                flight = new Departing(row.flightId(), row.companyName(), flightDate, departureTime, arrivalTime,
+                        status, row.maxSeats(), row.freeSeats(), row.city());
+            } else {
+                flight = new Arriving(row.flightId(), row.companyName(), flightDate, departureTime, arrivalTime,
+                        status, row.maxSeats(), row.freeSeats(), row.city());
+            }
+        }
+
+        add(row.details(), flight);
+    }
+
+    /**
+     * Records a newly created ticket and its passenger, unless a passenger with the same SSN was already collected.
+     *
+     * @param ticket the new ticket
+     */
+    private void addTicket(Ticket ticket) {
+
+        ticketsByNumber.put(ticket.getTicketNumber(), ticket);
+        tickets.add(ticket);
+
+        Passenger passenger = ticket.getPassenger();
+
+        if (passengersBySSN.putIfAbsent(passenger.getPassengerSSN(), passenger) == null) passengers.add(passenger);
+    }
+
+    /**
+     * Returns the flights in order of first appearance.
+     *
+     * @return the assembled flights
+     */
+    public ArrayList<Flight> getFlights() {
+        return flights;
+    }
+
+    /**
+     * Returns the customers in order of first appearance.
+     *
+     * @return the assembled customers
+     */
+    public ArrayList<Customer> getCustomers() {
+        return customers;
+    }
+
+    /**
+     * Returns the ids of the customers, parallel to {@link #getCustomers()}.
+     *
+     * @return the customer ids
+     */
+    public ArrayList<Integer> getCustomerIds() {
+        return customerIds;
+    }
+
+    /**
+     * Returns the bookings in order of first appearance.
+     *
+     * @return the assembled bookings
+     */
+    public ArrayList<Booking> getBookings() {
+        return bookings;
+    }
+
+    /**
+     * Returns the ids of the bookings, parallel to {@link #getBookings()}.
+     *
+     * @return the booking ids
+     */
+    public ArrayList<Integer> getBookingIds() {
+        return bookingIds;
+    }
+
+    /**
+     * Returns the tickets in order of first appearance.
+     *
+     * @return the assembled tickets
+     */
+    public ArrayList<Ticket> getTickets() {
+        return tickets;
+    }
+
+    /**
+     * Returns the distinct passengers, by SSN, in order of first appearance.
+     *
+     * @return the assembled passengers
+     */
+    public ArrayList<Passenger> getPassengers() {
+        return passengers;
+    }
+
+    /**
+     * Returns the luggage in order of appearance.
+     *
+     * @return the assembled luggage
+     */
+    public ArrayList<Luggage> getLuggages() {
+        return luggages;
+    }
+
+    /**
+     * Returns one luggage id per added row, null for rows without luggage.
+     *
+     * @return the luggage ids
+     */
+    public ArrayList<Integer> getLuggageIds() {
+        return luggageIds;
+    }
+}
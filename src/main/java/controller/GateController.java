@@ -1,10 +1,15 @@
 package controller;
 
+import dao.FlightDAO;
 import gui.CheckinPassengers;
 import gui.GateChooser;
+import implementazioni_postgres_dao.DAOFactory;
 import implementazioni_postgres_dao.FlightDAOImpl;
 
 import javax.swing.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
 
 /**
  * Controller class for managing airport gate operations and assignments in the airport management system.
@@ -46,21 +51,45 @@ public class GateController {
      * assigned, it creates the {@link GateChooser} interface to allow manual
      * gate selection by the administrator.
      * </p>
+     * <p>
+     * The gate is searched on the {@link AsyncExecutor}; the button or the chooser are
+     * updated on the event dispatch thread once the search completes.
+     * </p>
      * <p>IL ONE PIECE ESISTE!</p>
      *
      * @param callingButton the UI button that triggered the gate assignment workflow,
      *                     used for displaying gate information and user feedback
      * @param controller the main {@link Controller} instance providing access to flight information
      * @param checkinPassengers the {@link CheckinPassengers} interface managing the check-in workflow
+     * @return a future completed on the event dispatch thread with the assigned gate, or -1 if the chooser was opened
      */
-    public void newGate(JButton callingButton, Controller controller, CheckinPassengers checkinPassengers) {
+    public CompletableFuture<Integer> newGateAsync(JButton callingButton, Controller controller, CheckinPassengers checkinPassengers) {
+
+        String flightId = controller.getFlightController().getFlight().getId();
+
+        return AsyncExecutor.getInstance().submit(checkinPassengers, () -> {
+
+            FlightDAO flightDAO = DAOFactory.flightDAO();
+
+            int idGate = flightDAO.searchGate(flightId);
+
+            if (idGate != -1) FlightBoardCache.getInstance().invalidate();
 
-        FlightDAOImpl flightDAO = new FlightDAOImpl();
+            return idGate;
 
-        int idGate = flightDAO.searchGate(controller.getFlightController().getFlight().getId());
+        }).whenComplete((idGate, e) -> {
 
-        if (idGate != -1) callingButton.setText("GATE: " + idGate);
-        else checkinPassengers.setGateChooser(new GateChooser(controller, callingButton));
+            if (e instanceof CancellationException) return;
+
+            if (e != null) {
+                Controller.getLogger().log(Level.SEVERE, AsyncExecutor.unwrap(e).getMessage());
+                callingButton.setEnabled(true);
+                return;
+            }
+
+            if (idGate != -1) callingButton.setText("GATE: " + idGate);
+            else checkinPassengers.setGateChooser(new GateChooser(controller, callingButton));
+        });
     }
 
     /**
@@ -69,16 +98,27 @@ public class GateController {
      * This method performs the actual gate assignment operation by updating the
      * database to associate the specified gate ID with the current flight. The
      * assignment is persisted immediately to ensure that gate information is
-     * available across all system components and operational interfaces.
+     * available across all system components and operational interfaces. The update
+     * runs on the {@link AsyncExecutor}, without blocking the Swing event dispatch thread.
      * </p>
      *
      * @param idGate the numeric identifier of the gate to assign (1-20)
      * @param controller the main {@link Controller} instance providing access to current flight information
+     * @return a future completed on the event dispatch thread once the gate has been assigned
      */
-    public void setGate (int idGate, Controller controller) {
+    public CompletableFuture<Void> setGateAsync (int idGate, Controller controller) {
+
+        String flightId = controller.getFlightController().getFlight().getId();
+
+        return AsyncExecutor.getInstance().submit(null, () -> {
+
+            FlightDAO flightDAO = DAOFactory.flightDAO();
+
+            flightDAO.setGate(idGate, flightId);
 
-        FlightDAOImpl flightDAO = new FlightDAOImpl();
+            FlightBoardCache.getInstance().invalidate();
 
-        flightDAO.setGate(idGate, controller.getFlightController().getFlight().getId());
+            return null;
+        });
     }
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package controller;
 
+import dao.LuggageDAO;
+import implementazioni_postgres_dao.DAOFactory;
 import implementazioni_postgres_dao.LuggageDAOImpl;
 import model.Luggage;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller class for managing luggage operations and status tracking in the airport management system.
@@ -96,13 +99,24 @@ public class LuggageController {
      * status recovery operations depending on the provided status parameter.
      * </p>
      *
+     * <p>
+     * The update runs on the {@link AsyncExecutor} without an owner, so closing the window
+     * does not cancel it.
+     * </p>
+     *
      * @param ticket the ticket number associated with the luggage to update
      * @param luggageStatus the new status to set for the luggage (e.g., "LOST", "WITHDRAWABLE")
+     * @return a future completed on the event dispatch thread once the status has been updated
      */
-    public void lostLuggage (String ticket, String luggageStatus) {
+    public CompletableFuture<Void> lostLuggageAsync (String ticket, String luggageStatus) {
+
+        return AsyncExecutor.getInstance().submit(null, () -> {
+
+            LuggageDAO luggageDAO = DAOFactory.luggageDAO();
 
-        LuggageDAOImpl luggageDAO = new LuggageDAOImpl();
+            luggageDAO.lostLuggage(ticket, luggageStatus);
 
-        luggageDAO.lostLuggage(ticket, luggageStatus);
+            return null;
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package controller;
+
+import gui.DisposableObject;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.List;
+
+/**
+ * JDK Flight Recorder event emitted for every navigation between the windows of the application.
+ * <p>
+ * The event spans the whole navigation performed by the {@link Controller}: the disposal
+ * of the windows being left, the restoration of the window being shown and its first
+ * display. A long navigation in a recording, together with the database queries and the
+ * event dispatch thread tasks it overlaps, tells which screen made the application freeze.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see Controller#goHome(List)
+ * @see Controller#goBack(List)
+ */
+@Name("aeroporto.Navigation")
+@Label("Navigation")
+@Category({"Aeroporto", "Interfaccia grafica"})
+@Description("Navigazione tra le finestre dell'applicazione")
+final class NavigationEvent extends Event {
+
+    /**
+     * The navigation method of the controller.
+     */
+    @Label("Action")
+    String action;
+
+    /**
+     * The class of the window shown before the navigation.
+     */
+    @Label("From Screen")
+    String fromScreen;
+
+    /**
+     * The class of the window shown after the navigation.
+     */
+    @Label("To Screen")
+    String toScreen;
+
+    /**
+     * The number of windows disposed by the navigation.
+     */
+    @Label("Disposed Windows")
+    int disposedWindows;
+
+    /**
+     * The size of the navigation stack before the navigation, not recorded.
+     */
+    private transient int stackSize;
+
+    /**
+     * Starts the event of a navigation.
+     *
+     * @param action the navigation method of the controller
+     * @param callingObjects the navigation stack before the navigation
+     * @return the started event, to be passed to {@link #end(List)}
+     */
+    static NavigationEvent start(String action, List<DisposableObject> callingObjects) {
+
+        NavigationEvent event = new NavigationEvent();
+
+        if (event.isEnabled()) {
+            event.action = action;
+            event.fromScreen = screenOf(callingObjects);
+            event.stackSize = callingObjects.size();
+            event.begin();
+        }
+
+        return event;
+    }
+
+    /**
+     * Ends the event of a navigation and commits it.
+     *
+     * @param callingObjects the navigation stack after the navigation
+     */
+    void end(List<DisposableObject> callingObjects) {
+
+        if (!isEnabled()) return;
+
+        end();
+
+        toScreen = screenOf(callingObjects);
+        disposedWindows = stackSize - callingObjects.size();
+
+        commit();
+    }
+
+    /**
+     * Returns the class of the window on top of a navigation stack.
+     *
+     * @param callingObjects the navigation stack
+     * @return the simple name of the class of the top window, or null if the stack is empty
+     */
+    private static String screenOf(List<DisposableObject> callingObjects) {
+        return callingObjects.isEmpty() ? null : callingObjects.getLast().getClass().getSimpleName();
+    }
+}
@@ -1,14 +1,18 @@
 package controller;
 
+import dao.AdminDAO;
+import dao.CustomerDAO;
 import dao.UserAlreadyExistsException;
 import gui.FloatingMessage;
 import implementazioni_postgres_dao.AdminDAOImpl;
 import implementazioni_postgres_dao.CustomerDAOImpl;
+import implementazioni_postgres_dao.DAOFactory;
 import model.Admin;
 import model.User;
 
 import javax.swing.*;
 import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -204,42 +208,58 @@ public class UserController {
      *   <li>{@link SQLException}: For database connectivity or constraint violation issues</li>
      * </ul>
      *
+     * <p>
+     * The validation runs on the calling thread, the insertion on the {@link AsyncExecutor};
+     * the feedback is shown on the event dispatch thread.
+     * </p>
+     *
      * @param mail the email address for the new user account
      * @param username the desired username for the new account
      * @param hashedPassword the pre-hashed password for the account
      * @param button the UI button reference for displaying feedback messages
-     * @return true if registration was successful, false if validation failed or errors occurred
+     * @return a future completed on the event dispatch thread with true if registration was successful,
+     *         false if validation failed or errors occurred
      */
-    public boolean registerUser(String mail, String username, String hashedPassword, JButton button) {
+    public CompletableFuture<Boolean> registerUserAsync(String mail, String username, String hashedPassword, JButton button) {
         if (isInvalidMail(mail)) {
             new FloatingMessage("<html>Mail non valida</html>", button, FloatingMessage.WARNING_MESSAGE);
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
         if (isInvalidUsername(username)) {
             new FloatingMessage("<html>Username non valido.<br>Il nome utente deve iniziare con una lettera, " +
                     "finire con una lettera o un numero e può contenere solo lettere, numeri, trattini (-), underscore(_) e punti(.)</html>",
                     button, FloatingMessage.WARNING_MESSAGE);
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
 
-        try {
+        //senza proprietario: la registrazione non deve essere annullata dalla navigazione
+        return AsyncExecutor.getInstance().submit(null, () -> {
             if (mail.contains("@aeroportodinapoli.it") || mail.contains("@adn.it")) {
-                AdminDAOImpl adminDAO = new AdminDAOImpl();
+                AdminDAO adminDAO = DAOFactory.adminDAO();
                 adminDAO.insertNewAdmin(mail, username, hashedPassword);
             } else {
-                CustomerDAOImpl customerDAO = new CustomerDAOImpl();
+                CustomerDAO customerDAO = DAOFactory.customerDAO();
                 customerDAO.insertNewCustomer(mail, username, hashedPassword);
             }
-
-            new FloatingMessage("<html>Sei stato registrato con successo!<br>Procedi a fare il login</html>", button, FloatingMessage.SUCCESS_MESSAGE);
             return true;
-        } catch (UserAlreadyExistsException e) {
-            new FloatingMessage("<html>" + e.getMessage() + "</html>", button, FloatingMessage.WARNING_MESSAGE);
-        } catch (SQLException e) {
-            new FloatingMessage("<html>Errore nel collegamento al DB(Customer) o DB(admin)<br>" + e.getMessage() + "</html>", button, FloatingMessage.ERROR_MESSAGE);
-        }
 
-        return false;
+        }).handle((registered, e) -> {
+
+            if (e == null) {
+                new FloatingMessage("<html>Sei stato registrato con successo!<br>Procedi a fare il login</html>", button, FloatingMessage.SUCCESS_MESSAGE);
+                return true;
+            }
+
+            Throwable cause = AsyncExecutor.unwrap(e);
+
+            if (cause instanceof UserAlreadyExistsException) {
+                new FloatingMessage("<html>" + cause.getMessage() + "</html>", button, FloatingMessage.WARNING_MESSAGE);
+            } else {
+                new FloatingMessage("<html>Errore nel collegamento al DB(Customer) o DB(admin)<br>" + cause.getMessage() + "</html>", button, FloatingMessage.ERROR_MESSAGE);
+            }
+
+            return false;
+        });
     }
 
     /**
@@ -259,23 +279,38 @@ public class UserController {
      *   <li>Error handling and user feedback for operation results</li>
      * </ul>
      *
+     * <p>
+     * The deletion runs on the {@link AsyncExecutor}, so the user interface is not blocked
+     * while the database removes the account and its data.
+     * </p>
+     *
      * @param button the UI button reference for displaying error messages if deletion fails
-     * @return true if the account was successfully deleted, false if database errors occurred
+     * @return a future completed on the event dispatch thread with true if the account was successfully deleted,
+     *         false if database errors occurred
      */
-    public boolean deleteAccount(JButton button){
-        try{
-            if(loggedUser instanceof Admin){
-                AdminDAOImpl adminDAO = new AdminDAOImpl();
-                adminDAO.deleteAdmin(loggedUserId);
+    public CompletableFuture<Boolean> deleteAccountAsync(JButton button){
+
+        boolean admin = loggedUser instanceof Admin;
+        Integer userId = loggedUserId;
+
+        //senza proprietario: l'eliminazione non deve essere annullata dalla navigazione
+        return AsyncExecutor.getInstance().submit(null, () -> {
+            if(admin){
+                AdminDAO adminDAO = DAOFactory.adminDAO();
+                adminDAO.deleteAdmin(userId);
             }
             else{
-                CustomerDAOImpl customerDAO = new CustomerDAOImpl();
-                customerDAO.deleteCustomer(loggedUserId);
+                CustomerDAO customerDAO = DAOFactory.customerDAO();
+                customerDAO.deleteCustomer(userId);
             }
-        } catch (SQLException e){
+            return true;
+
+        }).handle((deleted, e) -> {
+
+            if (e == null) return true;
+
             new FloatingMessage("<html>Problemi nell'accesso al DB(Admin) o DB(Customer)", button, FloatingMessage.ERROR_MESSAGE);
             return false;
-        }
-        return true;
+        });
     }
 }
\ No newline at end of file
@@ -2,10 +2,8 @@ package dao;
 
 import java.sql.Date;
 import java.sql.SQLException;
-import java.sql.Time;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -105,130 +103,77 @@ public interface BookingDAO {
                                               List<Date> bookingDates, List<String> bookingStatus, List<Integer> bookingIds) throws SQLException;
 
     /**
-     * Retrieves all bookings made by a specific customer across all flights.
+     * Retrieves the bookings of a customer, one page at a time.
      * <p>
-     * This method performs a comprehensive retrieval of all bookings associated with
-     * a specific customer, including complete flight information and booking details.
-     * The results provide a complete overview of the customer's travel history and
-     * current reservations for customer service and self-service applications.
-     * </p>
-     * <p>
-     * The method populates multiple lists with related data to provide complete
-     * information about each booking including flight details, timing information,
-     * and booking status. Results are ordered by flight departure time to provide
-     * chronological organization.
+     * The bookings are sorted by departure time of the booked flight, flight id and booking
+     * id, all descending, and each call returns at most {@code pageSize} of them. Pages are
+     * read with a keyset cursor on {@code (departure_time, id_flight, id_booking)}: the
+     * continuation token of a page, passed back with the same arguments, resumes right after
+     * its last booking. The booking id makes the order total, since a customer may hold
+     * several bookings for the same flight.
      * </p>
      *
      * @param loggedCustomerId the unique identifier of the customer whose bookings to retrieve
-     * @param flightIds list to be populated with flight identifiers
-     * @param companyNames list to be populated with airline company names
-     * @param flightDates list to be populated with flight dates
-     * @param departureTimes list to be populated with flight departure times
-     * @param arrivalTimes list to be populated with flight arrival times
-     * @param flightStatus list to be populated with current flight status values
-     * @param maxSeats list to be populated with flight maximum seat capacity
-     * @param freeSeats list to be populated with available seats count
-     * @param cities list to be populated with destination or origin city names
-     * @param types list to be populated with flight type indicators (true for arriving, false for departing)
-     * @param bookingDates list to be populated with booking creation dates
-     * @param bookingStatus list to be populated with current booking status values
-     * @param bookingIds list to be populated with unique booking identifiers
+     * @param pageSize the maximum number of bookings to return
+     * @param continuationToken the token of the previous page, or null for the first page
+     * @return the requested page of bookings
      * @throws SQLException if a database access error occurs during the retrieval operation
+     * @throws IllegalArgumentException if the page size is not positive or the token is malformed
+     * @see Page
      */
-    void getAllBooksCustomer(Integer loggedCustomerId, List<String> flightIds, ArrayList<String> companyNames, List<Date> flightDates,
-                             List<Time> departureTimes, List<Time> arrivalTimes,
-                             List<String> flightStatus, List<Integer> maxSeats, List<Integer> freeSeats,
-                             List<String> cities, List<Boolean> types,
-                             List<Date> bookingDates, List<String> bookingStatus, List<Integer> bookingIds) throws SQLException;
+    Page<CustomerBookingRow> getAllBooksCustomerPage(Integer loggedCustomerId, int pageSize, String continuationToken) throws SQLException;
 
     /**
-     * Searches for customer bookings with flight-based filtering criteria.
+     * Searches for customer bookings with flight-based filtering criteria, one page at a time.
      * <p>
-     * This method performs advanced booking searches based on flight characteristics
-     * such as departure/arrival cities, travel dates, and departure times. It enables
-     * customers to find their bookings using travel-related criteria rather than
-     * booking-specific information.
+     * The booked flights are filtered as in {@link FlightDAO#searchFlightPage}: one of the two
+     * cities must be "Napoli" (or both must be empty), the date range is inclusive and the
+     * time range may span midnight. The order and the continuation tokens are the same as
+     * {@link #getAllBooksCustomerPage}. No booking matches when neither city is "Napoli".
      * </p>
-     * <p>
-     * The method supports flexible filtering with the following logic:
-     * </p>
-     * <ul>
-     *   <li>City filtering handles "Napoli" as the airport's base city</li>
-     *   <li>Date filtering uses inclusive ranges between initial and final dates</li>
-     *   <li>Time filtering supports both same-day and overnight time ranges</li>
-     *   <li>Results are ordered by flight departure time in descending order</li>
-     * </ul>
      *
-     * @param departingCity the departure city name for filtering (can be null or empty)
-     * @param arrivingCity the arrival city name for filtering (can be null or empty)
-     * @param initialDate the start date for date range filtering (can be null)
-     * @param finalDate the end date for date range filtering (can be null)
-     * @param initialTime the start time for time range filtering (can be null)
-     * @param finalTime the end time for time range filtering (can be null)
+     * @param departingCity the departure city name for filtering (null or empty for no filter)
+     * @param arrivingCity the arrival city name for filtering (null or empty for no filter)
+     * @param initialDate the start date for date range filtering (null for no date filter)
+     * @param finalDate the end date for date range filtering (null for no date filter)
+     * @param initialTime the start time for time range filtering (null for no time filter)
+     * @param finalTime the end time for time range filtering (null for no time filter)
+     * @param cityMode how the city filters are matched
      * @param loggedCustomerId the unique identifier of the customer whose bookings to search
-     * @param flightIds list to be populated with matching flight identifiers
-     * @param companyNames list to be populated with airline company names
-     * @param flightDates list to be populated with flight dates
-     * @param departureTimes list to be populated with flight departure times
-     * @param arrivalTimes list to be populated with flight arrival times
-     * @param flightStatus list to be populated with current flight status values
-     * @param maxSeats list to be populated with flight maximum seat capacity
-     * @param freeSeats list to be populated with available seats count
-     * @param cities list to be populated with destination or origin city names
-     * @param types list to be populated with flight type indicators
-     * @param bookingDates list to be populated with booking creation dates
-     * @param bookingStatus list to be populated with current booking status values
-     * @param bookingIds list to be populated with unique booking identifiers
+     * @param pageSize the maximum number of bookings to return
+     * @param continuationToken the token of the previous page, or null for the first page
+     * @return the requested page of bookings
      * @throws SQLException if a database access error occurs during the search operation
+     * @throws IllegalArgumentException if the page size is not positive or the token is malformed
      */
-    void searchBooksCustomerFilteredFlights(String departingCity, String arrivingCity, LocalDate initialDate, LocalDate finalDate, LocalTime initialTime, LocalTime finalTime,
-                                            Integer loggedCustomerId, List<String> flightIds, List<String> companyNames, List<Date> flightDates, List<Time> departureTimes, List<Time> arrivalTimes,
-                                            List<String> flightStatus, List<Integer> maxSeats, List<Integer> freeSeats, List<String> cities, List<Boolean> types,
-                                            List<Date> bookingDates, List<String> bookingStatus, List<Integer> bookingIds) throws SQLException;
+    Page<CustomerBookingRow> searchBooksCustomerFilteredFlightsPage(String departingCity, String arrivingCity, LocalDate initialDate, LocalDate finalDate,
+                                                                    LocalTime initialTime, LocalTime finalTime, SearchMode cityMode, Integer loggedCustomerId,
+                                                                    int pageSize, String continuationToken) throws SQLException;
 
     /**
-     * Searches for customer bookings with passenger-based filtering criteria.
+     * Searches for customer bookings with passenger-based filtering criteria, one page at a time.
      * <p>
-     * This method performs advanced booking searches based on passenger information
-     * such as names, SSN, or ticket numbers. It enables customers and customer service
-     * representatives to find bookings using passenger-specific information when
-     * flight details are not readily available.
+     * A booking matches when at least one of its passengers matches every non-empty filter,
+     * compared as selected by {@code mode}. The order and the continuation tokens are the
+     * same as {@link #getAllBooksCustomerPage}.
+     * Each booking is returned once, however many of its passengers match.
      * </p>
-     * <p>
-     * The method supports flexible passenger-based filtering including:
-     * </p>
-     * <ul>
-     *   <li>First name matching with case-insensitive partial matching</li>
-     *   <li>Last name matching with case-insensitive partial matching</li>
-     *   <li>SSN matching with case-insensitive partial matching</li>
-     *   <li>Ticket number matching with case-insensitive partial matching</li>
-     * </ul>
      *
      * @param firstName the passenger first name for filtering (can be null or empty)
      * @param lastName the passenger last name for filtering (can be null or empty)
      * @param passengerSSN the passenger SSN for filtering (can be null or empty)
      * @param ticketNumber the ticket number for filtering (can be null or empty)
+     * @param mode how the passenger filters are matched
      * @param loggedCustomerId the unique identifier of the customer whose bookings to search
-     * @param flightIds list to be populated with matching flight identifiers
-     * @param companyNames list to be populated with airline company names
-     * @param flightDates list to be populated with flight dates
-     * @param departureTimes list to be populated with flight departure times
-     * @param arrivalTimes list to be populated with flight arrival times
-     * @param flightStatus list to be populated with current flight status values
-     * @param maxSeats list to be populated with flight maximum seat capacity
-     * @param freeSeats list to be populated with available seats count
-     * @param cities list to be populated with destination or origin city names
-     * @param types list to be populated with flight type indicators
-     * @param bookingDates list to be populated with booking creation dates
-     * @param bookingStatus list to be populated with current booking status values
-     * @param bookingIds list to be populated with unique booking identifiers
+     * @param pageSize the maximum number of bookings to return
+     * @param continuationToken the token of the previous page, or null for the first page
+     * @return the requested page of bookings
      * @throws SQLException if a database access error occurs during the search operation
+     * @throws IllegalArgumentException if the page size is not positive or the token is malformed
      */
-    void searchBooksCustomerFilteredPassengers(String firstName, String lastName, String passengerSSN, String ticketNumber,
-                                               Integer loggedCustomerId, List<String> flightIds, List<String> companyNames, List<Date> flightDates,
-                                               List<Time> departureTimes, List<Time> arrivalTimes, List<String> flightStatus,
-                                               List<Integer> maxSeats, List<Integer> freeSeats, List<String> cities, List<Boolean> types,
-                                               List<Date> bookingDates, List<String> bookingStatus, List<Integer> bookingIds) throws SQLException;
+    Page<CustomerBookingRow> searchBooksCustomerFilteredPassengersPage(String firstName, String lastName, String passengerSSN, String ticketNumber,
+                                                                       SearchMode mode, Integer loggedCustomerId,
+                                                                       int pageSize, String continuationToken) throws SQLException;
 
     /**
      * Modifies an existing booking with new passenger, ticket, and luggage information.
@@ -0,0 +1,27 @@
+package dao;
+
+import java.sql.Date;
+
+/**
+ * One ticket of a booking, with its passenger.
+ * <p>
+ * The seat uses the same convention as {@link FlightManifestRow}: it is 0-based, and -1
+ * when no seat is assigned.
+ * </p>
+ *
+ * @param bookingId the identifier of the booking the ticket belongs to
+ * @param ticketNumber the ticket number
+ * @param seat the 0-based seat, -1 if not assigned
+ * @param checkedIn whether the passenger has checked in
+ * @param passengerSSN the SSN of the passenger
+ * @param firstName the first name of the passenger
+ * @param lastName the last name of the passenger
+ * @param birthDate the birth date of the passenger
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see TicketDAO#getAllTicketBookings(java.util.List)
+ */
+public record BookingTicketRow(int bookingId, String ticketNumber, int seat, boolean checkedIn,
+                               String passengerSSN, String firstName, String lastName, Date birthDate) {
+}
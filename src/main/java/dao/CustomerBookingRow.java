@@ -0,0 +1,29 @@
+package dao;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+
+/**
+ * One booking of a customer, with the flight it refers to.
+ *
+ * @param flightId the identifier of the booked flight
+ * @param companyName the airline company operating the flight
+ * @param departureTime the scheduled departure date and time
+ * @param arrivalTime the scheduled arrival date and time
+ * @param flightStatus the status of the flight
+ * @param maxSeats the seating capacity of the flight
+ * @param freeSeats the number of free seats on the flight
+ * @param city the destination (departing flights) or origin (arriving flights) city
+ * @param departing true for departing flights, false for arriving flights
+ * @param bookingId the identifier of the booking
+ * @param bookingStatus the status of the booking
+ * @param bookingDate the date the booking was made
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see BookingDAO#getAllBooksCustomerPage
+ */
+public record CustomerBookingRow(String flightId, String companyName, Timestamp departureTime, Timestamp arrivalTime,
+                                 String flightStatus, int maxSeats, int freeSeats, String city, boolean departing,
+                                 int bookingId, String bookingStatus, Date bookingDate) {
+}
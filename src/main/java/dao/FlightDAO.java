@@ -1,5 +1,7 @@
 package dao;
 
+import model.SeatMap;
+
 import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
@@ -123,27 +125,17 @@ public interface FlightDAO {
                                              List<Integer> delay, List<Integer> parGate) throws SQLException;
 
     /**
-     * Searches for flights based on various filtering criteria.
-     * <p>
-     * This method performs comprehensive flight searches using flexible filtering criteria
-     * including departure/arrival cities, travel dates, departure times, and other flight
-     * characteristics. It supports both customer flight searches and administrative flight
-     * management operations.
-     * </p>
+     * Searches for flights based on various filtering criteria, one page at a time.
      * <p>
-     * The method handles city-based filtering with special logic for "Napoli" as the airport's
-     * base location. When searching for departing flights from Napoli, it retrieves flights
-     * with flight_type = true (departing). When searching for arriving flights to Napoli,
-     * it retrieves flights with flight_type = false (arriving).
+     * One of the two cities must be "Napoli" (or both must be empty): the other one selects
+     * departing or arriving flights and is compared as selected by {@code cityMode}. The date
+     * range is inclusive and a time range whose start follows its end spans midnight.
+     * The flights are sorted by departure time and flight id, both descending, and each call
+     * returns at most {@code pageSize} of them. Pages are read with a keyset cursor on
+     * {@code (departure_time, id_flight)}: the continuation token of a page, passed back with
+     * the same criteria, resumes right after its last flight, so the cost of a page does not
+     * grow with the number of pages already read, even for open-ended date ranges.
      * </p>
-     * <p>
-     * Date and time filtering supports flexible ranges:
-     * </p>
-     * <ul>
-     *   <li>Date filtering uses inclusive ranges between initial and final dates</li>
-     *   <li>Time filtering handles both same-day and overnight time spans</li>
-     *   <li>When initial time is after final time, it searches for flights departing after initial time OR before final time</li>
-     * </ul>
      *
      * @param departingCity the departure city name for filtering (null or empty for no filter)
      * @param arrivingCity the arrival city name for filtering (null or empty for no filter)
@@ -151,76 +143,32 @@ public interface FlightDAO {
      * @param finalDate the end date for date range filtering (null for no date filter)
      * @param initialTime the start time for time range filtering (null for no time filter)
      * @param finalTime the end time for time range filtering (null for no time filter)
-     * @param ids list to be populated with flight identifiers
-     * @param companyNames list to be populated with airline company names
-     * @param dates list to be populated with flight dates
-     * @param departureTimes list to be populated with departure times
-     * @param arrivalTimes list to be populated with arrival times
-     * @param delays list to be populated with flight delay values in minutes
-     * @param status list to be populated with flight status values
-     * @param maxSeats list to be populated with maximum seating capacity
-     * @param freeSeats list to be populated with available seats count
-     * @param cities list to be populated with destination or origin city names
-     * @param types list to be populated with flight type indicators (true for departing, false for arriving)
+     * @param cityMode how the city filters are matched
+     * @param pageSize the maximum number of flights to return
+     * @param continuationToken the token of the previous page, or null for the first page
+     * @return the requested page of flights
      * @throws SQLException if a database access error occurs during the search operation
+     * @throws IllegalArgumentException if the page size is not positive or the token is malformed
+     * @see Page
      */
-    void searchFlight (String departingCity, String arrivingCity, LocalDate initialDate, LocalDate finalDate, LocalTime initialTime, LocalTime finalTime,
-                              List<String> ids, List<String> companyNames, List<java.sql.Date> dates, List<Time> departureTimes, List<Time> arrivalTimes,
-                              List<Integer> delays, List<String> status, List<Integer> maxSeats, List<Integer> freeSeats, List<String> cities, List<Boolean> types) throws SQLException;
+    Page<FlightSearchRow> searchFlightPage(String departingCity, String arrivingCity, LocalDate initialDate, LocalDate finalDate,
+                                           LocalTime initialTime, LocalTime finalTime, SearchMode cityMode,
+                                           int pageSize, String continuationToken) throws SQLException;
 
     /**
-     * Retrieves comprehensive data for a specific flight including all associated information.
+     * Retrieves the manifest of a flight as typed rows.
      * <p>
-     * This method performs a complex query to fetch complete flight information including
-     * gate assignments, customer details, booking information, ticket data, passenger details,
-     * and luggage information. It provides a comprehensive view of all entities associated
-     * with a specific flight for administrative and operational purposes.
+     * This method joins the flight with its bookings, tickets, passengers, buyers and
+     * luggage, and returns one {@link FlightManifestRow} per ticket and luggage item, so
+     * that callers can process each row without zipping lists by index and without boxing
+     * every numeric column. Tickets without luggage are included as well.
      * </p>
-     * <p>
-     * The method joins multiple database tables (FLIGHT, BOOKING, TICKET, PASSENGER, LUGGAGE, CUSTOMER)
-     * to provide complete flight information. All lists are populated with corresponding data
-     * at the same index positions, allowing for easy data correlation and processing.
-     * </p>
-     * <p>
-     * The retrieved data includes:
-     * </p>
-     * <ul>
-     *   <li>Gate assignment information for operational management</li>
-     *   <li>Customer account details for all passengers with bookings</li>
-     *   <li>Complete booking information including status and timestamps</li>
-     *   <li>Ticket details with seat assignments and check-in status</li>
-     *   <li>Passenger personal information and identification details</li>
-     *   <li>Associated luggage information including types and status</li>
-     * </ul>
      *
      * @param flightId the unique identifier of the flight to retrieve data for
-     * @param flightGates list to be populated with gate assignments (null if not assigned)
-     * @param buyerIds list to be populated with customer identifiers who made bookings
-     * @param usernames list to be populated with customer usernames
-     * @param mails list to be populated with customer email addresses
-     * @param hashedPasswords list to be populated with customer password hashes
-     * @param bookingDates list to be populated with booking creation timestamps
-     * @param bookingStatus list to be populated with booking status values
-     * @param bookingIds list to be populated with unique booking identifiers
-     * @param ticketNumbers list to be populated with ticket numbers
-     * @param seats list to be populated with seat assignments (null if not assigned, 0-based indexing)
-     * @param checkedIns list to be populated with check-in status indicators
-     * @param firstNames list to be populated with passenger first names
-     * @param lastNames list to be populated with passenger last names
-     * @param passengerSSNs list to be populated with passenger SSN identifiers
-     * @param birthDates list to be populated with passenger birth dates
-     * @param luggageIds list to be populated with luggage identifiers (null if no luggage)
-     * @param luggageTypes list to be populated with luggage type descriptions
-     * @param luggageStatus list to be populated with luggage status values
-     * @param luggageIdsAfterCheckin list to be populated with post-checkin luggage identifiers
+     * @return the manifest rows of the flight, ordered by booking identifier
      * @throws SQLException if a database access error occurs during the data retrieval operation
      */
-    void getAllDataForAFlight(String flightId, List<Integer> flightGates, List<Integer> buyerIds,
-                              List<String> usernames, List<String> mails, List<String> hashedPasswords,
-                              List<java.sql.Date> bookingDates, List<String> bookingStatus, List<Integer> bookingIds,
-                              List<String> ticketNumbers, List<Integer> seats, List<Boolean> checkedIns,
-                              List<String> firstNames, List<String> lastNames, List<String> passengerSSNs, List<java.sql.Date> birthDates,
-                              List<Integer> luggageIds, List<String> luggageTypes, List<String> luggageStatus, List<String> luggageIdsAfterCheckin) throws SQLException;
+    List<FlightManifestRow> getFlightManifest(String flightId) throws SQLException;
 
     /**
      * Inserts a new flight into the database with complete flight information.
@@ -250,29 +198,23 @@ public interface FlightDAO {
                        int maxSeats, String otherCity, boolean flightType) throws SQLException;
 
     /**
-     * Retrieves all currently booked seats for a specific flight, excluding cancelled bookings.
-     * <p>
-     * This method queries the database to find all seat assignments for tickets associated
-     * with a specific flight. It excludes bookings with 'CANCELLED' status to provide
-     * accurate seat availability information for booking and seat selection operations.
-     * </p>
+     * Retrieves the seat occupancy of a specific flight, excluding cancelled bookings.
      * <p>
-     * The method handles seat number conversion from database storage (1-based) to
-     * application indexing (0-based) for consistency with the application's seat
-     * management system. Seats with value 0 or null in the database are not included
-     * in the results as they represent unassigned seats.
+     * The seats assigned to the tickets of the flight are returned as a {@link SeatMap}
+     * sized from the maximum number of seats of the flight, with 0-based seat numbers.
+     * Unassigned seats and seats stored outside the capacity of the flight are ignored.
      * </p>
      * <p>
-     * An optional booking ID parameter allows excluding a specific booking from the
-     * results, which is useful during booking modifications where the current booking's
-     * seats should not be considered as occupied.
+     * The optional booking ID excludes a specific booking, which is useful during booking
+     * modifications where the current booking's seats should not be considered as occupied.
      * </p>
      *
      * @param flightId the unique identifier of the flight to check seat availability for
-     * @param bookingId optional booking ID to exclude from results (can be null)
-     * @param bookedSeats list to be populated with booked seat numbers (0-based indexing)
+     * @param bookingId optional booking ID whose seats are considered free (can be null)
+     * @return the seat map of the flight, with no seats if the flight does not exist
+     * @throws SQLException if a database access error occurs during the data retrieval operation
      */
-    void getBookedSeats(String flightId, Integer bookingId, List<Integer> bookedSeats);
+    SeatMap getSeatMap(String flightId, Integer bookingId) throws SQLException;
 
     /**
      * Initiates the check-in process for a flight by updating its status to 'ABOUT_TO_DEPART'.
@@ -297,19 +239,20 @@ public interface FlightDAO {
     /**
      * Searches for an available gate and assigns it to the specified flight.
      * <p>
-     * This method implements automatic gate assignment by iterating through gates 1-20
-     * and finding the first available gate (not assigned to any non-cancelled flight).
-     * Once an available gate is found, it is immediately assigned to the specified flight.
+     * This method implements automatic gate assignment by finding the lowest available
+     * gate among gates 1-20 and assigning it to the specified flight in the same atomic
+     * operation, with a number of database round trips that does not depend on how many
+     * gates are busy.
      * </p>
      * <p>
-     * The method uses database transactions to ensure atomicity of the gate assignment
-     * process. It checks each gate's availability and assigns the first free gate,
-     * preventing race conditions in concurrent gate assignment operations.
+     * Concurrent gate assignments are serialized, so two flights can never be handed the
+     * same free gate.
      * </p>
      * <p>
      * Gate availability is determined by checking if any flights are currently assigned
-     * to the gate with a status other than 'CANCELLED'. This ensures that cancelled
-     * flights do not block gate availability for operational flights.
+     * to the gate with a status other than 'CANCELLED', 'DEPARTED' or 'LANDED'. This
+     * ensures that cancelled or completed flights do not block gate availability for
+     * operational flights.
      * </p>
      *
      * @param idFlight the unique identifier of the flight to assign a gate to
@@ -382,45 +325,21 @@ public interface FlightDAO {
     int addDelay(int delay, String idFlight);
 
     /**
-     * Updates check-in status for multiple tickets in batch operations.
-     * <p>
-     * This method efficiently updates the check-in status for multiple tickets using
-     * separate lists for tickets to be checked in (true) and tickets to be unchecked
-     * (false). This batch approach reduces database round trips and ensures consistent
-     * check-in status updates.
-     * </p>
+     * Updates the check-in status of multiple tickets and retrieves the post-checkin luggage identifiers of the checked-in ones.
      * <p>
-     * The method uses database transactions to ensure all check-in status changes
-     * are applied atomically. This is particularly important for group bookings
-     * where multiple passengers' check-in status needs to be updated simultaneously.
+     * The tickets of {@code trueTickets} are checked in and those of {@code falseTickets}
+     * are unchecked; then the luggage identifiers assigned after check-in are read for the
+     * checked-in tickets. Everything runs in a single transaction, so the changes of a group
+     * booking are applied atomically and the luggage identifiers include the ones generated
+     * by the check-in itself. The number of database round trips does not depend on the
+     * number of tickets.
      * </p>
      *
      * @param trueTickets list of ticket numbers to set check-in status to true
      * @param falseTickets list of ticket numbers to set check-in status to false
+     * @return nested list where each inner list contains the luggage identifiers of the corresponding
+     *         ticket in {@code trueTickets}, null if an error occurs (in which case no check-in status is changed)
      */
-    void setCheckins (ArrayList<String> trueTickets, ArrayList<String> falseTickets);
-
-    /**
-     * Retrieves post-checkin luggage identifiers for multiple tickets.
-     * <p>
-     * This method queries the database to retrieve luggage identifiers assigned after
-     * check-in for a list of tickets. These identifiers are used for luggage tracking
-     * during the baggage handling process after passengers have checked in.
-     * </p>
-     * <p>
-     * The method returns a nested list structure where each inner list contains all
-     * luggage identifiers associated with a specific ticket. This allows for a proper
-     * correlation between tickets and their associated luggage items.
-     * </p>
-     * <p>
-     * Post-checkin luggage identifiers are typically assigned during the check-in
-     * process and are used for physical luggage tracking throughout the airport
-     * baggage handling system.
-     * </p>
-     *
-     * @param tickets list of ticket numbers to retrieve luggage identifiers for
-     * @return nested list where each inner list contains luggage identifiers for the corresponding ticket, null if an error occurs
-     */
-    ArrayList<ArrayList<String>> getLuggagesCheckins (ArrayList<String> tickets);
+    ArrayList<ArrayList<String>> checkinTickets (List<String> trueTickets, List<String> falseTickets);
 
-}
\ No newline at end of file
+}
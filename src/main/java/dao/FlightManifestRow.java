@@ -0,0 +1,57 @@
+package dao;
+
+import java.sql.Date;
+
+/**
+ * One row of a flight manifest: a ticket of a booking, with its buyer, passenger and (optionally) one luggage item.
+ * <p>
+ * A ticket with several luggage items produces one row per item, while a ticket without
+ * luggage produces a single row whose luggage columns are empty. Optional numeric values
+ * use sentinels instead of boxed nulls:
+ * </p>
+ * <ul>
+ *   <li>{@code gate} is 0 when no gate is assigned to the flight</li>
+ *   <li>{@code seat} is -1 when no seat is assigned, otherwise it is 0-based</li>
+ *   <li>{@code luggageId} is 0 when the row carries no luggage item</li>
+ * </ul>
+ *
+ * @param gate the gate assigned to the flight, 0 if none
+ * @param customerId the identifier of the customer who made the booking
+ * @param username the username of the customer
+ * @param mail the email address of the customer
+ * @param hashedPassword the password hash of the customer
+ * @param bookingId the identifier of the booking
+ * @param bookingStatus the status of the booking
+ * @param bookingDate the date the booking was made
+ * @param ticketNumber the ticket number
+ * @param seat the 0-based seat, -1 if not assigned
+ * @param checkedIn whether the passenger has checked in
+ * @param firstName the first name of the passenger
+ * @param lastName the last name of the passenger
+ * @param passengerSSN the SSN of the passenger
+ * @param birthDate the birth date of the passenger
+ * @param luggageId the identifier of the luggage item, 0 if none
+ * @param luggageIdAfterCheckin the identifier assigned to the luggage item at check-in
+ * @param luggageType the type of the luggage item
+ * @param luggageStatus the status of the luggage item
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see FlightDAO#getFlightManifest(String)
+ */
+public record FlightManifestRow(int gate,
+                                int customerId, String username, String mail, String hashedPassword,
+                                int bookingId, String bookingStatus, Date bookingDate,
+                                String ticketNumber, int seat, boolean checkedIn,
+                                String firstName, String lastName, String passengerSSN, Date birthDate,
+                                int luggageId, String luggageIdAfterCheckin, String luggageType, String luggageStatus) {
+
+    /**
+     * Tells whether the row carries a luggage item.
+     *
+     * @return true if a luggage item is associated with the ticket in this row
+     */
+    public boolean hasLuggage() {
+        return luggageId > 0;
+    }
+}
@@ -0,0 +1,25 @@
+package dao;
+
+import java.sql.Timestamp;
+
+/**
+ * One flight returned by a flight search.
+ *
+ * @param flightId the identifier of the flight
+ * @param companyName the airline company operating the flight
+ * @param departureTime the scheduled departure date and time
+ * @param arrivalTime the scheduled arrival date and time
+ * @param flightStatus the status of the flight
+ * @param maxSeats the seating capacity of the flight
+ * @param freeSeats the number of free seats on the flight
+ * @param city the destination (departing flights) or origin (arriving flights) city
+ * @param delay the delay of the flight in minutes
+ * @param departing true for departing flights, false for arriving flights
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see FlightDAO#searchFlightPage
+ */
+public record FlightSearchRow(String flightId, String companyName, Timestamp departureTime, Timestamp arrivalTime,
+                              String flightStatus, int maxSeats, int freeSeats, String city, int delay, boolean departing) {
+}
@@ -0,0 +1,26 @@
+package dao;
+
+import java.sql.Timestamp;
+
+/**
+ * One lost luggage item, with the flight it was travelling on and its booking details.
+ *
+ * @param flightId the identifier of the flight
+ * @param companyName the airline company operating the flight
+ * @param departureTime the scheduled departure date and time
+ * @param arrivalTime the scheduled arrival date and time
+ * @param flightStatus the status of the flight
+ * @param maxSeats the seating capacity of the flight
+ * @param freeSeats the number of free seats on the flight
+ * @param city the destination (departing flights) or origin (arriving flights) city
+ * @param departing true for departing flights, false for arriving flights
+ * @param details the booking, ticket, passenger and luggage columns of the row
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see LuggageDAO#streamLostLuggageRows(java.util.function.Consumer)
+ */
+public record LostLuggageRow(String flightId, String companyName, Timestamp departureTime, Timestamp arrivalTime,
+                             String flightStatus, int maxSeats, int freeSeats, String city, boolean departing,
+                             FlightManifestRow details) {
+}
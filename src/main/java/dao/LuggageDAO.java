@@ -1,9 +1,8 @@
 package dao;
 
-import java.sql.Date;
 import java.sql.SQLException;
-import java.sql.Time;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Data Access Object interface for managing luggage operations in the airport management system.
@@ -42,70 +41,34 @@ import java.util.List;
 public interface LuggageDAO {
 
     /**
-     * Retrieves comprehensive information about all lost luggage items in the system.
+     * Streams all lost luggage items to a consumer, one row at a time.
      * <p>
-     * This method performs a query to fetch complete information about all luggage
-     * items that have been reported as lost (luggage_status = 'LOST'). It provides a
-     * view of lost luggage including associated flight details, passenger
-     * information, booking data, and luggage specifications for recovery and customer
-     * service operations.
-     * </p>
-     * <p>
-     * The method joins multiple database tables (FLIGHT, BOOKING, TICKET, PASSENGER, LUGGAGE, CUSTOMER)
-     * to provide complete lost luggage information. All lists are populated with corresponding data
-     * at the same index positions, allowing for easy data correlation and processing.
+     * The rows cover every luggage whose status is 'LOST' and whose buyer still has an active
+     * account, ordered by flight departure time, most recent first. This method never holds
+     * more than one fetch window of them in memory: each row is handed to
+     * the consumer as soon as it is read and can be discarded afterwards. The consumer runs
+     * on the calling thread and may stop the stream by throwing an unchecked exception,
+     * which is propagated to the caller once the cursor has been closed.
      * </p>
+     *
+     * @param consumer the callback receiving each lost luggage row
+     * @return the number of rows handed to the consumer
+     * @throws SQLException if a database access error occurs during the data retrieval operation
+     */
+    int streamLostLuggageRows(Consumer<LostLuggageRow> consumer) throws SQLException;
+
+    /**
+     * Retrieves the lost luggage items of a single booking as typed rows.
      * <p>
-     * The retrieved data includes:
+     * The rows are the ones {@link #streamLostLuggageRows(Consumer)} would hand out for the
+     * booking, in the same order.
      * </p>
-     * <ul>
-     *   <li>Complete flight information including schedules and airline details</li>
-     *   <li>Customer account information for notification and contact purposes</li>
-     *   <li>Booking details including status and creation timestamps</li>
-     *   <li>Ticket information with seat assignments and check-in status</li>
-     *   <li>Passenger personal information for identification and contact</li>
-     *   <li>Luggage specifications including type, status, and tracking identifiers</li>
-     * </ul>
      *
-     * @param flightIds list to be populated with flight identifiers
-     * @param companyNames list to be populated with airline company names
-     * @param flightDates list to be populated with flight dates derived from departure timestamps
-     * @param departureTimes list to be populated with flight departure times
-     * @param arrivalTimes list to be populated with flight arrival times
-     * @param flightStatus list to be populated with current flight status values
-     * @param maxSeats list to be populated with flight maximum seating capacity
-     * @param freeSeats list to be populated with available seats count
-     * @param cities list to be populated with destination or origin city names
-     * @param flightTypes list to be populated with flight type indicators (true for departing, false for arriving)
-     * @param buyerIds list to be populated with customer identifiers who made the bookings
-     * @param usernames list to be populated with customer usernames
-     * @param mails list to be populated with customer email addresses
-     * @param hashedPasswords list to be populated with customer password hashes
-     * @param bookingDates list to be populated with booking creation timestamps
-     * @param bookingStatus list to be populated with booking status values
-     * @param bookingIds list to be populated with unique booking identifiers
-     * @param ticketNumbers list to be populated with ticket numbers
-     * @param seats list to be populated with seat assignments (null if not assigned, 0-based indexing)
-     * @param checkedIns list to be populated with check-in status indicators
-     * @param firstNames list to be populated with passenger first names
-     * @param lastNames list to be populated with passenger last names
-     * @param passengerSSNs list to be populated with passenger SSN identifiers
-     * @param birthDates list to be populated with passenger birth dates
-     * @param luggageIds list to be populated with luggage identifiers (null if no luggage)
-     * @param luggageTypes list to be populated with luggage type descriptions (CARRY_ON or CHECKED)
-     * @param luggageStatus list to be populated with luggage status values (should be 'LOST')
-     * @param luggageIdsAfterCheckin list to be populated with post-checkin luggage identifiers
+     * @param bookingId the unique identifier of the booking
+     * @return the lost luggage rows of the booking, empty if none of its luggage is still lost
      * @throws SQLException if a database access error occurs during the data retrieval operation
      */
-    void getAllLostLuggages(List<String> flightIds, List<String> companyNames, List<Date> flightDates,
-                            List<Time> departureTimes, List<Time> arrivalTimes, List<String> flightStatus,
-                            List<Integer> maxSeats, List<Integer> freeSeats,
-                            List<String> cities, List<Boolean> flightTypes,
-                            List<Integer> buyerIds, List<String> usernames, List<String> mails, List<String> hashedPasswords,
-                            List<Date> bookingDates, List<String> bookingStatus, List<Integer> bookingIds,
-                            List<String> ticketNumbers, List<Integer> seats, List<Boolean> checkedIns,
-                            List<String> firstNames, List<String> lastNames, List<String> passengerSSNs, List<Date> birthDates,
-                            List<Integer> luggageIds, List<String> luggageTypes, List<String> luggageStatus, List<String> luggageIdsAfterCheckin) throws SQLException;
+    List<LostLuggageRow> getLostLuggageRowsOfBooking(int bookingId) throws SQLException;
 
     /**
      * Retrieves all luggage items associated with a specific booking.
@@ -0,0 +1,45 @@
+package dao;
+
+import java.util.List;
+
+/**
+ * One page of the results of a paged search.
+ * <p>
+ * Paged searches read the results in a fixed order and return at most the requested
+ * number of rows. When more rows follow, {@link #nextToken()} holds an opaque
+ * continuation token that must be passed, together with the same search criteria, to
+ * retrieve the next page. The token identifies the last row of the page rather than an
+ * offset, so the next page is read with an index range scan that does not skip the rows
+ * already returned, and rows inserted meanwhile do not shift the following pages.
+ * </p>
+ *
+ * @param <T> the type of the rows
+ * @param rows the rows of the page, in search order
+ * @param nextToken the continuation token of the next page, or null if this is the last page
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see FlightDAO#searchFlightPage
+ * @see BookingDAO#getAllBooksCustomerPage
+ */
+public record Page<T>(List<T> rows, String nextToken) {
+
+    /**
+     * Creates a page, copying its rows into an unmodifiable list.
+     *
+     * @param rows the rows of the page, in search order
+     * @param nextToken the continuation token of the next page, or null if this is the last page
+     */
+    public Page {
+        rows = List.copyOf(rows);
+    }
+
+    /**
+     * Returns whether more rows follow this page.
+     *
+     * @return true if {@link #nextToken()} can be used to read the next page
+     */
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+}
@@ -0,0 +1,36 @@
+package dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Functional interface converting the current row of a {@link ResultSet} into a typed object.
+ * <p>
+ * DAO implementations define one mapper per query shape and share it between every method
+ * reading that shape, so that column names, null handling and unit conversions (for example
+ * the 1-based seat numbers stored in the database) are written only once.
+ * </p>
+ * <p>
+ * A mapper must only read the current row: it must not call {@link ResultSet#next()} or
+ * close the result set.
+ * </p>
+ *
+ * @param <T> the type of the object produced for each row
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see FlightManifestRow
+ * @see LostLuggageRow
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Converts the current row of the result set.
+     *
+     * @param resultSet the result set positioned on the row to convert
+     * @return the object built from the row
+     * @throws SQLException if a column cannot be read
+     */
+    T map(ResultSet resultSet) throws SQLException;
+}
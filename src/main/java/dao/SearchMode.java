@@ -0,0 +1,74 @@
+package dao;
+
+/**
+ * Matching mode of the free-text filters of the search operations (cities, passenger names, SSNs, ticket numbers).
+ * <p>
+ * Every mode matches case-insensitively ({@code ILIKE}), and the text typed by the user is
+ * always taken literally: the {@code LIKE} wildcards {@code %} and {@code _} and the escape
+ * character are escaped before the mode adds its own wildcards. Prefix and substring
+ * matches are served by the {@code pg_trgm} GIN indexes created by the
+ * {@code migrazioni/V003__indici_trigrammi.sql} script.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see FlightDAO
+ * @see BookingDAO
+ */
+public enum SearchMode {
+
+    /**
+     * The value must match the whole column, ignoring case.
+     */
+    EXACT,
+
+    /**
+     * The column must start with the value, ignoring case.
+     */
+    PREFIX,
+
+    /**
+     * The column must contain the value, ignoring case.
+     */
+    CONTAINS;
+
+    /**
+     * Builds the {@code ILIKE} pattern matching a value according to this mode.
+     *
+     * @param value the text typed by the user
+     * @return the pattern to bind to an {@code ILIKE ?} parameter
+     */
+    public String toPattern(String value) {
+
+        String escaped = escape(value.trim());
+
+        return switch (this) {
+            case EXACT -> escaped;
+            case PREFIX -> escaped + "%";
+            case CONTAINS -> "%" + escaped + "%";
+        };
+    }
+
+    /**
+     * Escapes the {@code LIKE} wildcards and the default escape character of a value.
+     *
+     * @param value the value to escape
+     * @return the value matching itself literally in a {@code LIKE} pattern
+     */
+    private static String escape(String value) {
+
+        StringBuilder builder = new StringBuilder(value.length() + 8);
+
+        for (int i = 0; i < value.length(); i++) {
+
+            char c = value.charAt(i);
+
+            if (c == '\\' || c == '%' || c == '_') builder.append('\\');
+
+            builder.append(c);
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package dao;
+
+import model.SeatMap;
+
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Data Access Object interface for managing temporary seat holds in the airport management system.
+ * <p>
+ * A hold reserves a seat of a flight for a single client (a desk or a customer session)
+ * while a booking is being filled in, so that two clients cannot choose the same seat and
+ * discover the conflict only when the booking is saved. Holds are keyed by flight and
+ * seat, belong to the client that created them and expire after a time to live, so the
+ * seats of a client that crashes or is closed become free again without any clean-up.
+ * </p>
+ * <p>
+ * The SeatHoldDAO interface provides:
+ * </p>
+ * <ul>
+ *   <li>Atomic acquisition or renewal of the hold of a seat</li>
+ *   <li>Release of a single hold or of all the holds of a client</li>
+ *   <li>Retrieval of the seats held by the other clients, as a {@link SeatMap}</li>
+ * </ul>
+ * <p>
+ * Seats are identified by their 0-based index, as in {@link SeatMap}.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see implementazioni_postgres_dao.SeatHoldDAOImpl
+ * @see SeatMap
+ * @see FlightDAO#getSeatMap(String, Integer)
+ * @see controller.Controller
+ */
+public interface SeatHoldDAO {
+
+    /**
+     * Holds a seat for a client, or renews the hold the client already has on it.
+     * <p>
+     * The hold is acquired only if the seat is not booked by a non-cancelled booking
+     * other than {@code bookingId} and is not held by another client, or its hold has expired.
+     * </p>
+     *
+     * @param flightId the unique identifier of the flight
+     * @param seat the 0-based seat index
+     * @param holder the identifier of the client holding the seat
+     * @param bookingId optional booking ID whose seats are considered free (can be null)
+     * @param ttlSeconds the duration of the hold, in seconds
+     * @return true if the seat is now held by the client, false if it is booked or held by another client
+     * @throws SQLException if a database access error occurs during the operation
+     */
+    boolean holdSeat(String flightId, int seat, UUID holder, Integer bookingId, int ttlSeconds) throws SQLException;
+
+    /**
+     * Releases the hold of a client on a seat; holds of other clients are left untouched.
+     *
+     * @param flightId the unique identifier of the flight
+     * @param seat the 0-based seat index
+     * @param holder the identifier of the client holding the seat
+     * @throws SQLException if a database access error occurs during the operation
+     */
+    void releaseSeat(String flightId, int seat, UUID holder) throws SQLException;
+
+    /**
+     * Releases all the holds of a client, and removes the expired holds of every client.
+     *
+     * @param holder the identifier of the client
+     * @return the number of holds removed
+     * @throws SQLException if a database access error occurs during the operation
+     */
+    int releaseAll(UUID holder) throws SQLException;
+
+    /**
+     * Retrieves the seats of a flight held by clients other than the given one.
+     *
+     * @param flightId the unique identifier of the flight
+     * @param holder the identifier of the client whose holds are ignored
+     * @param capacity the number of seats of the flight, which sizes the returned map
+     * @return the map of the seats with an unexpired hold of another client
+     * @throws SQLException if a database access error occurs during the data retrieval operation
+     */
+    SeatMap getSeatsHeldByOthers(String flightId, UUID holder, int capacity) throws SQLException;
+}
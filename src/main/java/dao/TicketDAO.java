@@ -1,8 +1,8 @@
 package dao;
 
-import java.sql.Date;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object interface for managing ticket operations in the airport management system.
@@ -40,69 +40,30 @@ import java.util.List;
 public interface TicketDAO {
 
     /**
-     * Retrieves all tickets associated with a specific booking.
+     * Retrieves the tickets and passengers of several bookings with a single query.
      * <p>
-     * This method fetches comprehensive ticket information for all tickets
-     * associated with a particular booking. It provides detailed ticket data
-     * including seat assignments, check-in status, and associated passenger
-     * information for customer service operations and booking management purposes.
+     * Each row holds the ticket number, the seat assignment (0-based, -1 if not
+     * assigned), the check-in status and the personal data of the passenger. When the
+     * tickets of all the bookings of a customer are needed at once, the data is fetched in
+     * one round trip and grouped by booking in memory.
      * </p>
-     * <p>
-     * The method joins multiple database tables (TICKET, PASSENGER) to provide
-     * complete ticket information for the specified booking. All lists are
-     * populated with corresponding data at the same index positions, enabling easy
-     * correlation between tickets and their associated passenger information.
-     * </p>
-     * <p>
-     * The retrieved data includes:
-     * </p>
-     * <ul>
-     *   <li>Ticket numbers for unique identification</li>
-     *   <li>Seat assignments with 0-based indexing (null if not assigned)</li>
-     *   <li>Check-in status indicators for boarding eligibility</li>
-     *   <li>Passenger SSN identifiers for passenger association</li>
-     *   <li>Passenger personal information including names and birth dates</li>
-     * </ul>
      *
-     * @param bookingId the unique identifier of the booking to retrieve tickets for
-     * @param ticketNumbers list to be populated with ticket numbers
-     * @param seats list to be populated with seat assignments (0-based indexing, null if not assigned)
-     * @param checkedIns list to be populated with check-in status indicators
-     * @param passengerSSNs list to be populated with passenger SSN identifiers
-     * @param firstNames list to be populated with passenger first names
-     * @param lastNames list to be populated with passenger last names
-     * @param birthDates list to be populated with passenger birth dates
+     * @param bookingIds the identifiers of the bookings to retrieve tickets for
+     * @return the tickets of each booking, keyed by booking id in the order of {@code bookingIds};
+     *         bookings without tickets are absent from the map
      * @throws SQLException if a database access error occurs during the data retrieval operation
      */
-    void getAllTicketBooking(int bookingId, List<String> ticketNumbers, List<Integer> seats, List<Boolean> checkedIns,
-                                    List<String> passengerSSNs, List<String> firstNames,
-                                    List<String> lastNames, List<Date> birthDates) throws SQLException;
+    Map<Integer, List<BookingTicketRow>> getAllTicketBookings(List<Integer> bookingIds) throws SQLException;
 
     /**
-     * Generates a new unique ticket number by incrementing the maximum existing ticket number.
+     * Generates a new unique ticket number.
      * <p>
-     * This method implements an atomic ticket number generation system that retrieves the
-     * highest ticket number currently in the database and generates a new unique number
-     * by applying the specified offset plus one additional increment. This ensures that
-     * generated ticket numbers are always unique and sequential.
-     * </p>
-     * <p>
-     * The generation process follows these steps:
-     * </p>
-     * <ol>
-     *   <li>Queries the database for the maximum existing ticket number</li>
-     *   <li>Applies the specified offset using the increment function</li>
-     *   <li>Adds one final increment to generate the new ticket number</li>
-     *   <li>Returns the formatted 13-digit ticket number with zero-padding</li>
-     * </ol>
-     * <p>
-     * The offset parameter allows for bulk ticket number generation scenarios where
-     * multiple consecutive ticket numbers need to be reserved. For single ticket
-     * generation, an offset of 0 should be used.
+     * Every call returns a number never handed out before, even across concurrent clients,
+     * formatted as a 13-digit string with zero-padding.
      * </p>
      *
-     * @param offset the number of additional increments to apply before generating the final ticket number
      * @return a new unique 13-digit ticket number, or empty string if generation fails
      */
-    String generateTicketNumber(int offset);
+    String generateTicketNumber();
+
 }
\ No newline at end of file
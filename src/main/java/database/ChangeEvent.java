@@ -0,0 +1,78 @@
+package database;
+
+/**
+ * A change to a flight, booking, ticket or luggage notified by the database.
+ * <p>
+ * Events are produced by the triggers of the {@code migrazioni/V005__notifiche_modifiche.sql}
+ * script, which send a payload of the form {@code entity|operation|status|id} on the
+ * {@value ChangeFeed#CHANNEL} channel, and are delivered by the {@link ChangeFeed}.
+ * </p>
+ * <p>
+ * The special {@link #RESYNC} event is delivered to every subscriber after the feed
+ * reconnects to the database, because the changes made while it was disconnected are lost.
+ * </p>
+ *
+ * @param entity the changed entity, one of {@link #FLIGHT}, {@link #BOOKING}, {@link #TICKET}, {@link #LUGGAGE}
+ * @param operation the SQL operation, {@code INSERT}, {@code UPDATE} or {@code DELETE}
+ * @param status the status of the entity after the change, empty if it has none
+ * @param id the identifier of the changed entity
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see ChangeFeed
+ */
+public record ChangeEvent(String entity, String operation, String status, String id) {
+
+    /**
+     * Entity name of flight events; the id is the flight id and the status the flight status.
+     */
+    public static final String FLIGHT = "flight";
+
+    /**
+     * Entity name of booking events; the id is the booking id and the status the booking status.
+     */
+    public static final String BOOKING = "booking";
+
+    /**
+     * Entity name of ticket events; the id is the ticket number and the status the check-in flag.
+     */
+    public static final String TICKET = "ticket";
+
+    /**
+     * Entity name of luggage events; the id is the luggage id and the status the luggage status.
+     */
+    public static final String LUGGAGE = "luggage";
+
+    /**
+     * Event telling subscribers that any entity may have changed while notifications were not received.
+     */
+    public static final ChangeEvent RESYNC = new ChangeEvent("*", "RESYNC", "", "");
+
+    /**
+     * Parses the payload of a notification.
+     *
+     * @param payload the payload sent by the database trigger
+     * @return the event, or null if the payload is malformed
+     */
+    static ChangeEvent parse(String payload) {
+
+        if (payload == null) return null;
+
+        //l'id è l'ultimo campo perché è l'unico che può contenere il separatore
+        String[] fields = payload.split("\\|", 4);
+
+        if (fields.length != 4 || fields[0].isEmpty() || fields[3].isEmpty()) return null;
+
+        return new ChangeEvent(fields[0], fields[1], fields[2], fields[3]);
+    }
+
+    /**
+     * Tells whether this is the {@link #RESYNC} event.
+     *
+     * @return true if subscribers should reload all their data
+     */
+    public boolean isResync() {
+        return this == RESYNC;
+    }
+}
@@ -0,0 +1,286 @@
+package database;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Singleton feed of the changes notified by the database through {@code LISTEN}/{@code NOTIFY}.
+ * <p>
+ * The triggers of the {@code migrazioni/V005__notifiche_modifiche.sql} script publish a
+ * compact {@link ChangeEvent} on the {@value #CHANNEL} channel whenever a flight, booking,
+ * ticket or luggage changes state. The feed listens on that channel from a dedicated
+ * daemon thread, over a connection opened outside the pool (the registration is bound to
+ * the session), and dispatches every event to the subscribers of its entity, so that
+ * caches and open screens can be updated on push instead of polling the database.
+ * </p>
+ * <p>
+ * The listener thread is started by the first subscription. If the connection is lost it
+ * reconnects with an exponential back-off and then delivers {@link ChangeEvent#RESYNC} to
+ * every subscriber, since the changes made in the meantime were not received. The feed
+ * can be disabled with the {@code aeroporto.db.notify} system property set to false.
+ * </p>
+ * <p>
+ * Subscribers are invoked on the listener thread, in subscription order: they must be
+ * quick and thread-safe, and must move any Swing work to the event dispatch thread.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see ChangeEvent
+ * @see ConnessioneDatabase
+ */
+public final class ChangeFeed {
+
+    /**
+     * Name of the notification channel the triggers publish on.
+     */
+    public static final String CHANNEL = "aeroporto_modifiche";
+
+    /**
+     * Logger instance for recording listener connection events and errors.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ChangeFeed.class.getName());
+
+    /**
+     * The singleton instance of the feed.
+     */
+    private static final ChangeFeed INSTANCE = new ChangeFeed();
+
+    /**
+     * Maximum time the listener waits for notifications before checking whether it must stop, in milliseconds.
+     */
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+
+    /**
+     * First delay before reconnecting after a connection failure, in milliseconds.
+     */
+    private static final long MIN_BACKOFF_MILLIS = 1000;
+
+    /**
+     * Maximum delay between two reconnection attempts, in milliseconds.
+     */
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    /**
+     * Whether the feed is enabled.
+     */
+    private final boolean enabled = Boolean.parseBoolean(System.getProperty("aeroporto.db.notify", "true"));
+
+    /**
+     * The active subscriptions, in subscription order.
+     */
+    private final CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Lock guarding the start and stop of the listener thread.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * The listener thread, or null if it is not running; a thread that is no longer the listener stops.
+     */
+    private volatile Thread listener;
+
+    /**
+     * Private constructor to enforce the singleton pattern.
+     */
+    private ChangeFeed() {
+    }
+
+    /**
+     * Returns the singleton instance of the feed.
+     *
+     * @return the shared change feed
+     */
+    public static ChangeFeed getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers a subscriber for the changes of an entity, starting the listener thread if needed.
+     *
+     * @param entity the entity to follow, one of the entity names of {@link ChangeEvent}
+     * @param subscriber the callback receiving the events of the entity and {@link ChangeEvent#RESYNC}, on the listener thread
+     * @return the subscription, whose {@link Subscription#close()} stops the delivery
+     */
+    public Subscription subscribe(String entity, Consumer<ChangeEvent> subscriber) {
+
+        Subscription subscription = new Subscription(entity, subscriber);
+
+        subscriptions.add(subscription);
+
+        start();
+
+        return subscription;
+    }
+
+    /**
+     * Stops the listener thread and closes its connection.
+     * <p>
+     * Called by {@link ConnessioneDatabase#closeConnection()}. Subscriptions are kept: a
+     * later subscription starts the thread again.
+     * </p>
+     */
+    public void shutdown() {
+
+        lock.lock();
+        try {
+            Thread stopped = listener;
+
+            listener = null;
+
+            if (stopped != null) stopped.interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts the listener thread unless it is already running or the feed is disabled.
+     */
+    private void start() {
+
+        if (!enabled) return;
+
+        lock.lock();
+        try {
+            if (listener != null) return;
+
+            listener = Thread.ofPlatform().daemon().name("aeroporto-notify").unstarted(this::listen);
+            listener.start();
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Body of the listener thread: keeps a session listening on the channel and dispatches its notifications.
+     */
+    private void listen() {
+
+        long backoff = MIN_BACKOFF_MILLIS;
+        boolean connectedBefore = false;
+
+        while (isListener()) {
+
+            try (Connection connection = ConnessioneDatabase.getInstance().openDedicatedConnection();
+                 Statement statement = connection.createStatement()) {
+
+                statement.execute("LISTEN " + CHANNEL);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                //le modifiche avvenute durante la disconnessione non sono state ricevute
+                if (connectedBefore) dispatch(ChangeEvent.RESYNC);
+
+                connectedBefore = true;
+                backoff = MIN_BACKOFF_MILLIS;
+
+                while (isListener()) {
+
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+
+                    if (notifications == null) continue;
+
+                    for (PGNotification notification : notifications) {
+
+                        ChangeEvent event = ChangeEvent.parse(notification.getParameter());
+
+                        if (event != null) dispatch(event);
+                        else LOGGER.log(Level.FINE, "Notifica non valida: {0}", notification.getParameter());
+                    }
+                }
+
+            } catch (SQLException e) {
+
+                if (!isListener()) return;
+
+                LOGGER.log(Level.WARNING, "Ascolto delle modifiche interrotto, nuovo tentativo tra {0} ms: {1}",
+                        new Object[]{backoff, e.getMessage()});
+
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Tells whether the current thread is still the listener thread of the feed.
+     *
+     * @return false if the feed has been shut down or restarted
+     */
+    private boolean isListener() {
+        return listener == Thread.currentThread();
+    }
+
+    /**
+     * Delivers an event to the subscribers of its entity, or to every subscriber for {@link ChangeEvent#RESYNC}.
+     *
+     * @param event the event to deliver
+     */
+    private void dispatch(ChangeEvent event) {
+
+        for (Subscription subscription : subscriptions) {
+
+            if (!event.isResync() && !subscription.entity.equals(event.entity())) continue;
+
+            try {
+                subscription.subscriber.accept(event);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * A registration of a subscriber to the changes of an entity.
+     */
+    public final class Subscription implements AutoCloseable {
+
+        /**
+         * The entity followed by the subscriber.
+         */
+        private final String entity;
+
+        /**
+         * The callback receiving the events.
+         */
+        private final Consumer<ChangeEvent> subscriber;
+
+        /**
+         * Creates a subscription.
+         *
+         * @param entity the entity followed by the subscriber
+         * @param subscriber the callback receiving the events
+         */
+        private Subscription(String entity, Consumer<ChangeEvent> subscriber) {
+            this.entity = entity;
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * Stops delivering events to the subscriber.
+         */
+        @Override
+        public void close() {
+            subscriptions.remove(this);
+        }
+    }
+}
@@ -0,0 +1,551 @@
+package database;
+
+import metrics.Counter;
+import metrics.Histogram;
+import metrics.MetricsRegistry;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded pool of physical PostgreSQL connections.
+ * <p>
+ * The pool keeps between {@code minIdle} and {@code maxSize} physical connections open and
+ * hands them out as {@link Connection} proxies (see {@link PooledConnection}) whose
+ * {@code close()} gives the connection back instead of closing the socket. This way the DAO
+ * layer can keep using try-with-resources around every query without paying a new TCP and
+ * authentication handshake each time.
+ * </p>
+ * <p>
+ * The pool provides:
+ * </p>
+ * <ul>
+ *   <li>A hard upper bound on open connections: when all of them are in use, borrowers wait
+ *       up to {@code borrowTimeoutMillis} and then receive a {@link SQLTransientConnectionException}</li>
+ *   <li>Validation on borrow through {@link Connection#isValid(int)}, skipped for connections
+ *       returned less than {@code validationBypassMillis} ago</li>
+ *   <li>Idle eviction: connections idle for longer than {@code idleTimeoutMillis} are closed,
+ *       down to {@code minIdle}</li>
+ *   <li>Leak detection: a lease kept for longer than {@code leakThresholdMillis} is logged together
+ *       with the stack trace of the code that borrowed it</li>
+ *   <li>Session reset on return: pending transactions are rolled back and auto-commit is restored</li>
+ * </ul>
+ * <p>
+ * Idle connections are reused in LIFO order, so the most recently used (and therefore
+ * warmest) connection is handed out first and the others can age out.
+ * </p>
+ * <p>
+ * The time spent obtaining a connection and the borrow timeouts are recorded in the
+ * {@link MetricsRegistry}, together with the number of idle and borrowed connections.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see PooledConnection
+ * @see ConnessioneDatabase
+ */
+final class ConnectionPool {
+
+    /**
+     * Logger instance for recording pool events and errors.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+    /**
+     * Time spent in {@link #borrow()}: waiting for a free connection, validating it or opening a new one.
+     */
+    private static final Histogram WAIT = MetricsRegistry.getInstance().histogram("aeroporto_db_pool_wait_seconds",
+            "Tempo per ottenere una connessione dal pool.");
+
+    /**
+     * Borrows that gave up because no connection became available within the borrow timeout.
+     */
+    private static final Counter TIMEOUTS = MetricsRegistry.getInstance().counter("aeroporto_db_pool_timeouts_total",
+            "Richieste di connessione scadute perché il pool era esaurito.");
+
+    /**
+     * JDBC URL of the database.
+     */
+    private final String url;
+
+    /**
+     * Connection properties (credentials and driver options) used to open physical connections.
+     */
+    private final Properties properties;
+
+    /**
+     * Minimum number of idle connections kept open by the eviction task.
+     */
+    private final int minIdle;
+
+    /**
+     * Maximum number of physical connections, idle and in use.
+     */
+    private final int maxSize;
+
+    /**
+     * Maximum time a borrower waits for a free connection, in nanoseconds.
+     */
+    private final long borrowTimeoutNanos;
+
+    /**
+     * Idle time after which a connection above {@code minIdle} is closed, in nanoseconds.
+     */
+    private final long idleTimeoutNanos;
+
+    /**
+     * Lease time after which a borrowed connection is reported as leaked, in nanoseconds; zero disables leak detection.
+     */
+    private final long leakThresholdNanos;
+
+    /**
+     * Time after its return during which a connection is handed out again without validation, in nanoseconds.
+     */
+    private final long validationBypassNanos;
+
+    /**
+     * Maximum number of idle prepared statements cached by each connection.
+     */
+    private final int statementCacheSize;
+
+    /**
+     * Lock guarding all the mutable state of the pool.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Condition signalled whenever a connection is returned or a slot is freed.
+     */
+    private final Condition available = lock.newCondition();
+
+    /**
+     * Idle connections, most recently returned first.
+     */
+    private final ArrayDeque<PooledConnection> idle = new ArrayDeque<>();
+
+    /**
+     * Connections currently borrowed.
+     */
+    private final List<PooledConnection> inUse = new ArrayList<>();
+
+    /**
+     * Number of physical connections currently open or being opened.
+     */
+    private int total;
+
+    /**
+     * Whether the pool has been shut down.
+     */
+    private boolean shutdown;
+
+    /**
+     * Background task that evicts idle connections and looks for leaks.
+     */
+    private final ScheduledExecutorService housekeeper;
+
+    /**
+     * Creates the pool and opens the initial {@code minIdle} connections.
+     *
+     * @param url the JDBC URL of the database
+     * @param properties the connection properties, including user and password
+     * @param config the sizing and timeout settings of the pool
+     * @throws SQLException if the initial connections cannot be opened
+     */
+    ConnectionPool(String url, Properties properties, Config config) throws SQLException {
+
+        this.url = url;
+        this.properties = properties;
+        this.maxSize = Math.max(1, config.maxSize);
+        this.minIdle = Math.clamp(config.minIdle, 0, this.maxSize);
+        this.borrowTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.borrowTimeoutMillis);
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.idleTimeoutMillis);
+        this.leakThresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.leakThresholdMillis);
+        this.validationBypassNanos = TimeUnit.MILLISECONDS.toNanos(config.validationBypassMillis);
+        this.statementCacheSize = config.statementCacheSize;
+
+        try {
+            for (int i = 0; i < minIdle; i++) {
+                idle.push(new PooledConnection(this, DriverManager.getConnection(url, properties), statementCacheSize));
+                total++;
+            }
+        } catch (SQLException e) {
+            // le connessioni già aperte non appartengono a nessun pool: vanno chiuse prima di propagare l'errore
+            for (PooledConnection pooled : idle) pooled.closePhysical();
+            idle.clear();
+            total = 0;
+            throw e;
+        }
+
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "aeroporto-db-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long period = Math.max(1000L, config.housekeepingPeriodMillis);
+        housekeeper.scheduleAtFixedRate(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if none is idle and the pool is not full.
+     *
+     * @return a {@link Connection} proxy that returns to the pool when closed
+     * @throws SQLTransientConnectionException if no connection becomes available within the borrow timeout
+     * @throws SQLException if the pool is shut down or a new connection cannot be opened
+     */
+    Connection borrow() throws SQLException {
+
+        long start = System.nanoTime();
+
+        try {
+            return acquire();
+        } catch (SQLTransientConnectionException e) {
+            TIMEOUTS.increment();
+            throw e;
+        } finally {
+            WAIT.recordSince(start);
+        }
+    }
+
+    /**
+     * Body of {@link #borrow()}: waits for an idle connection or a free slot, then validates or opens the connection.
+     *
+     * @return a {@link Connection} proxy that returns to the pool when closed
+     * @throws SQLTransientConnectionException if no connection becomes available within the borrow timeout
+     * @throws SQLException if the pool is shut down or a new connection cannot be opened
+     */
+    private Connection acquire() throws SQLException {
+
+        long remaining = borrowTimeoutNanos;
+
+        while (true) {
+
+            PooledConnection candidate = null;
+            boolean create = false;
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (shutdown) throw new SQLException("Il pool di connessioni è stato chiuso", "08003");
+
+                    if (!idle.isEmpty()) {
+                        candidate = idle.pop();
+                        inUse.add(candidate);
+                        break;
+                    }
+
+                    if (total < maxSize) {
+                        total++;
+                        create = true;
+                        break;
+                    }
+
+                    if (remaining <= 0L) {
+                        throw new SQLTransientConnectionException("Nessuna connessione disponibile entro "
+                                + TimeUnit.NANOSECONDS.toMillis(borrowTimeoutNanos) + " ms (connessioni attive: "
+                                + inUse.size() + "/" + maxSize + ")", "08001");
+                    }
+
+                    remaining = available.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Attesa di una connessione interrotta", "08001", e);
+            } finally {
+                lock.unlock();
+            }
+
+            if (create) return open();
+
+            if (candidate.validate(validationBypassNanos, 2)) {
+                return candidate.lease(leakThresholdNanos > 0L);
+            }
+
+            LOGGER.log(Level.FINE, "Connessione non valida scartata dal pool");
+            discard(candidate);
+        }
+    }
+
+    /**
+     * Opens a physical connection that is not managed by the pool.
+     * <p>
+     * The connection uses the same URL and properties as the pooled ones but does not
+     * count against {@code maxSize}; the caller owns it and must close it.
+     * </p>
+     *
+     * @return a new physical connection
+     * @throws SQLException if the connection cannot be opened
+     */
+    Connection openUnpooled() throws SQLException {
+        return DriverManager.getConnection(url, properties);
+    }
+
+    /**
+     * Opens a new physical connection for a slot already reserved by {@link #borrow()}.
+     *
+     * @return the lease on the new connection
+     * @throws SQLException if the connection cannot be opened
+     */
+    private Connection open() throws SQLException {
+
+        Connection physical;
+
+        try {
+            physical = DriverManager.getConnection(url, properties);
+        } catch (SQLException e) {
+            lock.lock();
+            try {
+                total--;
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        PooledConnection pooled = new PooledConnection(this, physical, statementCacheSize);
+
+        lock.lock();
+        try {
+            inUse.add(pooled);
+        } finally {
+            lock.unlock();
+        }
+
+        return pooled.lease(leakThresholdNanos > 0L);
+    }
+
+    /**
+     * Gives a connection back to the pool once its lease has been closed.
+     * <p>
+     * The session is reset first; connections that cannot be reset, or that are returned
+     * after the pool has been shut down, are closed instead of being reused.
+     * </p>
+     *
+     * @param pooled the connection being returned
+     */
+    void release(PooledConnection pooled) {
+
+        boolean reusable = pooled.reset();
+
+        lock.lock();
+        try {
+            inUse.remove(pooled);
+
+            if (reusable && !shutdown) {
+                pooled.touch();
+                idle.push(pooled);
+                available.signal();
+                return;
+            }
+
+            total--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        pooled.closePhysical();
+    }
+
+    /**
+     * Closes a connection that failed validation and frees its slot.
+     *
+     * @param pooled the connection to discard
+     */
+    private void discard(PooledConnection pooled) {
+
+        lock.lock();
+        try {
+            inUse.remove(pooled);
+            total--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        pooled.closePhysical();
+    }
+
+    /**
+     * Periodic maintenance: closes connections idle for too long and reports leaked leases.
+     */
+    private void housekeep() {
+
+        List<PooledConnection> evicted = new ArrayList<>();
+        List<PooledConnection> leaked = new ArrayList<>();
+        long now = System.nanoTime();
+
+        lock.lock();
+        try {
+            if (shutdown) return;
+
+            // The oldest idle connections sit at the tail of the deque
+            Iterator<PooledConnection> iterator = idle.descendingIterator();
+            while (iterator.hasNext() && idle.size() > minIdle) {
+                PooledConnection pooled = iterator.next();
+                if (now - pooled.getLastReturnedNanos() > idleTimeoutNanos) {
+                    iterator.remove();
+                    total--;
+                    evicted.add(pooled);
+                }
+            }
+
+            if (leakThresholdNanos > 0L) {
+                for (PooledConnection pooled : inUse) {
+                    if (!pooled.isLeakReported() && now - pooled.getBorrowedAtNanos() > leakThresholdNanos) {
+                        pooled.setLeakReported();
+                        leaked.add(pooled);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (PooledConnection pooled : evicted) pooled.closePhysical();
+
+        for (PooledConnection pooled : leaked) {
+            LOGGER.log(Level.WARNING, "Possibile connessione non restituita al pool (in uso da oltre "
+                    + TimeUnit.NANOSECONDS.toMillis(leakThresholdNanos) + " ms)", pooled.getBorrowTrace());
+        }
+    }
+
+    /**
+     * Returns the number of connections currently borrowed.
+     *
+     * @return the borrowed connections
+     */
+    int activeCount() {
+
+        lock.lock();
+        try {
+            return inUse.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of open connections waiting to be borrowed.
+     *
+     * @return the idle connections
+     */
+    int idleCount() {
+
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tells whether the pool has been shut down.
+     *
+     * @return true if {@link #shutdown()} has been called
+     */
+    boolean isShutdown() {
+
+        lock.lock();
+        try {
+            return shutdown;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Shuts the pool down.
+     * <p>
+     * Idle connections are closed immediately; connections still in use are closed as soon as
+     * their lease ends. Threads waiting for a connection are woken up and receive an exception.
+     * </p>
+     */
+    void shutdown() {
+
+        List<PooledConnection> toClose;
+
+        lock.lock();
+        try {
+            if (shutdown) return;
+            shutdown = true;
+            toClose = new ArrayList<>(idle);
+            total -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        housekeeper.shutdownNow();
+
+        for (PooledConnection pooled : toClose) pooled.closePhysical();
+    }
+
+    /**
+     * Sizing and timeout settings of the pool.
+     * <p>
+     * Every value can be overridden with a system property named
+     * {@code aeroporto.db.pool.<setting>}, for example {@code -Daeroporto.db.pool.maxSize=20}.
+     * </p>
+     */
+    static final class Config {
+
+        /**
+         * Minimum number of idle connections (default 2).
+         */
+        int minIdle = Integer.getInteger("aeroporto.db.pool.minIdle", 2);
+
+        /**
+         * Maximum number of connections (default 10).
+         */
+        int maxSize = Integer.getInteger("aeroporto.db.pool.maxSize", 10);
+
+        /**
+         * Maximum wait for a free connection in milliseconds (default 5 seconds).
+         */
+        long borrowTimeoutMillis = Long.getLong("aeroporto.db.pool.borrowTimeoutMillis", 5_000L);
+
+        /**
+         * Idle time before eviction in milliseconds (default 5 minutes).
+         */
+        long idleTimeoutMillis = Long.getLong("aeroporto.db.pool.idleTimeoutMillis", 300_000L);
+
+        /**
+         * Lease time before a leak is reported in milliseconds (default 60 seconds, zero disables it).
+         */
+        long leakThresholdMillis = Long.getLong("aeroporto.db.pool.leakThresholdMillis", 60_000L);
+
+        /**
+         * Time after return during which validation is skipped in milliseconds (default 500 ms).
+         */
+        long validationBypassMillis = Long.getLong("aeroporto.db.pool.validationBypassMillis", 500L);
+
+        /**
+         * Period of the eviction and leak detection task in milliseconds (default 30 seconds).
+         */
+        long housekeepingPeriodMillis = Long.getLong("aeroporto.db.pool.housekeepingPeriodMillis", 30_000L);
+
+        /**
+         * Idle prepared statements cached by each connection (default 64, zero disables the cache).
+         */
+        int statementCacheSize = Integer.getInteger("aeroporto.db.pool.statementCacheSize", 64);
+    }
+}
@@ -1,18 +1,30 @@
 package database;
 
+import metrics.MetricsRegistry;
+
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Properties;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Singleton class that manages database connections for the airport management system.
  * <p>
- * This class implements the Singleton design pattern to ensure that only one database
- * connection instance exists throughout the application lifecycle. It provides
- * connection management for PostgreSQL database operations, handling connection creation,
- * retrieval, and cleanup operations.
+ * This class implements the Singleton design pattern to ensure that only one connection
+ * pool exists throughout the application lifecycle. Every call to {@link #getConnection()}
+ * borrows a connection from a bounded {@link ConnectionPool}; closing the returned connection
+ * (typically at the end of a try-with-resources block in the DAO layer) gives it back to the
+ * pool instead of tearing down the session with the PostgreSQL server.
+ * </p>
+ * <p>
+ * Each pooled connection also keeps an LRU cache of its prepared statements
+ * ({@link StatementCache}), so that hot queries are parsed and planned once per connection.
+ * </p>
+ * <p>
+ * The pool size, timeouts and statement cache size can be tuned with the
+ * {@code aeroporto.db.pool.*} system properties, see {@link ConnectionPool.Config}.
  * </p>
  *
  * @author Aeroporto Di Napoli
@@ -21,6 +33,7 @@ import java.util.logging.Logger;
  * @see Connection
  * @see DriverManager
  * @see SQLException
+ * @see ConnectionPool
  */
 public class ConnessioneDatabase {
 
@@ -28,7 +41,7 @@ public class ConnessioneDatabase {
      * Logger instance for recording database connection events and errors.
      */
     private static final Logger LOGGER = Logger.getLogger(ConnessioneDatabase.class.getName());
-    
+
     /**
      * The singleton instance of the ConnessioneDatabase class.
      * <p>
@@ -37,49 +50,95 @@ public class ConnessioneDatabase {
      * </p>
      */
     private static ConnessioneDatabase instance;
-    
+
     /**
-     * The active database connection instance.
+     * The pool of physical connections to the PostgreSQL database.
      * <p>
-     * This field holds the actual JDBC connection to the PostgreSQL database.
-     * It is initialized during object construction and used for all database
-     * operations.
+     * This field is initialized during object construction and used to serve every
+     * connection request of the DAO layer.
      * </p>
      */
-    private Connection connection = null;
+    private final ConnectionPool pool;
 
     /**
-     * Private constructor that establishes the database connection.
+     * Private constructor that creates the connection pool.
      * <p>
      * This constructor is private to enforce the Singleton pattern and prevent
-     * direct instantiation. It initializes the PostgreSQL database connection
-     * using hardcoded connection parameters for the local "Aeroporto" database.
+     * direct instantiation. It initializes the pool of PostgreSQL connections
+     * using the connection parameters of the local "Aeroporto" database, each of which
+     * can be overridden with a system property (for example to point the benchmarks to a
+     * dedicated database).
      * </p>
      * <p>
      * Connection parameters:
      * </p>
      * <ul>
      *   <li>Driver: org.postgresql.Driver</li>
-     *   <li>URL: jdbc:postgresql://localhost:5432/Aeroporto</li>
-     *   <li>Username: postgres</li>
-     *   <li>Password: ciao9999</li>
+     *   <li>URL: jdbc:postgresql://localhost:5432/Aeroporto (overridable with {@code aeroporto.db.url})</li>
+     *   <li>Username: postgres (overridable with {@code aeroporto.db.user})</li>
+     *   <li>Password: ciao9999 (overridable with {@code aeroporto.db.password})</li>
+     *   <li>prepareThreshold: 1 (overridable with {@code aeroporto.db.prepareThreshold})</li>
+     *   <li>reWriteBatchedInserts: true (overridable with {@code aeroporto.db.reWriteBatchedInserts})</li>
      * </ul>
+     * <p>
+     * With a prepare threshold of 1 the driver switches to a named server-side prepared
+     * statement from the first execution, which pays off because the statement cache
+     * reuses the same statement objects across calls.
+     * </p>
+     * <p>
+     * With batched inserts rewriting enabled the driver turns a batch of single-row
+     * {@code INSERT ... VALUES} statements into multi-row inserts, so that the tickets,
+     * passengers and luggage of a group booking reach the server in a few round trips.
+     * </p>
      *
-     * @throws SQLException if a database access error occurs during a connection establishment
+     * @throws SQLException if a database access error occurs while opening the initial connections
      */
     private ConnessioneDatabase() throws SQLException {
         try {
             String driver = "org.postgresql.Driver";
             Class.forName(driver);
-            String nome = "postgres";
-            String password = "ciao9999";
-            String url = "jdbc:postgresql://localhost:5432/Aeroporto";
-            connection = DriverManager.getConnection(url, nome, password);
 
         } catch (ClassNotFoundException ex) {
             LOGGER.log(Level.SEVERE, ex.getMessage());
         }
 
+        String nome = System.getProperty("aeroporto.db.user", "postgres");
+        String password = System.getProperty("aeroporto.db.password", "ciao9999");
+        String url = System.getProperty("aeroporto.db.url", "jdbc:postgresql://localhost:5432/Aeroporto");
+
+        Properties properties = new Properties();
+        properties.setProperty("user", nome);
+        properties.setProperty("password", password);
+        properties.setProperty("prepareThreshold", System.getProperty("aeroporto.db.prepareThreshold", "1"));
+        properties.setProperty("reWriteBatchedInserts", System.getProperty("aeroporto.db.reWriteBatchedInserts", "true"));
+
+        pool = new ConnectionPool(url, properties, new ConnectionPool.Config());
+
+        registerMetrics();
+    }
+
+    /**
+     * Publishes the state of the pool and the statement cache counters in the {@link MetricsRegistry}.
+     * <p>
+     * The gauges read the pool of this instance; a new instance created after
+     * {@link #closeConnection()} registers them again and replaces them.
+     * </p>
+     */
+    private void registerMetrics() {
+
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+
+        registry.gauge("aeroporto_db_pool_connections", "Connessioni del pool per stato.",
+                pool::activeCount, "state", "active");
+        registry.gauge("aeroporto_db_pool_connections", "Connessioni del pool per stato.",
+                pool::idleCount, "state", "idle");
+
+        registry.counterFunction("aeroporto_db_statement_cache_total", "Esiti delle richieste alla cache degli statement.",
+                StatementCache.HITS::sum, "result", "hit");
+        registry.counterFunction("aeroporto_db_statement_cache_total", "Esiti delle richieste alla cache degli statement.",
+                StatementCache.MISSES::sum, "result", "miss");
+        registry.counterFunction("aeroporto_db_statement_cache_evictions_total", "Statement inattivi chiusi per rispettare la capacità della cache.",
+                StatementCache.EVICTIONS::sum);
     }
 
     /**
@@ -87,41 +146,63 @@ public class ConnessioneDatabase {
      * <p>
      * This method implements the Singleton pattern by ensuring that only one
      * instance of the class exists. If no instance exists or if the current
-     * instance's connection is closed, a new instance is created. This provides
-     * automatic connection recovery in case of database disconnections.
+     * instance's pool has been shut down through {@link #closeConnection()},
+     * a new instance is created.
      * </p>
      *
-     * @return the singleton ConnessioneDatabase instance with an active connection
+     * @return the singleton ConnessioneDatabase instance with an active connection pool
      * @throws SQLException if a database access error occurs during instance creation
      *                     or connection establishment
      */
-    public static ConnessioneDatabase getInstance() throws SQLException {
-        if (instance == null || instance.connection.isClosed()) {
+    public static synchronized ConnessioneDatabase getInstance() throws SQLException {
+        if (instance == null || instance.pool.isShutdown()) {
             instance = new ConnessioneDatabase();
         }
         return instance;
     }
 
     /**
-     * Returns the active database connection.
+     * Borrows a database connection from the pool.
+     * <p>
+     * The returned connection must be closed by the caller: closing it rolls back any
+     * uncommitted work, restores auto-commit and returns it to the pool.
+     * </p>
      *
-     * @return the active database connection, may be null if initialization failed
+     * @return a pooled database connection
+     * @throws SQLException if no connection becomes available within the borrow timeout
+     *                     or a new connection cannot be opened
      */
-    public Connection getConnection() {
-        return connection;
+    public Connection getConnection() throws SQLException {
+        return pool.borrow();
     }
 
     /**
-     * Closes the database connection and releases associated resources.
+     * Opens a connection outside the pool, for sessions that stay open for the whole application lifetime.
+     * <p>
+     * Used by {@link ChangeFeed}, whose {@code LISTEN} registration is bound to the session
+     * and would otherwise keep a pooled connection borrowed forever.
+     * </p>
+     *
+     * @return a new dedicated connection, to be closed by the caller
+     * @throws SQLException if the connection cannot be opened
      */
-    public void closeConnection() {
+    Connection openDedicatedConnection() throws SQLException {
+        return pool.openUnpooled();
+    }
 
-        try {
+    /**
+     * Shuts down the connection pool and releases associated resources.
+     * <p>
+     * Idle connections are closed immediately, borrowed ones as soon as they are returned.
+     * The {@link ChangeFeed} listener is stopped as well, since its dedicated connection
+     * is opened with the settings of this pool. A later call to {@link #getInstance()}
+     * creates a new pool.
+     * </p>
+     */
+    public void closeConnection() {
 
-            connection.close();
-        } catch (SQLException ex) {
+        ChangeFeed.getInstance().shutdown();
 
-            LOGGER.log(Level.SEVERE, ex.getMessage());
-        }
+        pool.shutdown();
     }
-}
\ No newline at end of file
+}
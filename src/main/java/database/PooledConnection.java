@@ -0,0 +1,702 @@
+package database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Physical PostgreSQL connection owned by the {@link ConnectionPool}.
+ * <p>
+ * Every time the connection is borrowed a new lease is opened and a fresh {@link Connection}
+ * proxy is handed to the caller. The proxy delegates every call to the physical connection,
+ * except {@link Connection#close()}, which ends the lease and returns the connection to the
+ * pool instead of closing the socket. Once a lease is closed its proxy becomes unusable, so
+ * a DAO that keeps a reference after its try-with-resources block cannot interfere with the
+ * next borrower.
+ * </p>
+ * <p>
+ * Prepared statements created through the proxy are served from a per-connection
+ * {@link StatementCache}: the DAO receives a {@link PreparedStatement} proxy whose
+ * {@code close()} puts the physical statement back into the cache. Statements still open
+ * when the lease ends are released automatically.
+ * </p>
+ * <p>
+ * The executions of those statements are reported to the JDK Flight Recorder as
+ * {@link QueryEvent}s; when no recording is running the statements are not wrapped any further.
+ * Executions slower than the configured threshold are written to the {@link SlowQueryLog}.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see ConnectionPool
+ * @see StatementCache
+ * @see ConnessioneDatabase
+ */
+final class PooledConnection {
+
+    /**
+     * Logger instance for recording connection state events and errors.
+     */
+    private static final Logger LOGGER = Logger.getLogger(PooledConnection.class.getName());
+
+    /**
+     * The pool that owns this connection and receives it back when a lease is closed.
+     */
+    private final ConnectionPool pool;
+
+    /**
+     * The underlying JDBC connection to the PostgreSQL database.
+     */
+    private final Connection physical;
+
+    /**
+     * Cache of the prepared statements created on this connection.
+     */
+    private final StatementCache statementCache;
+
+    /**
+     * Timestamp (in {@link System#nanoTime()} units) of the last time the connection was returned to the pool.
+     */
+    private long lastReturnedNanos;
+
+    /**
+     * Timestamp (in {@link System#nanoTime()} units) of the moment the current lease was opened.
+     */
+    private long borrowedAtNanos;
+
+    /**
+     * Stack trace captured when the current lease was opened, used to locate leaked connections.
+     * It is null when leak detection is disabled.
+     */
+    private Throwable borrowTrace;
+
+    /**
+     * Whether the current lease has already been reported as a leak.
+     */
+    private boolean leakReported;
+
+    /**
+     * Whether a connection-level error has been observed, in which case the connection is discarded on release.
+     */
+    private volatile boolean broken;
+
+    /**
+     * Creates a pooled wrapper around a freshly opened physical connection.
+     *
+     * @param pool the pool that owns the connection
+     * @param physical the physical JDBC connection
+     * @param statementCacheSize the maximum number of idle prepared statements kept for this connection
+     */
+    PooledConnection(ConnectionPool pool, Connection physical, int statementCacheSize) {
+        this.pool = pool;
+        this.physical = physical;
+        this.statementCache = new StatementCache(statementCacheSize);
+        this.lastReturnedNanos = System.nanoTime();
+    }
+
+    /**
+     * Opens a new lease on the connection and returns the proxy handed to the DAO layer.
+     *
+     * @param captureTrace whether to record the borrowing stack trace for leak detection
+     * @return a {@link Connection} proxy whose {@code close()} returns the connection to the pool
+     */
+    Connection lease(boolean captureTrace) {
+
+        borrowedAtNanos = System.nanoTime();
+        borrowTrace = captureTrace ? new Throwable("Connessione presa in prestito qui") : null;
+        leakReported = false;
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new Lease());
+    }
+
+    /**
+     * Checks that the physical connection is still usable.
+     * <p>
+     * Connections returned to the pool less than {@code bypassNanos} ago are assumed to be
+     * alive, which avoids an extra round trip on every borrow under load.
+     * </p>
+     *
+     * @param bypassNanos how long after its return a connection is trusted without validation
+     * @param timeoutSeconds the timeout passed to {@link Connection#isValid(int)}
+     * @return true if the connection can be handed out, false if it must be discarded
+     */
+    boolean validate(long bypassNanos, int timeoutSeconds) {
+
+        if (broken) return false;
+
+        if (System.nanoTime() - lastReturnedNanos < bypassNanos) return true;
+
+        try {
+            return physical.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Restores the default session state before the connection goes back to the idle list.
+     * <p>
+     * Several DAO methods switch off auto-commit and some of them leave without committing
+     * (for instance when an exception is thrown half way through a booking). With a single
+     * physical connection per call the server used to roll those transactions back on
+     * disconnect; with pooling the rollback has to be issued explicitly here.
+     * </p>
+     *
+     * @return true if the connection can be reused, false if it must be discarded
+     */
+    boolean reset() {
+
+        if (broken) return false;
+
+        try {
+            if (physical.isClosed()) return false;
+
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+
+            physical.clearWarnings();
+
+            return true;
+
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, e.getSQLState());
+            return false;
+        }
+    }
+
+    /**
+     * Closes the physical connection, ignoring errors.
+     */
+    void closePhysical() {
+
+        statementCache.clear();
+
+        try {
+            physical.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, e.getSQLState());
+        }
+    }
+
+    /**
+     * Marks the connection as just returned to the pool.
+     */
+    void touch() {
+        lastReturnedNanos = System.nanoTime();
+    }
+
+    /**
+     * Returns the moment the connection was last returned to the pool.
+     *
+     * @return the {@link System#nanoTime()} value of the last return
+     */
+    long getLastReturnedNanos() {
+        return lastReturnedNanos;
+    }
+
+    /**
+     * Returns the moment the current lease was opened.
+     *
+     * @return the {@link System#nanoTime()} value of the current borrow
+     */
+    long getBorrowedAtNanos() {
+        return borrowedAtNanos;
+    }
+
+    /**
+     * Returns the stack trace captured when the current lease was opened.
+     *
+     * @return the borrowing stack trace, or null if leak detection is disabled
+     */
+    Throwable getBorrowTrace() {
+        return borrowTrace;
+    }
+
+    /**
+     * Returns whether the current lease has already been reported as a leak.
+     *
+     * @return true if a leak warning was already logged for the current lease
+     */
+    boolean isLeakReported() {
+        return leakReported;
+    }
+
+    /**
+     * Records that a leak warning has been logged for the current lease.
+     */
+    void setLeakReported() {
+        leakReported = true;
+    }
+
+    /**
+     * Records a driver exception and marks the connection as broken if the error is connection-level.
+     *
+     * @param cause the exception thrown by the driver
+     * @return the same exception, to be rethrown by the caller
+     */
+    private Throwable inspect(Throwable cause) {
+
+        if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null
+                && sqlException.getSQLState().startsWith("08")) {
+            broken = true;
+        }
+
+        return cause;
+    }
+
+    /**
+     * Invocation handler backing a single lease of the physical connection.
+     */
+    private final class Lease implements InvocationHandler {
+
+        /**
+         * Whether this lease has been closed and the connection given back to the pool.
+         */
+        private boolean closed;
+
+        /**
+         * Cached statements handed out during this lease and not closed yet.
+         */
+        private final List<CachedStatement> openStatements = new ArrayList<>();
+
+        /**
+         * {@inheritDoc}
+         * <p>
+         * {@code close()} ends the lease, {@code isClosed()} reports the lease state and the
+         * identity methods refer to the proxy itself; everything else is forwarded to the
+         * physical connection.
+         * </p>
+         */
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        for (CachedStatement statement : new ArrayList<>(openStatements)) statement.close();
+                        closed = true;
+                        pool.release(PooledConnection.this);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + physical + "]";
+                default:
+                    break;
+            }
+
+            if (closed) throw new SQLException("La connessione è già stata restituita al pool");
+
+            if (method.getName().equals("prepareStatement")) {
+                StatementCache.Key key = keyOf(args);
+                if (key != null) return prepare((Connection) proxy, key);
+            }
+
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw inspect(e.getCause());
+            }
+        }
+
+        /**
+         * Builds the cache key of a {@code prepareStatement} call.
+         * <p>
+         * Only the variants taking the SQL text alone, the generated keys flag, or the
+         * result set type and concurrency are cached; the others are passed to the driver.
+         * </p>
+         *
+         * @param args the arguments of the {@code prepareStatement} call
+         * @return the cache key, or null if the variant is not cached
+         */
+        private StatementCache.Key keyOf(Object[] args) {
+
+            if (args.length == 1) return new StatementCache.Key((String) args[0], -1, -1, -1);
+
+            if (args.length == 2 && args[1] instanceof Integer autoGeneratedKeys) {
+                return new StatementCache.Key((String) args[0], autoGeneratedKeys, -1, -1);
+            }
+
+            if (args.length == 3) {
+                return new StatementCache.Key((String) args[0], -1, (Integer) args[1], (Integer) args[2]);
+            }
+
+            return null;
+        }
+
+        /**
+         * Returns a prepared statement for the given key, reusing an idle one from the cache when possible.
+         *
+         * @param connectionProxy the connection proxy of this lease
+         * @param key the SQL text and options of the statement
+         * @return a {@link PreparedStatement} proxy whose {@code close()} returns the statement to the cache
+         * @throws SQLException if the driver cannot prepare the statement
+         */
+        private PreparedStatement prepare(Connection connectionProxy, StatementCache.Key key) throws SQLException {
+
+            PreparedStatement statement = statementCache.checkout(key);
+
+            if (statement == null) {
+                try {
+                    if (key.resultSetType() != -1) {
+                        statement = physical.prepareStatement(key.sql(), key.resultSetType(), key.resultSetConcurrency());
+                    } else if (key.autoGeneratedKeys() != -1) {
+                        statement = physical.prepareStatement(key.sql(), key.autoGeneratedKeys());
+                    } else {
+                        statement = physical.prepareStatement(key.sql());
+                    }
+                } catch (SQLException e) {
+                    throw (SQLException) inspect(e);
+                }
+            }
+
+            CachedStatement handler = new CachedStatement(this, connectionProxy, key, statement);
+            openStatements.add(handler);
+
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, handler);
+        }
+    }
+
+    /**
+     * Invocation handler of a prepared statement handed out from the {@link StatementCache}.
+     */
+    private final class CachedStatement implements InvocationHandler {
+
+        /**
+         * The lease the statement was created in.
+         */
+        private final Lease lease;
+
+        /**
+         * The connection proxy returned by {@link java.sql.Statement#getConnection()}.
+         */
+        private final Connection connectionProxy;
+
+        /**
+         * The cache key of the statement.
+         */
+        private final StatementCache.Key key;
+
+        /**
+         * The physical statement created by the driver.
+         */
+        private final PreparedStatement statement;
+
+        /**
+         * Whether the statement has been closed by the DAO.
+         */
+        private boolean closed;
+
+        /**
+         * The highest parameter index bound since the last execution.
+         */
+        private int bindCount;
+
+        /**
+         * The number of statements added to the current batch.
+         */
+        private int batchSize;
+
+        /**
+         * The values bound to the parameters, by 0-based index, kept only for the {@link SlowQueryLog}.
+         */
+        private Object[] parameters;
+
+        /**
+         * The event of the last query, committed when its result set is closed, or null if none is open.
+         */
+        private QueryEvent openQuery;
+
+        /**
+         * The rows read so far from the result set of {@link #openQuery}.
+         */
+        private long openQueryRows;
+
+        /**
+         * Creates the handler of a statement checked out from the cache.
+         *
+         * @param lease the lease the statement belongs to
+         * @param connectionProxy the connection proxy of the lease
+         * @param key the cache key of the statement
+         * @param statement the physical statement
+         */
+        CachedStatement(Lease lease, Connection connectionProxy, StatementCache.Key key, PreparedStatement statement) {
+            this.lease = lease;
+            this.connectionProxy = connectionProxy;
+            this.key = key;
+            this.statement = statement;
+        }
+
+        /**
+         * Returns the statement to the cache, or closes it if the connection can no longer be reused.
+         */
+        void close() {
+
+            if (closed) return;
+
+            closed = true;
+            lease.openStatements.remove(this);
+
+            endQuery();
+
+            if (broken) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.FINE, e.getSQLState());
+                }
+            } else {
+                statementCache.checkin(key, statement);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p>
+         * {@code close()} returns the statement to the cache, {@code getConnection()} returns
+         * the connection proxy and the identity methods refer to the proxy itself; everything
+         * else is forwarded to the physical statement.
+         * </p>
+         */
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+            switch (method.getName()) {
+                case "close":
+                    close();
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getConnection":
+                    return connectionProxy;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return statement.toString();
+                default:
+                    break;
+            }
+
+            if (closed) throw new SQLException("Lo statement è già stato chiuso");
+
+            String name = method.getName();
+
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bindCount = Math.max(bindCount, index);
+                if (SlowQueryLog.isEnabled()) bind(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                bindCount = 0;
+                parameters = null;
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            } else if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+
+            return forward(method, args);
+        }
+
+        /**
+         * Executes the statement, reporting the execution as a {@link QueryEvent} if a recording is running.
+         * <p>
+         * The event of a query stays open until its result set is closed, by the DAO or
+         * together with the statement, so that it also covers the reading of the rows.
+         * </p>
+         *
+         * @param method the execution method called by the DAO
+         * @param args the arguments of the call
+         * @return the result of the execution, with result sets wrapped to count their rows
+         * @throws Throwable the exception thrown by the driver
+         */
+        private Object execute(Method method, Object[] args) throws Throwable {
+
+            // una nuova esecuzione chiude il result set della precedente
+            endQuery();
+
+            QueryEvent event = new QueryEvent();
+            boolean recording = event.isEnabled();
+
+            if (recording) {
+                event.sql = key.sql();
+                event.bindCount = bindCount;
+                event.batchSize = batchSize;
+                event.begin();
+            }
+
+            bindCount = 0;
+            batchSize = 0;
+
+            long start = System.nanoTime();
+            Object result;
+
+            try {
+                result = forward(method, args);
+            } catch (Throwable e) {
+                if (recording) {
+                    event.failed = true;
+                    event.commit();
+                }
+                throw e;
+            } finally {
+                if (SlowQueryLog.isEnabled()) {
+                    SlowQueryLog.check(key.sql(), parameters == null ? new Object[0] : parameters.clone(), System.nanoTime() - start);
+                }
+            }
+
+            if (!recording) return result;
+
+            if (result instanceof ResultSet resultSet) {
+                openQuery = event;
+                openQueryRows = 0L;
+
+                return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                        new CountingResultSet(resultSet, event));
+            }
+
+            if (result instanceof Integer count) event.rows = count;
+            else if (result instanceof Long count) event.rows = count;
+            else if (result instanceof int[] counts) for (int count : counts) event.rows += Math.max(0, count);
+            else if (result instanceof long[] counts) for (long count : counts) event.rows += Math.max(0L, count);
+
+            event.commit();
+
+            return result;
+        }
+
+        /**
+         * Records the value bound to a parameter.
+         *
+         * @param index the 1-based index of the parameter
+         * @param value the bound value
+         */
+        private void bind(int index, Object value) {
+
+            if (index < 1) return;
+
+            if (parameters == null) parameters = new Object[Math.max(index, 8)];
+            else if (index > parameters.length) parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+
+            parameters[index - 1] = value;
+        }
+
+        /**
+         * Commits the event of the open query, if any, with the rows read so far.
+         */
+        private void endQuery() {
+
+            if (openQuery == null) return;
+
+            openQuery.rows = openQueryRows;
+            openQuery.commit();
+            openQuery = null;
+        }
+
+        /**
+         * Forwards a call to the physical statement.
+         *
+         * @param method the method called by the DAO
+         * @param args the arguments of the call
+         * @return the result of the call
+         * @throws Throwable the exception thrown by the driver
+         */
+        private Object forward(Method method, Object[] args) throws Throwable {
+
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw inspect(e.getCause());
+            }
+        }
+
+        /**
+         * Invocation handler of a result set whose statement execution is being recorded: counts its rows and ends the event when closed.
+         */
+        private final class CountingResultSet implements InvocationHandler {
+
+            /**
+             * The result set created by the driver.
+             */
+            private final ResultSet resultSet;
+
+            /**
+             * The event of the execution that created the result set.
+             */
+            private final QueryEvent event;
+
+            /**
+             * Creates the handler of a result set.
+             *
+             * @param resultSet the result set created by the driver
+             * @param event the event of the execution that created it
+             */
+            CountingResultSet(ResultSet resultSet, QueryEvent event) {
+                this.resultSet = resultSet;
+                this.event = event;
+            }
+
+            /**
+             * {@inheritDoc}
+             * <p>
+             * {@code next()} counts the rows read, {@code close()} ends the query event and the
+             * identity methods refer to the proxy itself; everything is forwarded to the
+             * result set of the driver.
+             * </p>
+             */
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        break;
+                }
+
+                Object result;
+
+                try {
+                    result = method.invoke(resultSet, args);
+                } catch (InvocationTargetException e) {
+                    throw inspect(e.getCause());
+                }
+
+                // il result set di un'esecuzione precedente non tocca l'evento di quella corrente
+                if (openQuery != event) return result;
+
+                if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                    openQueryRows++;
+                } else if (method.getName().equals("close")) {
+                    endQuery();
+                }
+
+                return result;
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package database;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JDK Flight Recorder event emitted for every execution of a prepared statement of the DAO layer.
+ * <p>
+ * The event spans the execution of the statement and, for queries, the reading of the
+ * result set up to its closing, which is what the caller actually waits for. Its stack
+ * trace leads to the DAO method and to the controller and screen that issued the query,
+ * so a slow query in a recording can be tied to the frozen window that caused it.
+ * </p>
+ * <p>
+ * Only the SQL template is recorded, never the bound values, which may contain personal
+ * data of the passengers. By default only executions longer than 10 ms are recorded; the
+ * threshold can be changed in the recording settings, for example
+ * {@code jfr configure aeroporto.DatabaseQuery#threshold=0ms}.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see PooledConnection
+ */
+@Name("aeroporto.DatabaseQuery")
+@Label("Database Query")
+@Category({"Aeroporto", "Database"})
+@Description("Esecuzione di uno statement preparato del livello DAO")
+@Threshold("10 ms")
+final class QueryEvent extends Event {
+
+    /**
+     * The SQL text of the statement, with its {@code ?} placeholders.
+     */
+    @Label("SQL")
+    String sql;
+
+    /**
+     * The highest parameter index bound before the execution.
+     */
+    @Label("Bind Count")
+    int bindCount;
+
+    /**
+     * The rows read from the result set, or affected by an update or a batch.
+     */
+    @Label("Rows")
+    long rows;
+
+    /**
+     * The number of statements of a batch, 0 for a single execution.
+     */
+    @Label("Batch Size")
+    int batchSize;
+
+    /**
+     * Whether the execution threw an exception.
+     */
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,319 @@
+package database;
+
+import model.BookingStatus;
+import model.FlightStatus;
+import model.LuggageStatus;
+import model.LuggageType;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.FileHandler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+
+/**
+ * Log of the prepared statements slower than a configurable threshold, with their execution plan.
+ * <p>
+ * The log is disabled unless the {@code aeroporto.db.slowQueryMillis} system property sets
+ * a positive threshold. Every execution of a cached prepared statement (see
+ * {@link PooledConnection}) that takes longer is written to a rotating file together with:
+ * </p>
+ * <ul>
+ *   <li>the SQL text, as built by the DAO</li>
+ *   <li>the bound parameters, masked: strings are replaced by their length and the
+ *       {@code LIKE} wildcards at their ends, dates by their year, so that names, SSNs,
+ *       mails and birth dates never reach the file; numbers, times and the status and
+ *       type names of the model are kept</li>
+ *   <li>the {@code EXPLAIN (ANALYZE, BUFFERS)} plan of the statement with the same
+ *       parameters, captured on a separate connection; the generic plan is forced, so the
+ *       parameters appear in it as {@code $n} and not as literals</li>
+ * </ul>
+ * <p>
+ * The plan is captured in the background, so the DAO does not wait for it, inside a
+ * read-only transaction that is always rolled back: statements that write (or call
+ * functions that write, such as {@code nextval}) are rejected by it and are explained
+ * without {@code ANALYZE}, so capturing a plan never changes the data. Since capturing a
+ * plan executes the query again, the same SQL text is explained at most once every
+ * {@code aeroporto.db.slowQueryExplainIntervalSeconds} (60 by default) and slow
+ * statements arriving while the capture queue is full are logged without a plan.
+ * </p>
+ * <p>
+ * The file is written through a {@link FileHandler} with pattern
+ * {@code aeroporto.db.slowQueryLog} (default {@code %h/aeroporto-slow-queries.%g.log}), that
+ * rotates over {@code aeroporto.db.slowQueryLogFiles} files (5) of at most
+ * {@code aeroporto.db.slowQueryLogBytes} bytes (10 MB) each.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see PooledConnection
+ */
+final class SlowQueryLog {
+
+    /**
+     * Logger instance for recording the errors of the slow query log itself.
+     */
+    private static final Logger LOGGER = Logger.getLogger(SlowQueryLog.class.getName());
+
+    /**
+     * Logger writing the slow queries to the rotating file only.
+     */
+    private static final Logger SLOW_QUERIES = Logger.getLogger("aeroporto.slowqueries");
+
+    /**
+     * Threshold above which an execution is logged, in nanoseconds; zero disables the log.
+     */
+    private static final long THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(
+            Math.max(0L, Long.getLong("aeroporto.db.slowQueryMillis", 0L)));
+
+    /**
+     * Minimum time between two plan captures of the same SQL text, in nanoseconds.
+     */
+    private static final long EXPLAIN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(
+            Math.max(0L, Long.getLong("aeroporto.db.slowQueryExplainIntervalSeconds", 60L)));
+
+    /**
+     * Maximum time a plan capture may take on the server, in milliseconds.
+     */
+    private static final int EXPLAIN_TIMEOUT_MILLIS = 30_000;
+
+    /**
+     * SQLSTATE raised by PostgreSQL when a read-only transaction tries to write.
+     */
+    private static final String READ_ONLY_SQL_TRANSACTION = "25006";
+
+    /**
+     * Parameter values shown unmasked: the names of the statuses and types of the model.
+     */
+    private static final Set<String> PUBLIC_VALUES = new HashSet<>();
+
+    static {
+        for (Enum<?>[] values : new Enum<?>[][]{BookingStatus.values(), FlightStatus.values(),
+                LuggageStatus.values(), LuggageType.values()}) {
+            for (Enum<?> value : values) PUBLIC_VALUES.add(value.name());
+        }
+    }
+
+    /**
+     * Single background thread capturing the plans, with a short queue.
+     */
+    private static final ThreadPoolExecutor EXPLAINER = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(16), r -> {
+                Thread thread = new Thread(r, "aeroporto-slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * The value of {@link System#nanoTime()} of the last plan capture of every SQL text.
+     */
+    private static final ConcurrentHashMap<String, Long> LAST_EXPLAINED = new ConcurrentHashMap<>();
+
+    /**
+     * Whether the file handler has been set up.
+     */
+    private static boolean fileOpened;
+
+    /**
+     * Private constructor: utility class.
+     */
+    private SlowQueryLog() {
+    }
+
+    /**
+     * Tells whether the slow query log is enabled.
+     *
+     * @return true if a positive threshold is configured
+     */
+    static boolean isEnabled() {
+        return THRESHOLD_NANOS > 0L;
+    }
+
+    /**
+     * Logs an execution if it exceeded the threshold.
+     *
+     * @param sql the SQL text of the statement
+     * @param parameters the bound parameters, by 0-based index (may contain nulls)
+     * @param elapsedNanos the duration of the execution, in nanoseconds
+     */
+    static void check(String sql, Object[] parameters, long elapsedNanos) {
+
+        if (!isEnabled() || elapsedNanos < THRESHOLD_NANOS) return;
+
+        if (!openFile()) return;
+
+        String header = String.format("Query lenta: %d ms%nSQL: %s%nParametri: %s",
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), sql.strip(), maskAll(parameters));
+
+        long now = System.nanoTime();
+        Long last = LAST_EXPLAINED.get(sql);
+
+        if (last != null && now - last < EXPLAIN_INTERVAL_NANOS) {
+            SLOW_QUERIES.log(Level.WARNING, header + "\nPiano: già catturato di recente");
+            return;
+        }
+
+        LAST_EXPLAINED.put(sql, now);
+
+        try {
+            EXPLAINER.execute(() -> SLOW_QUERIES.log(Level.WARNING, header + "\nPiano:\n" + explain(sql, parameters)));
+        } catch (RejectedExecutionException e) {
+            SLOW_QUERIES.log(Level.WARNING, header + "\nPiano: non catturato, troppe query lente in coda");
+        }
+    }
+
+    /**
+     * Captures the execution plan of a statement on a dedicated connection.
+     *
+     * @param sql the SQL text of the statement
+     * @param parameters the bound parameters, by 0-based index
+     * @return the text of the plan, or the reason why it could not be captured
+     */
+    private static String explain(String sql, Object[] parameters) {
+
+        try (Connection connection = ConnessioneDatabase.getInstance().openDedicatedConnection()) {
+
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+
+            try {
+                return explain(connection, "EXPLAIN (ANALYZE, BUFFERS) ", sql, parameters);
+
+            } catch (SQLException e) {
+
+                connection.rollback();
+
+                if (!READ_ONLY_SQL_TRANSACTION.equals(e.getSQLState())) throw e;
+
+                // lo statement scrive: solo il piano stimato, senza eseguirlo
+                return "(stimato, lo statement modifica i dati)\n" + explain(connection, "EXPLAIN ", sql, parameters);
+
+            } finally {
+                connection.rollback();
+            }
+
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, e.getSQLState());
+            return "non catturato: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Runs an {@code EXPLAIN} of a statement in the current transaction of a connection.
+     *
+     * @param connection the dedicated connection, in a read-only transaction
+     * @param explain the {@code EXPLAIN} command with its options
+     * @param sql the SQL text of the statement
+     * @param parameters the bound parameters, by 0-based index
+     * @return the text of the plan
+     * @throws SQLException if the statement cannot be explained
+     */
+    private static String explain(Connection connection, String explain, String sql, Object[] parameters) throws SQLException {
+
+        try (Statement settings = connection.createStatement()) {
+            settings.execute("SET LOCAL statement_timeout = " + EXPLAIN_TIMEOUT_MILLIS);
+
+            // piano generico: i parametri compaiono come $n e non come letterali con i dati personali
+            settings.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+        }
+
+        StringBuilder plan = new StringBuilder();
+
+        try (PreparedStatement preparedQuery = connection.prepareStatement(explain + sql)) {
+
+            for (int i = 0; i < parameters.length; i++) preparedQuery.setObject(i + 1, parameters[i]);
+
+            try (ResultSet rs = preparedQuery.executeQuery()) {
+                while (rs.next()) plan.append("  ").append(rs.getString(1)).append('\n');
+            }
+        }
+
+        return plan.toString();
+    }
+
+    /**
+     * Masks the personal data among the parameters of a statement.
+     *
+     * @param parameters the bound parameters, by 0-based index
+     * @return the masked parameters, formatted as a list
+     */
+    private static String maskAll(Object[] parameters) {
+        return Arrays.stream(parameters).map(SlowQueryLog::mask).toList().toString();
+    }
+
+    /**
+     * Masks a single parameter.
+     *
+     * @param value the bound value
+     * @return the value if it cannot contain personal data, a description of its shape otherwise
+     */
+    private static String mask(Object value) {
+
+        if (value == null) return "NULL";
+
+        if (value instanceof Number || value instanceof Boolean) return value.toString();
+
+        if (value instanceof java.sql.Time || value instanceof java.sql.Timestamp) return "'" + value + "'";
+
+        if (value instanceof java.sql.Date date) return "'" + date.toLocalDate().getYear() + "-**-**'";
+
+        if (value instanceof LocalDate date) return "'" + date.getYear() + "-**-**'";
+
+        if (value instanceof String text) {
+
+            if (PUBLIC_VALUES.contains(text)) return "'" + text + "'";
+
+            String prefix = text.startsWith("%") ? "%" : "";
+            String suffix = text.length() > 1 && text.endsWith("%") ? "%" : "";
+
+            return "'" + prefix + "***" + suffix + "' (" + text.length() + " caratteri)";
+        }
+
+        return "<" + value.getClass().getSimpleName() + ">";
+    }
+
+    /**
+     * Sets up the rotating file of the log on first use.
+     *
+     * @return true if the file is available
+     */
+    private static synchronized boolean openFile() {
+
+        if (fileOpened) return true;
+
+        try {
+            FileHandler handler = new FileHandler(
+                    System.getProperty("aeroporto.db.slowQueryLog", "%h/aeroporto-slow-queries.%g.log"),
+                    Math.max(1024, Integer.getInteger("aeroporto.db.slowQueryLogBytes", 10 * 1024 * 1024)),
+                    Math.max(1, Integer.getInteger("aeroporto.db.slowQueryLogFiles", 5)),
+                    true);
+
+            handler.setFormatter(new SimpleFormatter());
+
+            SLOW_QUERIES.setUseParentHandlers(false);
+            SLOW_QUERIES.addHandler(handler);
+
+            fileOpened = true;
+
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Impossibile aprire il log delle query lente", e);
+        }
+
+        return fileOpened;
+    }
+}
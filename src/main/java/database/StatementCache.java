@@ -0,0 +1,188 @@
+package database;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Least recently used cache of prepared statements attached to a single pooled connection.
+ * <p>
+ * Statements are cached by SQL text and creation options. The cache follows a check-out
+ * model: a statement handed to a DAO is removed from the cache and only goes back in when
+ * the DAO closes it, so two statements with the same SQL that are open at the same time
+ * never share state. When more than {@code capacity} statements are idle, the least
+ * recently used one is closed.
+ * </p>
+ * <p>
+ * Reusing the same {@link PreparedStatement} object lets the PostgreSQL driver switch to a
+ * named server-side prepared statement (see the {@code prepareThreshold} connection
+ * property set by {@link ConnessioneDatabase}), so hot queries are parsed and planned once
+ * per connection instead of once per call.
+ * </p>
+ * <p>
+ * Hit, miss and eviction counters are shared by all the caches of the application and are
+ * exposed through {@link ConnessioneDatabase}.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see PooledConnection
+ */
+final class StatementCache {
+
+    /**
+     * Logger instance for recording statement cache events and errors.
+     */
+    private static final Logger LOGGER = Logger.getLogger(StatementCache.class.getName());
+
+    /**
+     * Number of prepareStatement calls served from a cache.
+     */
+    static final LongAdder HITS = new LongAdder();
+
+    /**
+     * Number of prepareStatement calls that had to create a new statement.
+     */
+    static final LongAdder MISSES = new LongAdder();
+
+    /**
+     * Number of idle statements closed to respect the cache capacity.
+     */
+    static final LongAdder EVICTIONS = new LongAdder();
+
+    /**
+     * Maximum number of idle statements kept per connection.
+     */
+    private final int capacity;
+
+    /**
+     * Idle statements in access order, least recently used first.
+     */
+    private final LinkedHashMap<Key, PreparedStatement> idle;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param capacity the maximum number of idle statements to keep; zero disables caching
+     */
+    StatementCache(int capacity) {
+        this.capacity = Math.max(0, capacity);
+        this.idle = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Takes an idle statement out of the cache.
+     *
+     * @param key the SQL text and options of the requested statement
+     * @return the cached statement, or null if none is available
+     */
+    PreparedStatement checkout(Key key) {
+
+        PreparedStatement statement = idle.remove(key);
+
+        if (statement != null) HITS.increment();
+        else MISSES.increment();
+
+        return statement;
+    }
+
+    /**
+     * Puts a statement released by a DAO back into the cache.
+     * <p>
+     * The statement is reset first (open result set closed, parameters and batch cleared);
+     * if the reset fails, or an idle statement with the same key is already cached, the
+     * statement is closed instead.
+     * </p>
+     *
+     * @param key the SQL text and options of the statement
+     * @param statement the physical statement to cache
+     */
+    void checkin(Key key, PreparedStatement statement) {
+
+        if (capacity == 0 || idle.containsKey(key) || !reset(statement)) {
+            close(statement);
+            return;
+        }
+
+        idle.put(key, statement);
+
+        if (idle.size() > capacity) {
+            Iterator<Map.Entry<Key, PreparedStatement>> eldest = idle.entrySet().iterator();
+            close(eldest.next().getValue());
+            eldest.remove();
+            EVICTIONS.increment();
+        }
+    }
+
+    /**
+     * Closes every idle statement.
+     */
+    void clear() {
+
+        for (PreparedStatement statement : idle.values()) close(statement);
+
+        idle.clear();
+    }
+
+    /**
+     * Restores the default state of a statement before caching it.
+     *
+     * @param statement the statement to reset
+     * @return true if the statement can be reused
+     */
+    private static boolean reset(PreparedStatement statement) {
+
+        try {
+            if (statement.isClosed()) return false;
+
+            ResultSet resultSet = statement.getResultSet();
+            if (resultSet != null) resultSet.close();
+
+            statement.clearParameters();
+            statement.clearBatch();
+            statement.clearWarnings();
+            statement.setFetchSize(0);
+            statement.setMaxRows(0);
+            statement.setQueryTimeout(0);
+
+            return true;
+
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, e.getSQLState());
+            return false;
+        }
+    }
+
+    /**
+     * Closes a statement, ignoring errors.
+     *
+     * @param statement the statement to close
+     */
+    private static void close(Statement statement) {
+
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, e.getSQLState());
+        }
+    }
+
+    /**
+     * Cache key of a prepared statement: the SQL text and the options it was created with.
+     *
+     * @param sql the SQL text
+     * @param autoGeneratedKeys the generated keys flag, or -1 if not specified
+     * @param resultSetType the result set type, or -1 if not specified
+     * @param resultSetConcurrency the result set concurrency, or -1 if not specified
+     */
+    record Key(String sql, int autoGeneratedKeys, int resultSetType, int resultSetConcurrency) {
+    }
+}
@@ -452,12 +452,22 @@ public class AddNewFlightDialog extends JDialog {
             }
 
 
-            if(controller.getFlightController().addFlight(flightId, companyName, flightDate, departureTime, arrivalTime, maxSeats, otherCity, flightType, confirmButton)){
+            confirmButton.setEnabled(false);
+            setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
 
-                new FloatingMessage("Volo aggiunto con successo!", confirmButton, SUCCESS_MESSAGE);
-                dispose();
+            controller.getFlightController().addFlightAsync(flightId, companyName, flightDate, departureTime, arrivalTime, maxSeats, otherCity, flightType, confirmButton)
+                    .thenAccept(added -> {
 
-            }
+                        confirmButton.setEnabled(true);
+                        setCursor(Cursor.getDefaultCursor());
+
+                        if (added) {
+
+                            new FloatingMessage("Volo aggiunto con successo!", confirmButton, SUCCESS_MESSAGE);
+                            dispose();
+
+                        }
+                    });
 
 
 
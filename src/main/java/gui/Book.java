@@ -218,8 +218,7 @@ public class Book extends BookingModifyPage {
             public void actionPerformed (ActionEvent e) {
 
                 if (checkConfirmButton()) {
-                    controller.addBooking(passengerPanels, "CONFIRMED");
-                    controller.goBack(callingObjects);
+                    goBackWhenSaved(controller.addBookingAsync(passengerPanels, "CONFIRMED"), callingObjects, controller);
                 } else
                     new FloatingMessage("I dati dei passeggeri sono incompleti", confirmButton, FloatingMessage.ERROR_MESSAGE);
             }
@@ -271,9 +270,7 @@ public class Book extends BookingModifyPage {
             public void actionPerformed (ActionEvent e) {
                     if (checkSavePendingButton()) {
 
-                        controller.addBooking(passengerPanels, "PENDING");
-
-                        controller.goBack(callingObjects);
+                        goBackWhenSaved(controller.addBookingAsync(passengerPanels, "PENDING"), callingObjects, controller);
 
                     } else {
                         new FloatingMessage("Impossibile aggiungere una prenotazione vuota", savePendingButton, FloatingMessage.ERROR_MESSAGE);
@@ -418,8 +418,7 @@ public class BookingModifyPage extends BookingPageCustomer {
             public void actionPerformed (ActionEvent e) {
 
                 if (checkConfirmButton()) {
-                    controller.modifyBooking(passengerPanels, "CONFIRMED");
-                    controller.goBack(callingObjects);
+                    goBackWhenSaved(controller.modifyBookingAsync(passengerPanels, "CONFIRMED"), callingObjects, controller);
                 } else
                     new FloatingMessage("I dati dei passeggeri sono incompleti o errati", confirmButton, FloatingMessage.ERROR_MESSAGE);
             }
@@ -468,8 +467,7 @@ public class BookingModifyPage extends BookingPageCustomer {
             public void actionPerformed (ActionEvent e) {
 
                 if (checkSavePendingButton()) {
-                    controller.modifyBooking(passengerPanels, "PENDING");
-                    controller.goBack(callingObjects);
+                    goBackWhenSaved(controller.modifyBookingAsync(passengerPanels, "PENDING"), callingObjects, controller);
                 } else
                     new FloatingMessage("I dati dei passeggeri sono incompleti o errati", savePendingButton, FloatingMessage.ERROR_MESSAGE);
             }
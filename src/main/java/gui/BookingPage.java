@@ -1,6 +1,7 @@
 package gui;
 
 import controller.Controller;
+import model.SeatMap;
 
 import javax.swing.*;
 import java.awt.*;
@@ -10,6 +11,7 @@ import java.time.Duration;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Abstract base class for comprehensive booking management interfaces within the airport management system.
@@ -161,14 +163,14 @@ public abstract class BookingPage extends DisposableObject {
             protected JPanel passengerPage;
 
                 /**
-                 * List of booked seats to prevent double-booking conflicts.
+                 * Map of the booked seats to prevent double-booking conflicts.
                  * <p>
-                 * This collection maintains seat numbers that are already allocated
+                 * This seat map marks the seats that are already allocated
                  * to prevent booking conflicts and ensure seat availability accuracy
                  * during booking operations.
                  * </p>
                  */
-                protected ArrayList<Integer> bookedSeats;
+                protected SeatMap bookedSeats;
                 
                 /**
                  * Collection of passenger panels representing individual passenger information.
@@ -720,7 +722,6 @@ public abstract class BookingPage extends DisposableObject {
 
         passengerPage.setOpaque(false);
 
-        bookedSeats = new ArrayList<>();
         passengerPanels = new ArrayList<>();
 
         setBookedSeats(controller);
@@ -745,6 +746,11 @@ public abstract class BookingPage extends DisposableObject {
      * and preventing booking conflicts across multiple passengers.
      * </p>
      * <p>
+     * The seats are read in the background: the map starts empty and is filled on the
+     * event dispatch thread as soon as they arrive, while a seat booked in the meantime
+     * is still refused when the seat chooser tries to hold it.
+     * </p>
+     * <p>
      * The method provides a clean interface between the booking page's seat
      * tracking requirements and the controller's comprehensive seat management
      * system, ensuring proper data flow and consistency.
@@ -753,7 +759,39 @@ public abstract class BookingPage extends DisposableObject {
      * @param controller the system controller providing seat management and availability tracking capabilities
      */
     protected void setBookedSeats (Controller controller) {
-        controller.setBookedSeats(bookedSeats);
+
+        bookedSeats = new SeatMap(controller.getFlightController().getMaxSeats());
+
+        //la mappa è condivisa con i pannelli dei passeggeri: viene riempita quando arriva
+        controller.getBookedSeatsAsync(this).thenAccept(loaded -> {
+            if (loaded.capacity() == bookedSeats.capacity()) bookedSeats.occupyAll(loaded);
+        });
+    }
+
+    /**
+     * Waits for a change being saved in the background, then goes back to the previous page.
+     * <p>
+     * The window is disabled and shows a wait cursor until the save completes, so that the
+     * user can neither edit the booking again nor leave the page in the meantime. Database
+     * errors are handled by the controller, so the page is left in any case, as before.
+     * </p>
+     *
+     * @param save the save in progress, completed on the event dispatch thread
+     * @param callingObjects the list of parent objects in the application navigation hierarchy for proper navigation
+     * @param controller the system controller providing navigation functionality
+     */
+    protected void goBackWhenSaved (CompletableFuture<?> save, List<DisposableObject> callingObjects, Controller controller) {
+
+        mainFrame.setEnabled(false);
+        mainFrame.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        save.whenComplete((ignored, e) -> {
+
+            mainFrame.setEnabled(true);
+            mainFrame.setCursor(Cursor.getDefaultCursor());
+
+            controller.goBack(callingObjects);
+        });
     }
 
     /**
@@ -1028,6 +1066,9 @@ public abstract class BookingPage extends DisposableObject {
     @Override
     public void doOnDispose (List<DisposableObject> callingObjects, Controller controller) {
 
+        //i posti scelti e non prenotati tornano disponibili agli altri utenti
+        controller.releaseSeatHolds();
+
         if (controllerDisposeFlag) {
 
             controller.getFlightController().setFlight(null);
@@ -360,18 +360,30 @@ public class BookingPageAdmin extends BookingPage {
 
         if (controller.getFlightController().getFlightStatus().toString().equalsIgnoreCase("PROGRAMMED")) {
 
-            if (controller.getFlightController().startCheckin() == 1) {
+            checkinButton.setEnabled(false);
+            mainFrame.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
 
-                new CheckinPassengers(callingObjects, controller, mainFrame.getSize(), mainFrame.getLocation(), mainFrame.getExtendedState(), false);
+            controller.getFlightController().startCheckinAsync().whenComplete((result, e) -> {
 
-                for (PassengerPanel passengerPanel : passengerPanels) {
+                checkinButton.setEnabled(true);
+                mainFrame.setCursor(Cursor.getDefaultCursor());
 
-                    if (passengerPanel.getLuggagesView() != null) passengerPanel.getLuggagesView().setVisible(false);
-                }
+                //la pagina è stata lasciata durante l'apertura del check-in
+                if (callingObjects.getLast() != this) return;
+
+                if (e == null && result == 1) {
+
+                    new CheckinPassengers(callingObjects, controller, mainFrame.getSize(), mainFrame.getLocation(), mainFrame.getExtendedState(), false);
+
+                    for (PassengerPanel passengerPanel : passengerPanels) {
+
+                        if (passengerPanel.getLuggagesView() != null) passengerPanel.getLuggagesView().setVisible(false);
+                    }
 
-                mainFrame.setVisible(false);
+                    mainFrame.setVisible(false);
 
-            } else new FloatingMessage("Lo stato del volo è rimasto invariato (controlla la data di partenza)", checkinButton, FloatingMessage.ERROR_MESSAGE);
+                } else new FloatingMessage("Lo stato del volo è rimasto invariato (controlla la data di partenza)", checkinButton, FloatingMessage.ERROR_MESSAGE);
+            });
 
         } else if (controller.getFlightController().getFlightStatus().toString().equalsIgnoreCase("ABOUT_TO_DEPART")) {
 
@@ -473,9 +485,16 @@ public class BookingPageAdmin extends BookingPage {
 
             //System.out.println("delay: " + delay);
 
-            if (controller.getFlightController().addDelay(delay) == 1)
-                new FloatingMessage("Ritardo settato correttamente", setDelayButton, FloatingMessage.SUCCESS_MESSAGE);
-            else new FloatingMessage("Il ritardo non è stato settato correttamente", setDelayButton, FloatingMessage.ERROR_MESSAGE);
+            setDelayButton.setEnabled(false);
+
+            controller.getFlightController().addDelayAsync(delay).whenComplete((result, e) -> {
+
+                setDelayButton.setEnabled(true);
+
+                if (e == null && result == 1)
+                    new FloatingMessage("Ritardo settato correttamente", setDelayButton, FloatingMessage.SUCCESS_MESSAGE);
+                else new FloatingMessage("Il ritardo non è stato settato correttamente", setDelayButton, FloatingMessage.ERROR_MESSAGE);
+            });
 
         } catch (NumberFormatException e) {
             Controller.getLogger().log(Level.SEVERE, e.getMessage());
@@ -507,6 +526,9 @@ public class BookingPageAdmin extends BookingPage {
     @Override
     public void doOnDispose (List<DisposableObject> callingObjects, Controller controller) {
 
+        //i posti scelti e non prenotati tornano disponibili agli altri utenti
+        controller.releaseSeatHolds();
+
         if (controllerDisposeFlag) {
 
             controller.getFlightController().setFlight(null);
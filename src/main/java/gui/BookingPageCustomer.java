@@ -225,9 +225,7 @@ public class BookingPageCustomer extends BookingPage {
 
                 if (Boolean.TRUE.equals(checkFlightNBookingStatus(controller))) {
 
-                    controller.getBookingController().deleteBooking();
-
-                    controller.goBack(callingObjects);
+                    goBackWhenSaved(controller.getBookingController().deleteBookingAsync(), callingObjects, controller);
                 } else new FloatingMessage("Lo stato del volo o della prenotazione non permettono di cancellare questa prenotazione",
                         modifyButton, FloatingMessage.ERROR_MESSAGE);
             }
@@ -316,7 +316,7 @@ public class CheckinPassengers extends BookingPageAdmin{
      */
     protected void setGate (Controller controller) {
 
-        if (gateButton.getText().equals("GATE")) controller.getGateController().newGate(gateButton, controller, this);
+        if (gateButton.getText().equals("GATE")) controller.getGateController().newGateAsync(gateButton, controller, this);
         else gateChooser = new GateChooser(controller, gateButton);
     }
 
@@ -345,13 +345,25 @@ public class CheckinPassengers extends BookingPageAdmin{
             @Override
             public void actionPerformed (ActionEvent e) {
 
-                ArrayList<ArrayList<String>> megaArrayList = controller.getFlightController().setCheckins(truePassengerPanels, falsePassengerPanels);
+                ArrayList<PassengerPanel> checkedIn = truePassengerPanels;
 
-                for (int i = 0; i < truePassengerPanels.size(); i++)
-                    truePassengerPanels.get(i).getLuggagesView().setLuggagesIds(megaArrayList.get(i));
+                confirmButton.setEnabled(false);
 
+                controller.getFlightController().setCheckinsAsync(truePassengerPanels, falsePassengerPanels).whenComplete((megaArrayList, ex) -> {
 
-                new FloatingMessage("Checkins effettuati con successo", confirmButton, FloatingMessage.SUCCESS_MESSAGE);
+                    confirmButton.setEnabled(true);
+
+                    if (ex != null || megaArrayList == null) {
+                        new FloatingMessage("Errore nella connessione al Database (Check-in)!", confirmButton, FloatingMessage.ERROR_MESSAGE);
+                        return;
+                    }
+
+                    for (int i = 0; i < checkedIn.size(); i++)
+                        checkedIn.get(i).getLuggagesView().setLuggagesIds(megaArrayList.get(i));
+
+
+                    new FloatingMessage("Checkins effettuati con successo", confirmButton, FloatingMessage.SUCCESS_MESSAGE);
+                });
 
                 truePassengerPanels = new ArrayList<>();
                 falsePassengerPanels = new ArrayList<>();
@@ -438,6 +450,9 @@ public class CheckinPassengers extends BookingPageAdmin{
     @Override
     public void doOnDispose (List<DisposableObject> callingObjects, Controller controller) {
 
+        //i posti scelti e non prenotati tornano disponibili agli altri utenti
+        controller.releaseSeatHolds();
+
         if (controllerDisposeFlag) {
 
             controller.getFlightController().setFlight(null);
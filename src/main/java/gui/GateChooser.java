@@ -162,7 +162,8 @@ public class GateChooser {
      * <p>
      * This method handles the gate assignment process by validating the selected gate,
      * coordinating with the gate controller for database persistence, and managing
-     * the dialog lifecycle including button state restoration and window disposal.
+     * the dialog lifecycle including button state restoration and window disposal,
+     * which happen once the assignment has been saved in the background.
      * The method ensures that only valid gate selections result in database updates.
      * </p>
      * <p>
@@ -179,11 +180,12 @@ public class GateChooser {
 
         if (id > 0) {
 
-            controller.getGateController().setGate(id, controller);
+            controller.getGateController().setGateAsync(id, controller).whenComplete((ignored, e) -> {
 
-            callingButton.setEnabled(true);
+                callingButton.setEnabled(true);
 
-            mainFrame.dispose();
+                mainFrame.dispose();
+            });
         }
     }
 
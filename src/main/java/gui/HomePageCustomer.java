@@ -9,6 +9,7 @@ import java.awt.event.ComponentEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Customer home page interface for airport flight information display and system navigation.
@@ -91,6 +92,32 @@ public class HomePageCustomer extends DisposableObject {
      */
     private final Constraints constraints;
 
+    /**
+     * Interval between two refreshes of the flight tables, in milliseconds.
+     * <p>
+     * The interval can be changed in seconds with the {@code aeroporto.board.refreshSeconds}
+     * system property; the board itself is cached, so refreshing more often than the cache
+     * time to live only shows changes made through this application sooner.
+     * </p>
+     */
+    private static final int BOARD_REFRESH_MILLIS = (int) Math.min(Integer.MAX_VALUE,
+            Math.max(1, Long.getLong("aeroporto.board.refreshSeconds", 15)) * 1000);
+
+    /**
+     * Timer refreshing the flight tables while the home page is displayed.
+     */
+    private final Timer boardRefreshTimer;
+
+    /**
+     * The refresh in progress, or null if none is running.
+     */
+    private CompletableFuture<Void> boardRefresh;
+
+    /**
+     * Cancels the registration for the flight changes pushed by the database.
+     */
+    private final Runnable unsubscribeFlightChanges;
+
     /**
      * Constructs a new HomePageCustomer interface for customer system access and flight information display.
      * <p>
@@ -134,6 +161,16 @@ public class HomePageCustomer extends DisposableObject {
         this.addDepartingPanel(controller);
         mainFrame.setVisible(true);
 
+        //aggiorna le tabelle dei voli senza ricostruire la pagina
+        boardRefreshTimer = new Timer(BOARD_REFRESH_MILLIS, e -> refreshFlightTables(controller));
+        boardRefreshTimer.start();
+
+        refreshFlightTables(controller);
+
+        //le modifiche notificate dal database aggiornano subito le tabelle, senza attendere il timer
+        unsubscribeFlightChanges = controller.getFlightController().subscribeFlightChanges(
+                () -> SwingUtilities.invokeLater(() -> refreshFlightTables(controller)));
+
 
         //resizing logic
         mainFrame.addComponentListener(new ComponentAdapter() {
@@ -389,7 +426,7 @@ public class HomePageCustomer extends DisposableObject {
      * </p>
      * <ul>
      *   <li><strong>Column Structure:</strong> Comprehensive flight information columns including ID, airline, date, route, arrival time, status, and gate</li>
-     *   <li><strong>Data Integration:</strong> Real-time data retrieval through controller's flight management system</li>
+     *   <li><strong>Data Integration:</strong> Rows loaded in the background by the first refresh of the flight tables</li>
      *   <li><strong>Table Implementation:</strong> Specialized ImminentFlightsTable for optimal flight data presentation</li>
      *   <li><strong>Layout Integration:</strong> Proper table positioning with full expansion within panel container</li>
      *   <li><strong>Scroll Support:</strong> Integrated scroll container for handling large flight data sets</li>
@@ -401,8 +438,8 @@ public class HomePageCustomer extends DisposableObject {
     private void setArrivingTable(JPanel tablePanel, Controller controller) {
 
         String[] columnTitle = {"Id", "Compagnia", "Data", "Tratta", "Orario di arrivo", "Stato del volo", "Gate"};
-        Object[][] data = controller.getFlightController().getImminentArrivingFlights();
-        arrivingTable = new ImminentFlightsTable(data, columnTitle);
+        //le righe arrivano in background con il primo aggiornamento delle tabelle
+        arrivingTable = new ImminentFlightsTable(new Object[0][0], columnTitle);
 
         constraints.setConstraints(0, 1, 1, 1, GridBagConstraints.BOTH,
                 0, 0, GridBagConstraints.CENTER);
@@ -471,7 +508,7 @@ public class HomePageCustomer extends DisposableObject {
      * </p>
      * <ul>
      *   <li><strong>Column Structure:</strong> Comprehensive flight information columns including ID, airline, date, route, departure time, status, and gate</li>
-     *   <li><strong>Data Integration:</strong> Real-time data retrieval through controller's flight management system</li>
+     *   <li><strong>Data Integration:</strong> Rows loaded in the background by the first refresh of the flight tables</li>
      *   <li><strong>Table Implementation:</strong> Specialized ImminentFlightsTable for optimal flight data presentation</li>
      *   <li><strong>Layout Integration:</strong> Proper table positioning with full expansion within panel container</li>
      *   <li><strong>Scroll Support:</strong> Integrated scroll container for handling large flight data sets</li>
@@ -483,14 +520,38 @@ public class HomePageCustomer extends DisposableObject {
     private void setDepartingTable(JPanel tablePanel, Controller controller) {
 
         String[] columnTitles = {"id", "Compagnia", "Data", "Tratta", "Orario di partenza", "Stato del volo", "Gate"};
-        Object[][] data = controller.getFlightController().getImminentDepartingFlights();
-        departingTable = new ImminentFlightsTable(data, columnTitles);
+        departingTable = new ImminentFlightsTable(new Object[0][0], columnTitles);
 
         constraints.setConstraints(0, 1, 1, 1, GridBagConstraints.BOTH,
                 0, 0, GridBagConstraints.CENTER);
         tablePanel.add(departingTable.getScrollContainer(), constraints.getGridBagConstraints());
     }
 
+    /**
+     * Reloads the imminent flights in the background and applies the differences to the flight tables.
+     * <p>
+     * Only one refresh runs at a time, and none while the home page is hidden behind
+     * another page of the navigation.
+     * </p>
+     *
+     * @param controller the system controller providing access to current flight data
+     */
+    private void refreshFlightTables(Controller controller) {
+
+        if (boardRefresh != null || !mainFrame.isShowing()) return;
+
+        boardRefresh = controller.getFlightController().refreshImminentFlightsAsync(this, (arrivals, departures) -> {
+            arrivingTable.update(arrivals);
+            departingTable.update(departures);
+
+            //l'altezza delle righe dipende dal loro numero
+            resizeTable(arrivingPanel, arrivingTable);
+            resizeTable(departingPanel, departingTable);
+        });
+
+        boardRefresh.whenComplete((ignored, e) -> boardRefresh = null);
+    }
+
     /**
      * Resize the table in input.
      *
@@ -516,6 +577,7 @@ public class HomePageCustomer extends DisposableObject {
      *   <li><strong>Customer Session Cleanup:</strong> Clearing customer controller session data to ensure privacy protection</li>
      *   <li><strong>User Session Termination:</strong> Clearing user controller session data for complete logout</li>
      *   <li><strong>Security Management:</strong> Ensuring proper session termination for customer privacy and system security</li>
+     *   <li><strong>Board Refresh Shutdown:</strong> Stopping the periodic refresh of the flight tables and the flight change notifications</li>
      * </ul>
      *
      * @param callingObjects the list of parent objects in the application navigation hierarchy for proper disposal coordination
@@ -523,6 +585,8 @@ public class HomePageCustomer extends DisposableObject {
      */
     @Override
     public void doOnDispose(List<DisposableObject> callingObjects, Controller controller) {
+        boardRefreshTimer.stop();
+        unsubscribeFlightChanges.run();
         controller.getCustomerController().setLoggedCustomer(null, null);
         controller.getUserController().setLoggedUser(null, null);
     }
@@ -542,8 +606,8 @@ public class HomePageCustomer extends DisposableObject {
      * <ul>
      *   <li><strong>Customer Session Validation:</strong> Verification and refresh of current customer information display</li>
      *   <li><strong>User Panel Refresh:</strong> Dynamic user panel replacement when customer session changes are detected</li>
-     *   <li><strong>Flight Information Update:</strong> Complete refresh of arriving and departing flight tables</li>
-     *   <li><strong>Interface Synchronization:</strong> Panel removal and recreation for current data display</li>
+     *   <li><strong>Flight Information Update:</strong> Immediate background refresh of arriving and departing flight tables</li>
+     *   <li><strong>Interface Synchronization:</strong> Only the changed flight rows are updated, without recreating the panels</li>
      * </ul>
      *
      * @param callingObjects the list of parent objects in the application navigation hierarchy for proper restoration coordination
@@ -557,12 +621,8 @@ public class HomePageCustomer extends DisposableObject {
             addUserPanel(callingObjects, controller);
         }
 
-        arrivingPanel.setVisible(false);
-        departingPanel.setVisible(false);
-        mainFrame.remove(arrivingPanel);
-        mainFrame.remove(departingPanel);
-        addArrivingPanel(controller);
-        addDepartingPanel(controller);
+        //la pagina torna visibile solo dopo il ripristino
+        SwingUtilities.invokeLater(() -> refreshFlightTables(controller));
     }
 
     /**
@@ -3,6 +3,9 @@ package gui;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Vector;
 
 /**
  * Specialized table component for displaying imminent flight information in the airport management system.
@@ -22,6 +25,7 @@ import java.awt.*;
  *   <li><strong>Fixed Table Structure:</strong> Non-reorderable columns and headers for consistent information layout</li>
  *   <li><strong>Responsive Layout:</strong> Automatic column resizing for optimal content display</li>
  *   <li><strong>Accessibility Support:</strong> Proper focus management and viewport height optimization</li>
+ *   <li><strong>Incremental Updates:</strong> New snapshots are diffed against the displayed rows, see {@link #update(Object[][])}</li>
  * </ul>
  *
  * @author Aeroporto Di Napoli
@@ -112,6 +116,71 @@ public class ImminentFlightsTable extends JTable {
         this.setFillsViewportHeight(true);
     }
 
+    /**
+     * Replaces the displayed flights with a new snapshot, notifying only the rows that changed.
+     * <p>
+     * The snapshot is compared row by row with the current content of the table model:
+     * runs of consecutive changed rows are rewritten in place and announced with a single
+     * {@code fireTableRowsUpdated} event, extra rows are appended and missing ones removed
+     * from the end. Unchanged rows generate no event and are not repainted, so the table
+     * can be refreshed periodically without flickering. An empty snapshot, returned when
+     * the flights could not be loaded, leaves the table untouched.
+     * </p>
+     *
+     * @param data the new flight information, organized by rows and columns as in the constructor
+     */
+    public void update(Object[][] data) {
+
+        if (data.length == 0) return;
+
+        DefaultTableModel model = (DefaultTableModel) getModel();
+        Vector<?> rows = model.getDataVector();
+
+        int common = Math.min(rows.size(), data.length);
+        int firstChanged = -1;
+
+        for (int i = 0; i < common; i++) {
+
+            if (sameRow((Vector<?>) rows.get(i), data[i])) {
+
+                if (firstChanged != -1) {
+                    model.fireTableRowsUpdated(firstChanged, i - 1);
+                    firstChanged = -1;
+                }
+
+            } else {
+
+                model.getDataVector().set(i, new Vector<>(Arrays.asList(data[i])));
+
+                if (firstChanged == -1) firstChanged = i;
+            }
+        }
+
+        if (firstChanged != -1) model.fireTableRowsUpdated(firstChanged, common - 1);
+
+        for (int i = common; i < data.length; i++) model.addRow(data[i]);
+
+        for (int i = rows.size() - 1; i >= data.length; i--) model.removeRow(i);
+    }
+
+    /**
+     * Tells whether a row of the table model holds the same values as a row of a snapshot.
+     *
+     * @param row the row of the table model
+     * @param values the row of the snapshot
+     * @return true if every cell is equal
+     */
+    private static boolean sameRow(Vector<?> row, Object[] values) {
+
+        if (row.size() != values.length) return false;
+
+        for (int j = 0; j < values.length; j++) {
+            if (!Objects.equals(row.get(j), values[j])) return false;
+        }
+
+        return true;
+    }
+
     /**
      * Provides access to the integrated scroll container for parent component embedding.
      *
@@ -10,6 +10,8 @@ import java.awt.event.*;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
+import java.util.logging.Level;
 
 import static java.lang.Math.max;
 
@@ -136,6 +138,11 @@ public class LogInScreen extends DisposableObject {
      */
     private JButton registerButton;
 
+    /**
+     * Whether the credentials are being verified, to ignore further login attempts meanwhile.
+     */
+    private boolean verifying = false;
+
     /**
      * Constructs a new LogInScreen interface for user authentication and system access.
      * <p>
@@ -183,11 +190,7 @@ public class LogInScreen extends DisposableObject {
         logInButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                if (!passwordField.isValidPassword()) {
-                    passwordField.showInvalidPasswordMessage(logInButton);
-                } else if(controller.verifyUser(usernameTextField.getText(), passwordField.getHashedPassword(), logInButton)) {
-                    login(callingObjects, controller);
-                }
+                verifyUser(callingObjects, controller);
             }
         });
 
@@ -197,11 +200,7 @@ public class LogInScreen extends DisposableObject {
                 super.keyReleased(e);
                 toggleLoginButton();
                 if (e.getKeyCode() == KeyEvent.VK_ENTER) {
-                    if (!passwordField.isValidPassword()) {
-                        passwordField.showInvalidPasswordMessage(logInButton);
-                    } else if(controller.verifyUser(usernameTextField.getText(), passwordField.getHashedPassword(), logInButton)) {
-                        login(callingObjects, controller);
-                    }
+                    verifyUser(callingObjects, controller);
                 }
             }
         });
@@ -212,11 +211,7 @@ public class LogInScreen extends DisposableObject {
                 super.keyReleased(e);
                 toggleLoginButton();
                 if (e.getKeyCode() == KeyEvent.VK_ENTER) {
-                    if (!passwordField.isValidPassword()) {
-                        passwordField.showInvalidPasswordMessage(logInButton);
-                    } else if(controller.verifyUser(usernameTextField.getText(), passwordField.getHashedPassword(), logInButton)) {
-                        login(callingObjects, controller);
-                    }
+                    verifyUser(callingObjects, controller);
                 }
             }
         });
@@ -279,6 +274,7 @@ public class LogInScreen extends DisposableObject {
      * The initialization process includes:
      * </p>
      * <ul>
+     *   <li><strong>Monitoring:</strong> Optional Prometheus endpoint and Flight Recorder monitoring of the event dispatch thread</li>
      *   <li><strong>Controller Initialization:</strong> Primary system controller creation for business logic coordination</li>
      *   <li><strong>Look-and-Feel Configuration:</strong> Modern UI framework setup with fallback handling</li>
      *   <li><strong>Error Handling:</strong> Graceful degradation for unsupported UI frameworks with user notification</li>
@@ -290,6 +286,8 @@ public class LogInScreen extends DisposableObject {
      * @param args command-line arguments passed to the application (currently unused but reserved for future configuration options)
      */
     public static void main(String[] args) {
+        Controller.startMonitoring();
+
         Controller controller = new Controller();
         try {
             UIManager.setLookAndFeel(new FlatLightLaf());
@@ -344,6 +342,46 @@ public class LogInScreen extends DisposableObject {
         mainFrame.setVisible(true);
     }
 
+    /**
+     * Verifies the entered credentials in the background and logs in if they are correct.
+     * <p>
+     * The login button is disabled and a wait cursor shown while the credentials are
+     * checked, so that the interface stays responsive without accepting a second attempt.
+     * </p>
+     *
+     * @param callingObjects the list of parent objects in the application navigation hierarchy for proper session management
+     * @param controller the system controller providing authentication services
+     */
+    private void verifyUser(List<DisposableObject> callingObjects, Controller controller) {
+
+        if (!passwordField.isValidPassword()) {
+            passwordField.showInvalidPasswordMessage(logInButton);
+            return;
+        }
+
+        if (verifying) return;
+
+        verifying = true;
+        logInButton.setEnabled(false);
+        mainFrame.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        controller.verifyUserAsync(this, usernameTextField.getText(), passwordField.getHashedPassword(), logInButton).whenComplete((loggedIn, e) -> {
+
+            if (e instanceof CancellationException) return;
+
+            verifying = false;
+            mainFrame.setCursor(Cursor.getDefaultCursor());
+            toggleLoginButton();
+
+            if (e != null) {
+                Controller.getLogger().log(Level.SEVERE, e.getMessage());
+                return;
+            }
+
+            if (loggedIn) login(callingObjects, controller);
+        });
+    }
+
     /**
      * Processes successful authentication and navigates to appropriate home interface based on user role.
      * <p>
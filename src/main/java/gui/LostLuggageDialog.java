@@ -13,6 +13,7 @@ import java.awt.event.MouseEvent;
 import java.sql.Date;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Modal dialog for managing lost luggage items in the airport management system.
@@ -65,6 +66,16 @@ public class LostLuggageDialog extends JDialog {
      */
     private final LostBaggageTableModel tableModel;
 
+    /**
+     * The stream filling the table, cancelled when the dialog is disposed before it ends.
+     */
+    private final CompletableFuture<Integer> loading;
+
+    /**
+     * Whether the booking of a selected lost luggage is being loaded, so that further clicks are ignored.
+     */
+    private boolean selecting = false;
+
     /**
      * Constructs a new LostLuggageDialog for comprehensive lost luggage management and overview.
      * <p>
@@ -78,7 +89,7 @@ public class LostLuggageDialog extends JDialog {
      * The initialization process includes:
      * </p>
      * <ul>
-     *   <li><strong>Data Retrieval:</strong> Comprehensive lost luggage data collection from the controller system</li>
+     *   <li><strong>Data Retrieval:</strong> Lost luggage items streamed from the controller system and appended to the table as they arrive</li>
      *   <li><strong>Table Configuration:</strong> Professional table setup with custom styling and interactive features</li>
      *   <li><strong>Event Handler Setup:</strong> Mouse event handling for interactive luggage management operations</li>
      *   <li><strong>Layout Management:</strong> Dialog sizing and positioning for optimal administrative use</li>
@@ -99,15 +110,23 @@ public class LostLuggageDialog extends JDialog {
         List<String> lastNames = new ArrayList<>();
         List<String> passengerSSNs = new ArrayList<>();
         List<String> luggageIds = new ArrayList<>();
-
-        controller.getLostLuggages(flightIds, bookingDates, firstNames, lastNames, passengerSSNs, luggageIds);
+        List<Integer> bookingIds = new ArrayList<>();
 
         tableModel = new LostBaggageTableModel(flightIds, bookingDates, firstNames, lastNames, passengerSSNs, luggageIds);
 
-        if (luggageIds.isEmpty())
-            luggageTable = new LostLuggageDialog.JTableWithEmptyMessage(tableModel, "Nessun bagaglio smarrito.");
-        else
-            luggageTable = new JTable(tableModel);
+        JTableWithEmptyMessage emptyMessageTable = new LostLuggageDialog.JTableWithEmptyMessage(tableModel, "Caricamento in corso...");
+        luggageTable = emptyMessageTable;
+
+        //le righe arrivano a blocchi mentre il cursore lato server viene letto
+        loading = controller.streamLostLuggagesAsync(callingObjects.getLast(), flightIds, bookingDates, firstNames, lastNames,
+                passengerSSNs, luggageIds, bookingIds, added -> {
+
+                    int firstRow = tableModel.getRowCount() - added;
+
+                    tableModel.fireTableRowsInserted(firstRow, firstRow + added - 1);
+                });
+
+        loading.whenComplete((count, e) -> emptyMessageTable.setEmptyMessage("Nessun bagaglio smarrito."));
 
         luggageTable.addMouseListener(new MouseAdapter() {
             @Override
@@ -118,18 +137,26 @@ public class LostLuggageDialog extends JDialog {
                 int col = table.columnAtPoint(point);
 
 
-                if (row != -1 && col == tableModel.getColumnCount() - 1) {
+                if (row != -1 && col == tableModel.getColumnCount() - 1 && !selecting) {
 
                     int index = table.rowAtPoint(point);   //index of the selectedBooking
 
-                    controller.setBookingResultSelectedFlightForLostLuaggages(index);
+                    selecting = true;
+                    setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
 
-                    new BookingPageAdmin(callingObjects, controller, callingObjects.getLast().getFrame().getSize(),
-                            callingObjects.getLast().getFrame().getLocation(), callingObjects.getLast().getFrame().getExtendedState());
+                    controller.selectLostLuggageBookingAsync(callingObjects.getLast(), bookingIds.get(index)).thenAccept(selected -> {
 
-                    dispose();
-                    callingObjects.get(callingObjects.size() - 2).getFrame().setVisible(false);
+                        selecting = false;
+                        setCursor(Cursor.getDefaultCursor());
 
+                        if (!selected || !isDisplayable()) return;
+
+                        new BookingPageAdmin(callingObjects, controller, callingObjects.getLast().getFrame().getSize(),
+                                callingObjects.getLast().getFrame().getLocation(), callingObjects.getLast().getFrame().getExtendedState());
+
+                        dispose();
+                        callingObjects.get(callingObjects.size() - 2).getFrame().setVisible(false);
+                    });
                 }
             }
         });
@@ -152,6 +179,17 @@ public class LostLuggageDialog extends JDialog {
 
     }
 
+    /**
+     * Disposes the dialog, stopping the loading of lost luggage items if it is still in progress.
+     */
+    @Override
+    public void dispose() {
+
+        loading.cancel(false);
+
+        super.dispose();
+    }
+
     /**
      * Configures comprehensive visual styling and presentation for the lost luggage display table.
      * <p>
@@ -471,7 +509,7 @@ public class LostLuggageDialog extends JDialog {
         /**
          * The message text to display when the table contains no data.
          */
-        private final String emptyMessage;
+        private String emptyMessage;
 
         /**
          * Constructs a new JTableWithEmptyMessage with a specified table model and empty state message.
@@ -494,6 +532,17 @@ public class LostLuggageDialog extends JDialog {
 
         }
 
+        /**
+         * Replaces the message displayed when the table contains no data.
+         *
+         * @param emptyMessage the localized message to display when no data is available in the table
+         */
+        public void setEmptyMessage(String emptyMessage) {
+
+            this.emptyMessage = emptyMessage;
+            repaint();
+        }
+
         /**
          * Renders the table component with a custom empty state message display when no data is present.
          * <p>
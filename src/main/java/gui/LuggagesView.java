@@ -422,9 +422,15 @@ public class LuggagesView extends JFrame {
                         if (controller.getCustomerController().getLoggedCustomer() != null) luggageStatus = "LOST";
                         else luggageStatus = "WITHDRAWABLE";
 
-                        controller.getLuggageController().lostLuggage(luggagesPanels.get(finalI).getTicket(), luggageStatus);
-
-                        new FloatingMessage("Segnalazione avvenuta con successo", lostLuggageButton, FloatingMessage.SUCCESS_MESSAGE);
+                        controller.getLuggageController().lostLuggageAsync(luggagesPanels.get(finalI).getTicket(), luggageStatus).whenComplete((ignored, ex) -> {
+
+                            if (ex == null) {
+                                new FloatingMessage("Segnalazione avvenuta con successo", lostLuggageButton, FloatingMessage.SUCCESS_MESSAGE);
+                            } else {
+                                lostLuggageButton.setEnabled(true);
+                                new FloatingMessage("Errore nella connessione al Database (Bagagli)!", lostLuggageButton, FloatingMessage.ERROR_MESSAGE);
+                            }
+                        });
                     }
                 });
 
@@ -217,8 +217,12 @@ public class ModifyAccount extends JDialog {
                                     "Questa azione non può è reversibile </html>", "Elimina account", JOptionPane.DEFAULT_OPTION,
                             JOptionPane.WARNING_MESSAGE, null, options, null);
                     if(action == 1){
-                        controller.getUserController().deleteAccount(deleteButton);
-                        controller.goToLogin(callingObjects);
+                        deleteButton.setEnabled(false);
+                        confirmButton.setEnabled(false);
+                        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+                        controller.getUserController().deleteAccountAsync(deleteButton)
+                                .whenComplete((deleted, ex) -> controller.goToLogin(callingObjects));
                     }
                 }
             }
@@ -275,17 +279,9 @@ public class ModifyAccount extends JDialog {
                     return;
                 }
                 if(newPasswordField.isEmpty() ) {
-                    if (controller.updateUser(mailTextField.getText(), usernameTextField.getText(),
-                            oldPasswordField.getHashedPassword(), confirmButton)) {
-                        controller.goHome(callingObjects);
-                        dispose();
-                    }
+                    updateUser(controller, callingObjects, oldPasswordField.getHashedPassword());
                 }else if(newPasswordField.isValidPassword()){
-                    if(controller.updateUser(mailTextField.getText(), usernameTextField.getText(),
-                            newPasswordField.getHashedPassword(), confirmButton)){
-                        controller.goHome(callingObjects);
-                        dispose();
-                    }
+                    updateUser(controller, callingObjects, newPasswordField.getHashedPassword());
                 } else{
                     newPasswordField.showInvalidPasswordMessage(confirmButton);
                 }
@@ -296,6 +292,36 @@ public class ModifyAccount extends JDialog {
         mainPanel.add(confirmButton, constraints.getGridBagConstraints());
     }
 
+    /**
+     * Saves the account changes in the background and goes back to the home page once they are saved.
+     * <p>
+     * The buttons stay disabled while the changes are being saved, so that they cannot be
+     * submitted twice; if the update fails the dialog stays open with the error message.
+     * </p>
+     *
+     * @param controller the system controller providing access to user management and navigation functionality
+     * @param callingObjects the list of parent objects in the application navigation hierarchy
+     * @param hashedPassword the pre-hashed password to save
+     */
+    private void updateUser(Controller controller, List<DisposableObject> callingObjects, String hashedPassword) {
+
+        confirmButton.setEnabled(false);
+        deleteButton.setEnabled(false);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        controller.updateUserAsync(mailTextField.getText(), usernameTextField.getText(), hashedPassword, confirmButton).thenAccept(updated -> {
+
+            confirmButton.setEnabled(true);
+            deleteButton.setEnabled(true);
+            setCursor(Cursor.getDefaultCursor());
+
+            if (updated) {
+                controller.goHome(callingObjects);
+                dispose();
+            }
+        });
+    }
+
     /**
      * Creates and configures the main form containing all user input fields with role-based functionality.
      * <p>
@@ -2,6 +2,7 @@ package gui;
 
 import com.github.lgooddatepicker.components.DatePicker;
 import controller.Controller;
+import model.SeatMap;
 
 import javax.swing.*;
 import java.awt.*;
@@ -291,9 +292,9 @@ public class PassengerPanel extends JPanel {
      *
      * @param controller the system controller providing access to passenger management, seat coordination, and system integration functionality
      * @param passengerPanels the list of existing passenger panels for multi-passenger coordination and seat availability management
-     * @param bookedSeats the list of already booked seats for conflict prevention and availability checking during seat selection operations
+     * @param bookedSeats the map of already booked seats for conflict prevention and availability checking during seat selection operations
      */
-    public PassengerPanel (Controller controller, List<PassengerPanel> passengerPanels, List<Integer> bookedSeats)
+    public PassengerPanel (Controller controller, List<PassengerPanel> passengerPanels, SeatMap bookedSeats)
     {
         super ();
 
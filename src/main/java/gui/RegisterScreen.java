@@ -216,9 +216,17 @@ public class RegisterScreen extends DisposableObject {
             @Override
             public void actionPerformed(ActionEvent e) {
                 if(passwordField.isValidPassword()){
-                    if(controller.getUserController().registerUser(mailTextField.getText(), usernameTextField.getText(), passwordField.getHashedPassword(), registerButton)){
-                        goToLoginPage(callingObjects, controller);
-                    }
+                    registerButton.setEnabled(false);
+                    mainFrame.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+                    controller.getUserController().registerUserAsync(mailTextField.getText(), usernameTextField.getText(),
+                            passwordField.getHashedPassword(), registerButton).thenAccept(registered -> {
+
+                        mainFrame.setCursor(Cursor.getDefaultCursor());
+                        toggleRegisterButton();
+
+                        if (registered && mainFrame.isDisplayable()) goToLoginPage(callingObjects, controller);
+                    });
                 } else {
                     passwordField.showInvalidPasswordMessage(registerButton);
                 }
@@ -0,0 +1,153 @@
+package gui;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.event.AdjustmentEvent;
+import java.awt.event.AdjustmentListener;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Loads the following pages of a search result as the user scrolls towards its end.
+ * <p>
+ * The pager listens to the vertical scroll bar of the {@link JScrollPane} showing a result
+ * panel. When the visible area gets within {@link #THRESHOLD} pixels of the bottom, or when
+ * the rows loaded so far do not fill the viewport, it requests the next page; a single page
+ * is requested at a time, and none once the search has no more pages. The pager removes
+ * itself from the scroll bar as soon as its panel is no longer the view of the scroll pane,
+ * so replacing the results with a new search needs no explicit cleanup.
+ * </p>
+ * <p>
+ * Pagers are created through {@link #attach}, which also notifies the table model of the
+ * result panel of the rows appended by every page.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see SearchFlightResultPanel
+ * @see SearchFlightResultPanelAdmin
+ * @see SearchBookingResultPanel
+ */
+class ScrollPager implements AdjustmentListener {
+
+    /**
+     * Distance in pixels from the bottom of the results at which the next page is requested.
+     */
+    static final int THRESHOLD = 200;
+
+    /**
+     * The scroll pane showing the results.
+     */
+    private final JScrollPane scrollPane;
+
+    /**
+     * The result panel the pages are appended to.
+     */
+    private final JComponent content;
+
+    /**
+     * Tells whether the search has more pages to load.
+     */
+    private final BooleanSupplier hasNextPage;
+
+    /**
+     * Requests the next page; the returned future completes on the event dispatch thread once the page has been appended.
+     */
+    private final Supplier<CompletableFuture<Integer>> nextPage;
+
+    /**
+     * Whether a page is being loaded.
+     */
+    private boolean loading = false;
+
+    /**
+     * Loads the following pages of a search as the user scrolls towards the end of its results.
+     * <p>
+     * The rows of each page are appended by {@code nextPage} to the lists shown by the
+     * result panel; the table model is then notified of the inserted rows and the panel
+     * revalidated, so that the scroll pane grows with the results.
+     * </p>
+     *
+     * @param scrollPane the scroll pane showing the results
+     * @param content the result panel, which must be the view of the scroll pane
+     * @param tableModel the model of the results table of the panel
+     * @param hasNextPage tells whether the search has more pages to load
+     * @param nextPage requests the next page, returning a future completed on the event dispatch thread with the number of rows appended
+     */
+    static void attach(JScrollPane scrollPane, JComponent content, AbstractTableModel tableModel,
+                       BooleanSupplier hasNextPage, Supplier<CompletableFuture<Integer>> nextPage) {
+
+        new ScrollPager(scrollPane, content, hasNextPage, () -> {
+
+            int firstRow = tableModel.getRowCount();
+
+            return nextPage.get().whenComplete((added, e) -> {
+
+                if (added != null && added > 0) {
+                    tableModel.fireTableRowsInserted(firstRow, firstRow + added - 1);
+                    content.revalidate();
+                }
+            });
+        });
+    }
+
+    /**
+     * Creates a pager and attaches it to the vertical scroll bar of a scroll pane.
+     *
+     * @param scrollPane the scroll pane showing the results
+     * @param content the result panel, which must be the view of the scroll pane
+     * @param hasNextPage tells whether the search has more pages to load
+     * @param nextPage requests the next page and appends it to the result panel
+     */
+    private ScrollPager(JScrollPane scrollPane, JComponent content, BooleanSupplier hasNextPage, Supplier<CompletableFuture<Integer>> nextPage) {
+
+        this.scrollPane = scrollPane;
+        this.content = content;
+        this.hasNextPage = hasNextPage;
+        this.nextPage = nextPage;
+
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(this);
+
+        //i risultati della prima pagina potrebbero non riempire l'area visibile
+        SwingUtilities.invokeLater(this::checkPosition);
+    }
+
+    /**
+     * Checks the scroll position whenever the scroll bar moves or the results change size.
+     *
+     * @param e the adjustment event
+     */
+    @Override
+    public void adjustmentValueChanged(AdjustmentEvent e) {
+        checkPosition();
+    }
+
+    /**
+     * Requests the next page if the visible area is close to the end of the results.
+     */
+    private void checkPosition() {
+
+        if (scrollPane.getViewport().getView() != content) {
+            scrollPane.getVerticalScrollBar().removeAdjustmentListener(this);
+            return;
+        }
+
+        if (loading || !hasNextPage.getAsBoolean()) return;
+
+        BoundedRangeModel model = scrollPane.getVerticalScrollBar().getModel();
+
+        if (model.getValue() + model.getExtent() < model.getMaximum() - THRESHOLD) return;
+
+        loading = true;
+
+        nextPage.get().whenComplete((added, e) -> {
+
+            loading = false;
+
+            //dopo un errore si riprova solo al prossimo scorrimento
+            if (e == null && added != null && added > 0) SwingUtilities.invokeLater(this::checkPosition);
+        });
+    }
+}
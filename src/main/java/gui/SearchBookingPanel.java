@@ -2,6 +2,7 @@ package gui;
 
 import com.github.lgooddatepicker.components.DatePicker;
 import com.github.lgooddatepicker.components.TimePicker;
+import controller.AsyncExecutor;
 import controller.Controller;
 
 import javax.swing.*;
@@ -14,6 +15,8 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Comprehensive booking search panel providing advanced search and filtering capabilities for customer booking management in the airport management system.
@@ -233,14 +236,15 @@ public class SearchBookingPanel extends JPanel {
             bookingDates = new ArrayList<>();
             bookingStatus = new ArrayList<>();
             flightIds = new ArrayList<>();
-            controller.getAllBooksLoogedCustomer(bookingDates, bookingStatus, flightIds, searchButton);
+            showWhenLoaded(controller.getAllBooksLoogedCustomerAsync(callingObjects.getLast(), bookingDates, bookingStatus, flightIds, searchButton),
+                    callingObjects, controller);
         }else{
             this.bookingDates = (ArrayList<Date>) controller.getBookingController().getSearchBookingResultDates();
             this.bookingStatus = (ArrayList<String>) controller.getBookingController().getSearchBookingResultStatus();
             this.flightIds = (ArrayList<String>) controller.getFlightController().getSearchBookingResultIds();
-        }
 
-        updateResultsPanel(callingObjects, controller);
+            updateResultsPanel(callingObjects, controller);
+        }
     }
 
     /**
@@ -679,9 +683,8 @@ public class SearchBookingPanel extends JPanel {
                 bookingStatus = new ArrayList<>();
                 flightIds = new ArrayList<>();
 
-                controller.searchBooksLoogedCustomerFilteredFlights(origin, destination, dateBefore, dateAfter, timeBefore, timeAfter, bookingDates, bookingStatus, flightIds, searchButton);
-
-                updateResultsPanel(callingObjects, controller);
+                showWhenLoaded(controller.searchBooksLoogedCustomerFilteredFlightsAsync(callingObjects.getLast(), origin, destination, dateBefore, dateAfter,
+                        timeBefore, timeAfter, bookingDates, bookingStatus, flightIds, searchButton), callingObjects, controller);
 
             }
             return;
@@ -728,9 +731,8 @@ public class SearchBookingPanel extends JPanel {
             bookingStatus = new ArrayList<>();
             flightIds = new ArrayList<>();
 
-            controller.searchBooksLoogedCustomerFilteredPassengers(firstName, lastName, passengerSSN, ticketNumber, bookingDates, bookingStatus, flightIds, searchButton);
-
-            updateResultsPanel(callingObjects, controller);
+            showWhenLoaded(controller.searchBooksLoogedCustomerFilteredPassengersAsync(callingObjects.getLast(), firstName, lastName, passengerSSN, ticketNumber,
+                    bookingDates, bookingStatus, flightIds, searchButton), callingObjects, controller);
         }
     }
 
@@ -766,6 +768,9 @@ public class SearchBookingPanel extends JPanel {
 
         resultsScrollPane.setViewportView(resultsPanel);
 
+        ScrollPager.attach(resultsScrollPane, resultsPanel, resultsPanel.getTableModel(), controller::hasNextBookingPage,
+                () -> controller.loadNextBookingPageAsync(callingObjects.getLast(), bookingDates, bookingStatus, flightIds, searchButton));
+
         resultsScrollPane.setBorder(BorderFactory.createEmptyBorder());
 
         resultsScrollPane.setVerticalScrollBarPolicy(ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED);
@@ -777,6 +782,36 @@ public class SearchBookingPanel extends JPanel {
         resultsScrollPane.repaint();
     }
 
+    /**
+     * Shows the results of a booking search once its first page has been loaded.
+     * <p>
+     * The results panel is emptied at once, so that the bookings of the previous search
+     * cannot be opened while the new one is loading, and the search button stays disabled
+     * until the first page arrives.
+     * </p>
+     *
+     * @param search the search started on the controller
+     * @param callingObjects the list of parent objects in the application navigation hierarchy
+     * @param controller the system controller holding the search results
+     */
+    private void showWhenLoaded(CompletableFuture<Integer> search, List<DisposableObject> callingObjects, Controller controller) {
+
+        updateResultsPanel(callingObjects, controller);
+
+        searchButton.setEnabled(false);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        search.whenComplete((added, e) -> {
+
+            if (AsyncExecutor.unwrap(e) instanceof CancellationException) return;
+
+            searchButton.setEnabled(true);
+            setCursor(Cursor.getDefaultCursor());
+
+            updateResultsPanel(callingObjects, controller);
+        });
+    }
+
     /**
      * Configures button appearance with consistent styling throughout the search interface.
      *
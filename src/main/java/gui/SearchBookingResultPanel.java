@@ -68,6 +68,11 @@ public class SearchBookingResultPanel extends JPanel {
      */
     private final BookingTableModel tableModel;
 
+    /**
+     * Whether the luggage of a selected booking is being loaded, so that further clicks are ignored.
+     */
+    private boolean opening = false;
+
     /**
      * Constructs a new SearchBookingResultPanel with comprehensive booking result display and interactive management capabilities.
      * <p>
@@ -127,13 +132,24 @@ public class SearchBookingResultPanel extends JPanel {
 
                     int index = table.rowAtPoint(point);   //index of the selectedBooking
 
-                    controller.getAllLuggagesForABooking(index);
+                    if (opening) return;
+
+                    opening = true;
+                    setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+                    controller.getAllLuggagesForABookingAsync(callingObjects.getLast(), index).whenComplete((ignored, e) -> {
+
+                        opening = false;
+                        setCursor(Cursor.getDefaultCursor());
 
-                    new BookingPageCustomer(callingObjects, controller, callingObjects.getLast().getFrame().getSize(),
-                                            callingObjects.getLast().getFrame().getLocation(), callingObjects.getLast().getFrame().getExtendedState());
+                        if (e != null) return;
 
+                        new BookingPageCustomer(callingObjects, controller, callingObjects.getLast().getFrame().getSize(),
+                                                callingObjects.getLast().getFrame().getLocation(), callingObjects.getLast().getFrame().getExtendedState());
 
-                    callingObjects.get(callingObjects.size() - 2).getFrame().setVisible(false);
+
+                        callingObjects.get(callingObjects.size() - 2).getFrame().setVisible(false);
+                    });
 
                 }
             }
@@ -150,6 +166,16 @@ public class SearchBookingResultPanel extends JPanel {
 
     }
 
+    /**
+     * Returns the model of the results table, whose rows are the lists shown by this panel.
+     *
+     * @return the table model, to be notified of the rows appended by the following pages
+     * @see ScrollPager#attach
+     */
+    AbstractTableModel getTableModel() {
+        return tableModel;
+    }
+
     /**
      * Configures comprehensive table appearance with professional styling and optimal visual presentation.
      * <p>
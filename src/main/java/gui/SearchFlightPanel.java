@@ -15,6 +15,8 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Comprehensive flight search panel providing advanced flight discovery capabilities with professional interface design for the airport management system.
@@ -158,6 +160,11 @@ public class SearchFlightPanel extends JPanel {
      */
     private boolean searchPerformed = false;
 
+    /**
+     * Flight search currently running in the background, null when no search is in progress.
+     */
+    private CompletableFuture<Void> pendingSearch;
+
     /**
      * Constructs a new SearchFlightPanel with comprehensive flight search functionality and professional interface design.
      * <p>
@@ -500,12 +507,18 @@ public class SearchFlightPanel extends JPanel {
 
             resultsScrollPane.setViewportView(resultsPanel);
 
+            ScrollPager.attach(resultsScrollPane, resultsPanel, resultsPanel.getTableModel(),
+                    controller.getFlightController()::hasNextSearchPage, () -> loadNextPage(callingObjects, controller));
+
         }else{
             SearchFlightResultPanel resultsPanel = new SearchFlightResultPanel(callingObjects, controller,
                                                         ids, companyNames, dates, departureTimes, arrivalTimes,
                                                         delays, status, maxSeats, freeSeats, cities, ifSearched);
 
             resultsScrollPane.setViewportView(resultsPanel);
+
+            ScrollPager.attach(resultsScrollPane, resultsPanel, resultsPanel.getTableModel(),
+                    controller.getFlightController()::hasNextSearchPage, () -> loadNextPage(callingObjects, controller));
         }
 
 
@@ -520,6 +533,19 @@ public class SearchFlightPanel extends JPanel {
         resultsScrollPane.repaint();
     }
 
+    /**
+     * Loads the next page of the current search into the lists shown by the results panel.
+     *
+     * @param callingObjects the list of parent objects in the application navigation hierarchy, whose last element owns the request
+     * @param controller the system controller providing access to flight search services
+     * @return a future completed on the event dispatch thread with the number of flights appended
+     */
+    private CompletableFuture<Integer> loadNextPage(List<DisposableObject> callingObjects, Controller controller) {
+
+        return controller.getFlightController().loadNextSearchPageAsync(callingObjects.getLast(),
+                ids, companyNames, dates, departureTimes, arrivalTimes, delays, status, maxSeats, freeSeats, cities, searchButton);
+    }
+
     /**
      * Configures button appearance with consistent styling throughout the flight search interface.
      * @param button the JButton component to be styled with professional appearance configuration
@@ -567,7 +593,9 @@ public class SearchFlightPanel extends JPanel {
      * error presentation.
      * <p>
      * Search execution coordination utilizes the controller's flight controller for
-     * flight search operations through the searchFlightCustomer method. The execution includes:
+     * flight search operations through the searchFlightCustomerAsync method, which runs the
+     * query in the background so the interface stays responsive; the result panel is updated
+     * on the event dispatch thread once the query completes. The execution includes:
      * </p>
      * <ul>
      *   <li><strong>Parameter Passing:</strong> Complete search criteria transfer to flight controller</li>
@@ -615,28 +643,58 @@ public class SearchFlightPanel extends JPanel {
 
             new FloatingMessage(msg, searchButton, FloatingMessage.ERROR_MESSAGE);
 
-        } else {
-
-            ids = new ArrayList<>();
-            companyNames = new ArrayList<>();
-            dates = new ArrayList<>();
-            departureTimes = new ArrayList<>();
-            arrivalTimes = new ArrayList<>();
-            delays = new ArrayList<>();
-            status = new ArrayList<>();
-            maxSeats = new ArrayList<>();
-            freeSeats = new ArrayList<>();
-            cities = new ArrayList<>();
-
-            controller.getFlightController().searchFlightCustomer(origin, destination, dateBefore, dateAfter, timeBefore, timeAfter,
-                    ids, companyNames, dates, departureTimes, arrivalTimes, delays, status,
-                    maxSeats, freeSeats, cities, searchButton);
+            updateResultsPanel(callingObjects, controller, true);
 
-            searchPerformed = true;
+        } else {
 
+            ArrayList<String> newIds = new ArrayList<>();
+            ArrayList<String> newCompanyNames = new ArrayList<>();
+            ArrayList<Date> newDates = new ArrayList<>();
+            ArrayList<Time> newDepartureTimes = new ArrayList<>();
+            ArrayList<Time> newArrivalTimes = new ArrayList<>();
+            ArrayList<Integer> newDelays = new ArrayList<>();
+            ArrayList<String> newStatus = new ArrayList<>();
+            ArrayList<Integer> newMaxSeats = new ArrayList<>();
+            ArrayList<Integer> newFreeSeats = new ArrayList<>();
+            ArrayList<String> newCities = new ArrayList<>();
+
+            //una nuova ricerca sostituisce quella eventualmente ancora in corso
+            if (pendingSearch != null) pendingSearch.cancel(false);
+
+            searchButton.setEnabled(false);
+            setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+            CompletableFuture<Void> search = controller.getFlightController().searchFlightCustomerAsync(callingObjects.getLast(),
+                    origin, destination, dateBefore, dateAfter, timeBefore, timeAfter,
+                    newIds, newCompanyNames, newDates, newDepartureTimes, newArrivalTimes, newDelays, newStatus,
+                    newMaxSeats, newFreeSeats, newCities, searchButton);
+
+            pendingSearch = search;
+
+            search.whenComplete((ignored, e) -> {
+
+                if (e instanceof CancellationException) return;
+
+                pendingSearch = null;
+                searchButton.setEnabled(true);
+                setCursor(Cursor.getDefaultCursor());
+
+                ids = newIds;
+                companyNames = newCompanyNames;
+                dates = newDates;
+                departureTimes = newDepartureTimes;
+                arrivalTimes = newArrivalTimes;
+                delays = newDelays;
+                status = newStatus;
+                maxSeats = newMaxSeats;
+                freeSeats = newFreeSeats;
+                cities = newCities;
+
+                if (e == null) searchPerformed = true;
+
+                updateResultsPanel(callingObjects, controller, true);
+            });
         }
-
-        updateResultsPanel(callingObjects, controller, true);
     }
 
     /**
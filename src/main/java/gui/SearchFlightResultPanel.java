@@ -14,6 +14,8 @@ import java.sql.Date;
 import java.sql.Time;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.logging.Level;
 
 /**
  * Customer-focused flight search results display a panel providing comprehensive flight information and booking capabilities for the airport management system.
@@ -47,6 +49,11 @@ import java.util.List;
  */
 public class SearchFlightResultPanel extends JPanel {
 
+    /**
+     * Whether the data of a selected flight is being loaded in the background.
+     */
+    private boolean loading = false;
+
     /**
      * Primary results table for displaying flight search results with integrated booking functionality.
      * <p>
@@ -131,17 +138,36 @@ public class SearchFlightResultPanel extends JPanel {
 
                     if(freeSeats.get(index) > 0 && status.get(index).equalsIgnoreCase("PROGRAMMED")){
 
+                        //evita di aprire piu' volte la stessa pagina mentre le prenotazioni vengono caricate
+                        if (loading) return;
+
+                        loading = true;
+                        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
                         controller.getFlightController().setFlight(index);
 
-                        if(controller.loadAndCheckIfOpenMyBookingsOrNewBooking()){
-                            new MyBookingsCustomerMainFrame(callingObjects, controller, callingObjects.getLast().getFrame().getSize(),
-                                    callingObjects.getLast().getFrame().getLocation(), callingObjects.getLast().getFrame().getExtendedState(), false);
-                        }else{
-                            new Book(callingObjects, controller, callingObjects.getLast().getFrame().getSize(),
-                                    callingObjects.getLast().getFrame().getLocation(), callingObjects.getLast().getFrame().getExtendedState());
-                        }
+                        controller.loadAndCheckIfOpenMyBookingsOrNewBookingAsync(callingObjects.getLast()).whenComplete((hasBookings, e) -> {
+
+                            if (e instanceof CancellationException) return;
+
+                            loading = false;
+                            setCursor(Cursor.getDefaultCursor());
 
-                        callingObjects.get(callingObjects.size() - 2).getFrame().setVisible(false);
+                            if (e != null) {
+                                Controller.getLogger().log(Level.SEVERE, e.getMessage());
+                                return;
+                            }
+
+                            if(hasBookings){
+                                new MyBookingsCustomerMainFrame(callingObjects, controller, callingObjects.getLast().getFrame().getSize(),
+                                        callingObjects.getLast().getFrame().getLocation(), callingObjects.getLast().getFrame().getExtendedState(), false);
+                            }else{
+                                new Book(callingObjects, controller, callingObjects.getLast().getFrame().getSize(),
+                                        callingObjects.getLast().getFrame().getLocation(), callingObjects.getLast().getFrame().getExtendedState());
+                            }
+
+                            callingObjects.get(callingObjects.size() - 2).getFrame().setVisible(false);
+                        });
 
                     }
 
@@ -161,6 +187,16 @@ public class SearchFlightResultPanel extends JPanel {
 
     }
 
+    /**
+     * Returns the model of the results table, whose rows are the lists shown by this panel.
+     *
+     * @return the table model, to be notified of the rows appended by the following pages
+     * @see ScrollPager#attach
+     */
+    AbstractTableModel getTableModel() {
+        return tableModel;
+    }
+
     /**
      * Configures comprehensive table appearance for flight results display.
      * <p>
@@ -14,6 +14,7 @@ import java.sql.Date;
 import java.sql.Time;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 /**
  * Administrative flight search results display a panel providing comprehensive flight management capabilities for the airport management system.
@@ -46,6 +47,11 @@ import java.util.List;
  */
 public class SearchFlightResultPanelAdmin extends JPanel {
 
+    /**
+     * Whether the data of a selected flight is being loaded in the background.
+     */
+    private boolean loading = false;
+
     /**
      * Primary administrative results table for displaying flight search results with integrated management functionality.
      */
@@ -122,12 +128,24 @@ public class SearchFlightResultPanelAdmin extends JPanel {
 
                     int index = table.rowAtPoint(point);   //index of the selectedFlight
 
-                    controller.getAllForAFlight(index);
+                    //evita di aprire piu' volte la stessa pagina mentre i dati vengono caricati
+                    if (loading) return;
+
+                    loading = true;
+                    setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+                    controller.getAllForAFlightAsync(callingObjects.getLast(), index).whenComplete((ignored, e) -> {
+
+                        if (e instanceof CancellationException) return;
 
-                    new BookingPageAdmin(callingObjects, controller, callingObjects.getLast().getFrame().getSize(),
-                            callingObjects.getLast().getFrame().getLocation(), callingObjects.getLast().getFrame().getExtendedState());
+                        loading = false;
+                        setCursor(Cursor.getDefaultCursor());
 
-                    callingObjects.get(callingObjects.size() - 2).getFrame().setVisible(false);
+                        new BookingPageAdmin(callingObjects, controller, callingObjects.getLast().getFrame().getSize(),
+                                callingObjects.getLast().getFrame().getLocation(), callingObjects.getLast().getFrame().getExtendedState());
+
+                        callingObjects.get(callingObjects.size() - 2).getFrame().setVisible(false);
+                    });
 
 
                 }
@@ -146,6 +164,16 @@ public class SearchFlightResultPanelAdmin extends JPanel {
 
     }
 
+    /**
+     * Returns the model of the results table, whose rows are the lists shown by this panel.
+     *
+     * @return the table model, to be notified of the rows appended by the following pages
+     * @see ScrollPager#attach
+     */
+    AbstractTableModel getTableModel() {
+        return tableModel;
+    }
+
     /**
      * Configures comprehensive administrative table appearance with professional styling and optimal administrative readability for flight results display.
      * <p>
@@ -1,6 +1,7 @@
 package gui;
 
 import controller.Controller;
+import model.SeatMap;
 
 import javax.swing.*;
 import java.awt.*;
@@ -68,6 +69,15 @@ public class SeatChooser extends JFrame {
      */
     private int seat;
 
+    /**
+     * Whether the hold of the last seat chosen is still being checked in the background.
+     * <p>
+     * The seats chosen meanwhile are ignored, so that the holds reach the database in the
+     * order they were chosen.
+     * </p>
+     */
+    private boolean holding;
+
     /**
      * Constructs a new SeatChooser dialog with comprehensive seat selection capabilities and multi-passenger coordination.
      * <p>
@@ -104,6 +114,11 @@ public class SeatChooser extends JFrame {
      * <p>
      * Availability integration processes booked seats collection to disable unavailable
      * seats and passenger seats collection to prevent conflicts with existing assignments.
+     * Seats temporarily held by other users while they fill in a booking are disabled as
+     * well, as soon as they are read in the background, and choosing a seat holds it through
+     * {@link Controller#holdSeatAsync(int, int)}: if another user took it in the meantime the
+     * seat is disabled and a warning is shown. The holds are released in the background
+     * when the seat is given up, without waiting for the database.
      * The integration ensures comprehensive conflict prevention and real-time availability
      * checking throughout seat selection and passenger coordination workflows.
      * </p>
@@ -111,9 +126,9 @@ public class SeatChooser extends JFrame {
      * @param controller the system controller providing access to flight capacity information and seat management functionality
      * @param callingPanel the passenger panel initiating seat selection for assignment coordination and result communication
      * @param passengerPanels the list of all passenger panels for multi-passenger coordination and conflict prevention
-     * @param bookedSeats the list of already booked seat positions for availability checking and conflict prevention
+     * @param bookedSeats the map of already booked seat positions for availability checking and conflict prevention
      */
-    public SeatChooser(Controller controller, PassengerPanel callingPanel, List<PassengerPanel> passengerPanels, List<Integer> bookedSeats) {
+    public SeatChooser(Controller controller, PassengerPanel callingPanel, List<PassengerPanel> passengerPanels, SeatMap bookedSeats) {
 
         super("Seat Chooser");
 
@@ -132,6 +147,9 @@ public class SeatChooser extends JFrame {
         confirmButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
+                //il posto precedente del passeggero non è più bloccato
+                if (callingPanel.getSeat() != seat) controller.releaseSeat(callingPanel.getSeat());
+
                 callingPanel.setSeat(seat);
                 for (PassengerPanel passengerPanel : passengerPanels) {
                     passengerPanel.getSeatButton().setEnabled(true);
@@ -143,6 +161,9 @@ public class SeatChooser extends JFrame {
         deleteButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
+                controller.releaseSeat(callingPanel.getSeat());
+                if (seat != callingPanel.getSeat()) controller.releaseSeat(seat);
+
                 callingPanel.setSeat(-1);
                 for (PassengerPanel passengerPanel : passengerPanels) {
                     passengerPanel.getSeatButton().setEnabled(true);
@@ -170,16 +191,42 @@ public class SeatChooser extends JFrame {
             seatButtons.get(finalI).addActionListener(new ActionListener() {
                 @Override
                 public void actionPerformed(ActionEvent e) {
-                    if (callingPanel.getSeat() != -1) {
-                        seatButtons.get(callingPanel.getSeat()).setEnabled(true);
-                    }
+                    if (holding) return;
+
+                    holding = true;
+
+                    //il posto scelto in precedenza in questa finestra torna libero
+                    int releasedSeat = seat != callingPanel.getSeat() ? seat : -1;
+
+                    controller.holdSeatAsync(finalI, releasedSeat).whenComplete((held, ex) -> {
+
+                        holding = false;
+
+                        //la finestra è stata chiusa durante la verifica: il posto non serve più
+                        if (!isDisplayable()) {
+                            if (Boolean.TRUE.equals(held) && finalI != callingPanel.getSeat()) controller.releaseSeat(finalI);
+                            return;
+                        }
 
-                    if (seat != -1) {
-                        seatButtons.get(seat).setEnabled(true);
-                    }
+                        if (ex != null) return;
 
-                    seat = finalI;
-                    seatButtons.get(finalI).setEnabled(false);
+                        if (!held) {
+                            seatButtons.get(finalI).setEnabled(false);
+                            new FloatingMessage("<html>Posto appena scelto da un altro utente</html>", seatButtons.get(finalI), FloatingMessage.WARNING_MESSAGE);
+                            return;
+                        }
+
+                        if (callingPanel.getSeat() != -1) {
+                            seatButtons.get(callingPanel.getSeat()).setEnabled(true);
+                        }
+
+                        if (seat != -1) {
+                            seatButtons.get(seat).setEnabled(true);
+                        }
+
+                        seat = finalI;
+                        seatButtons.get(finalI).setEnabled(false);
+                    });
                 }
             });
             seatButtons.get(i).setEnabled(true);
@@ -192,14 +239,28 @@ public class SeatChooser extends JFrame {
             this.add(seatButtons.get(i), constraints.getGridBagConstraints());
         }
 
-        for (Integer bookedSeat : bookedSeats) {
-            seatButtons.get(bookedSeat).setEnabled(false);
-        }
+        //posti già prenotati e scelti dagli altri passeggeri della prenotazione
+        SeatMap takenSeats = bookedSeats.copy();
 
         for (PassengerPanel passengerPanel : passengerPanels) {
-            if (passengerPanel.getSeat() != -1) seatButtons.get(passengerPanel.getSeat()).setEnabled(false);
+            int passengerSeat = passengerPanel.getSeat();
+            if (passengerSeat >= 0 && passengerSeat < takenSeats.capacity()) takenSeats.occupy(passengerSeat);
+        }
+
+        for (int taken = takenSeats.nextOccupiedSeat(0); taken != -1 && taken < seatButtons.size();
+             taken = takenSeats.nextOccupiedSeat(taken + 1)) {
+            seatButtons.get(taken).setEnabled(false);
         }
 
+        //posti bloccati da altri utenti, letti senza ritardare l'apertura della finestra
+        controller.getSeatsHeldByOthersAsync().thenAccept(heldSeats -> {
+
+            for (int held = heldSeats.nextOccupiedSeat(0); held != -1 && held < seatButtons.size();
+                 held = heldSeats.nextOccupiedSeat(held + 1)) {
+                if (held != seat) seatButtons.get(held).setEnabled(false);
+            }
+        });
+
         this.addWindowListener(new WindowListener() {
             @Override
             public void windowOpened(WindowEvent e) {
@@ -208,6 +269,8 @@ public class SeatChooser extends JFrame {
 
             @Override
             public void windowClosing(WindowEvent e) {
+                if (seat != callingPanel.getSeat()) controller.releaseSeat(seat);
+
                 for (PassengerPanel passengerPanel : passengerPanels) {
                     passengerPanel.getSeatButton().setEnabled(true);
                 }
@@ -181,16 +181,29 @@ public class StatusChooser {
 
                 if (comboBox.getSelectedIndex() != 0) {
 
-                    if (controller.getFlightController().setFlightStatus(comboBox.getSelectedItem()) == 1) {
+                    Object selectedStatus = comboBox.getSelectedItem();
+                    int selectedIndex = comboBox.getSelectedIndex();
 
-                        callingButton.setEnabled(true);
+                    confirmButton.setEnabled(false);
 
-                        if (comboBox.getSelectedIndex() == 2) controller.goHome(disposableObjects);
+                    controller.getFlightController().setFlightStatusAsync(selectedStatus).whenComplete((result, ex) -> {
 
-                        mainFrame.dispose();
-                    } else
-                        new FloatingMessage("Non è stato possibile cambiare lo stato del volo a: " + comboBox.getSelectedItem(),
-                                confirmButton, FloatingMessage.ERROR_MESSAGE);
+                        confirmButton.setEnabled(true);
+
+                        //la finestra è stata chiusa durante l'aggiornamento
+                        if (!mainFrame.isDisplayable()) return;
+
+                        if (ex == null && result == 1) {
+
+                            callingButton.setEnabled(true);
+
+                            if (selectedIndex == 2) controller.goHome(disposableObjects);
+
+                            mainFrame.dispose();
+                        } else
+                            new FloatingMessage("Non è stato possibile cambiare lo stato del volo a: " + selectedStatus,
+                                    confirmButton, FloatingMessage.ERROR_MESSAGE);
+                    });
                 }
 
             }
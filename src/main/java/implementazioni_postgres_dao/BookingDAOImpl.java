@@ -1,6 +1,9 @@
 package implementazioni_postgres_dao;
 
 import dao.BookingDAO;
+import dao.CustomerBookingRow;
+import dao.Page;
+import dao.SearchMode;
 import database.ConnessioneDatabase;
 
 import java.sql.*;
@@ -8,6 +11,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -119,7 +123,7 @@ public class BookingDAOImpl implements BookingDAO {
             } else throw new SQLException();
 
             //eventuale inserimento in passenger
-            insertPassengers(connection, firstNames, lastNames, birthDates, passengerSSNs);
+            upsertPassengers(connection, firstNames, lastNames, birthDates, passengerSSNs);
 
             //inserisci in ticket
             insertTickets(connection, generatedId, idFlight, ticketNumbers, passengerSSNs, seats);
@@ -223,7 +227,7 @@ public class BookingDAOImpl implements BookingDAO {
             }
 
             //eventuale inserimento in passenger
-            insertPassengers(connection, firstNames, lastNames, birthDates, passengerSSNs);
+            upsertPassengers(connection, firstNames, lastNames, birthDates, passengerSSNs);
             //inserisci in ticket
             insertTickets(connection, idBooking, idFlight, ticketNumbers, passengerSSNs, seats);
             //inserisci in luggage
@@ -257,17 +261,22 @@ public class BookingDAOImpl implements BookingDAO {
      * Inserts or updates passenger information in the database.
      * <p>
      * This private helper method manages passenger data by either creating new passenger
-     * records or updating existing ones based on SSN. It handles optional passenger
-     * information fields (first name, last name, birthdate) by including them in the
-     * SQL query only when non-null values are provided.
+     * records or updating existing ones based on SSN. Optional passenger information fields
+     * (first name, last name, birthdate) only overwrite the stored values when non-null
+     * values are provided.
      * </p>
      * <p>
-     * The method constructs dynamic SQL queries based on available data:
+     * The whole passenger list is written by a single set-based upsert
+     * ({@code INSERT ... ON CONFLICT (SSN) DO UPDATE}) that receives the passenger data as
+     * arrays, so there is neither a round trip per passenger nor a window between checking
+     * whether a passenger exists and writing it. Details:
      * </p>
      * <ul>
-     *   <li>For new passengers: INSERT with only non-null fields</li>
-     *   <li>For existing passengers: UPDATE with only non-null fields</li>
-     *   <li>SSN is always required and used as the primary identifier</li>
+     *   <li>SSNs repeated in the list are merged first, later non-null values winning,
+     *       because an upsert cannot affect the same row twice</li>
+     *   <li>Null fields are filled with the stored values before the row is proposed for
+     *       insertion ({@code COALESCE}), so the passenger triggers see the same data they
+     *       would see with a plain UPDATE of an existing passenger</li>
      * </ul>
      *
      * @param connection the database connection to use for the operation
@@ -277,100 +286,46 @@ public class BookingDAOImpl implements BookingDAO {
      * @param passengerSSNs list of passenger SSN identifiers (required)
      * @throws SQLException if a database access error occurs during passenger insertion/update
      */
-    private void insertPassengers (Connection connection, List<String> firstNames, List<String> lastNames, List<Date> birthDates, List<String> passengerSSNs) throws SQLException {
+    private void upsertPassengers (Connection connection, List<String> firstNames, List<String> lastNames, List<Date> birthDates, List<String> passengerSSNs) throws SQLException {
 
-        String query;
-        ResultSet resultSet;
+        if (passengerSSNs.isEmpty()) return;
 
-        for (int i = 0; i < passengerSSNs.size(); i++) {
-
-            query = "SELECT 1 FROM Passenger WHERE SSN = ?;";
-
-            try (PreparedStatement preparedSelectQuery = connection.prepareStatement(query)){
-
-                preparedSelectQuery.setString(1, passengerSSNs.get(i));
-
-                resultSet = preparedSelectQuery.executeQuery();
-
-                if (!resultSet.next()) {
-
-                    String firstNameValue = firstNames.get(i);
-                    String lastNameValue = lastNames.get(i);
-                    Date birthDateValue = birthDates.get(i);
-
-
-                    String query1 = "INSERT INTO Passenger (SSN";
-                    String query2 = ") VALUES (?";
-                    String query3 = ");";
-
-                    if (firstNameValue != null) {
-                        query1 += ", first_name";
-                        query2 += ", ?";
-                    }
-
-                    if (lastNameValue != null) {
-                        query1 += ", last_name";
-                        query2 += ", ?";
-                    }
-
-                    if (birthDateValue != null) {
-                        query1 += ", birth_date";
-                        query2 += ", ?";
-                    }
+        //unione dei passeggeri con lo stesso SSN, nell'ordine della lista
+        LinkedHashMap<String, Integer> positions = LinkedHashMap.newLinkedHashMap(passengerSSNs.size());
 
-                    query = query1 + query2 + query3;
+        ArrayList<String> mergedFirstNames = new ArrayList<>();
+        ArrayList<String> mergedLastNames = new ArrayList<>();
+        ArrayList<Date> mergedBirthDates = new ArrayList<>();
 
-                    try (PreparedStatement preparedInsertQuery = connection.prepareStatement(query)) {
-
-                        int index = 1;
-
-                        preparedInsertQuery.setString(index++, passengerSSNs.get(i));
-                        if (firstNameValue != null) preparedInsertQuery.setString(index++, firstNameValue);
-                        if (lastNameValue != null) preparedInsertQuery.setString(index++, lastNameValue);
-                        if (birthDateValue != null) preparedInsertQuery.setDate(index, birthDateValue);
-
-                        preparedInsertQuery.executeUpdate();
-                    }
-                } else {
-
-                    String firstNameValue = firstNames.get(i);
-                    String lastNameValue = lastNames.get(i);
-                    Date birthDateValue = birthDates.get(i);
-
-
-                    String query1 = "UPDATE Passenger set SSN = ?";
-                    String query2 = " WHERE SSN = ?;";
-
-                    if (firstNameValue != null) {
-                        query1 += ", first_name = ?";
-                    }
-
-                    if (lastNameValue != null) {
-                        query1 += ", last_name = ?";
-                    }
-
-                    if (birthDateValue != null) {
-                        query1 += ", birth_date = ?";
-                    }
+        for (int i = 0; i < passengerSSNs.size(); i++) {
 
-                    query = query1 + query2;
+            Integer position = positions.putIfAbsent(passengerSSNs.get(i), mergedFirstNames.size());
 
-                    try (PreparedStatement preparedUpdateQuery = connection.prepareStatement(query)) {
+            if (position == null) {
+                mergedFirstNames.add(firstNames.get(i));
+                mergedLastNames.add(lastNames.get(i));
+                mergedBirthDates.add(birthDates.get(i));
+            } else {
+                if (firstNames.get(i) != null) mergedFirstNames.set(position, firstNames.get(i));
+                if (lastNames.get(i) != null) mergedLastNames.set(position, lastNames.get(i));
+                if (birthDates.get(i) != null) mergedBirthDates.set(position, birthDates.get(i));
+            }
+        }
 
-                        int index = 1;
+        String query = "INSERT INTO Passenger (SSN, first_name, last_name, birth_date) " +
+                "SELECT V.SSN, COALESCE(V.first_name, P.first_name), COALESCE(V.last_name, P.last_name), COALESCE(V.birth_date, P.birth_date) " +
+                "FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::date[]) AS V(SSN, first_name, last_name, birth_date) " +
+                "LEFT JOIN Passenger P ON P.SSN = V.SSN " +
+                "ON CONFLICT (SSN) DO UPDATE SET first_name = EXCLUDED.first_name, last_name = EXCLUDED.last_name, birth_date = EXCLUDED.birth_date;";
 
-                        preparedUpdateQuery.setString(index++, passengerSSNs.get(i));
-                        if (firstNameValue != null) preparedUpdateQuery.setString(index++, firstNameValue);
-                        if (lastNameValue != null) preparedUpdateQuery.setString(index++, lastNameValue);
-                        if (birthDateValue != null) preparedUpdateQuery.setDate(index++, birthDateValue);
-                        preparedUpdateQuery.setString(index, passengerSSNs.get(i));
+        try (PreparedStatement preparedQuery = connection.prepareStatement(query)) {
 
-                        preparedUpdateQuery.executeUpdate();
-                    }
-                }
+            preparedQuery.setArray(1, connection.createArrayOf("varchar", positions.keySet().toArray()));
+            preparedQuery.setArray(2, connection.createArrayOf("varchar", mergedFirstNames.toArray()));
+            preparedQuery.setArray(3, connection.createArrayOf("varchar", mergedLastNames.toArray()));
+            preparedQuery.setArray(4, connection.createArrayOf("date", mergedBirthDates.toArray()));
 
-                resultSet.close();
-            }
+            preparedQuery.executeUpdate();
         }
     }
 
@@ -378,15 +333,15 @@ public class BookingDAOImpl implements BookingDAO {
      * Inserts ticket records into the database with optional seat assignments.
      * <p>
      * This private helper method creates ticket records for a booking, handling both
-     * seated and unseated tickets. It constructs dynamic SQL queries based on whether
-     * seat assignments are provided, and converts application seat numbering (0-based)
-     * to database storage format (1-based).
+     * seated and unseated tickets, and converts application seat numbering (0-based)
+     * to database storage format (1-based). All tickets are sent to the database as a
+     * single batch.
      * </p>
      * <p>
      * Seat handling logic:
      * </p>
      * <ul>
-     *   <li>Seat value -1: No seat assignment, seat column excluded from INSERT</li>
+     *   <li>Seat value -1: No seat assignment, seat column set to NULL</li>
      *   <li>Seat value >= 0: Seat assignment, converted to 1-based for database storage</li>
      * </ul>
      *
@@ -400,35 +355,27 @@ public class BookingDAOImpl implements BookingDAO {
      */
     private void insertTickets (Connection connection, int idBooking, String idFlight, List<String> ticketNumbers, List<String> passengerSSNs, List<Integer> seats) throws SQLException {
 
-        String query;
+        if (ticketNumbers.isEmpty()) return;
 
-        for (int i = 0; i < ticketNumbers.size(); i++) {
+        String query = "INSERT INTO Ticket (ticket_number, seat, id_booking, id_passenger, id_flight) VALUES (?, ?, ?, ?, ?);";
 
-            int seatValue = seats.get(i);
+        try (PreparedStatement preparedQuery = connection.prepareStatement(query)) {
 
-            String query1 = "INSERT INTO Ticket (ticket_number, ";
-            String query2 = "id_booking, id_passenger, id_flight) VALUES (?, ";
-            String query3 = "?, ?, ?);";
+            for (int i = 0; i < ticketNumbers.size(); i++) {
 
-            if (seatValue != -1) {
-                query1 += "seat, ";
-                query2 += "?, ";
-            }
-
-            query = query1 + query2 + query3;
-
-            try (PreparedStatement preparedQuery = connection.prepareStatement(query)) {
+                int seatValue = seats.get(i);
 
-                int index = 1;
+                preparedQuery.setString(1, ticketNumbers.get(i));
+                if (seatValue != -1) preparedQuery.setInt(2, seatValue + 1);
+                else preparedQuery.setNull(2, Types.INTEGER);
+                preparedQuery.setInt(3, idBooking);
+                preparedQuery.setString(4, passengerSSNs.get(i));
+                preparedQuery.setString(5, idFlight);
 
-                preparedQuery.setString(index++, ticketNumbers.get(i));
-                if (seatValue != -1) preparedQuery.setInt(index++, seatValue + 1);
-                preparedQuery.setInt(index++, idBooking);
-                preparedQuery.setString(index++, passengerSSNs.get(i));
-                preparedQuery.setString(index, idFlight);
-
-                preparedQuery.executeUpdate();
+                preparedQuery.addBatch();
             }
+
+            preparedQuery.executeBatch();
         }
     }
 
@@ -437,7 +384,8 @@ public class BookingDAOImpl implements BookingDAO {
      * <p>
      * This private helper method creates luggage records with the initial status of
      * 'BOOKED' for each luggage item. Each luggage item is associated with a specific
-     * ticket through the ticket number.
+     * ticket through the ticket number. All luggage items are sent to the database as a
+     * single batch.
      * </p>
      * <p>
      * All luggage items are created with:
@@ -455,17 +403,21 @@ public class BookingDAOImpl implements BookingDAO {
      */
     private void insertLuggages (Connection connection, List<String> ticketForLuggages, List<String> luggagesTypes) throws SQLException {
 
-        for (int i = 0; i < ticketForLuggages.size(); i++) {
+        if (ticketForLuggages.isEmpty()) return;
 
-            String query = "INSERT INTO Luggage (luggage_type, luggage_status, id_ticket) VALUES (?::LuggageType, 'BOOKED'::LuggageStatus, ?);";
+        String query = "INSERT INTO Luggage (luggage_type, luggage_status, id_ticket) VALUES (?::LuggageType, 'BOOKED'::LuggageStatus, ?);";
 
-            try (PreparedStatement preparedQuery = connection.prepareStatement(query)) {
+        try (PreparedStatement preparedQuery = connection.prepareStatement(query)) {
+
+            for (int i = 0; i < ticketForLuggages.size(); i++) {
 
                 preparedQuery.setObject(1, luggagesTypes.get(i));
                 preparedQuery.setString(2, ticketForLuggages.get(i));
 
-                preparedQuery.executeUpdate();
+                preparedQuery.addBatch();
             }
+
+            preparedQuery.executeBatch();
         }
     }
 
@@ -538,404 +490,167 @@ public class BookingDAOImpl implements BookingDAO {
     /**
      * {@inheritDoc}
      * <p>
-     * This implementation executes a comprehensive SQL query that joins the FLIGHT and
-     * BOOKING tables to retrieve all bookings associated with a specific customer. The
-     * query extracts both flight details and booking information, providing a complete
-     * view of the customer's travel history.
-     * </p>
-     * <p>
-     * The method processes timestamp data by extracting both date and time components
-     * from departure and arrival timestamps, and converts booking timestamps to Date
-     * objects for consistent data handling. Results are ordered by flight departure
-     * time to provide chronological organization.
-     * </p>
-     * <p>
-     * Retrieved data includes comprehensive flight information (schedules, capacity,
-     * destinations) and booking details (status, creation time, identifiers) to
-     * support customer service and self-service booking management operations.
+     * This implementation reads the bookings of the customer joined with their flights,
+     * starting after the last booking of the previous page with the row comparison
+     * {@code (F.departure_time, F.id_flight, B.id_booking) < (?, ?, ?)}.
      * </p>
      *
      * @param loggedCustomerId the unique identifier of the customer whose bookings to retrieve
-     * @param flightIds list to be populated with flight identifiers
-     * @param companyNames list to be populated with airline company names
-     * @param flightDates list to be populated with flight dates
-     * @param departureTimes list to be populated with flight departure times
-     * @param arrivalTimes list to be populated with flight arrival times
-     * @param flightStatus list to be populated with current flight status values
-     * @param maxSeats list to be populated with flight maximum seat capacity
-     * @param freeSeats list to be populated with available seats count
-     * @param cities list to be populated with destination or origin city names
-     * @param types list to be populated with flight type indicators (true for arriving, false for departing)
-     * @param bookingDates list to be populated with booking creation dates
-     * @param bookingStatus list to be populated with current booking status values
-     * @param bookingIds list to be populated with unique booking identifiers
+     * @param pageSize the maximum number of bookings to return
+     * @param continuationToken the token of the previous page, or null for the first page
+     * @return the requested page of bookings
      * @throws SQLException if a database access error occurs during the retrieval operation
+     * @throws IllegalArgumentException if the page size is not positive or the token is malformed
      */
-    public void getAllBooksCustomer(Integer loggedCustomerId, List<String> flightIds, ArrayList<String> companyNames, List<Date> flightDates,
-                                   List<Time> departureTimes, List<Time> arrivalTimes,
-                                   List<String> flightStatus, List<Integer> maxSeats, List<Integer> freeSeats,
-                                   List<String> cities, List<Boolean> types,
-                                   List<Date> bookingDates, List<String> bookingStatus, List<Integer> bookingIds) throws SQLException{
-
-
-        String query = "SELECT F.id_flight, F.company_name, F.departure_time, F.arrival_time, F.flight_status, F.max_seats, " +
-                "F.free_seats, F.destination_or_origin, F.flight_type, B.id_booking, B.booking_status, B.booking_time " +
-                "FROM FLIGHT F NATURAL JOIN BOOKING B " +
-                "WHERE B.buyer = ? "+
-                "ORDER BY F.departure_time;";
-
-
-        try (Connection connection = ConnessioneDatabase.getInstance().getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
-
-            statement.setInt(1, loggedCustomerId);
-
-            ResultSet rs = statement.executeQuery();
-
-            while (rs.next()){
-
-                flightIds.add(rs.getString("id_flight"));
-                companyNames.add(rs.getString("company_name"));
-
-                Timestamp tmpTS = rs.getTimestamp("departure_time");
-                flightDates.add(new java.sql.Date(tmpTS.getTime()));
-                departureTimes.add(new java.sql.Time(tmpTS.getTime()));
-
-                tmpTS = rs.getTimestamp("arrival_time");
-                arrivalTimes.add(new java.sql.Time(tmpTS.getTime()));
-
-                flightStatus.add(rs.getString("flight_status"));
-
-                //delays.add(rs.getInt("flight_delay"));
-
-                maxSeats.add(rs.getInt("max_seats"));
-                freeSeats.add(rs.getInt("free_seats"));
-
-                cities.add(rs.getString("destination_or_origin"));
-
-                types.add(rs.getBoolean("flight_type"));
-
-                tmpTS = rs.getTimestamp("booking_time");
-                bookingDates.add(new java.sql.Date(tmpTS.getTime()));
-
-                bookingStatus.add(rs.getString("booking_status"));
-
-                bookingIds.add(rs.getInt("id_booking"));
-
-
-            }
-
-            rs.close();
-
-            //connection.close(); non serve perchè la fa in automatico il try-with-resources
-
-
-        }
+    public Page<CustomerBookingRow> getAllBooksCustomerPage(Integer loggedCustomerId, int pageSize, String continuationToken) throws SQLException {
 
+        return readBookingPage(loggedCustomerId, new ArrayList<>(1), new ArrayList<>(1), pageSize, continuationToken);
     }
 
     /**
      * {@inheritDoc}
      * <p>
-     * This implementation constructs a dynamic SQL query based on the provided flight
-     * filtering criteria. It handles special logic for "Napoli" as the airport's base
-     * city and supports flexible filtering across multiple flight characteristics.
-     * </p>
-     * <p>
-     * The filtering logic includes:
+     * This implementation applies the flight conditions built by {@link FlightFilters} to
+     * the bookings of the customer, then pages them as {@link #getAllBooksCustomerPage} does.
      * </p>
-     * <ul>
-     *   <li>City filtering with special handling for "Napoli" (airport base city)</li>
-     *   <li>Date range filtering using inclusive BETWEEN operations</li>
-     *   <li>Time range filtering supporting both same-day and overnight spans</li>
-     *   <li>Dynamic query construction based on provided parameters</li>
-     * </ul>
      *
-     * @param departingCity the departure city name for filtering (can be null or empty)
-     * @param arrivingCity the arrival city name for filtering (can be null or empty)
-     * @param initialDate the start date for date range filtering (can be null)
-     * @param finalDate the end date for date range filtering (can be null)
-     * @param initialTime the start time for time range filtering (can be null)
-     * @param finalTime the end time for time range filtering (can be null)
+     * @param departingCity the departure city name for filtering (null or empty for no filter)
+     * @param arrivingCity the arrival city name for filtering (null or empty for no filter)
+     * @param initialDate the start date for date range filtering (null for no date filter)
+     * @param finalDate the end date for date range filtering (null for no date filter)
+     * @param initialTime the start time for time range filtering (null for no time filter)
+     * @param finalTime the end time for time range filtering (null for no time filter)
+     * @param cityMode how the city filters are matched
      * @param loggedCustomerId the unique identifier of the customer whose bookings to search
-     * @param flightIds list to be populated with matching flight identifiers
-     * @param companyNames list to be populated with airline company names
-     * @param flightDates list to be populated with flight dates
-     * @param departureTimes list to be populated with flight departure times
-     * @param arrivalTimes list to be populated with flight arrival times
-     * @param flightStatus list to be populated with current flight status values
-     * @param maxSeats list to be populated with flight maximum seat capacity
-     * @param freeSeats list to be populated with available seats count
-     * @param cities list to be populated with destination or origin city names
-     * @param types list to be populated with flight type indicators (true for departing, false for arriving)
-     * @param bookingDates list to be populated with booking creation dates
-     * @param bookingStatus list to be populated with current booking status values
-     * @param bookingIds list to be populated with unique booking identifiers
+     * @param pageSize the maximum number of bookings to return
+     * @param continuationToken the token of the previous page, or null for the first page
+     * @return the requested page of bookings
      * @throws SQLException if a database access error occurs during the search operation
+     * @throws IllegalArgumentException if the page size is not positive or the token is malformed
      */
-    public void searchBooksCustomerFilteredFlights(String departingCity, String arrivingCity, LocalDate initialDate, LocalDate finalDate, LocalTime initialTime, LocalTime finalTime,
-                                                   Integer loggedCustomerId, List<String> flightIds, List<String> companyNames, List<Date> flightDates, List<Time> departureTimes, List<Time> arrivalTimes,
-                                                   List<String> flightStatus, List<Integer> maxSeats, List<Integer> freeSeats, List<String> cities, List<Boolean> types,
-                                                   List<Date> bookingDates, List<String> bookingStatus, List<Integer> bookingIds) throws SQLException {
-
-        String query = "SELECT F.id_flight, F.company_name, F.departure_time, F.arrival_time, F.flight_status, F.max_seats, " +
-                "F.free_seats, F.destination_or_origin, F.flight_type, B.id_booking, B.booking_status, B.booking_time " +
-                "FROM FLIGHT F NATURAL JOIN BOOKING B " +
-                "WHERE B.buyer = ? ";
-
-        ArrayList<Object> searchParam = new ArrayList<>(0);
-
-        java.sql.Date dInitialDate;
-        java.sql.Date dFinalDate;
-        java.sql.Time dInitialTime;
-        java.sql.Time dFinalTime;
-
-        if(  "Napoli".equalsIgnoreCase(departingCity)   || "Napoli".equalsIgnoreCase(arrivingCity)  ||  ((departingCity == null || departingCity.trim().isEmpty()) && (arrivingCity == null || arrivingCity.trim().isEmpty()) ) ){
-
-            if( departingCity != null && !departingCity.trim().isEmpty() && !"Napoli".equalsIgnoreCase(departingCity) ){
-
-                query += "AND (F.destination_or_origin ILIKE ? AND F.flight_type = false) ";
-                searchParam.add(departingCity);
-
-            }else if( arrivingCity != null && !arrivingCity.trim().isEmpty() && !"Napoli".equalsIgnoreCase(arrivingCity)){
-
-                query += "AND (F.destination_or_origin ILIKE ? AND F.flight_type = true) ";
-                searchParam.add(arrivingCity);
-            }
-
-            if(initialDate != null && finalDate != null){
-
-                dInitialDate = java.sql.Date.valueOf(initialDate);
-                dFinalDate = java.sql.Date.valueOf(finalDate);
-
-
-                query += "AND (F.departure_time::date BETWEEN ? AND ?) ";
-
-                searchParam.add(dInitialDate);
-                searchParam.add(dFinalDate);
-
-            }
-
-            if(initialTime != null && finalTime != null){
-
-                dInitialTime = java.sql.Time.valueOf(initialTime);
-                dFinalTime = java.sql.Time.valueOf(finalTime);
-
-                String tmpCompare = "";
+    public Page<CustomerBookingRow> searchBooksCustomerFilteredFlightsPage(String departingCity, String arrivingCity, LocalDate initialDate, LocalDate finalDate,
+                                                                           LocalTime initialTime, LocalTime finalTime, SearchMode cityMode, Integer loggedCustomerId,
+                                                                           int pageSize, String continuationToken) throws SQLException {
 
-                if(initialTime.isBefore(finalTime)){
-
-                    tmpCompare += "(F.departure_time::time BETWEEN ? AND ?) ";
-
-                }else{
-                    tmpCompare += "(F.departure_time::time >= ? OR F.departure_time::time <= ?)";
-                }
-
-                query += "AND " + tmpCompare;
-
-                searchParam.add(dInitialTime);
-                searchParam.add(dFinalTime);
-
-            }
-
-            query = query.trim();
-
-            query += " ORDER BY F.departure_time DESC;";
-
-
-        }
-
-        try (Connection connection = ConnessioneDatabase.getInstance().getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
-
-            statement.setInt(1, loggedCustomerId);
-
-            for(int i = 0; i < searchParam.size(); i++){
-
-                statement.setObject( i + 2, searchParam.get(i));
-
-            }
-
-            ResultSet rs = statement.executeQuery();
-
-            while (rs.next()){
-
-                flightIds.add(rs.getString("id_flight"));
-                companyNames.add(rs.getString("company_name"));
-
-                Timestamp tmpTS = rs.getTimestamp("departure_time");
-                flightDates.add(new java.sql.Date(tmpTS.getTime()));
-                departureTimes.add(new java.sql.Time(tmpTS.getTime()));
-
-                tmpTS = rs.getTimestamp("arrival_time");
-                arrivalTimes.add(new java.sql.Time(tmpTS.getTime()));
-
-                flightStatus.add(rs.getString("flight_status"));
-
-                //delays.add(rs.getInt("flight_delay"));
-
-                maxSeats.add(rs.getInt("max_seats"));
-                freeSeats.add(rs.getInt("free_seats"));
-
-                cities.add(rs.getString("destination_or_origin"));
-
-                types.add(rs.getBoolean("flight_type"));
-
-                tmpTS = rs.getTimestamp("booking_time");
-                bookingDates.add(new java.sql.Date(tmpTS.getTime()));
-
-                bookingStatus.add(rs.getString("booking_status"));
-
-                bookingIds.add(rs.getInt("id_booking"));
-
-
-            }
-
-            rs.close();
-
-            //connection.close(); non serve perchè la fa in automatico il try-with-resources
+        ArrayList<Object> searchParam = new ArrayList<>(6);
 
+        List<String> conditions = FlightFilters.conditions("F.", departingCity, arrivingCity, initialDate, finalDate,
+                initialTime, finalTime, cityMode, searchParam);
 
+        if (conditions == null) {
+            KeysetCursor.checkPageSize(pageSize);
+            return new Page<>(List.of(), null);
         }
 
+        return readBookingPage(loggedCustomerId, conditions, searchParam, pageSize, continuationToken);
     }
 
     /**
      * {@inheritDoc}
      * <p>
-     * This implementation constructs a complex SQL query that joins FLIGHT, BOOKING,
-     * TICKET, and PASSENGER tables to enable searching based on passenger information.
-     * It uses DISTINCT to avoid duplicate results when multiple passengers in the same
-     * booking match the search criteria.
+     * This implementation checks the passenger filters with an {@code EXISTS} subquery on
+     * the tickets of each booking instead of joining them, so that each booking appears
+     * once without a {@code DISTINCT} and the scan can stop as soon as the page is full.
      * </p>
-     * <p>
-     * The search supports flexible filtering with the following criteria:
-     * </p>
-     * <ul>
-     *   <li>First name matching with case-insensitive partial matching (ILIKE)</li>
-     *   <li>Last name matching with case-insensitive partial matching (ILIKE)</li>
-     *   <li>SSN matching with case-insensitive partial matching (ILIKE)</li>
-     *   <li>Ticket number matching with case-insensitive partial matching (ILIKE)</li>
-     * </ul>
      *
      * @param firstName the passenger first name for filtering (can be null or empty)
      * @param lastName the passenger last name for filtering (can be null or empty)
      * @param passengerSSN the passenger SSN for filtering (can be null or empty)
      * @param ticketNumber the ticket number for filtering (can be null or empty)
+     * @param mode how the passenger filters are matched
      * @param loggedCustomerId the unique identifier of the customer whose bookings to search
-     * @param flightIds list to be populated with matching flight identifiers
-     * @param companyNames list to be populated with airline company names
-     * @param flightDates list to be populated with flight dates
-     * @param departureTimes list to be populated with flight departure times
-     * @param arrivalTimes list to be populated with flight arrival times
-     * @param flightStatus list to be populated with current flight status values
-     * @param maxSeats list to be populated with flight maximum seat capacity
-     * @param freeSeats list to be populated with available seats count
-     * @param cities list to be populated with destination or origin city names
-     * @param types list to be populated with flight type indicators
-     * @param bookingDates list to be populated with booking creation dates
-     * @param bookingStatus list to be populated with current booking status values
-     * @param bookingIds list to be populated with unique booking identifiers
+     * @param pageSize the maximum number of bookings to return
+     * @param continuationToken the token of the previous page, or null for the first page
+     * @return the requested page of bookings
      * @throws SQLException if a database access error occurs during the search operation
+     * @throws IllegalArgumentException if the page size is not positive or the token is malformed
      */
-    public void searchBooksCustomerFilteredPassengers(String firstName, String lastName, String passengerSSN, String ticketNumber,
-                                               Integer loggedCustomerId, List<String> flightIds, List<String> companyNames, List<Date> flightDates,
-                                               List<Time> departureTimes, List<Time> arrivalTimes, List<String> flightStatus,
-                                               List<Integer> maxSeats, List<Integer> freeSeats, List<String> cities, List<Boolean> types,
-                                               List<Date> bookingDates, List<String> bookingStatus, List<Integer> bookingIds) throws SQLException {
-
-        String query = "SELECT DISTINCT F.id_flight, F.company_name, F.departure_time, F.arrival_time, F.flight_status, F.max_seats, " +
-                       "F.free_seats, F.destination_or_origin, F.flight_type, B.id_booking, B.booking_status, B.booking_time " +
-                       "FROM FLIGHT F NATURAL JOIN BOOKING B JOIN TICKET T ON B.id_booking  = T.id_booking JOIN PASSENGER P ON T.id_passenger = P.SSN " +
-                       "WHERE B.buyer = ? ";
+    public Page<CustomerBookingRow> searchBooksCustomerFilteredPassengersPage(String firstName, String lastName, String passengerSSN, String ticketNumber,
+                                                                              SearchMode mode, Integer loggedCustomerId,
+                                                                              int pageSize, String continuationToken) throws SQLException {
 
-        ArrayList<Object> searchParam = new ArrayList<>(0);
+        ArrayList<String> passengerConditions = new ArrayList<>(4);
+        ArrayList<Object> searchParam = new ArrayList<>(4);
 
-        if(firstName != null && !firstName.trim().isEmpty()){
+        if (firstName != null && !firstName.trim().isEmpty()) {
+            passengerConditions.add("P.first_name ILIKE ?");
+            searchParam.add(mode.toPattern(firstName));
+        }
 
-            query += "AND (P.first_name ILIKE ?) ";
-            searchParam.add(firstName);
+        if (lastName != null && !lastName.trim().isEmpty()) {
+            passengerConditions.add("P.last_name ILIKE ?");
+            searchParam.add(mode.toPattern(lastName));
+        }
 
+        if (passengerSSN != null && !passengerSSN.trim().isEmpty()) {
+            passengerConditions.add("P.SSN ILIKE ?");
+            searchParam.add(mode.toPattern(passengerSSN));
         }
 
-        if(lastName != null && !lastName.trim().isEmpty()){
+        if (ticketNumber != null && !ticketNumber.trim().isEmpty()) {
+            passengerConditions.add("CAST(T.ticket_number AS text) ILIKE ?");
+            searchParam.add(mode.toPattern(ticketNumber));
+        }
 
-            query += "AND (P.last_name ILIKE ?) ";
-            searchParam.add(lastName);
+        ArrayList<String> conditions = new ArrayList<>(2);
 
+        if (!passengerConditions.isEmpty()) {
+            conditions.add("EXISTS (SELECT 1 FROM TICKET T JOIN PASSENGER P ON T.id_passenger = P.SSN " +
+                    "WHERE T.id_booking = B.id_booking AND " + String.join(" AND ", passengerConditions) + ")");
         }
 
-        if(passengerSSN != null && !passengerSSN.trim().isEmpty()){
-
-            query += "AND (P.SSN ILIKE ?) ";
-            searchParam.add(passengerSSN);
+        return readBookingPage(loggedCustomerId, conditions, searchParam, pageSize, continuationToken);
+    }
 
-        }
+    /**
+     * Reads a page of the bookings of a customer that satisfy some conditions.
+     *
+     * @param loggedCustomerId the unique identifier of the customer whose bookings to read
+     * @param conditions the additional conditions, on the aliases F (Flight) and B (Booking); the keyset condition is appended to it
+     * @param searchParam the parameters of the conditions, in order; the keyset parameters are appended to it
+     * @param pageSize the maximum number of bookings to return
+     * @param continuationToken the token of the previous page, or null for the first page
+     * @return the requested page of bookings
+     * @throws SQLException if a database access error occurs
+     * @throws IllegalArgumentException if the page size is not positive or the token is malformed
+     */
+    private Page<CustomerBookingRow> readBookingPage(Integer loggedCustomerId, List<String> conditions, List<Object> searchParam,
+                                                     int pageSize, String continuationToken) throws SQLException {
 
-        if(ticketNumber != null && !ticketNumber.trim().isEmpty()){
+        KeysetCursor.checkPageSize(pageSize);
 
-            query += "AND (T.ticket_number ILIKE ?) ";
-            searchParam.add(ticketNumber);
+        KeysetCursor after = KeysetCursor.decode(continuationToken);
 
+        if (after != null) {
+            conditions.add("(F.departure_time, F.id_flight, B.id_booking) < (?, ?, ?)");
+            searchParam.add(after.departureTime());
+            searchParam.add(after.flightId());
+            searchParam.add(after.bookingId());
         }
 
-        query = query.trim();
-
-        query += " ORDER BY F.departure_time DESC;";
+        String query = "SELECT F.id_flight, F.company_name, F.departure_time, F.arrival_time, F.flight_status, F.max_seats, " +
+                "F.free_seats, F.destination_or_origin, F.flight_type, B.id_booking, B.booking_status, B.booking_time " +
+                "FROM FLIGHT F NATURAL JOIN BOOKING B " +
+                "WHERE B.buyer = ? " +
+                (conditions.isEmpty() ? "" : "AND " + String.join(" AND ", conditions) + " ") +
+                "ORDER BY F.departure_time DESC, F.id_flight DESC, B.id_booking DESC LIMIT ?;";
 
         try (Connection connection = ConnessioneDatabase.getInstance().getConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
 
             statement.setInt(1, loggedCustomerId);
 
-            for(int i = 0; i < searchParam.size(); i++){
-
-                statement.setObject( i + 2, searchParam.get(i));
-
+            for (int i = 0; i < searchParam.size(); i++) {
+                statement.setObject(i + 2, searchParam.get(i));
             }
 
-            ResultSet rs = statement.executeQuery();
-
-            while (rs.next()){
-
-                flightIds.add(rs.getString("id_flight"));
-                companyNames.add(rs.getString("company_name"));
-
-                Timestamp tmpTS = rs.getTimestamp("departure_time");
-                flightDates.add(new java.sql.Date(tmpTS.getTime()));
-                departureTimes.add(new java.sql.Time(tmpTS.getTime()));
-
-                tmpTS = rs.getTimestamp("arrival_time");
-                arrivalTimes.add(new java.sql.Time(tmpTS.getTime()));
-
-                flightStatus.add(rs.getString("flight_status"));
-
-                //delays.add(rs.getInt("flight_delay"));
-
-                maxSeats.add(rs.getInt("max_seats"));
-                freeSeats.add(rs.getInt("free_seats"));
-
-                cities.add(rs.getString("destination_or_origin"));
-
-                types.add(rs.getBoolean("flight_type"));
-
-                tmpTS = rs.getTimestamp("booking_time");
-                bookingDates.add(new java.sql.Date(tmpTS.getTime()));
-
-                bookingStatus.add(rs.getString("booking_status"));
-
-                bookingIds.add(rs.getInt("id_booking"));
-
+            statement.setInt(searchParam.size() + 2, pageSize + 1);
 
+            try (ResultSet rs = statement.executeQuery()) {
+                return KeysetCursor.readPage(rs, RowMappers.CUSTOMER_BOOKING, pageSize,
+                        row -> new KeysetCursor(row.departureTime(), row.flightId(), row.bookingId()));
             }
-
-            rs.close();
-
-            //connection.close(); non serve perchè la fa in automatico il try-with-resources
-
-
         }
-
     }
 
     /**
@@ -1,13 +1,19 @@
 package implementazioni_postgres_dao;
 
 import dao.FlightDAO;
+import dao.FlightManifestRow;
+import dao.FlightSearchRow;
+import dao.Page;
+import dao.SearchMode;
 import database.ConnessioneDatabase;
+import model.SeatMap;
 
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.sql.Date;
 import java.util.List;
 import java.util.logging.Level;
@@ -48,6 +54,11 @@ public class FlightDAOImpl implements FlightDAO {
      */
     private static final Logger LOGGER = Logger.getLogger(FlightDAOImpl.class.getName());
 
+    /**
+     * Key of the transaction-level advisory lock serializing automatic gate assignments.
+     */
+    static final long GATE_ASSIGNMENT_LOCK = 0x4741544541535347L;
+
     /**
      * {@inheritDoc}
      * <p>
@@ -205,20 +216,13 @@ public class FlightDAOImpl implements FlightDAO {
     /**
      * {@inheritDoc}
      * <p>
-     * This implementation constructs a dynamic SQL query based on the provided filtering
-     * criteria, with special handling for "Napoli" as the airport's base location. The
-     * method supports flexible filtering across multiple flight characteristics including
-     * cities, dates, and times.
+     * This implementation builds the conditions with {@link FlightFilters} and, when a continuation token is given, adds the row comparison
+     * {@code (departure_time, id_flight) < (?, ?)} on the last flight of the previous page.
+     * The query asks for {@code pageSize + 1} rows: the extra row only tells whether a next
+     * page exists. With the {@code (departure_time, id_flight)} index created by the
+     * {@code migrazioni/V004__indice_paginazione.sql} script, each page is a bounded
+     * backward index scan.
      * </p>
-     * <p>
-     * The city filtering logic includes special cases:
-     * </p>
-     * <ul>
-     *   <li>When departing city is "Napoli" or null/empty: no city filter applied (local departures)</li>
-     *   <li>When arriving city is "Napoli" or null/empty: no city filter applied (local arrivals)</li>
-     *   <li>When departing city is not "Napoli": filters for arriving flights from that city</li>
-     *   <li>When arriving city is not "Napoli": filters for departing flights to that city</li>
-     * </ul>
      *
      * @param departingCity the departure city name for filtering (null or empty for no filter)
      * @param arrivingCity the arrival city name for filtering (null or empty for no filter)
@@ -226,206 +230,68 @@ public class FlightDAOImpl implements FlightDAO {
      * @param finalDate the end date for date range filtering (null for no date filter)
      * @param initialTime the start time for time range filtering (null for no time filter)
      * @param finalTime the end time for time range filtering (null for no time filter)
-     * @param ids list to be populated with flight identifiers
-     * @param companyNames list to be populated with airline company names
-     * @param dates list to be populated with flight dates
-     * @param departureTimes list to be populated with departure times
-     * @param arrivalTimes list to be populated with arrival times
-     * @param delays list to be populated with flight delay values in minutes
-     * @param status list to be populated with flight status values
-     * @param maxSeats list to be populated with maximum seating capacity
-     * @param freeSeats list to be populated with available seats count
-     * @param cities list to be populated with destination or origin city names
-     * @param types list to be populated with flight type indicators (true for departing, false for arriving)
+     * @param cityMode how the city filters are matched
+     * @param pageSize the maximum number of flights to return
+     * @param continuationToken the token of the previous page, or null for the first page
+     * @return the requested page of flights
      * @throws SQLException if a database access error occurs during the search operation
+     * @throws IllegalArgumentException if the page size is not positive or the token is malformed
      */
-    public void searchFlight (String departingCity, String arrivingCity, LocalDate initialDate, LocalDate finalDate, LocalTime initialTime, LocalTime finalTime,
-                              List<String> ids, List<String> companyNames, List<java.sql.Date> dates, List<Time> departureTimes, List<Time> arrivalTimes,
-                              List<Integer> delays, List<String> status, List<Integer> maxSeats, List<Integer> freeSeats, List<String> cities, List<Boolean> types) throws SQLException{
-
-
-        String query = "SELECT id_flight, company_name, departure_time, arrival_time, flight_status, max_seats, free_seats, destination_or_origin, flight_delay, flight_type " +
-                        "FROM FLIGHT " +
-                        "WHERE ";
-
-        ArrayList<Object> searchParam = new ArrayList<>(0);
-
-        java.sql.Date dInitialDate;
-        java.sql.Date dFinalDate;
-        java.sql.Time dInitialTime;
-        java.sql.Time dFinalTime;
-
-        if(  "Napoli".equalsIgnoreCase(departingCity)   || "Napoli".equalsIgnoreCase(arrivingCity)  ||  ((departingCity == null || departingCity.trim().isEmpty()) && (arrivingCity == null || arrivingCity.trim().isEmpty()) ) ){
-
-            if( departingCity != null && !departingCity.trim().isEmpty() && !"Napoli".equalsIgnoreCase(departingCity) ){
-
-                query += "(destination_or_origin ILIKE ? AND flight_type = false) ";
-                searchParam.add(departingCity);
-
-            }else if( arrivingCity != null && !arrivingCity.trim().isEmpty() && !"Napoli".equalsIgnoreCase(arrivingCity)){
-
-                query += "(destination_or_origin ILIKE ? AND flight_type = true) ";
-                searchParam.add(arrivingCity);
-            }
-
-            if(initialDate != null && finalDate != null){
-
-                dInitialDate = java.sql.Date.valueOf(initialDate);
-                dFinalDate = java.sql.Date.valueOf(finalDate);
-
-                if(query.trim().endsWith("WHERE")){
+    public Page<FlightSearchRow> searchFlightPage(String departingCity, String arrivingCity, LocalDate initialDate, LocalDate finalDate,
+                                                  LocalTime initialTime, LocalTime finalTime, SearchMode cityMode,
+                                                  int pageSize, String continuationToken) throws SQLException {
 
-                    query += "(departure_time::date BETWEEN ? AND ?) ";
+        KeysetCursor.checkPageSize(pageSize);
 
-                }else{
-
-                    query += "AND (departure_time::date BETWEEN ? AND ?) ";
-
-                }
-
-                searchParam.add(dInitialDate);
-                searchParam.add(dFinalDate);
-
-            }
-
-            if(initialTime != null && finalTime != null){
-
-                dInitialTime = java.sql.Time.valueOf(initialTime);
-                dFinalTime = java.sql.Time.valueOf(finalTime);
-
-                String tmpCompare = "";
-
-                if(initialTime.isBefore(finalTime)){
+        KeysetCursor after = KeysetCursor.decode(continuationToken);
 
-                    tmpCompare += "(departure_time::time BETWEEN ? AND ?) ";
+        ArrayList<Object> searchParam = new ArrayList<>(6);
 
-                }else{
-                    tmpCompare += "(departure_time::time >= ? OR departure_time::time <= ?)";
-                }
-
-                if(query.trim().endsWith("WHERE")){
-
-                    query += tmpCompare;
-
-                }else{
+        List<String> conditions = FlightFilters.conditions("", departingCity, arrivingCity, initialDate, finalDate,
+                initialTime, finalTime, cityMode, searchParam);
 
-                    query += "AND " + tmpCompare;
+        if (conditions == null) return new Page<>(List.of(), null);
 
-                }
+        if (after != null) {
+            conditions.add("(departure_time, id_flight) < (?, ?)");
+            searchParam.add(after.departureTime());
+            searchParam.add(after.flightId());
+        }
 
-                searchParam.add(dInitialTime);
-                searchParam.add(dFinalTime);
+        String query = "SELECT id_flight, company_name, departure_time, arrival_time, flight_status, max_seats, free_seats, destination_or_origin, flight_delay, flight_type " +
+                        "FROM FLIGHT " +
+                        (conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " ") +
+                        "ORDER BY departure_time DESC, id_flight DESC LIMIT ?;";
 
-            }
+        try (Connection connection = ConnessioneDatabase.getInstance().getConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
 
-            if(!searchParam.isEmpty()){
-                query = query.trim();
-            }else{
-                query = query.trim();
-                query = query.substring( 0, query.length() - ("WHERE".length()) );
+            for (int i = 0; i < searchParam.size(); i++) {
+                statement.setObject(i + 1, searchParam.get(i));
             }
-            query += " ORDER BY departure_time DESC;";
-
-
-
-            try (Connection connection = ConnessioneDatabase.getInstance().getConnection();
-                 PreparedStatement statement = connection.prepareStatement(query)) {
-
-                for(int i = 0; i < searchParam.size(); i++){
-
-                    statement.setObject( i + 1, searchParam.get(i));
-
-                }
-
-                ResultSet rs = statement.executeQuery();
-
-                while (rs.next()){
-
-                    ids.add(rs.getString("id_flight"));
-                    companyNames.add(rs.getString("company_name"));
-
-                    Timestamp tmpTS = rs.getTimestamp("departure_time");
-                    dates.add(new java.sql.Date(tmpTS.getTime()));
-                    departureTimes.add(new java.sql.Time(tmpTS.getTime()));
-
-                    tmpTS = rs.getTimestamp("arrival_time");
-                    arrivalTimes.add(new java.sql.Time(tmpTS.getTime()));
-
-                    status.add(rs.getString("flight_status"));
-
-                    delays.add(rs.getInt("flight_delay"));
-
-                    maxSeats.add(rs.getInt("max_seats"));
-                    freeSeats.add(rs.getInt("free_seats"));
-
-                    cities.add(rs.getString("destination_or_origin"));
-
-                    types.add(rs.getBoolean("flight_type"));
-
-                }
-
-                rs.close();
-
-                //connection.close(); non serve perchè la fa in automatico il try-with-resources
 
+            statement.setInt(searchParam.size() + 1, pageSize + 1);
 
+            try (ResultSet rs = statement.executeQuery()) {
+                return KeysetCursor.readPage(rs, RowMappers.FLIGHT_SEARCH, pageSize,
+                        row -> new KeysetCursor(row.departureTime(), row.flightId(), 0));
             }
-
         }
-
     }
 
     /**
      * {@inheritDoc}
      * <p>
-     * This implementation executes a complex SQL query that joins multiple tables (FLIGHT,
-     * BOOKING, TICKET, PASSENGER, LUGGAGE, CUSTOMER) to provide comprehensive flight
-     * information. The query uses NATURAL JOIN for FLIGHT and BOOKING tables, and explicit
-     * JOINs for other relationships to maintain data integrity.
-     * </p>
-     * <p>
-     * The method handles various data types and nullable fields appropriately:
-     * </p>
-     * <ul>
-     *   <li>Gate assignments: null when id_gate <span>&#8804;</span> 0, otherwise the gate number</li>
-     *   <li>Seat assignments: converted from 1-based database storage to 0-based application indexing</li>
-     *   <li>Luggage information: null when id_luggage <span>&#8804;</span> 0, otherwise the luggage ID</li>
-     *   <li>Timestamps: properly converted to Date objects for consistent handling</li>
-     * </ul>
-     * <p>
-     * The LEFT JOIN with LUGGAGE table ensures that tickets without associated luggage
-     * are still included in the results, providing complete flight manifest information
-     * regardless of luggage status.
+     * This implementation executes a single query joining FLIGHT, BOOKING, TICKET, PASSENGER,
+     * CUSTOMER and (with a LEFT JOIN) LUGGAGE, ordered by booking identifier. Rows are
+     * converted by the shared {@link RowMappers#FLIGHT_MANIFEST} mapper.
      * </p>
      *
      * @param flightId the unique identifier of the flight to retrieve data for
-     * @param flightGates list to be populated with gate assignments (null if not assigned)
-     * @param buyerIds list to be populated with customer identifiers who made bookings
-     * @param usernames list to be populated with customer usernames
-     * @param mails list to be populated with customer email addresses
-     * @param hashedPasswords list to be populated with customer password hashes
-     * @param bookingDates list to be populated with booking creation timestamps
-     * @param bookingStatus list to be populated with booking status values
-     * @param bookingIds list to be populated with unique booking identifiers
-     * @param ticketNumbers list to be populated with ticket numbers
-     * @param seats list to be populated with seat assignments (null if not assigned, 0-based indexing)
-     * @param checkedIns list to be populated with check-in status indicators
-     * @param firstNames list to be populated with passenger first names
-     * @param lastNames list to be populated with passenger last names
-     * @param passengerSSNs list to be populated with passenger SSN identifiers
-     * @param birthDates list to be populated with passenger birth dates
-     * @param luggageIds list to be populated with luggage identifiers (null if no luggage)
-     * @param luggageTypes list to be populated with luggage type descriptions
-     * @param luggageStatus list to be populated with luggage status values
-     * @param luggageIdsAfterCheckin list to be populated with post-checkin luggage identifiers
+     * @return the manifest rows of the flight, one per ticket and luggage item
      * @throws SQLException if a database access error occurs during the data retrieval operation
      */
-    public void getAllDataForAFlight(String flightId, List<Integer> flightGates, List<Integer> buyerIds,
-                                     List<String> usernames, List<String> mails, List<String> hashedPasswords,
-                                     List<java.sql.Date> bookingDates, List<String> bookingStatus, List<Integer> bookingIds,
-                                     List<String> ticketNumbers, List<Integer> seats, List<Boolean> checkedIns,
-                                     List<String> firstNames, List<String> lastNames, List<String> passengerSSNs, List<java.sql.Date> birthDates,
-                                     List<Integer> luggageIds, List<String> luggageTypes, List<String> luggageStatus, List<String> luggageIdsAfterCheckin) throws SQLException {
+    public List<FlightManifestRow> getFlightManifest(String flightId) throws SQLException {
 
         String query = "SELECT F.id_gate, C.id_customer, C.username, C.mail, C.hashed_password, " +
                         "B.id_booking, B.booking_status, B.booking_time, " +
@@ -436,73 +302,16 @@ public class FlightDAOImpl implements FlightDAO {
                         "WHERE F.id_flight = ? " +
                         "ORDER BY B.id_booking;";
 
-
         try (Connection connection = ConnessioneDatabase.getInstance().getConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
 
             statement.setString(1, flightId);
 
-            ResultSet rs = statement.executeQuery();
-
-            while (rs.next()){
-
-                if(rs.getInt("id_gate") > 0){
-                    flightGates.add(rs.getInt("id_gate"));
-                }else{
-                    flightGates.add(null);
-                }
-
-                buyerIds.add(rs.getInt("id_customer"));
-                usernames.add(rs.getString("username"));
-                mails.add(rs.getString("mail"));
-                hashedPasswords.add(rs.getString("hashed_password"));
-
-                Timestamp tmpTS = rs.getTimestamp("booking_time");
-                bookingDates.add(new java.sql.Date(tmpTS.getTime()));
-
-                bookingStatus.add(rs.getString("booking_status"));
-
-                bookingIds.add(rs.getInt("id_booking"));
-
-                ticketNumbers.add(rs.getString("ticket_number"));
-
-                if(rs.getInt("seat") > 0){
-                    seats.add(rs.getInt("seat") - 1);
-                }else{
-                    seats.add(null);
-                }
-
-                checkedIns.add(rs.getBoolean("checked_in"));
-
-                firstNames.add(rs.getString("first_name"));
-
-                lastNames.add(rs.getString("last_name"));
-
-                passengerSSNs.add(rs.getString("SSN"));
-
-                birthDates.add(rs.getDate("birth_date"));
-
-                if(rs.getInt("id_luggage") > 0){
-                    luggageIds.add(rs.getInt("id_luggage"));
-                }else{
-                    luggageIds.add(null);
-                }
-
-                luggageIdsAfterCheckin.add(rs.getString("id_luggage_after_check_in"));
-
-                luggageTypes.add(rs.getString("luggage_type"));
-
-                luggageStatus.add(rs.getString("luggage_status"));
+            try (ResultSet rs = statement.executeQuery()) {
 
+                return RowMappers.mapAll(rs, RowMappers.FLIGHT_MANIFEST);
             }
-
-            rs.close();
-
-            //connection.close(); non serve perchè la fa in automatico il try-with-resources
-
-
         }
-
     }
 
     /**
@@ -565,53 +374,48 @@ public class FlightDAOImpl implements FlightDAO {
     /**
      * {@inheritDoc}
      * <p>
-     * This method queries the database to find all seat assignments for tickets associated
-     * with a specific flight. It excludes bookings with 'CANCELLED' status to provide
-     * accurate seat availability information for booking and seat selection operations.
-     * </p>
-     * <p>
-     * The method handles seat number conversion from database storage (1-based) to
-     * application indexing (0-based) for consistency with the application's seat
-     * management system. Seats with value 0 or null in the database are not included
-     * in the results as they represent unassigned seats.
-     * </p>
-     * <p>
-     * An optional booking ID parameter allows excluding a specific booking from the
-     * results, which is useful during booking modifications where the current booking's
-     * seats should not be considered as occupied.
+     * The flight is left-joined with its non-cancelled tickets, so that a single query
+     * returns both the capacity of the flight and the assigned seats; seat numbers are
+     * converted from database storage (1-based) to the 0-based indexing of {@link SeatMap},
+     * and unassigned seats (null) are skipped.
      * </p>
      *
      * @param flightId the unique identifier of the flight to check seat availability for
-     * @param bookingId optional booking ID to exclude from results (can be null)
-     * @param bookedSeats list to be populated with booked seat numbers (0-based indexing)
+     * @param bookingId optional booking ID whose seats are considered free (can be null)
+     * @return the seat map of the flight, with no seats if the flight does not exist
+     * @throws SQLException if a database access error occurs during the data retrieval operation
      */
-    public void getBookedSeats(String flightId, Integer bookingId, List<Integer> bookedSeats) {
+    public SeatMap getSeatMap(String flightId, Integer bookingId) throws SQLException {
 
-        String query = "SELECT seat FROM Ticket NATURAL JOIN Booking WHERE id_flight LIKE ? AND booking_status <> 'CANCELLED'";
-
-        if (bookingId != null) query += " AND id_booking <> " + bookingId;
-        query += ";";
+        String query = "SELECT F.max_seats, T.seat FROM Flight F LEFT JOIN " +
+                "(Ticket T JOIN Booking B ON T.id_booking = B.id_booking AND B.booking_status <> 'CANCELLED'" +
+                (bookingId != null ? " AND B.id_booking <> ?" : "") + ") " +
+                "ON T.id_flight = F.id_flight " +
+                "WHERE F.id_flight = ?;";
 
         try (Connection connection = ConnessioneDatabase.getInstance().getConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
 
-            statement.setString(1, flightId);
+            int index = 1;
 
-            ResultSet rs = statement.executeQuery();
+            if (bookingId != null) statement.setInt(index++, bookingId);
+            statement.setString(index, flightId);
 
-            while (rs.next()){
+            try (ResultSet rs = statement.executeQuery()) {
 
-                int tmpSeat = rs.getInt("seat");
+                SeatMap seatMap = null;
 
-                if (tmpSeat != 0) bookedSeats.add(tmpSeat - 1);
-            }
+                while (rs.next()) {
 
-            rs.close();
+                    if (seatMap == null) seatMap = new SeatMap(rs.getInt("max_seats"));
 
-            ConnessioneDatabase.getInstance().closeConnection();
+                    int seat = rs.getInt("seat") - 1;
 
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, e.getSQLState());
+                    if (!rs.wasNull() && seat >= 0 && seat < seatMap.capacity()) seatMap.occupy(seat);
+                }
+
+                return seatMap != null ? seatMap : new SeatMap(0);
+            }
         }
     }
 
@@ -648,19 +452,16 @@ public class FlightDAOImpl implements FlightDAO {
     /**
      * {@inheritDoc}
      * <p>
-     * This method implements automatic gate assignment by iterating through gates 1-20
-     * and finding the first available gate (not assigned to any non-cancelled flight).
-     * Once an available gate is found, it is immediately assigned to the specified flight.
+     * This implementation finds and claims the lowest free gate with a single
+     * {@code UPDATE ... FROM generate_series(1, 20) ... RETURNING} statement, instead of
+     * probing the gates one query at a time, so the number of round trips does not depend
+     * on how many gates are busy.
      * </p>
      * <p>
-     * The method uses database transactions to ensure atomicity of the gate assignment
-     * process. It checks each gate's availability and assigns the first free gate,
-     * preventing race conditions in concurrent gate assignment operations.
-     * </p>
-     * <p>
-     * Gate availability is determined by checking if any flights are currently assigned
-     * to the gate with a status other than 'CANCELLED'. This ensures that cancelled
-     * flights do not block gate availability for operational flights.
+     * Before the update, the transaction takes the {@link #GATE_ASSIGNMENT_LOCK} advisory
+     * lock, released automatically at commit or rollback. Concurrent assignments are
+     * therefore serialized, and since the update runs as a new statement after the lock is
+     * granted, it always sees the gates claimed by the transactions that held the lock before.
      * </p>
      *
      * @param idFlight the unique identifier of the flight to assign a gate to
@@ -668,46 +469,41 @@ public class FlightDAOImpl implements FlightDAO {
      */
     public int searchGate(String idFlight) {
 
-        try (Connection connection = ConnessioneDatabase.getInstance().getConnection();) {
-
-            connection.setAutoCommit(false);
-
-            String query = "SELECT * FROM Flight WHERE id_gate = ? AND flight_status <> 'CANCELLED' AND flight_status <> 'DEPARTED' AND flight_status <> 'LANDED');";
-            ResultSet resultSet;
-
-            for (int i = 1; i <= 20; i++) {
+        String lockQuery = "SELECT pg_advisory_xact_lock(?);";
 
+        String query = "UPDATE Flight SET id_gate = G.gate " +
+                "FROM (SELECT gate FROM generate_series(1, 20) AS gate " +
+                "WHERE NOT EXISTS (SELECT 1 FROM Flight F WHERE F.id_gate = gate " +
+                "AND F.flight_status NOT IN ('CANCELLED', 'DEPARTED', 'LANDED')) " +
+                "ORDER BY gate LIMIT 1) AS G " +
+                "WHERE id_flight = ? " +
+                "RETURNING G.gate;";
 
-                try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-
-                    preparedStatement.setInt(1, i);
-
-                    resultSet = preparedStatement.executeQuery();
-                }
+        try (Connection connection = ConnessioneDatabase.getInstance().getConnection()) {
 
-                if (!resultSet.next()) {
+            connection.setAutoCommit(false);
 
-                    resultSet.close();
+            try (PreparedStatement preparedStatement = connection.prepareStatement(lockQuery)) {
 
-                    query = "UPDATE Flight SET id_gate = ? WHERE id_flight = ?;";
+                preparedStatement.setLong(1, GATE_ASSIGNMENT_LOCK);
 
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+                preparedStatement.executeQuery().close();
+            }
 
-                        preparedStatement.setInt(1, i);
-                        preparedStatement.setString(2, idFlight);
+            int idGate = -1;
 
-                        preparedStatement.executeUpdate();
-                    }
+            try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
 
-                    connection.commit();
+                preparedStatement.setString(1, idFlight);
 
-                    return i;
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (resultSet.next()) idGate = resultSet.getInt(1);
                 }
-
-                resultSet.close();
             }
 
-            return -1;
+            connection.commit();
+
+            return idGate;
 
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, e.getSQLState());
@@ -845,110 +641,111 @@ public class FlightDAOImpl implements FlightDAO {
     /**
      * {@inheritDoc}
      * <p>
-     * This method efficiently updates the check-in status for multiple tickets using
-     * separate lists for tickets to be checked in (true) and tickets to be unchecked
-     * (false). This batch approach reduces database round trips and ensures consistent
-     * check-in status updates.
-     * </p>
-     * <p>
-     * The method uses database transactions to ensure all check-in status changes
-     * are applied atomically. This is particularly important for group bookings
-     * where multiple passengers' check-in status needs to be updated simultaneously.
+     * This implementation runs, in one transaction, one set-based UPDATE per list, receiving
+     * the ticket numbers as an array ({@code ticket_number = ANY(?)}), and a single luggage
+     * query grouped by ticket in memory: three statements whatever the number of passengers
+     * boarding.
      * </p>
      *
      * @param trueTickets list of ticket numbers to set check-in status to true
      * @param falseTickets list of ticket numbers to set check-in status to false
+     * @return nested list where each inner list contains the luggage identifiers of the corresponding
+     *         ticket in {@code trueTickets}, null if an error occurs
      */
-    public void setCheckins (ArrayList<String> trueTickets, ArrayList<String> falseTickets) {
-
-        String query = "UPDATE Ticket SET checked_in = ? WHERE ticket_number = ?;";
+    public ArrayList<ArrayList<String>> checkinTickets (List<String> trueTickets, List<String> falseTickets) {
 
         try (Connection connection = ConnessioneDatabase.getInstance().getConnection()) {
 
             connection.setAutoCommit(false);
 
-            for (String ticket : trueTickets) {
+            updateCheckins(connection, trueTickets, falseTickets);
 
-                try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            ArrayList<ArrayList<String>> idLuggages = selectLuggagesCheckins(connection, trueTickets);
 
-                    preparedStatement.setBoolean(1, true);
-                    preparedStatement.setString(2, ticket);
+            connection.commit();
 
-                    preparedStatement.executeUpdate();
-                }
-            }
+            return idLuggages;
+
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, e.getSQLState());
 
-            for (String ticket : falseTickets) {
+            return null;
+        }
+    }
 
-                try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+    /**
+     * Applies the check-in flags with one UPDATE per list.
+     *
+     * @param connection the connection, with auto-commit disabled, to run the updates on
+     * @param trueTickets list of ticket numbers to set check-in status to true
+     * @param falseTickets list of ticket numbers to set check-in status to false
+     * @throws SQLException if a database access error occurs
+     */
+    private void updateCheckins (Connection connection, List<String> trueTickets, List<String> falseTickets) throws SQLException {
 
-                    preparedStatement.setBoolean(1, false);
-                    preparedStatement.setString(2, ticket);
+        String query = "UPDATE Ticket SET checked_in = ? WHERE ticket_number = ANY(CAST(? AS bpchar[]));";
 
-                    preparedStatement.executeUpdate();
-                }
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+
+            if (!trueTickets.isEmpty()) {
+
+                preparedStatement.setBoolean(1, true);
+                preparedStatement.setArray(2, connection.createArrayOf("varchar", trueTickets.toArray()));
+
+                preparedStatement.executeUpdate();
             }
 
-            connection.commit();
+            if (!falseTickets.isEmpty()) {
 
-        } catch (SQLException e) {
+                preparedStatement.setBoolean(1, false);
+                preparedStatement.setArray(2, connection.createArrayOf("varchar", falseTickets.toArray()));
 
-            LOGGER.log(Level.SEVERE, e.getSQLState());
+                preparedStatement.executeUpdate();
+            }
         }
-
     }
 
     /**
-     * {@inheritDoc}]
-     * <p>
-     * This method queries the database to retrieve luggage identifiers assigned after
-     * check-in for a list of tickets. These identifiers are used for luggage tracking
-     * during the baggage handling process after passengers have checked in.
-     * </p>
-     * <p>
-     * The method returns a nested list structure where each inner list contains all
-     * luggage identifiers associated with a specific ticket. This allows for proper
-     * correlation between tickets and their associated luggage items.
-     * </p>
-     * <p>
-     * Post-checkin luggage identifiers are typically assigned during the check-in
-     * process and are used for physical luggage tracking throughout the airport
-     * baggage handling system.
-     * </p>
+     * Reads the post-checkin luggage identifiers of several tickets with a single query.
      *
+     * @param connection the connection to run the query on
      * @param tickets list of ticket numbers to retrieve luggage identifiers for
-     * @return nested list where each inner list contains luggage identifiers for the corresponding ticket, null if an error occurs
+     * @return nested list where each inner list contains luggage identifiers for the corresponding ticket
+     * @throws SQLException if a database access error occurs
      */
-    public ArrayList<ArrayList<String>> getLuggagesCheckins (ArrayList<String> tickets) {
+    private ArrayList<ArrayList<String>> selectLuggagesCheckins (Connection connection, List<String> tickets) throws SQLException {
 
-        try (Connection connection = ConnessioneDatabase.getInstance().getConnection()) {
+        ArrayList<ArrayList<String>> idLuggages = new ArrayList<>(tickets.size());
 
-            ArrayList<ArrayList<String>> idLuggages = new ArrayList<ArrayList<String>>();
+        if (tickets.isEmpty()) return idLuggages;
 
-            String query = "SELECT id_luggage_after_check_in FROM Luggage WHERE id_ticket = ?;";
+        HashMap<String, ArrayList<String>> luggagesByTicket = HashMap.newHashMap(tickets.size());
 
-            for (String ticket : tickets) {
+        for (String ticket : tickets) {
 
-                ArrayList<String> tmpArrayList = new ArrayList<String>();
+            ArrayList<String> tmpArrayList = luggagesByTicket.computeIfAbsent(ticket, key -> new ArrayList<>());
 
-                PreparedStatement preparedStatement = connection.prepareStatement(query);
-                preparedStatement.setString(1, ticket);
+            idLuggages.add(tmpArrayList);
+        }
 
-                ResultSet resultSet = preparedStatement.executeQuery();
+        String query = "SELECT id_ticket, id_luggage_after_check_in FROM Luggage " +
+                "WHERE id_ticket = ANY(CAST(? AS bpchar[])) ORDER BY id_luggage;";
 
-                while (resultSet.next()) tmpArrayList.add(resultSet.getString("id_luggage_after_check_in"));
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
 
-                idLuggages.add(tmpArrayList);
+            preparedStatement.setArray(1, connection.createArrayOf("varchar", tickets.toArray()));
 
-                resultSet.close();
-            }
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
 
-            return idLuggages;
+                while (resultSet.next()) {
 
-        } catch (SQLException e) {
-            e.printStackTrace();
+                    ArrayList<String> tmpArrayList = luggagesByTicket.get(resultSet.getString("id_ticket"));
 
-            return null;
+                    if (tmpArrayList != null) tmpArrayList.add(resultSet.getString("id_luggage_after_check_in"));
+                }
+            }
         }
+
+        return idLuggages;
     }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package implementazioni_postgres_dao;
+
+import dao.SearchMode;
+
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builder of the city, date and time conditions shared by the flight and booking searches.
+ * <p>
+ * The conditions follow the rules of {@link dao.FlightDAO#searchFlightPage}: one of the two
+ * cities must be "Napoli" (or both must be empty), the other one selects departing or
+ * arriving flights, dates are turned into a half-open range on the departure timestamp
+ * and time ranges may span midnight.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see FlightDAOImpl
+ * @see BookingDAOImpl
+ */
+final class FlightFilters {
+
+    /**
+     * Private constructor: this class only holds static helpers.
+     */
+    private FlightFilters() {
+    }
+
+    /**
+     * Builds the conditions selecting the flights that match the search criteria.
+     *
+     * @param alias the alias of the Flight table followed by a dot, or an empty string
+     * @param departingCity the departure city name (null or empty for no filter)
+     * @param arrivingCity the arrival city name (null or empty for no filter)
+     * @param initialDate the start date (null for no date filter)
+     * @param finalDate the end date (null for no date filter)
+     * @param initialTime the start time (null for no time filter)
+     * @param finalTime the end time (null for no time filter)
+     * @param cityMode how the city filters are matched
+     * @param params the list the parameters of the conditions are appended to
+     * @return the conditions to combine with AND, or null if no flight can match (neither city is "Napoli")
+     */
+    static List<String> conditions(String alias, String departingCity, String arrivingCity, LocalDate initialDate, LocalDate finalDate,
+                                   LocalTime initialTime, LocalTime finalTime, SearchMode cityMode, List<Object> params) {
+
+        boolean noDeparting = departingCity == null || departingCity.trim().isEmpty();
+        boolean noArriving = arrivingCity == null || arrivingCity.trim().isEmpty();
+
+        if (!"Napoli".equalsIgnoreCase(departingCity) && !"Napoli".equalsIgnoreCase(arrivingCity) && !(noDeparting && noArriving)) {
+            return null;
+        }
+
+        List<String> conditions = new ArrayList<>(4);
+
+        if (!noDeparting && !"Napoli".equalsIgnoreCase(departingCity)) {
+
+            conditions.add("(" + alias + "destination_or_origin ILIKE ? AND " + alias + "flight_type = false)");
+            params.add(cityMode.toPattern(departingCity));
+
+        } else if (!noArriving && !"Napoli".equalsIgnoreCase(arrivingCity)) {
+
+            conditions.add("(" + alias + "destination_or_origin ILIKE ? AND " + alias + "flight_type = true)");
+            params.add(cityMode.toPattern(arrivingCity));
+        }
+
+        if (initialDate != null && finalDate != null) {
+
+            //intervallo semiaperto [inizio del giorno iniziale, inizio del giorno successivo a quello finale)
+            conditions.add("(" + alias + "departure_time >= ? AND " + alias + "departure_time < ?)");
+            params.add(Timestamp.valueOf(initialDate.atStartOfDay()));
+            params.add(Timestamp.valueOf(finalDate.plusDays(1).atStartOfDay()));
+        }
+
+        if (initialTime != null && finalTime != null) {
+
+            if (initialTime.isBefore(finalTime)) {
+                conditions.add("(" + alias + "departure_time::time BETWEEN ? AND ?)");
+            } else {
+                conditions.add("(" + alias + "departure_time::time >= ? OR " + alias + "departure_time::time <= ?)");
+            }
+
+            params.add(Time.valueOf(initialTime));
+            params.add(Time.valueOf(finalTime));
+        }
+
+        return conditions;
+    }
+}
@@ -0,0 +1,124 @@
+package implementazioni_postgres_dao;
+
+import dao.Page;
+import dao.RowMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Position of the last row of a page in the {@code (departure_time, id_flight, id_booking)} order of the paged searches.
+ * <p>
+ * The paged searches sort their results by departure time, flight id and (for bookings)
+ * booking id, all descending, and read the next page with a row comparison such as
+ * {@code (departure_time, id_flight) < (?, ?)}. The columns of the last row returned are
+ * encoded in the opaque continuation token of {@link Page}: a URL-safe Base64 string, so
+ * that callers never depend on its contents. Flight searches use a booking id of 0.
+ * </p>
+ *
+ * @param departureTime the departure time of the last row
+ * @param flightId the flight id of the last row
+ * @param bookingId the booking id of the last row, 0 for flight searches
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see Page
+ */
+record KeysetCursor(Timestamp departureTime, String flightId, int bookingId) {
+
+    /**
+     * Separator of the fields inside the token; the flight id is the last field, so it may contain it.
+     */
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Encodes the cursor as a continuation token.
+     *
+     * @return the opaque token
+     */
+    String encode() {
+
+        String plain = departureTime.toLocalDateTime() + String.valueOf(SEPARATOR) + bookingId + SEPARATOR + flightId;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a continuation token produced by {@link #encode()}.
+     *
+     * @param token the token, or null for the first page
+     * @return the decoded cursor, or null if the token is null
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    static KeysetCursor decode(String token) {
+
+        if (token == null) return null;
+
+        try {
+            String plain = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+
+            int first = plain.indexOf(SEPARATOR);
+            int second = plain.indexOf(SEPARATOR, first + 1);
+
+            if (first < 0 || second < 0) throw new IllegalArgumentException("Token di continuazione non valido.");
+
+            return new KeysetCursor(Timestamp.valueOf(LocalDateTime.parse(plain.substring(0, first))),
+                    plain.substring(second + 1), Integer.parseInt(plain.substring(first + 1, second)));
+
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Token di continuazione non valido.", e);
+        }
+    }
+
+    /**
+     * Checks the page size requested by a caller.
+     *
+     * @param pageSize the requested page size
+     * @throws IllegalArgumentException if the page size is not positive
+     */
+    static void checkPageSize(int pageSize) {
+
+        if (pageSize <= 0) throw new IllegalArgumentException("La dimensione della pagina deve essere positiva: " + pageSize);
+    }
+
+    /**
+     * Reads a page from a result set produced by a query limited to {@code pageSize + 1} rows.
+     * <p>
+     * The extra row is not returned: it only tells whether a next page exists, in which
+     * case the continuation token is built from the last row of the page.
+     * </p>
+     *
+     * @param <T> the type of the mapped rows
+     * @param resultSet the result set to read
+     * @param mapper the mapper converting each row
+     * @param pageSize the maximum number of rows of the page
+     * @param cursorOf the function extracting the cursor of a mapped row
+     * @return the page read
+     * @throws SQLException if a row cannot be read
+     */
+    static <T> Page<T> readPage(ResultSet resultSet, RowMapper<T> mapper, int pageSize, Function<T, KeysetCursor> cursorOf) throws SQLException {
+
+        List<T> rows = new ArrayList<>(pageSize);
+        boolean hasNext = false;
+
+        while (resultSet.next()) {
+
+            if (rows.size() == pageSize) {
+                hasNext = true;
+                break;
+            }
+
+            rows.add(mapper.map(resultSet));
+        }
+
+        return new Page<>(rows, hasNext ? cursorOf.apply(rows.getLast()).encode() : null);
+    }
+}
@@ -1,11 +1,13 @@
 package implementazioni_postgres_dao;
 
 import controller.Controller;
+import dao.LostLuggageRow;
 import dao.LuggageDAO;
 import database.ConnessioneDatabase;
 
 import java.sql.*;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -43,162 +45,94 @@ public class LuggageDAOImpl implements LuggageDAO {
      */
     private static final Logger LOGGER = Logger.getLogger(LuggageDAOImpl.class.getName());
 
+    /**
+     * Number of rows fetched per round trip when streaming lost luggage, configurable with
+     * the {@code aeroporto.luggage.fetchSize} system property.
+     */
+    static final int LOST_LUGGAGE_FETCH_SIZE = Math.max(1, Integer.getInteger("aeroporto.luggage.fetchSize", 500));
+
     /**
      * {@inheritDoc}
      * <p>
-     * This implementation executes a complex SQL query that joins multiple tables (FLIGHT,
-     * BOOKING, TICKET, PASSENGER, LUGGAGE, CUSTOMER) to retrieve comprehensive information
-     * about all lost luggage items in the system. The query filters for luggage with
-     *  the status 'LOST' and excludes deleted customer accounts to maintain data integrity.
-     * </p>
-     * <p>
-     * The method processes various data types appropriately:
-     * </p>
-     * <ul>
-     *   <li>Timestamps: converted from database timestamps to separate Date and Time objects</li>
-     *   <li>Seat assignments: converted from 1-based database storage to 0-based application indexing</li>
-     *   <li>Luggage IDs: handled with null values when id_luggage <span>&#8804;</span> 0 (not assigned)</li>
-     *   <li>Flight types: boolean values indicating departing (true) or arriving (false) flights</li>
-     * </ul>
-     * <p>
-     * The query uses NATURAL JOIN for FLIGHT and BOOKING tables to efficiently link flight
-     * and booking data, while using explicit JOINs for other relationships to maintain
-     * proper data associations. Results are ordered by flight departure time in descending
-     * order to prioritize recently lost luggage items.
+     * PostgreSQL only honours the fetch size of a statement inside a transaction: with
+     * auto-commit disabled the driver opens a server-side cursor and reads
+     * {@link #LOST_LUGGAGE_FETCH_SIZE} rows per round trip, instead of materializing the
+     * whole result set in the client heap. The transaction only reads and is rolled back
+     * when the connection is returned to the pool, which also restores auto-commit.
      * </p>
      *
-     * @param flightIds list to be populated with flight identifiers
-     * @param companyNames list to be populated with airline company names
-     * @param flightDates list to be populated with flight dates derived from departure timestamps
-     * @param departureTimes list to be populated with flight departure times
-     * @param arrivalTimes list to be populated with flight arrival times
-     * @param flightStatus list to be populated with current flight status values
-     * @param maxSeats list to be populated with flight maximum seating capacity
-     * @param freeSeats list to be populated with available seats count
-     * @param cities list to be populated with destination or origin city names
-     * @param flightTypes list to be populated with flight type indicators (true for departing, false for arriving)
-     * @param buyerIds list to be populated with customer identifiers who made the bookings
-     * @param usernames list to be populated with customer usernames
-     * @param mails list to be populated with customer email addresses
-     * @param hashedPasswords list to be populated with customer password hashes
-     * @param bookingDates list to be populated with booking creation timestamps
-     * @param bookingStatus list to be populated with booking status values
-     * @param bookingIds list to be populated with unique booking identifiers
-     * @param ticketNumbers list to be populated with ticket numbers
-     * @param seats list to be populated with seat assignments (null if not assigned, 0-based indexing)
-     * @param checkedIns list to be populated with check-in status indicators
-     * @param firstNames list to be populated with passenger first names
-     * @param lastNames list to be populated with passenger last names
-     * @param passengerSSNs list to be populated with passenger SSN identifiers
-     * @param birthDates list to be populated with passenger birth dates
-     * @param luggageIds list to be populated with luggage identifiers (null if no luggage)
-     * @param luggageTypes list to be populated with luggage type descriptions (CARRY_ON or CHECKED)
-     * @param luggageStatus list to be populated with luggage status values (should be 'LOST')
-     * @param luggageIdsAfterCheckin list to be populated with post-checkin luggage identifiers
+     * @param consumer the callback receiving each lost luggage row
+     * @return the number of rows handed to the consumer
      * @throws SQLException if a database access error occurs during the data retrieval operation
      */
-    public void getAllLostLuggages(List<String> flightIds, List<String> companyNames, List<Date> flightDates,
-                                   List<Time> departureTimes, List<Time> arrivalTimes, List<String> flightStatus,
-                                   List<Integer> maxSeats, List<Integer> freeSeats,
-                                   List<String> cities, List<Boolean> flightTypes,
-                                   List<Integer> buyerIds, List<String> usernames, List<String> mails, List<String> hashedPasswords,
-                                   List<Date> bookingDates, List<String> bookingStatus, List<Integer> bookingIds,
-                                   List<String> ticketNumbers, List<Integer> seats, List<Boolean> checkedIns,
-                                   List<String> firstNames, List<String> lastNames, List<String> passengerSSNs, List<Date> birthDates,
-                                   List<Integer> luggageIds, List<String> luggageTypes, List<String> luggageStatus, List<String> luggageIdsAfterCheckin) throws SQLException {
-
-        String query = "SELECT F.id_flight, F.company_name, F.departure_time, F.arrival_time, F.flight_status, F.max_seats, " +
-                        "F.free_seats, F.destination_or_origin, F.flight_type, " +
-                        "C.id_customer, C.username, C.mail, C.hashed_password, " +
-                        "B.id_booking, B.booking_status, B.booking_time, " +
-                        "T.ticket_number, T.seat, T.checked_in, P.first_name, P.last_name, P.SSN, P.birth_date, " +
-                        "L.id_luggage, L.id_luggage_after_check_in, L.luggage_type, L.luggage_status " +
-                        "FROM FLIGHT F NATURAL JOIN BOOKING B JOIN TICKET T ON B.id_booking = T.id_booking JOIN " +
-                        "PASSENGER P ON T.id_passenger = P.SSN JOIN LUGGAGE L ON L.id_ticket = T.ticket_number JOIN CUSTOMER C ON B.buyer = C.id_customer " +
-                        "WHERE L.luggage_status = 'LOST' AND C.is_deleted = false " +
-                        "ORDER BY F.departure_time DESC;";
-
-
-        try (Connection connection = ConnessioneDatabase.getInstance().getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
+    public int streamLostLuggageRows(Consumer<LostLuggageRow> consumer) throws SQLException {
 
-            ResultSet rs = statement.executeQuery();
+        try (Connection connection = ConnessioneDatabase.getInstance().getConnection()) {
 
-            while (rs.next()){
+            connection.setAutoCommit(false);
 
-                flightIds.add(rs.getString("id_flight"));
-                companyNames.add(rs.getString("company_name"));
+            try (PreparedStatement statement = connection.prepareStatement(lostLuggageQuery(""))) {
 
-                Timestamp tmpTS = rs.getTimestamp("departure_time");
-                flightDates.add(new java.sql.Date(tmpTS.getTime()));
-                departureTimes.add(new java.sql.Time(tmpTS.getTime()));
+                statement.setFetchSize(LOST_LUGGAGE_FETCH_SIZE);
 
-                tmpTS = rs.getTimestamp("arrival_time");
-                arrivalTimes.add(new java.sql.Time(tmpTS.getTime()));
+                int count = 0;
 
-                flightStatus.add(rs.getString("flight_status"));
+                try (ResultSet rs = statement.executeQuery()) {
 
-                //delays.add(rs.getInt("flight_delay"));
-
-                maxSeats.add(rs.getInt("max_seats"));
-                freeSeats.add(rs.getInt("free_seats"));
-
-                cities.add(rs.getString("destination_or_origin"));
-
-                flightTypes.add(rs.getBoolean("flight_type"));
-
-                buyerIds.add(rs.getInt("id_customer"));
-                usernames.add(rs.getString("username"));
-                mails.add(rs.getString("mail"));
-                hashedPasswords.add(rs.getString("hashed_password"));
-
-                tmpTS = rs.getTimestamp("booking_time");
-                bookingDates.add(new java.sql.Date(tmpTS.getTime()));
-
-                bookingStatus.add(rs.getString("booking_status"));
-
-                bookingIds.add(rs.getInt("id_booking"));
-
-                ticketNumbers.add(rs.getString("ticket_number"));
-
-                if(rs.getInt("seat") > 0){
-                    seats.add(rs.getInt("seat") - 1);
-                }else{
-                    seats.add(null);
+                    while (rs.next()) {
+                        consumer.accept(RowMappers.LOST_LUGGAGE.map(rs));
+                        count++;
+                    }
                 }
 
-                checkedIns.add(rs.getBoolean("checked_in"));
-
-                firstNames.add(rs.getString("first_name"));
-
-                lastNames.add(rs.getString("last_name"));
-
-                passengerSSNs.add(rs.getString("SSN"));
-
-                birthDates.add(rs.getDate("birth_date"));
-
-                if(rs.getInt("id_luggage") > 0){
-                    luggageIds.add(rs.getInt("id_luggage"));
-                }else{
-                    luggageIds.add(null);
-                }
+                return count;
+            }
+        }
+    }
 
-                luggageIdsAfterCheckin.add(rs.getString("id_luggage_after_check_in"));
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation executes the same join as {@link #streamLostLuggageRows(Consumer)},
+     * restricted to the given booking.
+     * </p>
+     *
+     * @param bookingId the unique identifier of the booking
+     * @return the lost luggage rows of the booking, empty if none of its luggage is still lost
+     * @throws SQLException if a database access error occurs during the data retrieval operation
+     */
+    public List<LostLuggageRow> getLostLuggageRowsOfBooking(int bookingId) throws SQLException {
 
-                luggageTypes.add(rs.getString("luggage_type"));
+        try (Connection connection = ConnessioneDatabase.getInstance().getConnection();
+             PreparedStatement statement = connection.prepareStatement(lostLuggageQuery("AND B.id_booking = ? "))) {
 
-                luggageStatus.add(rs.getString("luggage_status"));
+            statement.setInt(1, bookingId);
 
+            try (ResultSet rs = statement.executeQuery()) {
 
+                return RowMappers.mapAll(rs, RowMappers.LOST_LUGGAGE);
             }
-
-            rs.close();
-
-            //connection.close(); non serve perchè la fa in automatico il try-with-resources
-
-
         }
+    }
 
+    /**
+     * Builds the lost luggage query read by {@link RowMappers#LOST_LUGGAGE}.
+     *
+     * @param condition an additional condition starting with {@code AND}, or an empty string
+     * @return the query, ordered by flight departure time, most recent first
+     */
+    private static String lostLuggageQuery(String condition) {
+
+        return "SELECT F.id_flight, F.company_name, F.departure_time, F.arrival_time, F.flight_status, F.max_seats, " +
+                "F.free_seats, F.destination_or_origin, F.flight_type, F.id_gate, " +
+                "C.id_customer, C.username, C.mail, C.hashed_password, " +
+                "B.id_booking, B.booking_status, B.booking_time, " +
+                "T.ticket_number, T.seat, T.checked_in, P.first_name, P.last_name, P.SSN, P.birth_date, " +
+                "L.id_luggage, L.id_luggage_after_check_in, L.luggage_type, L.luggage_status " +
+                "FROM FLIGHT F NATURAL JOIN BOOKING B JOIN TICKET T ON B.id_booking = T.id_booking JOIN " +
+                "PASSENGER P ON T.id_passenger = P.SSN JOIN LUGGAGE L ON L.id_ticket = T.ticket_number JOIN CUSTOMER C ON B.buyer = C.id_customer " +
+                "WHERE L.luggage_status = 'LOST' AND C.is_deleted = false " + condition +
+                "ORDER BY F.departure_time DESC;";
     }
 
     /**
@@ -0,0 +1,131 @@
+package implementazioni_postgres_dao;
+
+import dao.BookingTicketRow;
+import dao.CustomerBookingRow;
+import dao.FlightSearchRow;
+import dao.FlightManifestRow;
+import dao.LostLuggageRow;
+import dao.RowMapper;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Row mappers shared by the PostgreSQL DAO implementations.
+ * <p>
+ * Each mapper reads the columns of one query shape and converts them to the corresponding
+ * record of the {@code dao} package. Database conventions are handled here once:
+ * </p>
+ * <ul>
+ *   <li>Seats are stored 1-based and mapped to 0-based values, -1 when not assigned</li>
+ *   <li>Missing gates and luggage identifiers are mapped to 0</li>
+ *   <li>Booking timestamps are truncated to {@link Date}</li>
+ * </ul>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see RowMapper
+ */
+final class RowMappers {
+
+    /**
+     * Maps the booking, ticket, passenger and luggage columns of a flight manifest query.
+     * <p>
+     * Expected columns: id_gate, id_customer, username, mail, hashed_password, id_booking,
+     * booking_status, booking_time, ticket_number, seat, checked_in, first_name, last_name,
+     * SSN, birth_date, id_luggage, id_luggage_after_check_in, luggage_type, luggage_status.
+     * </p>
+     */
+    static final RowMapper<FlightManifestRow> FLIGHT_MANIFEST = rs -> {
+
+        Timestamp bookingTime = rs.getTimestamp("booking_time");
+
+        return new FlightManifestRow(
+                Math.max(rs.getInt("id_gate"), 0),
+                rs.getInt("id_customer"), rs.getString("username"), rs.getString("mail"), rs.getString("hashed_password"),
+                rs.getInt("id_booking"), rs.getString("booking_status"), new Date(bookingTime.getTime()),
+                rs.getString("ticket_number"), rs.getInt("seat") - 1, rs.getBoolean("checked_in"),
+                rs.getString("first_name"), rs.getString("last_name"), rs.getString("SSN"), rs.getDate("birth_date"),
+                Math.max(rs.getInt("id_luggage"), 0), rs.getString("id_luggage_after_check_in"),
+                rs.getString("luggage_type"), rs.getString("luggage_status"));
+    };
+
+    /**
+     * Maps a lost luggage row: the flight columns plus the columns read by {@link #FLIGHT_MANIFEST}.
+     */
+    static final RowMapper<LostLuggageRow> LOST_LUGGAGE = rs -> new LostLuggageRow(
+            rs.getString("id_flight"), rs.getString("company_name"),
+            rs.getTimestamp("departure_time"), rs.getTimestamp("arrival_time"),
+            rs.getString("flight_status"), rs.getInt("max_seats"), rs.getInt("free_seats"),
+            rs.getString("destination_or_origin"), rs.getBoolean("flight_type"),
+            FLIGHT_MANIFEST.map(rs));
+
+    /**
+     * Maps a ticket of a booking with its passenger.
+     * <p>
+     * Expected columns: id_booking, ticket_number, seat, checked_in, id_passenger,
+     * first_name, last_name, birth_date.
+     * </p>
+     */
+    static final RowMapper<BookingTicketRow> BOOKING_TICKET = rs -> new BookingTicketRow(
+            rs.getInt("id_booking"), rs.getString("ticket_number"), Math.max(rs.getInt("seat"), 0) - 1,
+            rs.getBoolean("checked_in"), rs.getString("id_passenger"),
+            rs.getString("first_name"), rs.getString("last_name"), rs.getDate("birth_date"));
+
+    /**
+     * Maps a flight returned by a flight search.
+     * <p>
+     * Expected columns: id_flight, company_name, departure_time, arrival_time, flight_status,
+     * max_seats, free_seats, destination_or_origin, flight_delay, flight_type.
+     * </p>
+     */
+    static final RowMapper<FlightSearchRow> FLIGHT_SEARCH = rs -> new FlightSearchRow(
+            rs.getString("id_flight"), rs.getString("company_name"),
+            rs.getTimestamp("departure_time"), rs.getTimestamp("arrival_time"),
+            rs.getString("flight_status"), rs.getInt("max_seats"), rs.getInt("free_seats"),
+            rs.getString("destination_or_origin"), rs.getInt("flight_delay"), rs.getBoolean("flight_type"));
+
+    /**
+     * Maps a booking of a customer with its flight.
+     * <p>
+     * Expected columns: id_flight, company_name, departure_time, arrival_time, flight_status,
+     * max_seats, free_seats, destination_or_origin, flight_type, id_booking, booking_status,
+     * booking_time.
+     * </p>
+     */
+    static final RowMapper<CustomerBookingRow> CUSTOMER_BOOKING = rs -> new CustomerBookingRow(
+            rs.getString("id_flight"), rs.getString("company_name"),
+            rs.getTimestamp("departure_time"), rs.getTimestamp("arrival_time"),
+            rs.getString("flight_status"), rs.getInt("max_seats"), rs.getInt("free_seats"),
+            rs.getString("destination_or_origin"), rs.getBoolean("flight_type"),
+            rs.getInt("id_booking"), rs.getString("booking_status"), new Date(rs.getTimestamp("booking_time").getTime()));
+
+    /**
+     * Private constructor: this class only holds constants and helpers.
+     */
+    private RowMappers() {
+    }
+
+    /**
+     * Reads every remaining row of a result set with the given mapper.
+     *
+     * @param <T> the type of the mapped rows
+     * @param resultSet the result set to read
+     * @param mapper the mapper converting each row
+     * @return the mapped rows, in result set order
+     * @throws SQLException if a row cannot be read
+     */
+    static <T> List<T> mapAll(ResultSet resultSet, RowMapper<T> mapper) throws SQLException {
+
+        List<T> rows = new ArrayList<>();
+
+        while (resultSet.next()) rows.add(mapper.map(resultSet));
+
+        return rows;
+    }
+}
@@ -0,0 +1,159 @@
+package implementazioni_postgres_dao;
+
+import dao.SeatHoldDAO;
+import database.ConnessioneDatabase;
+import model.SeatMap;
+
+import java.sql.*;
+import java.util.UUID;
+
+/**
+ * PostgreSQL implementation of the SeatHoldDAO interface for managing temporary seat holds.
+ * <p>
+ * Holds are stored in the {@code SeatHold} table created by the
+ * {@code migrazioni/V006__blocco_temporaneo_posti.sql} script, whose primary key on flight
+ * and seat lets a single {@code INSERT ... ON CONFLICT} statement acquire a free seat,
+ * renew a hold of the same client or take over an expired one, atomically and without
+ * explicit locking. Expiry is evaluated with the database clock, so the clients do not
+ * need synchronized clocks.
+ * </p>
+ * <p>
+ * Seat numbers are converted between the 0-based indexing of the application and the
+ * 1-based database storage used by the {@code Ticket} table.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see SeatHoldDAO
+ * @see SeatMap
+ * @see ConnessioneDatabase
+ */
+public class SeatHoldDAOImpl implements SeatHoldDAO {
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The seat is inserted only if no non-cancelled ticket occupies it; on conflict the
+     * existing hold is overwritten only if it belongs to the same client or has expired,
+     * so the number of affected rows tells whether the hold was acquired.
+     * </p>
+     *
+     * @param flightId the unique identifier of the flight
+     * @param seat the 0-based seat index
+     * @param holder the identifier of the client holding the seat
+     * @param bookingId optional booking ID whose seats are considered free (can be null)
+     * @param ttlSeconds the duration of the hold, in seconds
+     * @return true if the seat is now held by the client, false if it is booked or held by another client
+     * @throws SQLException if a database access error occurs during the operation
+     */
+    @Override
+    public boolean holdSeat(String flightId, int seat, UUID holder, Integer bookingId, int ttlSeconds) throws SQLException {
+
+        String query = "INSERT INTO SeatHold (id_flight, seat, holder, expires_at) " +
+                "SELECT ?, ?, ?, now() + ? * INTERVAL '1 second' " +
+                "WHERE NOT EXISTS (SELECT 1 FROM Ticket T JOIN Booking B ON T.id_booking = B.id_booking " +
+                "WHERE T.id_flight = ? AND T.seat = ? AND B.booking_status <> 'CANCELLED'" +
+                (bookingId != null ? " AND B.id_booking <> ?" : "") + ") " +
+                "ON CONFLICT (id_flight, seat) DO UPDATE SET holder = EXCLUDED.holder, expires_at = EXCLUDED.expires_at " +
+                "WHERE SeatHold.holder = EXCLUDED.holder OR SeatHold.expires_at < now();";
+
+        try (Connection connection = ConnessioneDatabase.getInstance().getConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+
+            statement.setString(1, flightId);
+            statement.setInt(2, seat + 1);
+            statement.setObject(3, holder);
+            statement.setInt(4, ttlSeconds);
+            statement.setString(5, flightId);
+            statement.setInt(6, seat + 1);
+            if (bookingId != null) statement.setInt(7, bookingId);
+
+            return statement.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param flightId the unique identifier of the flight
+     * @param seat the 0-based seat index
+     * @param holder the identifier of the client holding the seat
+     * @throws SQLException if a database access error occurs during the operation
+     */
+    @Override
+    public void releaseSeat(String flightId, int seat, UUID holder) throws SQLException {
+
+        String query = "DELETE FROM SeatHold WHERE id_flight = ? AND seat = ? AND holder = ?;";
+
+        try (Connection connection = ConnessioneDatabase.getInstance().getConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+
+            statement.setString(1, flightId);
+            statement.setInt(2, seat + 1);
+            statement.setObject(3, holder);
+
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param holder the identifier of the client
+     * @return the number of holds removed
+     * @throws SQLException if a database access error occurs during the operation
+     */
+    @Override
+    public int releaseAll(UUID holder) throws SQLException {
+
+        String query = "DELETE FROM SeatHold WHERE holder = ? OR expires_at < now();";
+
+        try (Connection connection = ConnessioneDatabase.getInstance().getConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+
+            statement.setObject(1, holder);
+
+            return statement.executeUpdate();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Held seats outside the capacity of the flight are ignored.
+     * </p>
+     *
+     * @param flightId the unique identifier of the flight
+     * @param holder the identifier of the client whose holds are ignored
+     * @param capacity the number of seats of the flight, which sizes the returned map
+     * @return the map of the seats with an unexpired hold of another client
+     * @throws SQLException if a database access error occurs during the data retrieval operation
+     */
+    @Override
+    public SeatMap getSeatsHeldByOthers(String flightId, UUID holder, int capacity) throws SQLException {
+
+        String query = "SELECT seat FROM SeatHold WHERE id_flight = ? AND holder <> ? AND expires_at >= now();";
+
+        SeatMap heldSeats = new SeatMap(capacity);
+
+        try (Connection connection = ConnessioneDatabase.getInstance().getConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+
+            statement.setString(1, flightId);
+            statement.setObject(2, holder);
+
+            try (ResultSet rs = statement.executeQuery()) {
+
+                while (rs.next()) {
+
+                    int seat = rs.getInt("seat") - 1;
+
+                    if (seat >= 0 && seat < capacity) heldSeats.occupy(seat);
+                }
+            }
+        }
+
+        return heldSeats;
+    }
+}
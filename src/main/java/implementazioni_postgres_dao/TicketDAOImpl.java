@@ -1,11 +1,15 @@
 package implementazioni_postgres_dao;
 
+import dao.BookingTicketRow;
 import dao.TicketDAO;
 import database.ConnessioneDatabase;
 
-import java.math.BigInteger;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -46,125 +50,63 @@ public class TicketDAOImpl implements TicketDAO {
     /**
      * {@inheritDoc}
      * <p>
-     * This implementation executes a SQL query that joins the TICKET and PASSENGER tables
-     * to retrieve comprehensive ticket information for all tickets associated with a specific
-     * booking. The query provides complete ticket details including passenger information
-     * and seat assignments.
+     * This implementation joins the TICKET and PASSENGER tables once for all the bookings,
+     * passing their identifiers as a single {@code integer[]} parameter
+     * ({@code T.id_booking = ANY(?)}), so the number of round trips does not grow with the
+     * number of bookings. Rows are grouped by booking in memory.
      * </p>
-     * <p>
-     * The method handles seat number conversion from 1-based database storage to 0-based
-     * application indexing for consistency with the application's seat management system.
-     * Seats with value 0 or negative in the database are returned as null to indicate
-     * no seat assignment.
-     * </p>
-     * <p>
-     * Data processing includes:
-     * </p>
-     * <ul>
-     *   <li>Ticket numbers retrieved directly from database</li>
-     *   <li>Seat assignments converted to 0-based indexing (null if not assigned)</li>
-     *   <li>Check-in status indicators for boarding eligibility</li>
-     *   <li>Passenger SSN identifiers for passenger association</li>
-     *   <li>Passenger personal information including names and birth dates</li>
-     * </ul>
      *
-     * @param bookingId the unique identifier of the booking to retrieve tickets for
-     * @param ticketNumbers list to be populated with ticket numbers
-     * @param seats list to be populated with seat assignments (0-based indexing, null if not assigned)
-     * @param checkedIns list to be populated with check-in status indicators
-     * @param passengerSSNs list to be populated with passenger SSN identifiers
-     * @param firstNames list to be populated with passenger first names
-     * @param lastNames list to be populated with passenger last names
-     * @param birthDates list to be populated with passenger birth dates
+     * @param bookingIds the identifiers of the bookings to retrieve tickets for
+     * @return the tickets of each booking, keyed by booking id in the order of {@code bookingIds}
      * @throws SQLException if a database access error occurs during the data retrieval operation
      */
-    public void getAllTicketBooking(int bookingId, List<String> ticketNumbers, List<Integer> seats, List<Boolean> checkedIns,
-                                    List<String> passengerSSNs, List<String> firstNames,
-                                    List<String> lastNames, List<Date> birthDates) throws SQLException {
+    public Map<Integer, List<BookingTicketRow>> getAllTicketBookings(List<Integer> bookingIds) throws SQLException {
+
+        LinkedHashSet<Integer> distinctIds = new LinkedHashSet<>(bookingIds);
+
+        Map<Integer, List<BookingTicketRow>> result = LinkedHashMap.newLinkedHashMap(distinctIds.size());
 
+        if (distinctIds.isEmpty()) return result;
 
-        String query = "SELECT T.ticket_number, T.seat, T.checked_in, T.id_passenger, P.first_name, P.last_name, P.birth_date " +
+        String query = "SELECT T.id_booking, T.ticket_number, T.seat, T.checked_in, T.id_passenger, P.first_name, P.last_name, P.birth_date " +
                 "FROM TICKET T JOIN PASSENGER P ON T.id_passenger = P.SSN " +
-                "WHERE T.id_booking = ?;";
+                "WHERE T.id_booking = ANY(?);";
 
+        List<BookingTicketRow> rows;
 
         try (Connection connection = ConnessioneDatabase.getInstance().getConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
 
-            statement.setInt(1, bookingId);
-
-            ResultSet rs = statement.executeQuery();
-
-            while (rs.next()){
-
-                ticketNumbers.add(rs.getString("ticket_number"));
-                if(rs.getInt("seat") > 0){
-                    seats.add(rs.getInt("seat") - 1);
-                }else{
-                    seats.add(null);
-                }
-                checkedIns.add(rs.getBoolean("checked_in"));
-                passengerSSNs.add(rs.getString("id_passenger"));
-                firstNames.add(rs.getString("first_name"));
-                lastNames.add(rs.getString("last_name"));
-                birthDates.add(rs.getDate("birth_date"));
+            statement.setArray(1, connection.createArrayOf("integer", distinctIds.toArray()));
 
+            try (ResultSet rs = statement.executeQuery()) {
+                rows = RowMappers.mapAll(rs, RowMappers.BOOKING_TICKET);
             }
+        }
 
-            rs.close();
+        for (Integer bookingId : distinctIds) result.put(bookingId, new ArrayList<>());
 
-            //connection.close(); non serve perchè la fa in automatico il try-with-resources
+        for (BookingTicketRow row : rows) result.get(row.bookingId()).add(row);
 
-        }
+        result.values().removeIf(List::isEmpty);
 
+        return result;
     }
 
     /**
      * {@inheritDoc}
      * <p>
-     * This method implements an atomic ticket number generation system that retrieves the
-     * highest ticket number currently in the database and generates a new unique number
-     * by applying the specified offset plus one additional increment. This ensures that
-     * generated ticket numbers are always unique and sequential.
-     * </p>
-     * <p>
-     * The generation process follows these steps:
-     * </p>
-     * <ol>
-     *   <li>Queries the database for the maximum existing ticket number</li>
-     *   <li>Applies the specified offset using the increment function</li>
-     *   <li>Adds one final increment to generate the new ticket number</li>
-     *   <li>Returns the formatted 13-digit ticket number with zero-padding</li>
-     * </ol>
-     * <p>
-     * The offset parameter allows for bulk ticket number generation scenarios where
-     * multiple consecutive ticket numbers need to be reserved. For single ticket
-     * generation, an offset of 0 should be used.
+     * Numbers are handed out by the {@link TicketNumberAllocator}, which reserves blocks of
+     * numbers from the {@code ticket_number_seq} database sequence, so most calls do not
+     * access the database at all and two clients can never receive the same number.
      * </p>
      *
-     * @param offset the number of additional increments to apply before generating the final ticket number
      * @return a new unique 13-digit ticket number, or empty string if generation fails
      */
-    public String generateTicketNumber(int offset) {
-
-        String result;
-
-        String query = "SELECT MAX(ticket_number) AS max_ticket_number FROM Ticket;";
-
-        try (Connection connection = ConnessioneDatabase.getInstance().getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
-
-            ResultSet rs = statement.executeQuery();
+    public String generateTicketNumber() {
 
-            if (rs.next()) {
-                result = rs.getString("max_ticket_number");
-            } else throw new SQLException();
-
-            rs.close();
-
-            for (int i = 0; i < offset; i++) result = increaseTicketNumber(result);
-
-            return increaseTicketNumber(result);
+        try {
+            return TicketNumberAllocator.format(TicketNumberAllocator.getInstance().next());
 
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, e.getSQLState());
@@ -172,42 +114,4 @@ public class TicketDAOImpl implements TicketDAO {
 
         return "";
     }
-
-    /**
-     * Increments a ticket number by one and ensures proper 13-digit formatting.
-     * <p>
-     * This utility method handles ticket number arithmetic using BigInteger to support
-     * large numbers and prevent overflow issues. It converts the input ticket number
-     * string to a BigInteger, adds one, and formats the result back to a 13-digit
-     * string with leading zero padding.
-     * </p>
-     * <p>
-     * The method ensures consistent ticket number formatting across the system by:
-     * </p>
-     * <ul>
-     *   <li>Using BigInteger for reliable large number arithmetic</li>
-     *   <li>Maintaining 13-digit format with leading zero padding</li>
-     *   <li>Providing proper error handling for invalid input formats</li>
-     *   <li>Ensuring sequential ticket number generation</li>
-     * </ul>
-     *
-     * @param ticketNumber the current ticket number as a string to be incremented
-     * @return the incremented ticket number formatted as a 13-digit string with leading zeros
-     * @throws NumberFormatException if the input ticket number is not a valid numeric string
-     */
-    private String increaseTicketNumber(String ticketNumber) {
-
-        try {
-            BigInteger number = new BigInteger(ticketNumber);
-
-            String result = number.add(BigInteger.ONE).toString();
-
-            while (result.length() < 13) result = "0" + result;
-
-            return result;
-
-        } catch (NumberFormatException e) {
-            throw new NumberFormatException("La stringa '" + ticketNumber + "' non è un numero valido.");
-        }
-    }
-}
\ No newline at end of file
+}
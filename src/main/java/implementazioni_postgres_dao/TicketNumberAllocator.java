@@ -0,0 +1,176 @@
+package implementazioni_postgres_dao;
+
+import database.ConnessioneDatabase;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Allocator of ticket numbers backed by the {@code ticket_number_seq} database sequence.
+ * <p>
+ * The allocator follows the hi/lo scheme: a single {@code nextval} call reserves a block
+ * of consecutive ticket numbers whose size is the increment of the sequence, and the
+ * numbers of the block are then handed out from an in-memory {@link AtomicLong} without
+ * further round trips. Since every block is reserved by the database sequence, concurrent
+ * clients (and concurrent threads of the same client) never receive the same number. Numbers
+ * left in the current block when the application stops are simply never used.
+ * </p>
+ * <p>
+ * The sequence is created by the {@code migrazioni/V001__sequenza_ticket_number.sql}
+ * script, which starts it after the highest ticket number already stored.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see TicketDAOImpl#generateTicketNumber()
+ */
+final class TicketNumberAllocator {
+
+    /**
+     * Number of digits of a ticket number.
+     */
+    static final int TICKET_NUMBER_LENGTH = 13;
+
+    /**
+     * The singleton instance shared by all the DAO objects.
+     */
+    private static final TicketNumberAllocator INSTANCE = new TicketNumberAllocator();
+
+    /**
+     * The block numbers are currently handed out from, or null before the first reservation.
+     */
+    private volatile Block block;
+
+    /**
+     * Lock serializing block reservations, so that an exhausted block is replaced only once.
+     * <p>
+     * A {@link ReentrantLock} is used instead of {@code synchronized} because the reservation
+     * performs database I/O, possibly on a virtual thread.
+     * </p>
+     */
+    private final ReentrantLock reserveLock = new ReentrantLock();
+
+    /**
+     * Private constructor to enforce the singleton pattern.
+     */
+    private TicketNumberAllocator() {
+    }
+
+    /**
+     * Returns the singleton instance of the allocator.
+     *
+     * @return the shared allocator
+     */
+    static TicketNumberAllocator getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a ticket number never handed out before, reserving a new block from the database if needed.
+     *
+     * @return the next ticket number
+     * @throws SQLException if a new block cannot be reserved
+     */
+    long next() throws SQLException {
+
+        while (true) {
+
+            Block current = block;
+
+            if (current != null) {
+                long number = current.next.getAndIncrement();
+                if (number < current.end) return number;
+            }
+
+            reserveLock.lock();
+            try {
+                if (block == current) block = reserve();
+            } finally {
+                reserveLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Formats a ticket number with zero-padding to 13 digits.
+     * <p>
+     * The digits are written right to left into a single character array that becomes the
+     * result, so no intermediate string is created.
+     * </p>
+     *
+     * @param number the ticket number, between 0 and 9999999999999
+     * @return the 13-digit ticket number
+     * @throws IllegalArgumentException if the number does not fit in 13 digits
+     */
+    static String format(long number) {
+
+        if (number < 0 || number > 9_999_999_999_999L) {
+            throw new IllegalArgumentException("Il numero " + number + " non è un ticket number valido.");
+        }
+
+        char[] digits = new char[TICKET_NUMBER_LENGTH];
+
+        for (int i = TICKET_NUMBER_LENGTH - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + number % 10);
+            number /= 10;
+        }
+
+        return new String(digits);
+    }
+
+    /**
+     * Reserves a new block of ticket numbers with a single query.
+     *
+     * @return the reserved block
+     * @throws SQLException if a database access error occurs
+     */
+    private static Block reserve() throws SQLException {
+
+        String query = "SELECT nextval('ticket_number_seq') AS first_number, " +
+                "(SELECT increment_by FROM pg_sequences WHERE sequencename = 'ticket_number_seq') AS block_size;";
+
+        try (Connection connection = ConnessioneDatabase.getInstance().getConnection();
+             PreparedStatement statement = connection.prepareStatement(query);
+             ResultSet rs = statement.executeQuery()) {
+
+            if (!rs.next()) throw new SQLException("Impossibile riservare un blocco di ticket number.");
+
+            long first = rs.getLong("first_number");
+            long size = Math.max(1, rs.getLong("block_size"));
+
+            return new Block(first, first + size);
+        }
+    }
+
+    /**
+     * A reserved range of ticket numbers.
+     */
+    private static final class Block {
+
+        /**
+         * The next number to hand out.
+         */
+        final AtomicLong next;
+
+        /**
+         * The first number after the end of the block.
+         */
+        final long end;
+
+        /**
+         * Creates a block covering the numbers from {@code first} (inclusive) to {@code end} (exclusive).
+         *
+         * @param first the first number of the block
+         * @param end the first number after the end of the block
+         */
+        Block(long first, long end) {
+            this.next = new AtomicLong(first);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter, cheap to increment from many threads at once.
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see MetricsRegistry
+ */
+public final class Counter {
+
+    /**
+     * The current value.
+     */
+    private final LongAdder value = new LongAdder();
+
+    /**
+     * Adds one to the counter.
+     */
+    public void increment() {
+        value.increment();
+    }
+
+    /**
+     * Adds an amount to the counter.
+     *
+     * @param amount the amount to add, ignored if negative
+     */
+    public void add(long amount) {
+        if (amount > 0L) value.add(amount);
+    }
+
+    /**
+     * Returns the current value.
+     *
+     * @return the sum of all the increments
+     */
+    public long get() {
+        return value.sum();
+    }
+}
@@ -0,0 +1,263 @@
+package metrics;
+
+import dao.Page;
+
+import javax.swing.*;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Instrumentation of the DAO interfaces: calls, rows, latency and failures of every method.
+ * <p>
+ * {@link #instrument(Class, Object)} wraps a DAO in a proxy that records, for every method
+ * of its interface, the following metrics, labelled by DAO and method:
+ * </p>
+ * <ul>
+ *   <li>{@code aeroporto_dao_calls_total}: calls, also labelled by the screen that made them</li>
+ *   <li>{@code aeroporto_dao_failures_total}: calls that threw an exception</li>
+ *   <li>{@code aeroporto_dao_rows_total}: rows returned, as the size of the returned list, map
+ *       or page or, for the methods filling output lists, as the growth of the first one</li>
+ *   <li>{@code aeroporto_dao_latency_seconds}: duration of the calls</li>
+ *   <li>{@code aeroporto_edt_blocked_seconds}: duration of the calls made on the Swing event
+ *       dispatch thread, during which the user interface was frozen</li>
+ * </ul>
+ * <p>
+ * The screen is the class of the window that submitted the background task through the
+ * controller's asynchronous executor (see {@link #setScreen(String)}), {@code edt} for the
+ * calls made on the event dispatch thread and {@code none} for the others.
+ * </p>
+ * <p>
+ * When the instrumentation is disabled (see {@link MetricsRegistry#isEnabled()}) the DAO is
+ * returned unwrapped, so the reflective call costs nothing in normal use.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see MetricsRegistry
+ */
+public final class DaoMetrics {
+
+    /**
+     * The screen on whose behalf the current thread is querying the database, or null if unknown.
+     */
+    private static final ThreadLocal<String> SCREEN = new ThreadLocal<>();
+
+    /**
+     * The metrics of every instrumented method, shared by all the proxies of the same interface.
+     */
+    private static final ConcurrentHashMap<Method, MethodMetrics> METHODS = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor: utility class.
+     */
+    private DaoMetrics() {
+    }
+
+    /**
+     * Wraps a DAO so that every call through its interface is measured.
+     *
+     * @param <T> the DAO interface
+     * @param daoInterface the interface whose methods are measured
+     * @param dao the implementation to wrap
+     * @return the instrumented DAO, or {@code dao} itself if the instrumentation is disabled
+     */
+    public static <T> T instrument(Class<T> daoInterface, T dao) {
+
+        if (!MetricsRegistry.isEnabled()) return dao;
+
+        return daoInterface.cast(Proxy.newProxyInstance(daoInterface.getClassLoader(),
+                new Class<?>[]{daoInterface}, new Handler(daoInterface.getSimpleName(), dao)));
+    }
+
+    /**
+     * Sets the screen on whose behalf the current thread queries the database.
+     *
+     * @param screen the name of the screen, or null to clear it
+     */
+    public static void setScreen(String screen) {
+
+        if (screen == null) SCREEN.remove();
+        else SCREEN.set(screen);
+    }
+
+    /**
+     * Returns the screen to attribute a call made by the current thread to.
+     *
+     * @param onEdt whether the current thread is the event dispatch thread
+     * @return the name of the screen
+     */
+    private static String currentScreen(boolean onEdt) {
+
+        if (onEdt) return "edt";
+
+        String screen = SCREEN.get();
+
+        return screen == null ? "none" : screen;
+    }
+
+    /**
+     * Counts the rows returned by a call.
+     *
+     * @param result the value returned by the call
+     * @param args the arguments of the call
+     * @param sizeBefore the size of the first list argument before the call, or -1 if there is none
+     * @return the number of rows, 0 if it cannot be told
+     */
+    private static long rowsOf(Object result, Object[] args, int sizeBefore) {
+
+        if (result instanceof Collection<?> collection) return collection.size();
+        if (result instanceof Map<?, ?> map) return map.size();
+        if (result instanceof Page<?> page) return page.rows().size();
+
+        if (sizeBefore >= 0) return Math.max(0, ((Collection<?>) firstCollection(args)).size() - sizeBefore);
+
+        return 0;
+    }
+
+    /**
+     * Returns the first argument that is a collection, the first output list of the legacy DAO methods.
+     *
+     * @param args the arguments of a call, possibly null
+     * @return the first collection argument, or null if there is none
+     */
+    private static Object firstCollection(Object[] args) {
+
+        if (args == null) return null;
+
+        for (Object arg : args) if (arg instanceof Collection<?>) return arg;
+
+        return null;
+    }
+
+    /**
+     * Invocation handler measuring the calls to a single DAO.
+     */
+    private static final class Handler implements InvocationHandler {
+
+        /**
+         * The simple name of the DAO interface, used as label.
+         */
+        private final String daoName;
+
+        /**
+         * The wrapped implementation.
+         */
+        private final Object target;
+
+        /**
+         * Creates the handler of a DAO.
+         *
+         * @param daoName the simple name of the DAO interface
+         * @param target the wrapped implementation
+         */
+        Handler(String daoName, Object target) {
+            this.daoName = daoName;
+            this.target = target;
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p>
+         * The methods declared by {@link Object} are forwarded without being measured.
+         * </p>
+         */
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> "Instrumented" + daoName + "[" + target + "]";
+                };
+            }
+
+            MethodMetrics metrics = METHODS.computeIfAbsent(method, key -> new MethodMetrics(daoName, key.getName()));
+
+            boolean onEdt = SwingUtilities.isEventDispatchThread();
+            Object output = method.getReturnType() == void.class ? firstCollection(args) : null;
+            int sizeBefore = output == null ? -1 : ((Collection<?>) output).size();
+
+            MetricsRegistry.getInstance().counter("aeroporto_dao_calls_total", "Chiamate ai metodi dei DAO.",
+                    "dao", daoName, "method", metrics.method, "screen", currentScreen(onEdt)).increment();
+
+            long start = System.nanoTime();
+
+            try {
+                Object result = method.invoke(target, args);
+
+                metrics.rows.add(rowsOf(result, args, sizeBefore));
+
+                return result;
+
+            } catch (InvocationTargetException e) {
+                metrics.failures.increment();
+                throw e.getCause();
+
+            } finally {
+                long elapsed = System.nanoTime() - start;
+
+                metrics.latency.record(elapsed);
+                if (onEdt) metrics.edtBlocked.record(elapsed);
+            }
+        }
+    }
+
+    /**
+     * The metrics of a single DAO method, looked up once.
+     */
+    private static final class MethodMetrics {
+
+        /**
+         * The name of the method, used as label.
+         */
+        private final String method;
+
+        /**
+         * Calls that threw an exception.
+         */
+        private final Counter failures;
+
+        /**
+         * Rows returned.
+         */
+        private final Counter rows;
+
+        /**
+         * Duration of the calls.
+         */
+        private final Histogram latency;
+
+        /**
+         * Duration of the calls made on the event dispatch thread.
+         */
+        private final Histogram edtBlocked;
+
+        /**
+         * Registers the metrics of a method.
+         *
+         * @param daoName the simple name of the DAO interface
+         * @param method the name of the method
+         */
+        MethodMetrics(String daoName, String method) {
+
+            MetricsRegistry registry = MetricsRegistry.getInstance();
+
+            this.method = method;
+            this.failures = registry.counter("aeroporto_dao_failures_total",
+                    "Chiamate ai metodi dei DAO terminate con un'eccezione.", "dao", daoName, "method", method);
+            this.rows = registry.counter("aeroporto_dao_rows_total",
+                    "Righe restituite dai metodi dei DAO.", "dao", daoName, "method", method);
+            this.latency = registry.histogram("aeroporto_dao_latency_seconds",
+                    "Durata delle chiamate ai metodi dei DAO.", "dao", daoName, "method", method);
+            this.edtBlocked = registry.histogram("aeroporto_edt_blocked_seconds",
+                    "Durata delle chiamate ai DAO eseguite sul thread dell'interfaccia grafica.", "dao", daoName, "method", method);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations with bounded relative error, in the style of HdrHistogram.
+ * <p>
+ * Values are recorded in nanoseconds into log-linear buckets: values below 64 have a bucket
+ * each, every larger power of two is split into 32 buckets of equal width, so a quantile
+ * read from the histogram is within about 3% of the exact value whatever its magnitude.
+ * The bucket layout is fixed, so recording a value is an index computation and one atomic
+ * increment, and the memory of a histogram (about 9 KB) does not grow with the number of
+ * samples. Values above {@link #MAX_TRACKABLE_NANOS} (about 18 minutes) are clamped to it.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see MetricsRegistry
+ */
+public final class Histogram {
+
+    /**
+     * Number of bits of precision of every bucket: each power of two is split into 2^SUB_BUCKET_BITS buckets.
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * Number of buckets every power of two is split into.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Largest value tracked exactly, in nanoseconds; larger values are clamped to it.
+     */
+    static final long MAX_TRACKABLE_NANOS = (1L << 40) - 1;
+
+    /**
+     * Number of buckets, enough to index {@link #MAX_TRACKABLE_NANOS}.
+     */
+    private static final int BUCKETS = indexOf(MAX_TRACKABLE_NANOS) + 1;
+
+    /**
+     * Number of values recorded in every bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Number of values recorded.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Sum of the values recorded, in nanoseconds, before clamping.
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Largest value recorded, in nanoseconds, before clamping.
+     */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds; negative values are recorded as zero
+     */
+    public void record(long nanos) {
+
+        long value = Math.max(0L, nanos);
+
+        counts.incrementAndGet(indexOf(Math.min(value, MAX_TRACKABLE_NANOS)));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Records the time elapsed since an instant read from {@link System#nanoTime()}.
+     *
+     * @param startNanos the value of {@link System#nanoTime()} at the start of the measured work
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return the number of values
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the sum of the values recorded.
+     *
+     * @return the sum, in nanoseconds
+     */
+    public long sum() {
+        return sum.sum();
+    }
+
+    /**
+     * Returns the largest value recorded.
+     *
+     * @return the largest value in nanoseconds, 0 if nothing has been recorded
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Returns the value below which the given fraction of the recorded values falls.
+     * <p>
+     * The result is the midpoint of the bucket holding the value of that rank, so it
+     * carries the relative error of the bucket layout. Values recorded while the quantile
+     * is computed may or may not be taken into account.
+     * </p>
+     *
+     * @param quantile the fraction, between 0 and 1
+     * @return the quantile in nanoseconds, 0 if nothing has been recorded
+     */
+    public long quantile(double quantile) {
+
+        long[] snapshot = new long[BUCKETS];
+        long total = 0L;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+
+        if (total == 0L) return 0L;
+
+        long rank = Math.max(1L, (long) Math.ceil(Math.clamp(quantile, 0.0, 1.0) * total));
+        long seen = 0L;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return Math.min(midpointOf(i), max());
+        }
+
+        return max();
+    }
+
+    /**
+     * Returns the bucket of a value.
+     *
+     * @param value the value, between 0 and {@link #MAX_TRACKABLE_NANOS}
+     * @return the index of its bucket
+     */
+    private static int indexOf(long value) {
+
+        if (value < 2L * SUB_BUCKETS) return (int) value;
+
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * Returns the value in the middle of a bucket.
+     *
+     * @param index the index of the bucket
+     * @return the midpoint of its range of values
+     */
+    private static long midpointOf(int index) {
+
+        if (index < 2 * SUB_BUCKETS) return index;
+
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+
+        return lowest + ((1L << shift) >>> 1);
+    }
+}
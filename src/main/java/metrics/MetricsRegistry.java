@@ -0,0 +1,275 @@
+package metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Registry of the counters, gauges and histograms of the application, exported in the Prometheus text format.
+ * <p>
+ * Metrics are identified by a name and an optional set of labels, given as alternating
+ * names and values. Asking twice for the same name and labels returns the same metric, so
+ * instrumented code can look its metrics up once and keep them in a field, or look them
+ * up on every call when the labels are only known at run time. A name always refers to a
+ * single kind of metric: asking for a counter with the name of a histogram is an error.
+ * </p>
+ * <p>
+ * Histograms are exported as Prometheus summaries, with the 0.5, 0.9, 0.95 and 0.99
+ * quantiles, the sum and the count of the recorded durations, converted to seconds.
+ * </p>
+ * <p>
+ * Collection is always on for the cheap metrics (connection pool, statement cache); the
+ * per-call instrumentation of the DAO layer and the HTTP endpoint are opt-in, see
+ * {@link #isEnabled()} and {@link MetricsServer}.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see DaoMetrics
+ * @see MetricsServer
+ */
+public final class MetricsRegistry {
+
+    /**
+     * The singleton instance shared by the whole application.
+     */
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    /**
+     * Whether the opt-in instrumentation is enabled, either explicitly with the
+     * {@code aeroporto.metrics.enabled} system property or implicitly by configuring the
+     * port of the HTTP endpoint with {@code aeroporto.metrics.port}.
+     */
+    private static final boolean ENABLED = Boolean.getBoolean("aeroporto.metrics.enabled")
+            || Integer.getInteger("aeroporto.metrics.port") != null;
+
+    /**
+     * Quantiles exported for every histogram.
+     */
+    private static final double[] QUANTILES = {0.5, 0.9, 0.95, 0.99};
+
+    /**
+     * The registered metric families, by name.
+     */
+    private final ConcurrentHashMap<String, Family> families = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor for the singleton.
+     */
+    private MetricsRegistry() {
+    }
+
+    /**
+     * Returns the singleton instance of MetricsRegistry.
+     *
+     * @return the registry shared by the whole application
+     */
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Tells whether the opt-in instrumentation is enabled.
+     *
+     * @return true if the DAO layer must be instrumented
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Returns the counter with the given name and labels, creating it if needed.
+     *
+     * @param name the name of the metric, conventionally ending in {@code _total}
+     * @param help the description of the metric
+     * @param labels alternating label names and values
+     * @return the counter
+     * @throws IllegalArgumentException if the name is used by another kind of metric or the labels are odd in number
+     */
+    public Counter counter(String name, String help, String... labels) {
+        return (Counter) family(name, help, Type.COUNTER).metrics.computeIfAbsent(labelsOf(labels), key -> new Counter());
+    }
+
+    /**
+     * Returns the histogram with the given name and labels, creating it if needed.
+     *
+     * @param name the name of the metric, conventionally ending in {@code _seconds}
+     * @param help the description of the metric
+     * @param labels alternating label names and values
+     * @return the histogram
+     * @throws IllegalArgumentException if the name is used by another kind of metric or the labels are odd in number
+     */
+    public Histogram histogram(String name, String help, String... labels) {
+        return (Histogram) family(name, help, Type.SUMMARY).metrics.computeIfAbsent(labelsOf(labels), key -> new Histogram());
+    }
+
+    /**
+     * Registers a gauge whose value is read when the metrics are exported.
+     * <p>
+     * Registering a gauge again with the same name and labels replaces the previous supplier.
+     * </p>
+     *
+     * @param name the name of the metric
+     * @param help the description of the metric
+     * @param value the supplier of the current value, called on export
+     * @param labels alternating label names and values
+     * @throws IllegalArgumentException if the name is used by another kind of metric or the labels are odd in number
+     */
+    public void gauge(String name, String help, DoubleSupplier value, String... labels) {
+        family(name, help, Type.GAUGE).metrics.put(labelsOf(labels), value);
+    }
+
+    /**
+     * Registers a counter kept elsewhere, whose value is read when the metrics are exported.
+     * <p>
+     * Registering it again with the same name and labels replaces the previous supplier.
+     * </p>
+     *
+     * @param name the name of the metric, conventionally ending in {@code _total}
+     * @param help the description of the metric
+     * @param value the supplier of the current value, called on export
+     * @param labels alternating label names and values
+     * @throws IllegalArgumentException if the name is used by another kind of metric or the labels are odd in number
+     */
+    public void counterFunction(String name, String help, DoubleSupplier value, String... labels) {
+        family(name, help, Type.COUNTER).metrics.put(labelsOf(labels), value);
+    }
+
+    /**
+     * Writes every metric in the Prometheus text exposition format, version 0.0.4.
+     *
+     * @param writer the destination of the text
+     * @throws IOException if the text cannot be written
+     */
+    public void writePrometheus(Writer writer) throws IOException {
+
+        for (Family family : new TreeMap<>(families).values()) {
+
+            writer.write("# HELP " + family.name + " " + family.help.replace("\\", "\\\\").replace("\n", "\\n") + "\n");
+            writer.write("# TYPE " + family.name + " " + family.type.name().toLowerCase(Locale.ROOT) + "\n");
+
+            for (Map.Entry<String, Object> entry : new TreeMap<>(family.metrics).entrySet()) {
+
+                String labels = entry.getKey();
+                Object metric = entry.getValue();
+
+                if (metric instanceof Counter counter) {
+                    writeSample(writer, family.name, labels, counter.get());
+
+                } else if (metric instanceof DoubleSupplier supplier) {
+                    writeSample(writer, family.name, labels, supplier.getAsDouble());
+
+                } else if (metric instanceof Histogram histogram) {
+
+                    for (double quantile : QUANTILES) {
+                        String quantileLabel = "quantile=\"" + quantile + "\"";
+                        writeSample(writer, family.name, labels.isEmpty() ? quantileLabel : labels + "," + quantileLabel,
+                                histogram.quantile(quantile) / 1e9);
+                    }
+
+                    writeSample(writer, family.name + "_sum", labels, histogram.sum() / 1e9);
+                    writeSample(writer, family.name + "_count", labels, histogram.count());
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a single sample line.
+     *
+     * @param writer the destination of the text
+     * @param name the name of the sample
+     * @param labels the formatted labels, empty if none
+     * @param value the value of the sample
+     * @throws IOException if the text cannot be written
+     */
+    private static void writeSample(Writer writer, String name, String labels, double value) throws IOException {
+
+        writer.write(name);
+        if (!labels.isEmpty()) writer.write("{" + labels + "}");
+        writer.write(" ");
+        writer.write(value == Math.rint(value) && Math.abs(value) < 1e15 ? Long.toString((long) value) : Double.toString(value));
+        writer.write("\n");
+    }
+
+    /**
+     * Returns the family with the given name, creating it if needed.
+     *
+     * @param name the name of the family
+     * @param help the description of the family
+     * @param type the kind of metrics of the family
+     * @return the family
+     * @throws IllegalArgumentException if the family exists with another kind of metrics
+     */
+    private Family family(String name, String help, Type type) {
+
+        Family family = families.computeIfAbsent(name, key -> new Family(name, help, type));
+
+        if (family.type != type) {
+            throw new IllegalArgumentException("La metrica " + name + " è già registrata come " + family.type);
+        }
+
+        return family;
+    }
+
+    /**
+     * Formats labels as in the Prometheus text format, escaping their values.
+     *
+     * @param labels alternating label names and values
+     * @return the formatted labels, empty if none
+     * @throws IllegalArgumentException if the labels are odd in number
+     */
+    private static String labelsOf(String... labels) {
+
+        if (labels.length % 2 != 0) throw new IllegalArgumentException("Etichette non accoppiate: " + labels.length);
+
+        StringBuilder formatted = new StringBuilder();
+
+        for (int i = 0; i < labels.length; i += 2) {
+
+            if (i > 0) formatted.append(',');
+
+            String value = labels[i + 1] == null ? "" : labels[i + 1];
+
+            formatted.append(labels[i]).append("=\"")
+                    .append(value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+                    .append('"');
+        }
+
+        return formatted.toString();
+    }
+
+    /**
+     * The kinds of metrics, named as the Prometheus types they are exported as.
+     */
+    private enum Type {
+        COUNTER, GAUGE, SUMMARY
+    }
+
+    /**
+     * The metrics sharing a name, by formatted labels.
+     *
+     * @param name the name of the metrics
+     * @param help the description of the metrics
+     * @param type the kind of the metrics
+     * @param metrics the {@link Counter}, {@link Histogram} or {@link DoubleSupplier} of every label set
+     */
+    private record Family(String name, String help, Type type, ConcurrentHashMap<String, Object> metrics) {
+
+        /**
+         * Creates an empty family.
+         *
+         * @param name the name of the metrics
+         * @param help the description of the metrics
+         * @param type the kind of the metrics
+         */
+        Family(String name, String help, Type type) {
+            this(name, help, type, new ConcurrentHashMap<>());
+        }
+    }
+}
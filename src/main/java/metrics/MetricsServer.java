@@ -0,0 +1,115 @@
+package metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Opt-in local HTTP endpoint exposing the metrics of the application to Prometheus.
+ * <p>
+ * The endpoint is started only when the {@code aeroporto.metrics.port} system property is
+ * set, and serves {@code GET /metrics} on the loopback interface only, since the metrics
+ * reveal how the application is used and are meant for the machine running it. It uses
+ * the HTTP server of the JDK, so no dependency is added.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see MetricsRegistry
+ */
+public final class MetricsServer {
+
+    /**
+     * Logger instance for recording the start and the errors of the endpoint.
+     */
+    private static final Logger LOGGER = Logger.getLogger(MetricsServer.class.getName());
+
+    /**
+     * Content type of the Prometheus text exposition format.
+     */
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * The running server, or null if it was never started.
+     */
+    private static HttpServer server;
+
+    /**
+     * Private constructor: utility class.
+     */
+    private MetricsServer() {
+    }
+
+    /**
+     * Starts the endpoint if the {@code aeroporto.metrics.port} system property is set.
+     * <p>
+     * Calling it again after a successful start does nothing. A port that cannot be bound
+     * is logged and the application goes on without the endpoint.
+     * </p>
+     */
+    public static synchronized void startIfConfigured() {
+
+        Integer port = Integer.getInteger("aeroporto.metrics.port");
+
+        if (port == null || server != null) return;
+
+        try {
+            HttpServer started = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+
+            started.createContext("/metrics", MetricsServer::handle);
+            started.setExecutor(Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "aeroporto-metrics");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            started.start();
+
+            server = started;
+
+            LOGGER.log(Level.INFO, "Metriche disponibili su http://localhost:{0}/metrics", String.valueOf(port));
+
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Impossibile avviare l'endpoint delle metriche sulla porta " + port, e);
+        }
+    }
+
+    /**
+     * Answers a request to the endpoint.
+     *
+     * @param exchange the HTTP request and response
+     * @throws IOException if the response cannot be sent
+     */
+    private static void handle(HttpExchange exchange) throws IOException {
+
+        try (exchange) {
+
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            StringWriter text = new StringWriter();
+            MetricsRegistry.getInstance().writePrometheus(text);
+
+            byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Occupancy map of the seats of a flight, stored as a bitset.
+ * <p>
+ * Seats are identified by their 0-based index, from 0 to {@link #capacity()} - 1, with the
+ * same numbering used by {@link Ticket#getSeat()}: seat {@code i} is in row {@code i / 6 + 1},
+ * column {@code A}-{@code F} given by {@code i % 6}. Each seat is a single bit of a
+ * {@code long[]}, so a map of an 850-seat aircraft takes 14 words, checking a seat is
+ * a single array access and the next free or occupied seat is found 64 seats at a time.
+ * </p>
+ * <p>
+ * Key features include:
+ * </p>
+ * <ul>
+ *   <li>Constant-time occupied/free checks and updates</li>
+ *   <li>Word-at-a-time search of the next free or occupied seat</li>
+ *   <li>Occupied and free seat counts through {@link Long#bitCount(long)}</li>
+ *   <li>Compact serialization to one bit per seat, see {@link #toByteArray()}</li>
+ * </ul>
+ * <p>
+ * Instances are mutable and not thread-safe.
+ * </p>
+ *
+ * @author Aeroporto Di Napoli
+ * @version 1.0
+ * @since 1.0
+ * @see Flight#getMaxSeats()
+ * @see Ticket
+ */
+public final class SeatMap {
+
+    /**
+     * Number of seats held by each word of the bitset.
+     */
+    private static final int WORD_SIZE = Long.SIZE;
+
+    /**
+     * Number of seats of the flight.
+     */
+    private final int capacity;
+
+    /**
+     * The bitset: bit {@code i % 64} of word {@code i / 64} is set if seat {@code i} is occupied.
+     */
+    private final long[] words;
+
+    /**
+     * Creates a map with all the seats free.
+     *
+     * @param capacity the number of seats of the flight
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public SeatMap(int capacity) {
+
+        if (capacity < 0) throw new IllegalArgumentException("Numero di posti non valido: " + capacity);
+
+        this.capacity = capacity;
+        this.words = new long[(capacity + WORD_SIZE - 1) / WORD_SIZE];
+    }
+
+    /**
+     * Creates a map with all the seats of a flight free.
+     *
+     * @param flight the flight whose maximum number of seats sizes the map
+     * @return an empty seat map for the flight
+     */
+    public static SeatMap of(Flight flight) {
+        return new SeatMap(flight.getMaxSeats());
+    }
+
+    /**
+     * Rebuilds a map from the bytes produced by {@link #toByteArray()}.
+     *
+     * @param capacity the number of seats of the flight
+     * @param bytes the serialized occupancy, one bit per seat
+     * @return the deserialized seat map
+     * @throws IllegalArgumentException if the capacity is negative or the bytes do not match it
+     */
+    public static SeatMap fromByteArray(int capacity, byte[] bytes) {
+
+        SeatMap map = new SeatMap(capacity);
+
+        if (bytes.length != (capacity + 7) / 8) {
+            throw new IllegalArgumentException("Mappa dei posti non valida per " + capacity + " posti.");
+        }
+
+        for (int i = 0; i < bytes.length; i++) {
+            map.words[i / 8] |= (bytes[i] & 0xFFL) << (8 * (i % 8));
+        }
+
+        if (capacity % WORD_SIZE != 0 && map.words.length > 0
+                && (map.words[map.words.length - 1] & ~lastWordMask(capacity)) != 0) {
+            throw new IllegalArgumentException("Mappa dei posti non valida per " + capacity + " posti.");
+        }
+
+        return map;
+    }
+
+    /**
+     * Returns the number of seats of the flight.
+     *
+     * @return the capacity of the map
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Tells whether a seat is occupied.
+     *
+     * @param seat the 0-based seat index
+     * @return true if the seat is occupied
+     * @throws IndexOutOfBoundsException if the seat is not between 0 and {@code capacity() - 1}
+     */
+    public boolean isOccupied(int seat) {
+
+        Objects.checkIndex(seat, capacity);
+
+        return (words[seat / WORD_SIZE] & (1L << seat)) != 0;
+    }
+
+    /**
+     * Tells whether a seat is free.
+     *
+     * @param seat the 0-based seat index
+     * @return true if the seat is free
+     * @throws IndexOutOfBoundsException if the seat is not between 0 and {@code capacity() - 1}
+     */
+    public boolean isFree(int seat) {
+        return !isOccupied(seat);
+    }
+
+    /**
+     * Marks a seat as occupied.
+     *
+     * @param seat the 0-based seat index
+     * @throws IndexOutOfBoundsException if the seat is not between 0 and {@code capacity() - 1}
+     */
+    public void occupy(int seat) {
+
+        Objects.checkIndex(seat, capacity);
+
+        words[seat / WORD_SIZE] |= 1L << seat;
+    }
+
+    /**
+     * Marks a seat as free.
+     *
+     * @param seat the 0-based seat index
+     * @throws IndexOutOfBoundsException if the seat is not between 0 and {@code capacity() - 1}
+     */
+    public void release(int seat) {
+
+        Objects.checkIndex(seat, capacity);
+
+        words[seat / WORD_SIZE] &= ~(1L << seat);
+    }
+
+    /**
+     * Returns the number of occupied seats.
+     *
+     * @return the occupied seat count
+     */
+    public int occupiedCount() {
+
+        int count = 0;
+
+        for (long word : words) count += Long.bitCount(word);
+
+        return count;
+    }
+
+    /**
+     * Returns the number of free seats.
+     *
+     * @return the free seat count
+     */
+    public int freeCount() {
+        return capacity - occupiedCount();
+    }
+
+    /**
+     * Returns the first free seat at or after a given seat.
+     *
+     * @param fromSeat the 0-based seat index the search starts from
+     * @return the index of the first free seat, or -1 if every following seat is occupied
+     */
+    public int nextFreeSeat(int fromSeat) {
+
+        if (fromSeat < 0) fromSeat = 0;
+        if (fromSeat >= capacity) return -1;
+
+        int index = fromSeat / WORD_SIZE;
+        long word = ~words[index] & (-1L << fromSeat);
+
+        while (true) {
+
+            if (word != 0) {
+                int seat = index * WORD_SIZE + Long.numberOfTrailingZeros(word);
+                return seat < capacity ? seat : -1;
+            }
+
+            if (++index == words.length) return -1;
+
+            word = ~words[index];
+        }
+    }
+
+    /**
+     * Returns the first occupied seat at or after a given seat.
+     *
+     * @param fromSeat the 0-based seat index the search starts from
+     * @return the index of the first occupied seat, or -1 if every following seat is free
+     */
+    public int nextOccupiedSeat(int fromSeat) {
+
+        if (fromSeat < 0) fromSeat = 0;
+        if (fromSeat >= capacity) return -1;
+
+        int index = fromSeat / WORD_SIZE;
+        long word = words[index] & (-1L << fromSeat);
+
+        while (true) {
+
+            if (word != 0) return index * WORD_SIZE + Long.numberOfTrailingZeros(word);
+
+            if (++index == words.length) return -1;
+
+            word = words[index];
+        }
+    }
+
+    /**
+     * Marks as occupied every seat occupied in another map of the same flight.
+     *
+     * @param other the map whose occupied seats are added
+     * @throws IllegalArgumentException if the maps have different capacities
+     */
+    public void occupyAll(SeatMap other) {
+
+        if (other.capacity != capacity) {
+            throw new IllegalArgumentException("Le mappe dei posti hanno capacità diverse.");
+        }
+
+        for (int i = 0; i < words.length; i++) words[i] |= other.words[i];
+    }
+
+    /**
+     * Returns an independent copy of this map.
+     *
+     * @return a new map with the same occupied seats
+     */
+    public SeatMap copy() {
+
+        SeatMap copy = new SeatMap(capacity);
+
+        System.arraycopy(words, 0, copy.words, 0, words.length);
+
+        return copy;
+    }
+
+    /**
+     * Serializes the occupancy with one bit per seat.
+     * <p>
+     * Bit {@code i % 8} of byte {@code i / 8} is set if seat {@code i} is occupied, so an
+     * 850-seat map takes 107 bytes. The capacity is not included and must be passed
+     * back to {@link #fromByteArray(int, byte[])}.
+     * </p>
+     *
+     * @return the serialized occupancy
+     */
+    public byte[] toByteArray() {
+
+        byte[] bytes = new byte[(capacity + 7) / 8];
+
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (words[i / 8] >>> (8 * (i % 8)));
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Returns the mask of the bits of the last word that correspond to actual seats.
+     *
+     * @param capacity the number of seats
+     * @return the mask of the valid bits of the last word
+     */
+    private static long lastWordMask(int capacity) {
+        return -1L >>> (WORD_SIZE - capacity % WORD_SIZE);
+    }
+
+    /**
+     * Compares this map with another object for equality.
+     *
+     * @param o the object to compare with
+     * @return true if the object is a map with the same capacity and occupied seats
+     */
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) return true;
+        if (!(o instanceof SeatMap other)) return false;
+
+        return capacity == other.capacity && Arrays.equals(words, other.words);
+    }
+
+    /**
+     * Returns a hash code consistent with {@link #equals(Object)}.
+     *
+     * @return the hash code of the map
+     */
+    @Override
+    public int hashCode() {
+        return 31 * capacity + Arrays.hashCode(words);
+    }
+
+    /**
+     * Returns a description of the map with its occupied seat count.
+     *
+     * @return a string such as {@code SeatMap[12/180]}
+     */
+    @Override
+    public String toString() {
+        return "SeatMap[" + occupiedCount() + "/" + capacity + "]";
+    }
+}